@@ -0,0 +1,97 @@
+package com.university.bench;
+
+import com.university.data.DatabaseConnection;
+import com.university.data.DatabaseInitializer;
+import com.university.data.SyntheticDataGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+/**
+ * Creates the scratch database a benchmark fork runs against.
+ * Must be called before anything touches DatabaseConnection, because the database path
+ * and pool settings are read once when that class is initialized.
+ */
+final class BenchmarkDatabase {
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Points the application at a fresh temporary database and seeds it with the sample data.
+     * @throws IOException if the temporary file cannot be created
+     */
+    static void create() throws IOException {
+        useTemporaryFile();
+
+        if (!new DatabaseInitializer().initializeSampleData()) {
+            throw new IllegalStateException("Failed to initialize benchmark database");
+        }
+    }
+
+    /**
+     * Points the application at a fresh temporary database and fills it with synthetic data
+     * of the given scale factor and the default seed.
+     * @param scaleFactor the scale factor, 1 for 1,000 students
+     * @return what was generated
+     * @throws IOException if the temporary file cannot be created
+     * @throws SQLException if the data cannot be written
+     */
+    static SyntheticDataGenerator.Counts create(int scaleFactor) throws IOException, SQLException {
+        useTemporaryFile();
+
+        DatabaseConnection dbConnection = DatabaseConnection.getInstance();
+        if (!dbConnection.initializeDatabase()) {
+            throw new IllegalStateException("Failed to initialize benchmark database");
+        }
+        SyntheticDataGenerator.Counts counts = new SyntheticDataGenerator(dbConnection, scaleFactor,
+                SyntheticDataGenerator.DEFAULT_SEED).generate();
+        System.out.println(counts);
+        return counts;
+    }
+
+    /**
+     * Points the application at a synthetic database of the given scale factor and the default seed,
+     * generating it on first use. Generated databases are kept in -Duniversity.bench.dataDir
+     * (default: the temporary directory) and shared by every fork and later run, so only read-only
+     * benchmarks may use them. Delete the files after changing SyntheticDataGenerator.
+     * @param scaleFactor the scale factor, 1 for 1,000 students
+     * @throws IOException if the data directory cannot be written
+     * @throws SQLException if the data cannot be written
+     */
+    static void open(int scaleFactor) throws IOException, SQLException {
+        Path dataDir = Path.of(System.getProperty("university.bench.dataDir", System.getProperty("java.io.tmpdir")));
+        Path dbFile = dataDir.resolve("university-bench-sf" + scaleFactor + "-seed"
+                + SyntheticDataGenerator.DEFAULT_SEED + ".db");
+        // Written only once generation has committed, so an interrupted run is regenerated
+        Path completeMarker = dataDir.resolve(dbFile.getFileName() + ".complete");
+
+        boolean reuse = Files.exists(completeMarker) && Files.exists(dbFile);
+        if (!reuse) {
+            Files.createDirectories(dataDir);
+            Files.deleteIfExists(dbFile);
+            Files.deleteIfExists(Path.of(dbFile + "-wal"));
+            Files.deleteIfExists(Path.of(dbFile + "-shm"));
+        }
+        System.setProperty("university.db.path", dbFile.toAbsolutePath().toString());
+
+        DatabaseConnection dbConnection = DatabaseConnection.getInstance();
+        if (!dbConnection.initializeDatabase()) {
+            throw new IllegalStateException("Failed to initialize benchmark database");
+        }
+        if (!reuse) {
+            System.out.println(new SyntheticDataGenerator(dbConnection, scaleFactor,
+                    SyntheticDataGenerator.DEFAULT_SEED).generate());
+            Files.createFile(completeMarker);
+        }
+    }
+
+    private static void useTemporaryFile() throws IOException {
+        File dbFile = Files.createTempFile("university-bench", ".db").toFile();
+        dbFile.deleteOnExit();
+        System.setProperty("university.db.path", dbFile.getAbsolutePath());
+    }
+}
@@ -0,0 +1,282 @@
+package com.university.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files and reports benchmarks that got slower.
+ * Results are matched by benchmark name and parameters. A result regressed when its score is worse
+ * than the baseline's by more than the threshold and by more than both runs' error margins combined.
+ * Higher is better for throughput; lower is better for every other mode.
+ * <pre>mvn -Pbenchmarks exec:java -Dexec.mainClass=com.university.bench.BenchmarkRegressionCheck \
+ *     -Dexec.args="baseline.json target/jmh-result.json [thresholdPercent]"</pre>
+ * Exits with 0 if nothing regressed, 2 if something did and 1 if a file cannot be read.
+ */
+public final class BenchmarkRegressionCheck {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+    private BenchmarkRegressionCheck() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkRegressionCheck <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(1);
+        }
+
+        Map<String, Result> baseline;
+        Map<String, Result> current;
+        double threshold;
+        try {
+            baseline = readResults(Path.of(args[0]));
+            current = readResults(Path.of(args[1]));
+            threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error reading benchmark results: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        int regressions = 0;
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("  NEW        %s: %.3f %s%n", entry.getKey(), now.score(), now.unit());
+                continue;
+            }
+
+            // Positive when the current run is worse, whichever direction is better for the mode
+            double worseBy = now.higherIsBetter() ? before.score() - now.score() : now.score() - before.score();
+            double changePercent = before.score() != 0 ? worseBy / before.score() * 100 : 0.0;
+            boolean regressed = changePercent > threshold && worseBy > before.error() + now.error();
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("  %-10s %s: %.3f -> %.3f %s (%.1f%% %s)%n", regressed ? "REGRESSED" : "ok",
+                    entry.getKey(), before.score(), now.score(), now.unit(), Math.abs(changePercent),
+                    changePercent > 0 ? "worse" : "better");
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.println("  MISSING    " + key);
+            }
+        }
+
+        System.out.printf("%d of %d benchmark(s) regressed by more than %.1f%%%n", regressions, current.size(), threshold);
+        System.exit(regressions == 0 ? 0 : 2);
+    }
+
+    /**
+     * Reads a JMH JSON result file.
+     * @return the results keyed by benchmark name and parameters, in name order
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Result> readResults(Path file) throws IOException {
+        Object root = new JsonReader(Files.readString(file)).read();
+        if (!(root instanceof List<?> runs)) {
+            throw new IllegalArgumentException(file + " is not a JMH JSON result file");
+        }
+
+        Map<String, Result> results = new TreeMap<>();
+        for (Object run : runs) {
+            Map<String, Object> benchmark = (Map<String, Object>) run;
+            Map<String, Object> params = (Map<String, Object>) benchmark.getOrDefault("params", Map.of());
+            Map<String, Object> metric = (Map<String, Object>) benchmark.get("primaryMetric");
+
+            StringBuilder key = new StringBuilder((String) benchmark.get("benchmark"));
+            if (!params.isEmpty()) {
+                key.append(params);
+            }
+            results.put(key.toString(), new Result((String) benchmark.get("mode"), number(metric.get("score")),
+                    number(metric.get("scoreError")), (String) metric.get("scoreUnit")));
+        }
+        return results;
+    }
+
+    /**
+     * Reads a JSON number, which JMH writes as a string for NaN and infinities.
+     */
+    private static double number(Object value) {
+        if (value instanceof Double number) {
+            return number;
+        }
+        double parsed = value instanceof String text ? Double.parseDouble(text) : 0.0;
+        return Double.isFinite(parsed) ? parsed : 0.0;
+    }
+
+    record Result(String mode, double score, double error, String unit) {
+
+        boolean higherIsBetter() {
+            return mode.equals("thrpt");
+        }
+    }
+
+    /**
+     * Just enough of a JSON reader for JMH result files: objects become LinkedHashMaps, arrays
+     * become lists and numbers become doubles.
+     */
+    private static final class JsonReader {
+        private final String text;
+        private int pos;
+
+        JsonReader(String text) {
+            this.text = text;
+        }
+
+        Object read() {
+            Object value = readValue();
+            skipWhitespace();
+            if (pos != text.length()) {
+                throw error("trailing content");
+            }
+            return value;
+        }
+
+        private Object readValue() {
+            skipWhitespace();
+            if (pos >= text.length()) {
+                throw error("unexpected end of input");
+            }
+            char c = text.charAt(pos);
+            switch (c) {
+                case '{':
+                    return readObject();
+                case '[':
+                    return readArray();
+                case '"':
+                    return readString();
+                case 't':
+                    return readLiteral("true", Boolean.TRUE);
+                case 'f':
+                    return readLiteral("false", Boolean.FALSE);
+                case 'n':
+                    return readLiteral("null", null);
+                default:
+                    return readNumber();
+            }
+        }
+
+        private Map<String, Object> readObject() {
+            Map<String, Object> object = new LinkedHashMap<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return object;
+            }
+            while (true) {
+                skipWhitespace();
+                String name = readString();
+                skipWhitespace();
+                expect(':');
+                object.put(name, readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect('}');
+                    return object;
+                }
+            }
+        }
+
+        private List<Object> readArray() {
+            List<Object> array = new ArrayList<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == ']') {
+                pos++;
+                return array;
+            }
+            while (true) {
+                array.add(readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect(']');
+                    return array;
+                }
+            }
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                if (pos >= text.length()) {
+                    throw error("unterminated string");
+                }
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                char escaped = text.charAt(pos++);
+                switch (escaped) {
+                    case 'n' -> value.append('\n');
+                    case 't' -> value.append('\t');
+                    case 'r' -> value.append('\r');
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'u' -> {
+                        value.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        pos += 4;
+                    }
+                    default -> value.append(escaped);
+                }
+            }
+        }
+
+        private Object readLiteral(String literal, Object value) {
+            if (!text.startsWith(literal, pos)) {
+                throw error("unexpected token");
+            }
+            pos += literal.length();
+            return value;
+        }
+
+        private Double readNumber() {
+            int start = pos;
+            while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error("unexpected character '" + text.charAt(pos) + "'");
+            }
+            return Double.parseDouble(text.substring(start, pos));
+        }
+
+        private void expect(char c) {
+            if (peek() != c) {
+                throw error("expected '" + c + "'");
+            }
+            pos++;
+        }
+
+        private char peek() {
+            return pos < text.length() ? text.charAt(pos) : '\0';
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at offset " + pos);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.university.bench;
+
+import com.university.courses.Enrollment;
+import com.university.data.DatabaseConnection;
+import com.university.data.EnrollmentDetails;
+import com.university.data.EnrollmentSqlDetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures read throughput of the enrollment query while a background writer commits
+ * grade updates in bursts. Compare the two writeBursts settings to see how much reads
+ * slow down while a writer holds the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConcurrentReadBenchmark {
+
+    private static final int BURST_SIZE = 200;
+    private static final long PAUSE_BETWEEN_BURSTS_MILLIS = 5;
+
+    @Param({"false", "true"})
+    public boolean writeBursts;
+
+    private EnrollmentDetails enrollmentDetails;
+    private List<Enrollment> writableEnrollments;
+    private Thread writer;
+    private volatile boolean running;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkDatabase.create();
+        enrollmentDetails = new EnrollmentSqlDetails();
+        writableEnrollments = enrollmentDetails.getEnrollmentsByStudentId(1);
+
+        if (writeBursts) {
+            running = true;
+            writer = new Thread(this::writeInBursts, "benchmark-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join();
+        }
+        DatabaseConnection.getInstance().closeConnection();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<Enrollment> readEnrollments() {
+        int studentId = ThreadLocalRandom.current().nextInt(1, 5);
+        return enrollmentDetails.getEnrollmentsByStudentId(studentId);
+    }
+
+    private void writeInBursts() {
+        String sql = "UPDATE enrollments SET finalGrade = ? WHERE enrollmentId = ?";
+        String[] grades = {"A", "B", "C"};
+        int round = 0;
+
+        while (running) {
+            try (Connection conn = DatabaseConnection.getInstance().getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                conn.setAutoCommit(false);
+                for (int i = 0; i < BURST_SIZE; i++) {
+                    Enrollment enrollment = writableEnrollments.get(i % writableEnrollments.size());
+                    pstmt.setString(1, grades[(round + i) % grades.length]);
+                    pstmt.setInt(2, enrollment.getEnrollmentId());
+                    pstmt.executeUpdate();
+                }
+                conn.commit();
+                round++;
+                Thread.sleep(PAUSE_BETWEEN_BURSTS_MILLIS);
+            } catch (SQLException e) {
+                System.err.println("Benchmark writer failed: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
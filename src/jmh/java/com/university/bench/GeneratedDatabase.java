@@ -0,0 +1,52 @@
+package com.university.bench;
+
+import com.university.data.DatabaseConnection;
+import com.university.data.SyntheticDataGenerator;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * A synthetic database shared by the hot path benchmarks, one per scale factor.
+ * Benchmarks take it as a parameter, so every one of them runs at every size; taking it in their
+ * setup methods too makes those run after the database is open.
+ */
+@State(Scope.Benchmark)
+public class GeneratedDatabase {
+
+    // Coprime with every student count, so successive calls visit all students in a scattered order
+    private static final int STUDENT_STRIDE = 7919;
+
+    @Param({"1", "10", "100"})
+    public int scaleFactor;
+
+    private int students;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        BenchmarkDatabase.open(scaleFactor);
+        students = SyntheticDataGenerator.STUDENTS_PER_SCALE_FACTOR * scaleFactor;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DatabaseConnection.getInstance().closeConnection();
+    }
+
+    /**
+     * Gets the next student to look up, stepping through every student so lookups are not served
+     * from the same few pages.
+     * @return a student ID
+     */
+    public int nextStudentId() {
+        cursor = (cursor + STUDENT_STRIDE) % students;
+        return cursor + 1;
+    }
+}
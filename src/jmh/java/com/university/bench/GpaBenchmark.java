@@ -0,0 +1,51 @@
+package com.university.bench;
+
+import com.university.data.EnrollmentSqlDetails;
+import com.university.data.StudentSqlDetails;
+import com.university.services.AcademicStanding;
+import com.university.services.GPAService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one student's CGPA and the standing of the whole cohort, as the advisor dashboard
+ * summary computes it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GpaBenchmark {
+
+    private GPAService gpaService;
+
+    @Setup(Level.Trial)
+    public void setUp(GeneratedDatabase database) {
+        gpaService = new GPAService(new EnrollmentSqlDetails(), new StudentSqlDetails());
+    }
+
+    @Benchmark
+    public double calculateCGPA(GeneratedDatabase database) {
+        return gpaService.calculateCGPA(database.nextStudentId());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<Integer, AcademicStanding> computeStandingsForAll(GeneratedDatabase database) {
+        return gpaService.computeStandingsForAll();
+    }
+}
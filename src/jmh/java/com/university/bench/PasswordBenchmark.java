@@ -0,0 +1,48 @@
+package com.university.bench;
+
+import com.university.services.PasswordUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures password verification at login, for the right password and a wrong one.
+ * Runs without a database, since verification does not depend on how many accounts exist.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordBenchmark {
+
+    private static final String PASSWORD = "password123";
+
+    private String hashedPassword;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        hashedPassword = PasswordUtil.hashPassword(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verifyCorrectPassword() {
+        return PasswordUtil.verifyPassword(PASSWORD, hashedPassword);
+    }
+
+    @Benchmark
+    public boolean verifyWrongPassword() {
+        return PasswordUtil.verifyPassword("password124", hashedPassword);
+    }
+}
@@ -0,0 +1,53 @@
+package com.university.bench;
+
+import com.university.data.CachingCourseworkDetails;
+import com.university.data.EnrollmentSqlDetails;
+import com.university.data.StudentSqlDetails;
+import com.university.services.GPAService;
+import com.university.services.ReportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a student's academic report, queries included, and the advisor summary report over
+ * the whole cohort.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportBenchmark {
+
+    private ReportService reportService;
+
+    @Setup(Level.Trial)
+    public void setUp(GeneratedDatabase database) {
+        GPAService gpaService = new GPAService(new EnrollmentSqlDetails(), new StudentSqlDetails());
+        reportService = new ReportService(new StudentSqlDetails(), new EnrollmentSqlDetails(),
+                CachingCourseworkDetails.getInstance(), gpaService);
+    }
+
+    @Benchmark
+    public String generateStudentReport(GeneratedDatabase database) {
+        return reportService.generateStudentReport(database.nextStudentId());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String generateAdvisorSummaryReport(GeneratedDatabase database) {
+        return reportService.generateAdvisorSummaryReport();
+    }
+}
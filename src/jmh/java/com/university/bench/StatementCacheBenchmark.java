@@ -0,0 +1,61 @@
+package com.university.bench;
+
+import com.university.courses.Enrollment;
+import com.university.data.DatabaseConnection;
+import com.university.data.EnrollmentDetails;
+import com.university.data.EnrollmentSqlDetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares getEnrollmentsByStudentId with the per-connection statement cache disabled (size 0)
+ * and enabled. Each parameter value runs in its own fork, so the cache size is fixed before
+ * DatabaseConnection is initialized.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatementCacheBenchmark {
+
+    @Param({"0", "64"})
+    public int statementCacheSize;
+
+    private EnrollmentDetails enrollmentDetails;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        System.setProperty("university.db.statementCacheSize", Integer.toString(statementCacheSize));
+        BenchmarkDatabase.create();
+        enrollmentDetails = new EnrollmentSqlDetails();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.println();
+        System.out.println(DatabaseConnection.getInstance().getReadPoolMetrics());
+        DatabaseConnection.getInstance().closeConnection();
+    }
+
+    @Benchmark
+    public List<Enrollment> getEnrollmentsByStudentId() {
+        return enrollmentDetails.getEnrollmentsByStudentId(1);
+    }
+}
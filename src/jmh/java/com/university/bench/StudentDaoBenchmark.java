@@ -0,0 +1,54 @@
+package com.university.bench;
+
+import com.university.courses.Enrollment;
+import com.university.data.EnrollmentDetails;
+import com.university.data.EnrollmentSqlDetails;
+import com.university.data.StudentDetails;
+import com.university.data.StudentSqlDetails;
+import com.university.roles.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the student and enrollment reads every screen starts from: the whole student list,
+ * and one student's enrollments with course titles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentDaoBenchmark {
+
+    private StudentDetails studentDetails;
+    private EnrollmentDetails enrollmentDetails;
+
+    @Setup(Level.Trial)
+    public void setUp(GeneratedDatabase database) {
+        studentDetails = new StudentSqlDetails();
+        enrollmentDetails = new EnrollmentSqlDetails();
+    }
+
+    @Benchmark
+    public List<Student> getAllStudents(GeneratedDatabase database) {
+        return studentDetails.getAllStudents();
+    }
+
+    @Benchmark
+    public List<Enrollment> getEnrollmentsByStudentId(GeneratedDatabase database) {
+        return enrollmentDetails.getEnrollmentsByStudentId(database.nextStudentId());
+    }
+}
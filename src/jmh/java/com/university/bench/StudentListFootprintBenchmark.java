@@ -0,0 +1,109 @@
+package com.university.bench;
+
+import com.university.data.DatabaseConnection;
+import com.university.data.StudentDetails;
+import com.university.data.StudentSqlDetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares loading 100k students as full Student beans with loading the narrow projections the
+ * list screens use. The timed part is the query and mapping; run with -prof gc for bytes allocated
+ * per load. The heap each list retains is measured once per trial and printed at the end, since
+ * that is what an open screen costs for as long as it shows the list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class StudentListFootprintBenchmark {
+
+    private static final int STUDENTS = 100_000;
+    private static final String[] PROGRAMS = {"Computer Science", "Mathematics", "Physics", "Economics"};
+    // Same length as a PasswordUtil hash (16-byte salt + SHA-256, Base64), which the projections never read
+    private static final String PASSWORD_HASH = "A".repeat(64);
+
+    @Param({"students", "summaries", "roster"})
+    public String shape;
+
+    private StudentDetails studentDetails;
+    private Supplier<List<?>> loader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        BenchmarkDatabase.create();
+        insertStudents();
+        studentDetails = new StudentSqlDetails();
+        loader = switch (shape) {
+            case "students" -> studentDetails::getAllStudents;
+            case "summaries" -> studentDetails::getStudentSummaries;
+            case "roster" -> studentDetails::getStudentRoster;
+            default -> throw new IllegalArgumentException("Unknown shape: " + shape);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        long before = usedHeapAfterGc();
+        List<?> held = loader.get();
+        long after = usedHeapAfterGc();
+        System.out.printf("%n%s: %d rows retain %.1f MB (%d bytes per row)%n", shape, held.size(),
+                (after - before) / (1024.0 * 1024.0), (after - before) / Math.max(1, held.size()));
+        Reference.reachabilityFence(held);
+
+        DatabaseConnection.getInstance().closeConnection();
+    }
+
+    @Benchmark
+    public List<?> load() {
+        return loader.get();
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void insertStudents() throws SQLException {
+        String sql = "INSERT INTO students (name, username, passwordHash, program) VALUES (?, ?, ?, ?)";
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            conn.setAutoCommit(false);
+            for (int i = 0; i < STUDENTS; i++) {
+                pstmt.setString(1, "Student " + i);
+                pstmt.setString(2, "student" + i);
+                pstmt.setString(3, PASSWORD_HASH);
+                pstmt.setString(4, PROGRAMS[i % PROGRAMS.length]);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            conn.commit();
+        }
+    }
+}
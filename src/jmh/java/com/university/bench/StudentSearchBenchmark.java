@@ -0,0 +1,99 @@
+package com.university.bench;
+
+import com.university.data.DatabaseConnection;
+import com.university.data.StudentDetails;
+import com.university.data.StudentSqlDetails;
+import com.university.data.StudentSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one search-as-you-type request (the first page of 100 results) against 100k students.
+ * The generated names repeat a small pool of first and last names, so common trigrams match far
+ * more rows than they would in real data; this is the worst case for the substring tier.
+ * The queries cover a prefix too short for trigrams, a prefix, a substring and a typo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentSearchBenchmark {
+
+    private static final int STUDENTS = 100_000;
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Alice", "Bob", "Carol", "David", "Emma",
+            "Frank", "Grace", "Henry", "Isabel", "Jack", "Karen", "Liam", "Mia", "Noah", "Olivia", "Peter",
+            "Priya", "Rachel", "Sam", "Tina", "Victor", "Wendy", "Yara", "Zoe", "Mohammed", "Chen", "Aisha"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+            "Miller", "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Wilson", "Anderson", "Thomas",
+            "Taylor", "Moore", "Jackson", "Martin", "Lee", "Thompson", "White", "Harris", "Clark", "Nguyen"};
+    private static final String[] PROGRAMS = {"Computer Science", "Mathematics", "Physics", "Economics"};
+
+    @Param({"jo", "john", "son", "rodriguze"})
+    public String query;
+
+    private StudentDetails studentDetails;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        BenchmarkDatabase.create();
+        insertStudents();
+        studentDetails = new StudentSqlDetails();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DatabaseConnection.getInstance().closeConnection();
+    }
+
+    @Benchmark
+    public List<StudentSummary> searchByName() {
+        return studentDetails.search(query, "name", 100);
+    }
+
+    @Benchmark
+    public List<StudentSummary> searchAllFields() {
+        return studentDetails.search(query, null, 100);
+    }
+
+    private static void insertStudents() throws SQLException {
+        String sql = "INSERT INTO students (name, username, passwordHash, program) VALUES (?, ?, ?, ?)";
+        Random random = new Random(42);
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            conn.setAutoCommit(false);
+            for (int i = 0; i < STUDENTS; i++) {
+                String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                pstmt.setString(1, first + " " + last);
+                pstmt.setString(2, first.toLowerCase() + "." + last.toLowerCase() + i);
+                pstmt.setString(3, "");
+                pstmt.setString(4, PROGRAMS[i % PROGRAMS.length]);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            conn.commit();
+        }
+    }
+}
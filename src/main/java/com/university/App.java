@@ -1,27 +1,42 @@
 package com.university;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
 import javafx.stage.Stage;
+import com.university.data.CachingCourseDetails;
+import com.university.data.DatabaseConnection;
 import com.university.data.DatabaseInitializer;
+import com.university.data.QueryInstrumentation;
+import com.university.monitoring.Monitoring;
+import com.university.ui.AsyncLoader;
 
 /**
  * Main application class for the Course & Credit Tracking System.
- * Initializes the database and launches the JavaFX application.
+ * Shows the login screen first and initializes the database behind it.
  */
 public class App extends Application {
 
     @Override
     public void start(Stage primaryStage) {
+        StartupTimer.fxStarted();
         try {
-            // Initialize database with sample data
-            DatabaseInitializer initializer = new DatabaseInitializer();
-            if (!initializer.initializeSampleData()) {
-                System.err.println("Failed to initialize database");
-                return;
-            }
+            // Verify the schema and seed sample data while the login screen comes up;
+            // logins wait for it on the loader threads
+            DatabaseInitializer.initializeInBackground().thenAccept(initialized -> {
+                StartupTimer.databaseReady();
+                if (!initialized) {
+                    System.err.println("Failed to initialize database");
+                    Platform.runLater(() -> showInitializationError(primaryStage));
+                }
+            });
+
+            // From here on, JDBC belongs on the AsyncLoader threads
+            DatabaseConnection.getInstance().forbidAccessFrom(Thread.currentThread());
 
             // Load login screen
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/LoginPage.fxml"));
@@ -35,19 +50,50 @@ public class App extends Application {
             primaryStage.setScene(scene);
             primaryStage.setResizable(false);
             primaryStage.show();
+            StartupTimer.stageShown();
+
+            // The first pulse after showing the stage renders the login screen
+            new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    stop();
+                    StartupTimer.firstFrame();
+                }
+            }.start();
+
+            // Publish pool, cache, query, GPA and FX thread statistics over JMX
+            Monitoring.getInstance().start();
 
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
+    private void showInitializationError(Stage owner) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.initOwner(owner);
+        alert.setTitle("Error");
+        alert.setHeaderText(null);
+        alert.setContentText("The database could not be initialized. See the console for details.");
+        alert.showAndWait();
+        Platform.exit();
+    }
+
     @Override
     public void stop() {
-        // Clean up database connection
-        com.university.data.DatabaseConnection.getInstance().closeConnection();
+        // Stop background loads before closing the database connection
+        AsyncLoader.getInstance().shutdown();
+        Monitoring.getInstance().stop();
+        if (QueryInstrumentation.isEnabled()) {
+            System.out.print(QueryInstrumentation.getInstance().report());
+            System.out.println(CachingCourseDetails.getInstance().getMetrics());
+        }
+        DatabaseConnection.getInstance().closeConnection();
     }
 
     public static void main(String[] args) {
+        StartupTimer.mainEntered();
+        FlightRecording.startIfEnabled();
         launch(args);
     }
 }
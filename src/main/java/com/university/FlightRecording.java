@@ -0,0 +1,62 @@
+package com.university;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Continuous Java Flight Recording for diagnosing freezes after the fact.
+ * With -Duniversity.jfr.enabled=true a recording named "university" runs for the life of the
+ * application with the JDK's low-overhead default settings plus every JDBC execution, service
+ * computation and dashboard view load. It is kept on disk as a ring buffer bounded by
+ * -Duniversity.jfr.maxSizeMb (default 256) and -Duniversity.jfr.maxAgeMinutes (default 60),
+ * and written to -Duniversity.jfr.file (default university.jfr) when the application exits.
+ * To take a snapshot while the application is running:
+ * <pre>jcmd &lt;pid&gt; JFR.dump name=university filename=freeze.jfr</pre>
+ */
+public final class FlightRecording {
+
+    public static final String RECORDING_NAME = "university";
+
+    private static final boolean ENABLED = Boolean.getBoolean("university.jfr.enabled");
+    private static final long MAX_SIZE_BYTES = Long.getLong("university.jfr.maxSizeMb", 256) * 1024 * 1024;
+    private static final Duration MAX_AGE = Duration.ofMinutes(Long.getLong("university.jfr.maxAgeMinutes", 60));
+    private static final String FILE = System.getProperty("university.jfr.file", "university.jfr");
+    private static final List<String> EVENTS = List.of(
+            "university.JdbcExecution", "university.Computation", "university.ViewLoad");
+
+    private FlightRecording() {
+    }
+
+    /**
+     * Starts the continuous recording if it is enabled.
+     * A recording that cannot be started is reported and the application runs without one.
+     */
+    public static void startIfEnabled() {
+        if (!ENABLED) {
+            return;
+        }
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setName(RECORDING_NAME);
+            recording.setToDisk(true);
+            recording.setMaxSize(MAX_SIZE_BYTES);
+            recording.setMaxAge(MAX_AGE);
+            recording.setDestination(Path.of(FILE));
+            recording.setDumpOnExit(true);
+            for (String event : EVENTS) {
+                recording.enable(event).withThreshold(Duration.ZERO).withStackTrace();
+            }
+            recording.start();
+            System.out.println("Flight recording '" + RECORDING_NAME + "' started, written to "
+                    + Path.of(FILE).toAbsolutePath() + " on exit");
+        } catch (IOException | ParseException | RuntimeException e) {
+            System.err.println("Could not start flight recording: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.university;
+
+import javafx.application.Platform;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Measures how long the application takes to show its first frame, counted from the start of the
+ * JVM process so class loading and JavaFX toolkit startup are included.
+ * Once the first frame is on screen and the database is ready, one line with every phase is printed.
+ * With -Duniversity.startup.reportFile=&lt;file&gt; the same phases are also appended to the file as
+ * one JSON object per launch, to track startup across releases.
+ * With -Duniversity.startup.exitAfterReady=true the application exits right after that, which
+ * is how the executable build's class-data archive training run stops.
+ */
+public final class StartupTimer {
+
+    private static final String REPORT_FILE = System.getProperty("university.startup.reportFile");
+    private static final boolean EXIT_AFTER_READY = Boolean.getBoolean("university.startup.exitAfterReady");
+
+    private static final long processStartMillis = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli)
+            .orElse(-1L);
+    private static long mainMillis;
+    private static long fxStartMillis;
+    private static long stageShownMillis;
+    private static long firstFrameMillis;
+    private static long databaseReadyMillis;
+    private static boolean reported;
+
+    private StartupTimer() {
+    }
+
+    static synchronized void mainEntered() {
+        mainMillis = System.currentTimeMillis();
+    }
+
+    static synchronized void fxStarted() {
+        fxStartMillis = System.currentTimeMillis();
+    }
+
+    static synchronized void stageShown() {
+        stageShownMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Records the first pulse after the login screen was shown, when its first frame is rendered.
+     */
+    static synchronized void firstFrame() {
+        firstFrameMillis = System.currentTimeMillis();
+        reportIfDone();
+    }
+
+    /**
+     * Records the end of schema verification and seeding on the background thread.
+     */
+    static synchronized void databaseReady() {
+        databaseReadyMillis = System.currentTimeMillis();
+        reportIfDone();
+    }
+
+    private static void reportIfDone() {
+        if (reported || firstFrameMillis == 0 || databaseReadyMillis == 0) {
+            return;
+        }
+        reported = true;
+
+        System.out.printf("Startup: first frame after %d ms (main %d ms, JavaFX start %d ms, login shown %d ms), database ready after %d ms%n",
+                sinceStart(firstFrameMillis), sinceStart(mainMillis), sinceStart(fxStartMillis),
+                sinceStart(stageShownMillis), sinceStart(databaseReadyMillis));
+
+        if (REPORT_FILE != null) {
+            String version = StartupTimer.class.getPackage().getImplementationVersion();
+            String json = String.format(
+                    "{\"timestamp\":\"%s\",\"version\":\"%s\",\"javaVersion\":\"%s\",\"mainMillis\":%d,"
+                            + "\"fxStartMillis\":%d,\"stageShownMillis\":%d,\"firstFrameMillis\":%d,\"databaseReadyMillis\":%d}%n",
+                    Instant.ofEpochMilli(firstFrameMillis), version != null ? version : "dev",
+                    Runtime.version(), sinceStart(mainMillis), sinceStart(fxStartMillis),
+                    sinceStart(stageShownMillis), sinceStart(firstFrameMillis), sinceStart(databaseReadyMillis));
+            try {
+                Files.writeString(Path.of(REPORT_FILE), json, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                System.err.println("Error writing startup report to " + REPORT_FILE + ": " + e.getMessage());
+            }
+        }
+
+        if (EXIT_AFTER_READY) {
+            Platform.exit();
+        }
+    }
+
+    /**
+     * Milliseconds from process start, or from entering main if the platform does not report
+     * the process start time.
+     */
+    private static long sinceStart(long millis) {
+        long start = processStartMillis > 0 ? processStartMillis : mainMillis;
+        return millis - start;
+    }
+}
@@ -11,6 +11,12 @@ import java.util.Optional;
  */
 public class AdvisorFeedbackSqlDetails implements AdvisorFeedbackDetails {
 
+    static final String FEEDBACK_BY_STUDENT_SQL = "SELECT * FROM advisor_feedback WHERE studentId = ? ORDER BY createdAt DESC";
+
+    static final String FEEDBACK_BY_ADVISOR_SQL = "SELECT * FROM advisor_feedback WHERE advisorId = ? ORDER BY createdAt DESC";
+
+    static final String FEEDBACK_BY_ID_SQL = "SELECT * FROM advisor_feedback WHERE feedbackId = ?";
+
     private final DatabaseConnection dbConnection;
 
     public AdvisorFeedbackSqlDetails() {
@@ -39,10 +45,9 @@ public class AdvisorFeedbackSqlDetails implements AdvisorFeedbackDetails {
     @Override
     public List<AdvisorFeedback> getFeedbackByStudentId(int studentId) {
         List<AdvisorFeedback> feedbackList = new ArrayList<>();
-        String sql = "SELECT * FROM advisor_feedback WHERE studentId = ? ORDER BY createdAt DESC";
 
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FEEDBACK_BY_STUDENT_SQL)) {
 
             pstmt.setInt(1, studentId);
             ResultSet rs = pstmt.executeQuery();
@@ -60,10 +65,9 @@ public class AdvisorFeedbackSqlDetails implements AdvisorFeedbackDetails {
     @Override
     public List<AdvisorFeedback> getFeedbackByAdvisorId(int advisorId) {
         List<AdvisorFeedback> feedbackList = new ArrayList<>();
-        String sql = "SELECT * FROM advisor_feedback WHERE advisorId = ? ORDER BY createdAt DESC";
 
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FEEDBACK_BY_ADVISOR_SQL)) {
 
             pstmt.setInt(1, advisorId);
             ResultSet rs = pstmt.executeQuery();
@@ -80,10 +84,8 @@ public class AdvisorFeedbackSqlDetails implements AdvisorFeedbackDetails {
 
     @Override
     public Optional<AdvisorFeedback> getFeedbackById(int feedbackId) {
-        String sql = "SELECT * FROM advisor_feedback WHERE feedbackId = ?";
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FEEDBACK_BY_ID_SQL)) {
 
             pstmt.setInt(1, feedbackId);
             ResultSet rs = pstmt.executeQuery();
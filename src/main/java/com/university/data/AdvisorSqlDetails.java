@@ -14,6 +14,14 @@ import java.util.Optional;
  */
 public class AdvisorSqlDetails implements AdvisorDetails {
 
+    static final String ADVISOR_BY_ID_SQL = "SELECT * FROM advisors WHERE advisorId = ?";
+
+    static final String ADVISOR_BY_USERNAME_SQL = "SELECT * FROM advisors WHERE username = ?";
+
+    static final String ADVISORS_BY_NAME_SQL = "SELECT * FROM advisors ORDER BY name";
+
+    static final String ADVISOR_BY_CREDENTIALS_SQL = "SELECT * FROM advisors WHERE username = ? AND passwordHash = ?";
+
     private final DatabaseConnection dbConnection;
 
     public AdvisorSqlDetails() {
@@ -45,10 +53,8 @@ public class AdvisorSqlDetails implements AdvisorDetails {
 
     @Override
     public Optional<Advisor> getAdvisorById(int advisorId) {
-        String sql = "SELECT * FROM advisors WHERE advisorId = ?";
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(ADVISOR_BY_ID_SQL)) {
 
             pstmt.setInt(1, advisorId);
             ResultSet rs = pstmt.executeQuery();
@@ -65,10 +71,8 @@ public class AdvisorSqlDetails implements AdvisorDetails {
 
     @Override
     public Optional<Advisor> getAdvisorByUsername(String username) {
-        String sql = "SELECT * FROM advisors WHERE username = ?";
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(ADVISOR_BY_USERNAME_SQL)) {
 
             pstmt.setString(1, username);
             ResultSet rs = pstmt.executeQuery();
@@ -86,11 +90,10 @@ public class AdvisorSqlDetails implements AdvisorDetails {
     @Override
     public List<Advisor> getAllAdvisors() {
         List<Advisor> advisors = new ArrayList<>();
-        String sql = "SELECT * FROM advisors ORDER BY name";
 
-        try (Connection conn = dbConnection.getConnection();
+        try (Connection conn = dbConnection.getReadConnection();
              Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             ResultSet rs = stmt.executeQuery(ADVISORS_BY_NAME_SQL)) {
 
             while (rs.next()) {
                 advisors.add(mapResultSetToAdvisor(rs));
@@ -140,10 +143,8 @@ public class AdvisorSqlDetails implements AdvisorDetails {
 
     @Override
     public Optional<Advisor> validateAdvisorCredentials(String username, String passwordHash) {
-        String sql = "SELECT * FROM advisors WHERE username = ? AND passwordHash = ?";
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(ADVISOR_BY_CREDENTIALS_SQL)) {
 
             pstmt.setString(1, username);
             pstmt.setString(2, passwordHash);
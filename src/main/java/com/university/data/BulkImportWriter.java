@@ -0,0 +1,352 @@
+package com.university.data;
+
+import com.university.courses.CourseworkGrade;
+import com.university.roles.Student;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes validated bulk import rows in batches, one transaction per batch.
+ * Each transaction also records the last CSV line it covers in import_progress, so after a failure
+ * the import resumes at the first line that was not committed and no row is written twice.
+ * Rows the database refuses, such as a username that is already taken, are reported back by position
+ * instead of failing the batch. A SQLException means the whole batch was rolled back.
+ */
+public class BulkImportWriter {
+
+    // Well below SQLite's bound parameter limit
+    private static final int LOOKUP_CHUNK = 500;
+    // Always LOOKUP_CHUNK placeholders, so every chunk reuses one cached statement
+    static final String FIND_STUDENT_IDS_SQL = "SELECT studentId, username FROM students WHERE username IN (%s)"
+            .formatted(String.join(", ", Collections.nCopies(LOOKUP_CHUNK, "?")));
+
+    static final String COMMITTED_LINE_SQL = "SELECT committedLine FROM import_progress WHERE importKey = ?";
+
+    static final String ENROLLMENTS_IN_COURSE_SQL = "SELECT enrollmentId FROM enrollments WHERE studentId = ? AND courseCode = ?";
+
+    // Only stored grades count, as in the grade editor
+    static final String COURSEWORK_TOTALS_SQL = """
+            SELECT COALESCE(SUM(g.marksObtained), 0) AS marksObtained, COALESCE(SUM(i.totalMarks), 0) AS totalMarks
+            FROM coursework_grades g
+            JOIN coursework_items i ON i.itemId = g.itemId
+            WHERE g.studentId = ? AND i.courseCode = ?
+            """;
+
+    private final DatabaseConnection dbConnection;
+
+    public BulkImportWriter(DatabaseConnection dbConnection) {
+        this.dbConnection = dbConnection;
+    }
+
+    /**
+     * Gets the last line an import has committed.
+     * @param importKey identifies the import
+     * @return the line number, or 0 if nothing has been committed
+     * @throws SQLException if a database access error occurs
+     */
+    public int getCommittedLine(String importKey) throws SQLException {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(COMMITTED_LINE_SQL)) {
+            pstmt.setString(1, importKey);
+            ResultSet rs = pstmt.executeQuery();
+            return rs.next() ? rs.getInt("committedLine") : 0;
+        }
+    }
+
+    /**
+     * Forgets an import's progress, so the next run starts from the first line.
+     * @param importKey identifies the import
+     * @throws SQLException if a database access error occurs
+     */
+    public void clearProgress(String importKey) throws SQLException {
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("DELETE FROM import_progress WHERE importKey = ?")) {
+            pstmt.setString(1, importKey);
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Inserts a batch of students.
+     * @param importKey identifies the import
+     * @param lastLine the last CSV line the batch covers
+     * @param students the students, with their password hashes set
+     * @return for each student, null if it was inserted or the reason it was not
+     * @throws SQLException if a database access error occurs
+     */
+    public String[] writeStudents(String importKey, int lastLine, List<Student> students) throws SQLException {
+        String sql = "INSERT OR IGNORE INTO students (name, username, passwordHash, program, requiredCredits, completedCredits) VALUES (?, ?, ?, ?, ?, ?)";
+
+        return inTransaction(importKey, lastLine, conn -> {
+            String[] rejected = new String[students.size()];
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (Student student : students) {
+                    pstmt.setString(1, student.getName());
+                    pstmt.setString(2, student.getUsername());
+                    pstmt.setString(3, student.getPasswordHash());
+                    pstmt.setString(4, student.getProgram());
+                    pstmt.setInt(5, student.getRequiredCredits());
+                    pstmt.setInt(6, student.getCompletedCredits());
+                    pstmt.addBatch();
+                }
+                int[] counts = pstmt.executeBatch();
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0) {
+                        rejected[i] = "username " + students.get(i).getUsername() + " already exists";
+                    }
+                }
+            }
+            return rejected;
+        });
+    }
+
+    /**
+     * Inserts a batch of enrollments and refreshes the standings of the students they belong to.
+     * @param importKey identifies the import
+     * @param lastLine the last CSV line the batch covers
+     * @param rows the enrollments, identified by student username
+     * @return for each row, null if it was inserted or the reason it was not
+     * @throws SQLException if a database access error occurs
+     */
+    public String[] writeEnrollments(String importKey, int lastLine, List<EnrollmentRow> rows) throws SQLException {
+        String sql = "INSERT OR IGNORE INTO enrollments (studentId, courseCode, semester, year, finalGrade) VALUES (?, ?, ?, ?, ?)";
+
+        return inTransaction(importKey, lastLine, conn -> {
+            String[] rejected = new String[rows.size()];
+            Map<String, Integer> studentIds = findStudentIds(conn, rows.stream().map(EnrollmentRow::username).toList());
+            List<Integer> written = new ArrayList<>();
+
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < rows.size(); i++) {
+                    EnrollmentRow row = rows.get(i);
+                    Integer studentId = studentIds.get(row.username());
+                    if (studentId == null) {
+                        rejected[i] = "unknown student " + row.username();
+                        continue;
+                    }
+                    pstmt.setInt(1, studentId);
+                    pstmt.setString(2, row.courseCode());
+                    pstmt.setString(3, row.semester());
+                    pstmt.setInt(4, row.year());
+                    pstmt.setString(5, row.finalGrade());
+                    pstmt.addBatch();
+                    written.add(i);
+                }
+                int[] counts = pstmt.executeBatch();
+                for (int j = 0; j < counts.length; j++) {
+                    if (counts[j] == 0) {
+                        EnrollmentRow row = rows.get(written.get(j));
+                        rejected[written.get(j)] = row.username() + " is already enrolled in " + row.courseCode()
+                                + " for " + row.semester() + " " + row.year();
+                    }
+                }
+            }
+
+            Set<Integer> changed = new LinkedHashSet<>();
+            for (int i : written) {
+                if (rejected[i] == null) {
+                    changed.add(studentIds.get(rows.get(i).username()));
+                }
+            }
+            StudentStandingProjection.refresh(conn, changed);
+            for (int studentId : changed) {
+                StudentSqlDetails.refreshCompletedCredits(conn, studentId);
+            }
+            return rejected;
+        });
+    }
+
+    /**
+     * Inserts or updates a batch of coursework grades, then recomputes the final grades of the
+     * enrollments they belong to and refreshes those students' standings, as saving grades in
+     * the grade editor does. Grades of students not enrolled in the item's course are rejected.
+     * @param importKey identifies the import
+     * @param lastLine the last CSV line the batch covers
+     * @param rows the grades, identified by student username
+     * @return for each row, null if it was written or the reason it was not
+     * @throws SQLException if a database access error occurs
+     */
+    public String[] writeGrades(String importKey, int lastLine, List<GradeRow> rows) throws SQLException {
+        return inTransaction(importKey, lastLine, conn -> {
+            String[] rejected = new String[rows.size()];
+            Map<String, Integer> studentIds = findStudentIds(conn, rows.stream().map(GradeRow::username).toList());
+            Map<StudentCourse, List<Integer>> enrollments = new LinkedHashMap<>();
+            List<CourseworkGrade> grades = new ArrayList<>(rows.size());
+
+            try (PreparedStatement findEnrollments = conn.prepareStatement(ENROLLMENTS_IN_COURSE_SQL)) {
+                for (int i = 0; i < rows.size(); i++) {
+                    GradeRow row = rows.get(i);
+                    Integer studentId = studentIds.get(row.username());
+                    if (studentId == null) {
+                        rejected[i] = "unknown student " + row.username();
+                        continue;
+                    }
+
+                    StudentCourse key = new StudentCourse(studentId, row.courseCode());
+                    List<Integer> enrollmentIds = enrollments.get(key);
+                    if (enrollmentIds == null) {
+                        enrollmentIds = findEnrollmentIds(findEnrollments, key);
+                        enrollments.put(key, enrollmentIds);
+                    }
+                    if (enrollmentIds.isEmpty()) {
+                        rejected[i] = row.username() + " is not enrolled in " + row.courseCode();
+                    } else {
+                        grades.add(new CourseworkGrade(0, studentId, row.courseCode(), row.itemId(), row.marksObtained()));
+                    }
+                }
+            }
+            CourseworkSqlDetails.upsertGrades(conn, grades);
+
+            Set<Integer> changed = updateFinalGrades(conn, enrollments);
+            StudentStandingProjection.refresh(conn, changed);
+            for (int studentId : changed) {
+                StudentSqlDetails.refreshCompletedCredits(conn, studentId);
+            }
+            return rejected;
+        });
+    }
+
+    private static List<Integer> findEnrollmentIds(PreparedStatement findEnrollments, StudentCourse key)
+            throws SQLException {
+        findEnrollments.setInt(1, key.studentId());
+        findEnrollments.setString(2, key.courseCode());
+        List<Integer> enrollmentIds = new ArrayList<>();
+        try (ResultSet rs = findEnrollments.executeQuery()) {
+            while (rs.next()) {
+                enrollmentIds.add(rs.getInt("enrollmentId"));
+            }
+        }
+        return enrollmentIds;
+    }
+
+    /**
+     * Sets the final grade of each enrollment from its course's stored coursework grades.
+     * @return the students whose final grades changed
+     */
+    private static Set<Integer> updateFinalGrades(Connection conn, Map<StudentCourse, List<Integer>> enrollments)
+            throws SQLException {
+        Set<Integer> changed = new LinkedHashSet<>();
+
+        try (PreparedStatement totals = conn.prepareStatement(COURSEWORK_TOTALS_SQL);
+             PreparedStatement update = conn.prepareStatement(
+                     "UPDATE enrollments SET finalGrade = ? WHERE enrollmentId = ? AND finalGrade IS NOT ?")) {
+            for (Map.Entry<StudentCourse, List<Integer>> entry : enrollments.entrySet()) {
+                StudentCourse key = entry.getKey();
+                if (entry.getValue().isEmpty()) {
+                    continue;
+                }
+
+                totals.setInt(1, key.studentId());
+                totals.setString(2, key.courseCode());
+                String finalGrade;
+                try (ResultSet rs = totals.executeQuery()) {
+                    rs.next();
+                    finalGrade = Gradebook.finalGrade(rs.getDouble("marksObtained"), rs.getDouble("totalMarks"));
+                }
+
+                for (int enrollmentId : entry.getValue()) {
+                    update.setString(1, finalGrade);
+                    update.setInt(2, enrollmentId);
+                    update.setString(3, finalGrade);
+                    if (update.executeUpdate() > 0) {
+                        changed.add(key.studentId());
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    private String[] inTransaction(String importKey, int lastLine, BatchWrite write) throws SQLException {
+        try (Connection conn = dbConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                String[] rejected = write.apply(conn);
+                saveProgress(conn, importKey, lastLine);
+                conn.commit();
+                return rejected;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private static void saveProgress(Connection conn, String importKey, int lastLine) throws SQLException {
+        String sql = """
+            INSERT INTO import_progress (importKey, committedLine, updatedAt) VALUES (?, ?, ?)
+            ON CONFLICT(importKey) DO UPDATE SET committedLine = excluded.committedLine, updatedAt = excluded.updatedAt
+            """;
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, importKey);
+            pstmt.setInt(2, lastLine);
+            pstmt.setString(3, LocalDateTime.now().toString());
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Resolves usernames to student IDs with one IN query per chunk.
+     * A short last chunk is padded with NULLs, which match no username.
+     * @return the IDs of the usernames that exist
+     */
+    private static Map<String, Integer> findStudentIds(Connection conn, List<String> usernames) throws SQLException {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(usernames));
+        Map<String, Integer> studentIds = new HashMap<>(distinct.size() * 2);
+
+        for (int from = 0; from < distinct.size(); from += LOOKUP_CHUNK) {
+            List<String> chunk = distinct.subList(from, Math.min(from + LOOKUP_CHUNK, distinct.size()));
+
+            try (PreparedStatement pstmt = conn.prepareStatement(FIND_STUDENT_IDS_SQL)) {
+                for (int i = 0; i < LOOKUP_CHUNK; i++) {
+                    if (i < chunk.size()) {
+                        pstmt.setString(i + 1, chunk.get(i));
+                    } else {
+                        pstmt.setNull(i + 1, Types.VARCHAR);
+                    }
+                }
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    studentIds.put(rs.getString("username"), rs.getInt("studentId"));
+                }
+            }
+        }
+        return studentIds;
+    }
+
+    @FunctionalInterface
+    private interface BatchWrite {
+        String[] apply(Connection conn) throws SQLException;
+    }
+
+    /**
+     * An enrollment to import, for a student identified by username.
+     */
+    public record EnrollmentRow(String username, String courseCode, String semester, int year, String finalGrade) {
+    }
+
+    private record StudentCourse(int studentId, String courseCode) {
+    }
+
+    /**
+     * A coursework grade to import, for a student identified by username.
+     */
+    public record GradeRow(String username, String courseCode, int itemId, double marksObtained) {
+    }
+}
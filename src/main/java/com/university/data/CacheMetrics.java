@@ -0,0 +1,73 @@
+package com.university.data;
+
+/**
+ * Immutable snapshot of cache statistics.
+ */
+public class CacheMetrics {
+
+    private final String cacheName;
+    private final int size;
+    private final long version;
+    private final long hits;
+    private final long misses;
+    private final long reloads;
+
+    public CacheMetrics(String cacheName, int size, long version, long hits, long misses, long reloads) {
+        this.cacheName = cacheName;
+        this.size = size;
+        this.version = version;
+        this.hits = hits;
+        this.misses = misses;
+        this.reloads = reloads;
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the version of the cached data, which goes up by one with every reload.
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getReloads() {
+        return reloads;
+    }
+
+    /**
+     * Gets the fraction of lookups answered from memory.
+     * @return the hit rate (0.0 to 1.0)
+     */
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups > 0 ? (double) hits / lookups : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheMetrics{" +
+                "cache='" + cacheName + '\'' +
+                ", size=" + size +
+                ", version=" + version +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", reloads=" + reloads +
+                ", hitRate=" + String.format("%.2f", getHitRate()) +
+                '}';
+    }
+}
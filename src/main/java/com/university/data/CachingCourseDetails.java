@@ -0,0 +1,154 @@
+package com.university.data;
+
+import com.university.courses.Course;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through course catalog over CourseDetails.
+ * The courses table is small and almost never written, so the whole table is held as an immutable,
+ * versioned snapshot. Lookups read the current snapshot without locking or touching the database.
+ * Every write through this class reloads the table and swaps in a new snapshot. A lookup that misses
+ * checks the database once in case the course was added behind the cache, and reloads if it was.
+ * Courses are handed out as copies so callers cannot change the snapshot.
+ * All writers must share one instance for the reloads to be seen, hence getInstance().
+ */
+public class CachingCourseDetails implements CourseDetails {
+
+    private static final CachingCourseDetails instance = new CachingCourseDetails(
+            QueryInstrumentation.wrap(CourseDetails.class, new CourseSqlDetails()));
+
+    private final CourseDetails delegate;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder reloads = new LongAdder();
+
+    public CachingCourseDetails(CourseDetails delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Gets the catalog shared by the application's services and screens.
+     * @return the singleton instance
+     */
+    public static CachingCourseDetails getInstance() {
+        return instance;
+    }
+
+    /**
+     * Loads every course into a new snapshot. Called at startup so the first screen is served from
+     * memory; otherwise the first lookup loads the catalog.
+     */
+    public synchronized void preload() {
+        Snapshot current = snapshot.get();
+        long version = current == null ? 1 : current.version + 1;
+        snapshot.set(new Snapshot(delegate.getAllCourses(), version));
+        reloads.increment();
+    }
+
+    @Override
+    public boolean createCourse(Course course) {
+        boolean created = delegate.createCourse(course);
+        if (created) {
+            preload();
+        }
+        return created;
+    }
+
+    @Override
+    public Optional<Course> getCourseByCode(String courseCode) {
+        Course course = current().courses.get(courseCode);
+        if (course != null) {
+            hits.increment();
+            return Optional.of(copyOf(course));
+        }
+
+        misses.increment();
+        Optional<Course> loaded = delegate.getCourseByCode(courseCode);
+        if (loaded.isPresent()) {
+            // Written without going through the catalog
+            preload();
+        }
+        return loaded;
+    }
+
+    @Override
+    public List<Course> getAllCourses() {
+        hits.increment();
+        List<Course> courses = new ArrayList<>();
+        for (Course course : current().courses.values()) {
+            courses.add(copyOf(course));
+        }
+        return courses;
+    }
+
+    @Override
+    public boolean updateCourse(Course course) {
+        boolean updated = delegate.updateCourse(course);
+        if (updated) {
+            preload();
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean deleteCourse(String courseCode) {
+        boolean deleted = delegate.deleteCourse(courseCode);
+        if (deleted) {
+            preload();
+        }
+        return deleted;
+    }
+
+    @Override
+    public boolean courseExists(String courseCode) {
+        return getCourseByCode(courseCode).isPresent();
+    }
+
+    /**
+     * Gets the catalog's hit rate and size.
+     * @return the current cache metrics
+     */
+    public CacheMetrics getMetrics() {
+        Snapshot current = snapshot.get();
+        return new CacheMetrics("courses", current == null ? 0 : current.courses.size(),
+                current == null ? 0 : current.version, hits.sum(), misses.sum(), reloads.sum());
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            preload();
+            current = snapshot.get();
+        }
+        return current;
+    }
+
+    private static Course copyOf(Course course) {
+        return new Course(course.getCourseCode(), course.getTitle(), course.getCreditHours());
+    }
+
+    /**
+     * One version of the catalog, keyed by course code in course code order.
+     */
+    private static final class Snapshot {
+        private final Map<String, Course> courses;
+        private final long version;
+
+        private Snapshot(List<Course> loaded, long version) {
+            Map<String, Course> byCode = new LinkedHashMap<>();
+            for (Course course : loaded) {
+                byCode.put(course.getCourseCode(), course);
+            }
+            this.courses = byCode;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.university.data;
+
+import com.university.courses.CourseworkGrade;
+import com.university.courses.CourseworkItem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caching decorator for CourseworkDetails that keeps coursework items in memory.
+ * Items are read on every grade operation but change rarely, so each course's items are loaded
+ * once, on first use, and indexed by course code and by item ID. Writes to items go through this
+ * class and drop the affected courses; grade operations are passed straight to the delegate.
+ * All writers must share one instance for the invalidation to be seen, hence getInstance().
+ * Items are handed out as copies so callers cannot change the cached ones.
+ */
+public class CachingCourseworkDetails implements CourseworkDetails {
+
+    private static final CachingCourseworkDetails instance = new CachingCourseworkDetails(
+            QueryInstrumentation.wrap(CourseworkDetails.class, new CourseworkSqlDetails()));
+
+    private final CourseworkDetails delegate;
+    private final Map<String, List<CourseworkItem>> itemsByCourse = new ConcurrentHashMap<>();
+    private final Map<Integer, CourseworkItem> itemsById = new ConcurrentHashMap<>();
+    // Bumped by every invalidation so a load that raced one is not cached
+    private long version;
+
+    public CachingCourseworkDetails(CourseworkDetails delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Gets the cache shared by the application's services and screens.
+     * @return the singleton instance
+     */
+    public static CachingCourseworkDetails getInstance() {
+        return instance;
+    }
+
+    @Override
+    public boolean createCourseworkItem(CourseworkItem courseworkItem) {
+        try {
+            return delegate.createCourseworkItem(courseworkItem);
+        } finally {
+            invalidateCourse(courseworkItem.getCourseCode());
+        }
+    }
+
+    @Override
+    public Optional<CourseworkItem> getCourseworkItemById(int itemId) {
+        CourseworkItem cached = itemsById.get(itemId);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+
+        // Load the item's whole course so its siblings are served from memory too
+        Optional<CourseworkItem> item = delegate.getCourseworkItemById(itemId);
+        if (item.isPresent()) {
+            loadCourse(item.get().getCourseCode());
+        }
+        return item;
+    }
+
+    @Override
+    public List<CourseworkItem> getCourseworkItemsByCourse(String courseCode) {
+        if (courseCode == null) {
+            return delegate.getCourseworkItemsByCourse(null);
+        }
+
+        List<CourseworkItem> items = itemsByCourse.get(courseCode);
+        if (items == null) {
+            items = loadCourse(courseCode);
+        }
+
+        List<CourseworkItem> copies = new ArrayList<>(items.size());
+        for (CourseworkItem item : items) {
+            copies.add(copyOf(item));
+        }
+        return copies;
+    }
+
+    @Override
+    public List<CourseworkItem> getCourseworkItemsByType(String type) {
+        return delegate.getCourseworkItemsByType(type);
+    }
+
+    @Override
+    public boolean updateCourseworkItem(CourseworkItem courseworkItem) {
+        CourseworkItem previous = itemsById.get(courseworkItem.getItemId());
+        try {
+            return delegate.updateCourseworkItem(courseworkItem);
+        } finally {
+            // The item may have moved between courses
+            if (previous != null) {
+                invalidateCourse(previous.getCourseCode());
+            }
+            invalidateCourse(courseworkItem.getCourseCode());
+        }
+    }
+
+    @Override
+    public boolean deleteCourseworkItem(int itemId) {
+        CourseworkItem previous = itemsById.get(itemId);
+        try {
+            return delegate.deleteCourseworkItem(itemId);
+        } finally {
+            if (previous != null) {
+                invalidateCourse(previous.getCourseCode());
+            } else {
+                invalidateAll();
+            }
+        }
+    }
+
+    @Override
+    public boolean createCourseworkGrade(CourseworkGrade courseworkGrade) {
+        return delegate.createCourseworkGrade(courseworkGrade);
+    }
+
+    @Override
+    public List<CourseworkGrade> getCourseworkGradesByStudent(int studentId) {
+        return delegate.getCourseworkGradesByStudent(studentId);
+    }
+
+    @Override
+    public List<CourseworkGrade> getCourseworkGradesByStudentAndCourse(int studentId, String courseCode) {
+        return delegate.getCourseworkGradesByStudentAndCourse(studentId, courseCode);
+    }
+
+    @Override
+    public Gradebook getGradebook(int studentId) {
+        return delegate.getGradebook(studentId);
+    }
+
+    @Override
+    public Gradebook getGradebook(int studentId, String courseCode) {
+        return delegate.getGradebook(studentId, courseCode);
+    }
+
+    @Override
+    public Map<Integer, Gradebook> getGradebooks(List<Integer> studentIds) {
+        return delegate.getGradebooks(studentIds);
+    }
+
+    @Override
+    public boolean updateCourseworkGrade(CourseworkGrade courseworkGrade) {
+        return delegate.updateCourseworkGrade(courseworkGrade);
+    }
+
+    @Override
+    public boolean upsertGrades(List<CourseworkGrade> grades) {
+        return delegate.upsertGrades(grades);
+    }
+
+    @Override
+    public boolean saveGrades(int studentId, List<CourseworkGrade> changedGrades, Map<Integer, String> finalGrades) {
+        return delegate.saveGrades(studentId, changedGrades, finalGrades);
+    }
+
+    @Override
+    public boolean deleteCourseworkGrade(int gradeId) {
+        return delegate.deleteCourseworkGrade(gradeId);
+    }
+
+    /**
+     * Drops every cached item, for use after items are written without going through this class.
+     */
+    public synchronized void invalidateAll() {
+        version++;
+        itemsByCourse.clear();
+        itemsById.clear();
+    }
+
+    private synchronized void invalidateCourse(String courseCode) {
+        if (courseCode == null) {
+            invalidateAll();
+            return;
+        }
+
+        version++;
+        List<CourseworkItem> items = itemsByCourse.remove(courseCode);
+        if (items != null) {
+            for (CourseworkItem item : items) {
+                itemsById.remove(item.getItemId());
+            }
+        }
+    }
+
+    private static CourseworkItem copyOf(CourseworkItem item) {
+        CourseworkItem copy = CourseworkSqlDetails.newCourseworkItem(item.getType());
+        copy.setItemId(item.getItemId());
+        copy.setCourseCode(item.getCourseCode());
+        copy.setTitle(item.getTitle());
+        copy.setTotalMarks(item.getTotalMarks());
+        copy.setWeight(item.getWeight());
+        copy.setDueDate(item.getDueDate());
+        return copy;
+    }
+
+    private List<CourseworkItem> loadCourse(String courseCode) {
+        long loadedAt;
+        synchronized (this) {
+            loadedAt = version;
+        }
+
+        List<CourseworkItem> items = List.copyOf(delegate.getCourseworkItemsByCourse(courseCode));
+
+        synchronized (this) {
+            // Courses without items are cached too; creating an item invalidates the course
+            if (version == loadedAt) {
+                itemsByCourse.put(courseCode, items);
+                for (CourseworkItem item : items) {
+                    itemsById.put(item.getItemId(), item);
+                }
+            }
+        }
+        return items;
+    }
+}
@@ -0,0 +1,344 @@
+package com.university.data;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of long-lived JDBC connections.
+ * Callers lease a connection and return it by calling close(); the physical connection
+ * stays open and goes back to the pool, so existing try-with-resources code keeps working.
+ * Idle connections are health-checked before reuse and evicted after a period of inactivity.
+ * Each physical connection keeps its own cache of prepared statements, so repeated SQL is only compiled once.
+ */
+public class ConnectionPool {
+
+    private static final long VALIDATION_INTERVAL_MILLIS = 30_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long METRICS_INTERVAL_SECONDS = 5;
+
+    private final String name;
+    private final String url;
+    private final int maxSize;
+    private final int minIdle;
+    private final long leaseTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final int statementCacheSize;
+    private final List<String> pragmas;
+
+    private final LinkedBlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final LongAdder leaseCount = new LongAdder();
+    private final LongAdder leaseTimeouts = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder evictedCount = new LongAdder();
+    private final LongAdder failedValidations = new LongAdder();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final LongAdder statementCacheEvictions = new LongAdder();
+    private volatile double leasesPerSecond;
+    private long lastSampledLeases;
+
+    /**
+     * Creates a new connection pool.
+     * @param name the pool name used in log messages and metrics
+     * @param url the JDBC URL of the database
+     * @param maxSize the maximum number of physical connections
+     * @param minIdle the number of idle connections kept open during eviction
+     * @param leaseTimeoutMillis how long a caller waits for a free connection
+     * @param idleTimeoutMillis how long a connection may stay idle before it is evicted
+     * @param statementCacheSize prepared statements cached per connection, or 0 to disable caching
+     * @param pragmas statements run once on every new physical connection
+     */
+    public ConnectionPool(String name, String url, int maxSize, int minIdle, long leaseTimeoutMillis,
+                          long idleTimeoutMillis, int statementCacheSize, List<String> pragmas) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        this.name = name;
+        this.url = url;
+        this.maxSize = maxSize;
+        this.minIdle = Math.min(minIdle, maxSize);
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.pragmas = List.copyOf(pragmas);
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.scheduleWithFixedDelay(this::evictIdleConnections,
+                idleTimeoutMillis, Math.max(1000, idleTimeoutMillis / 2), TimeUnit.MILLISECONDS);
+        housekeeper.scheduleAtFixedRate(this::sampleLeaseRate,
+                METRICS_INTERVAL_SECONDS, METRICS_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Leases a connection from the pool, waiting up to the lease timeout for one to become free.
+     * Closing the returned connection hands it back to the pool.
+     * @return a leased connection
+     * @throws SQLException if the pool is closed, the wait times out or a connection cannot be opened
+     */
+    public Connection lease() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool '" + name + "' is closed");
+        }
+
+        long waitStart = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(leaseTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                leaseTimeouts.increment();
+                throw new SQLTimeoutException("Timed out after " + leaseTimeoutMillis
+                        + " ms waiting for a connection from pool '" + name + "'");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledEntry entry = takeHealthyIdleConnection();
+            if (entry == null) {
+                entry = openConnection();
+            }
+            recordLease(System.nanoTime() - waitStart);
+            activeConnections.incrementAndGet();
+            return entry.newLease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets a snapshot of the pool statistics.
+     * @return the current pool metrics
+     */
+    public PoolMetrics getMetrics() {
+        long leases = leaseCount.sum();
+        return new PoolMetrics(name, maxSize, openConnections.get(), activeConnections.get(), idle.size(),
+                permits.getQueueLength(), leases, leaseTimeouts.sum(), leasesPerSecond,
+                leases > 0 ? totalWaitNanos.sum() / leases : 0, maxWaitNanos.get(),
+                evictedCount.sum(), failedValidations.sum(),
+                statementCacheHits.sum(), statementCacheMisses.sum(), statementCacheEvictions.sum());
+    }
+
+    /**
+     * Closes the pool and every idle physical connection.
+     * Connections still leased are closed when they are returned.
+     */
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            discard(entry);
+        }
+    }
+
+    private PooledEntry takeHealthyIdleConnection() {
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            if (isHealthy(entry)) {
+                return entry;
+            }
+            failedValidations.increment();
+            discard(entry);
+        }
+        return null;
+    }
+
+    private boolean isHealthy(PooledEntry entry) {
+        try {
+            if (entry.physical.isClosed()) {
+                return false;
+            }
+            if (System.currentTimeMillis() - entry.lastUsedMillis < VALIDATION_INTERVAL_MILLIS) {
+                return true;
+            }
+            return entry.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledEntry openConnection() throws SQLException {
+        Connection physical = DriverManager.getConnection(url);
+        try (Statement stmt = physical.createStatement()) {
+            for (String pragma : pragmas) {
+                stmt.execute(pragma);
+            }
+        } catch (SQLException e) {
+            physical.close();
+            throw e;
+        }
+        openConnections.incrementAndGet();
+        return new PooledEntry(physical);
+    }
+
+    private void release(PooledEntry entry) {
+        activeConnections.decrementAndGet();
+        try {
+            if (closed || entry.physical.isClosed()) {
+                discard(entry);
+                return;
+            }
+            if (!entry.physical.getAutoCommit()) {
+                entry.physical.rollback();
+                entry.physical.setAutoCommit(true);
+            }
+            entry.physical.clearWarnings();
+            entry.lastUsedMillis = System.currentTimeMillis();
+            // Most recently used first, so the tail of the deque is what goes idle for longest
+            idle.offerFirst(entry);
+        } catch (SQLException e) {
+            System.err.println("Discarding broken connection from pool '" + name + "': " + e.getMessage());
+            discard(entry);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledEntry entry) {
+        openConnections.decrementAndGet();
+        if (entry.statements != null) {
+            entry.statements.closeAll();
+        }
+        try {
+            entry.physical.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    private void evictIdleConnections() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        Iterator<PooledEntry> oldestFirst = idle.descendingIterator();
+        while (oldestFirst.hasNext() && idle.size() > minIdle) {
+            PooledEntry entry = oldestFirst.next();
+            if (entry.lastUsedMillis < cutoff && idle.remove(entry)) {
+                evictedCount.increment();
+                discard(entry);
+            }
+        }
+    }
+
+    private void recordLease(long waitNanos) {
+        leaseCount.increment();
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private void sampleLeaseRate() {
+        long leases = leaseCount.sum();
+        leasesPerSecond = (double) (leases - lastSampledLeases) / METRICS_INTERVAL_SECONDS;
+        lastSampledLeases = leases;
+    }
+
+    /**
+     * A physical connection owned by the pool.
+     */
+    private final class PooledEntry {
+        private final Connection physical;
+        private final StatementCache statements;
+        private volatile long lastUsedMillis = System.currentTimeMillis();
+
+        private PooledEntry(Connection physical) {
+            this.physical = physical;
+            this.statements = statementCacheSize > 0
+                    ? new StatementCache(physical, statementCacheSize,
+                            statementCacheHits, statementCacheMisses, statementCacheEvictions)
+                    : null;
+        }
+
+        private Connection newLease() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, new LeaseHandler(this));
+        }
+    }
+
+    /**
+     * Routes calls on a leased connection to the physical one and turns close() into a return to the pool.
+     */
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledEntry entry;
+        private boolean returned;
+
+        private LeaseHandler(PooledEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || entry.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Leased[" + name + "] " + entry.physical;
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Connection has already been returned to pool '" + name + "'");
+            }
+            Object result;
+            if (entry.statements != null && method.getName().equals("prepareStatement") && args.length == 1) {
+                result = entry.statements.prepare((String) args[0]);
+            } else {
+                try {
+                    result = method.invoke(entry.physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+            return result instanceof Statement statement ? traceIfRecording(method, statement, args) : result;
+        }
+
+        /**
+         * Puts a statement behind JdbcTracing while a Flight Recording collects JDBC executions.
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object traceIfRecording(Method method, Statement statement, Object[] args) {
+            if (!JdbcExecutionEvent.isRecording()) {
+                return statement;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            return JdbcTracing.trace((Class) method.getReturnType(), statement, sql, name);
+        }
+    }
+}
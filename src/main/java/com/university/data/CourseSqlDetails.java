@@ -14,6 +14,12 @@ import java.util.Optional;
  */
 public class CourseSqlDetails implements CourseDetails {
 
+    static final String COURSE_BY_CODE_SQL = "SELECT * FROM courses WHERE courseCode = ?";
+
+    static final String COURSES_BY_CODE_SQL = "SELECT * FROM courses ORDER BY courseCode";
+
+    static final String COURSE_EXISTS_SQL = "SELECT COUNT(*) FROM courses WHERE courseCode = ?";
+
     private final DatabaseConnection dbConnection;
 
     public CourseSqlDetails() {
@@ -43,10 +49,8 @@ public class CourseSqlDetails implements CourseDetails {
 
     @Override
     public Optional<Course> getCourseByCode(String courseCode) {
-        String sql = "SELECT * FROM courses WHERE courseCode = ?";
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(COURSE_BY_CODE_SQL)) {
 
             pstmt.setString(1, courseCode);
             ResultSet rs = pstmt.executeQuery();
@@ -64,11 +68,10 @@ public class CourseSqlDetails implements CourseDetails {
     @Override
     public List<Course> getAllCourses() {
         List<Course> courses = new ArrayList<>();
-        String sql = "SELECT * FROM courses ORDER BY courseCode";
 
-        try (Connection conn = dbConnection.getConnection();
+        try (Connection conn = dbConnection.getReadConnection();
              Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             ResultSet rs = stmt.executeQuery(COURSES_BY_CODE_SQL)) {
 
             while (rs.next()) {
                 courses.add(mapResultSetToCourse(rs));
@@ -87,11 +90,27 @@ public class CourseSqlDetails implements CourseDetails {
         try (Connection conn = dbConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
+            conn.setAutoCommit(false);
+            Integer previousCreditHours = null;
+            try (PreparedStatement select = conn.prepareStatement(COURSE_BY_CODE_SQL)) {
+                select.setString(1, course.getCourseCode());
+                ResultSet rs = select.executeQuery();
+                if (rs.next()) {
+                    previousCreditHours = rs.getInt("creditHours");
+                }
+            }
+
             pstmt.setString(1, course.getTitle());
             pstmt.setInt(2, course.getCreditHours());
             pstmt.setString(3, course.getCourseCode());
 
-            return pstmt.executeUpdate() > 0;
+            boolean updated = pstmt.executeUpdate() > 0;
+            if (updated && previousCreditHours != null && previousCreditHours != course.getCreditHours()) {
+                // Credit hours weight the stored standing of every student enrolled in the course
+                refreshStandings(conn, StudentStandingProjection.studentIdsEnrolledIn(conn, course.getCourseCode()));
+            }
+            conn.commit();
+            return updated;
         } catch (SQLException e) {
             System.err.println("Error updating course: " + e.getMessage());
             return false;
@@ -105,20 +124,34 @@ public class CourseSqlDetails implements CourseDetails {
         try (Connection conn = dbConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
+            conn.setAutoCommit(false);
+            List<Integer> enrolled = StudentStandingProjection.studentIdsEnrolledIn(conn, courseCode);
             pstmt.setString(1, courseCode);
-            return pstmt.executeUpdate() > 0;
+
+            boolean deleted = pstmt.executeUpdate() > 0;
+            if (deleted && !enrolled.isEmpty()) {
+                // Enrollments in a deleted course no longer count towards their students' standings
+                refreshStandings(conn, enrolled);
+            }
+            conn.commit();
+            return deleted;
         } catch (SQLException e) {
             System.err.println("Error deleting course: " + e.getMessage());
             return false;
         }
     }
 
+    private static void refreshStandings(Connection conn, List<Integer> studentIds) throws SQLException {
+        StudentStandingProjection.refresh(conn, studentIds);
+        for (int studentId : studentIds) {
+            StudentSqlDetails.refreshCompletedCredits(conn, studentId);
+        }
+    }
+
     @Override
     public boolean courseExists(String courseCode) {
-        String sql = "SELECT COUNT(*) FROM courses WHERE courseCode = ?";
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(COURSE_EXISTS_SQL)) {
 
             pstmt.setString(1, courseCode);
             ResultSet rs = pstmt.executeQuery();
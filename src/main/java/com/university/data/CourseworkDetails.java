@@ -4,6 +4,7 @@ import com.university.courses.CourseworkItem;
 import com.university.courses.CourseworkGrade;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -77,6 +78,29 @@ public interface CourseworkDetails {
      */
     List<CourseworkGrade> getCourseworkGradesByStudentAndCourse(int studentId, String courseCode);
 
+    /**
+     * Retrieves a student's gradebook: the coursework items of every course the student is enrolled in,
+     * with the student's marks, in one query.
+     * @param studentId the student ID
+     * @return the gradebook, empty if the student has no coursework
+     */
+    Gradebook getGradebook(int studentId);
+
+    /**
+     * Retrieves a student's gradebook for one course in one query.
+     * @param studentId the student ID
+     * @param courseCode the course code
+     * @return the gradebook, empty if the course has no coursework
+     */
+    Gradebook getGradebook(int studentId, String courseCode);
+
+    /**
+     * Retrieves the gradebooks of several students in one query, for batch work such as transcripts.
+     * @param studentIds the student IDs
+     * @return a gradebook for every given student, empty for students without coursework
+     */
+    Map<Integer, Gradebook> getGradebooks(List<Integer> studentIds);
+
     /**
      * Updates an existing coursework grade.
      * @param courseworkGrade the coursework grade to update
@@ -84,6 +108,26 @@ public interface CourseworkDetails {
      */
     boolean updateCourseworkGrade(CourseworkGrade courseworkGrade);
 
+    /**
+     * Inserts or updates coursework grades, matched on student and item, in one transaction.
+     * Grades whose marks are already stored are left untouched.
+     * @param grades the grades to write
+     * @return true if successful, false otherwise
+     */
+    boolean upsertGrades(List<CourseworkGrade> grades);
+
+    /**
+     * Saves an advisor's grade edits for one student in a single transaction: the changed coursework
+     * grades, the recalculated final grades of the affected enrollments, and the student's completed
+     * credits. Nothing is written if any part fails, including when a grade or an enrollment
+     * belongs to a different student.
+     * @param studentId the student ID
+     * @param changedGrades the coursework grades the advisor changed
+     * @param finalGrades the new final grade of each enrollment whose grade changed, keyed by enrollment ID
+     * @return true if successful, false otherwise
+     */
+    boolean saveGrades(int studentId, List<CourseworkGrade> changedGrades, Map<Integer, String> finalGrades);
+
     /**
      * Deletes a coursework grade record.
      * @param gradeId the grade ID to delete
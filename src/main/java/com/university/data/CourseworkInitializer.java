@@ -14,8 +14,8 @@ public class CourseworkInitializer {
     private final CourseDetails courseDetails;
 
     public CourseworkInitializer() {
-        this.courseworkService = new CourseworkService(new CourseworkSqlDetails(), new CourseSqlDetails());
-        this.courseDetails = new CourseSqlDetails();
+        this.courseworkService = new CourseworkService(CachingCourseworkDetails.getInstance(), CachingCourseDetails.getInstance());
+        this.courseDetails = CachingCourseDetails.getInstance();
     }
 
     /**
@@ -7,7 +7,12 @@ import com.university.courses.MidtermExam;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -17,6 +22,45 @@ import java.util.Optional;
  */
 public class CourseworkSqlDetails implements CourseworkDetails {
 
+    private static final Comparator<Gradebook.Entry> GRADEBOOK_ORDER = Comparator
+            .comparing(Gradebook.Entry::getCourseCode)
+            .thenComparing(entry -> entry.getItem().getDueDate())
+            .thenComparingInt(Gradebook.Entry::getItemId);
+
+    static final String ITEM_BY_ID_SQL = "SELECT * FROM coursework_items WHERE itemId = ?";
+
+    static final String ITEMS_BY_COURSE_SQL = "SELECT * FROM coursework_items WHERE courseCode = ? ORDER BY dueDate";
+
+    static final String ITEMS_BY_TYPE_SQL = "SELECT * FROM coursework_items WHERE type = ? ORDER BY dueDate";
+
+    static final String GRADES_BY_STUDENT_SQL = "SELECT * FROM coursework_grades WHERE studentId = ? ORDER BY courseCode, itemId";
+
+    static final String GRADES_BY_STUDENT_AND_COURSE_SQL = "SELECT * FROM coursework_grades WHERE studentId = ? AND courseCode = ? ORDER BY itemId";
+
+    static final String GRADEBOOK_SQL = """
+            SELECT i.*, g.gradeId, g.marksObtained
+            FROM coursework_items i
+            LEFT JOIN coursework_grades g ON g.itemId = i.itemId AND g.studentId = ?
+            WHERE i.courseCode IN (SELECT courseCode FROM enrollments WHERE studentId = ?)
+            ORDER BY i.courseCode, i.dueDate
+            """;
+
+    static final String GRADEBOOK_BY_COURSE_SQL = """
+            SELECT i.*, g.gradeId, g.marksObtained
+            FROM coursework_items i
+            LEFT JOIN coursework_grades g ON g.itemId = i.itemId AND g.studentId = ?
+            WHERE i.courseCode = ?
+            ORDER BY i.dueDate
+            """;
+
+    static final String GRADEBOOKS_SQL = """
+            SELECT e.studentId, i.*, g.gradeId, g.marksObtained
+            FROM enrollments e
+            JOIN coursework_items i ON i.courseCode = e.courseCode
+            LEFT JOIN coursework_grades g ON g.itemId = i.itemId AND g.studentId = e.studentId
+            WHERE e.studentId IN (%s)
+            """;
+
     private final DatabaseConnection dbConnection;
 
     public CourseworkSqlDetails() {
@@ -46,10 +90,8 @@ public class CourseworkSqlDetails implements CourseworkDetails {
 
     @Override
     public Optional<CourseworkItem> getCourseworkItemById(int itemId) {
-        String sql = "SELECT * FROM coursework_items WHERE itemId = ?";
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(ITEM_BY_ID_SQL)) {
 
             pstmt.setInt(1, itemId);
             ResultSet rs = pstmt.executeQuery();
@@ -67,10 +109,9 @@ public class CourseworkSqlDetails implements CourseworkDetails {
     @Override
     public List<CourseworkItem> getCourseworkItemsByCourse(String courseCode) {
         List<CourseworkItem> items = new ArrayList<>();
-        String sql = "SELECT * FROM coursework_items WHERE courseCode = ? ORDER BY dueDate";
 
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(ITEMS_BY_COURSE_SQL)) {
 
             pstmt.setString(1, courseCode);
             ResultSet rs = pstmt.executeQuery();
@@ -88,10 +129,9 @@ public class CourseworkSqlDetails implements CourseworkDetails {
     @Override
     public List<CourseworkItem> getCourseworkItemsByType(String type) {
         List<CourseworkItem> items = new ArrayList<>();
-        String sql = "SELECT * FROM coursework_items WHERE type = ? ORDER BY dueDate";
 
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(ITEMS_BY_TYPE_SQL)) {
 
             pstmt.setString(1, type);
             ResultSet rs = pstmt.executeQuery();
@@ -168,10 +208,9 @@ public class CourseworkSqlDetails implements CourseworkDetails {
     @Override
     public List<CourseworkGrade> getCourseworkGradesByStudent(int studentId) {
         List<CourseworkGrade> grades = new ArrayList<>();
-        String sql = "SELECT * FROM coursework_grades WHERE studentId = ? ORDER BY courseCode, itemId";
 
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(GRADES_BY_STUDENT_SQL)) {
 
             pstmt.setInt(1, studentId);
             ResultSet rs = pstmt.executeQuery();
@@ -189,10 +228,9 @@ public class CourseworkSqlDetails implements CourseworkDetails {
     @Override
     public List<CourseworkGrade> getCourseworkGradesByStudentAndCourse(int studentId, String courseCode) {
         List<CourseworkGrade> grades = new ArrayList<>();
-        String sql = "SELECT * FROM coursework_grades WHERE studentId = ? AND courseCode = ? ORDER BY itemId";
 
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(GRADES_BY_STUDENT_AND_COURSE_SQL)) {
 
             pstmt.setInt(1, studentId);
             pstmt.setString(2, courseCode);
@@ -208,6 +246,74 @@ public class CourseworkSqlDetails implements CourseworkDetails {
         return grades;
     }
 
+    @Override
+    public Gradebook getGradebook(int studentId) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(GRADEBOOK_SQL)) {
+
+            pstmt.setInt(1, studentId);
+            pstmt.setInt(2, studentId);
+            return new Gradebook(studentId, mapResultSetToGradebookEntries(pstmt.executeQuery()));
+        } catch (SQLException e) {
+            System.err.println("Error getting gradebook: " + e.getMessage());
+        }
+
+        return new Gradebook(studentId, List.of());
+    }
+
+    @Override
+    public Gradebook getGradebook(int studentId, String courseCode) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(GRADEBOOK_BY_COURSE_SQL)) {
+
+            pstmt.setInt(1, studentId);
+            pstmt.setString(2, courseCode);
+            return new Gradebook(studentId, mapResultSetToGradebookEntries(pstmt.executeQuery()));
+        } catch (SQLException e) {
+            System.err.println("Error getting gradebook by course: " + e.getMessage());
+        }
+
+        return new Gradebook(studentId, List.of());
+    }
+
+    @Override
+    public Map<Integer, Gradebook> getGradebooks(List<Integer> studentIds) {
+        // Driven from the enrollments index; sorting here avoids a temporary B-tree over every row
+        String sql = GRADEBOOKS_SQL
+                .formatted(String.join(", ", Collections.nCopies(studentIds.size(), "?")));
+
+        Map<Integer, Map<Integer, Gradebook.Entry>> entriesByStudent = new HashMap<>();
+        if (!studentIds.isEmpty()) {
+            try (Connection conn = dbConnection.getReadConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                for (int i = 0; i < studentIds.size(); i++) {
+                    pstmt.setInt(i + 1, studentIds.get(i));
+                }
+                ResultSet rs = pstmt.executeQuery();
+
+                while (rs.next()) {
+                    CourseworkItem item = mapResultSetToCourseworkItem(rs);
+                    // A course taken in more than one term lists its items once, as in getGradebook
+                    entriesByStudent.computeIfAbsent(rs.getInt("studentId"), id -> new LinkedHashMap<>())
+                            .putIfAbsent(item.getItemId(),
+                                    new Gradebook.Entry(item, rs.getInt("gradeId"), rs.getDouble("marksObtained")));
+                }
+            } catch (SQLException e) {
+                System.err.println("Error getting gradebooks: " + e.getMessage());
+                entriesByStudent.clear();
+            }
+        }
+
+        Map<Integer, Gradebook> gradebooks = new HashMap<>(studentIds.size() * 2);
+        for (int studentId : studentIds) {
+            List<Gradebook.Entry> entries = new ArrayList<>(entriesByStudent.getOrDefault(studentId, Map.of()).values());
+            entries.sort(GRADEBOOK_ORDER);
+            gradebooks.put(studentId, new Gradebook(studentId, entries));
+        }
+        return gradebooks;
+    }
+
     @Override
     public boolean updateCourseworkGrade(CourseworkGrade courseworkGrade) {
         String sql = "UPDATE coursework_grades SET studentId = ?, courseCode = ?, itemId = ?, marksObtained = ? WHERE gradeId = ?";
@@ -228,6 +334,77 @@ public class CourseworkSqlDetails implements CourseworkDetails {
         }
     }
 
+    @Override
+    public boolean upsertGrades(List<CourseworkGrade> grades) {
+        try (Connection conn = dbConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            upsertGrades(conn, grades);
+            conn.commit();
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error saving coursework grades: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean saveGrades(int studentId, List<CourseworkGrade> changedGrades, Map<Integer, String> finalGrades) {
+        for (CourseworkGrade grade : changedGrades) {
+            if (grade.getStudentId() != studentId) {
+                System.err.println("Error saving grades for student " + studentId
+                        + ": a grade belongs to student " + grade.getStudentId());
+                return false;
+            }
+        }
+
+        try (Connection conn = dbConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            upsertGrades(conn, changedGrades);
+            for (Map.Entry<Integer, String> finalGrade : finalGrades.entrySet()) {
+                // Throws, rolling everything back, if the enrollment is another student's
+                EnrollmentSqlDetails.updateFinalGrade(conn, studentId, finalGrade.getKey(), finalGrade.getValue());
+            }
+            StudentSqlDetails.refreshCompletedCredits(conn, studentId);
+            conn.commit();
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error saving grades for student " + studentId + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Writes grades as one JDBC batch inside the caller's transaction.
+     * The WHERE clause of the upsert skips rows whose marks have not changed.
+     * @param conn a connection with auto-commit disabled
+     * @param grades the grades to write
+     * @throws SQLException if a database access error occurs
+     */
+    static void upsertGrades(Connection conn, List<CourseworkGrade> grades) throws SQLException {
+        if (grades.isEmpty()) {
+            return;
+        }
+
+        String sql = """
+            INSERT INTO coursework_grades (studentId, courseCode, itemId, marksObtained) VALUES (?, ?, ?, ?)
+            ON CONFLICT (studentId, itemId) DO UPDATE SET
+                courseCode = excluded.courseCode,
+                marksObtained = excluded.marksObtained
+            WHERE marksObtained IS NOT excluded.marksObtained OR courseCode IS NOT excluded.courseCode
+            """;
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (CourseworkGrade grade : grades) {
+                pstmt.setInt(1, grade.getStudentId());
+                pstmt.setString(2, grade.getCourseCode());
+                pstmt.setInt(3, grade.getItemId());
+                pstmt.setDouble(4, grade.getMarksObtained());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
     @Override
     public boolean deleteCourseworkGrade(int gradeId) {
         String sql = "DELETE FROM coursework_grades WHERE gradeId = ?";
@@ -243,6 +420,22 @@ public class CourseworkSqlDetails implements CourseworkDetails {
         }
     }
 
+    /**
+     * Maps the rows of a gradebook query to entries. Items without a grade have a NULL gradeId.
+     * @param rs the ResultSet to map
+     * @return the entries in row order
+     * @throws SQLException if a database access error occurs
+     */
+    private List<Gradebook.Entry> mapResultSetToGradebookEntries(ResultSet rs) throws SQLException {
+        List<Gradebook.Entry> entries = new ArrayList<>();
+        while (rs.next()) {
+            CourseworkItem item = mapResultSetToCourseworkItem(rs);
+            // getInt returns 0 for NULL, which Gradebook.Entry reads as not graded
+            entries.add(new Gradebook.Entry(item, rs.getInt("gradeId"), rs.getDouble("marksObtained")));
+        }
+        return entries;
+    }
+
     /**
      * Maps a ResultSet to a CourseworkItem object.
      * @param rs the ResultSet to map
@@ -250,36 +443,38 @@ public class CourseworkSqlDetails implements CourseworkDetails {
      * @throws SQLException if a database access error occurs
      */
     private CourseworkItem mapResultSetToCourseworkItem(ResultSet rs) throws SQLException {
-        String type = rs.getString("type");
-        CourseworkItem item;
+        CourseworkItem item = newCourseworkItem(rs.getString("type"));
+        item.setItemId(rs.getInt("itemId"));
+        item.setCourseCode(rs.getString("courseCode"));
+        item.setTitle(rs.getString("title"));
+        item.setTotalMarks(rs.getDouble("totalMarks"));
+        item.setWeight(rs.getDouble("weight"));
+        item.setDueDate(LocalDate.parse(rs.getString("dueDate")));
+
+        return item;
+    }
 
+    /**
+     * Creates an empty coursework item of the class that matches a stored type.
+     * @param type the type column of coursework_items
+     * @return the new item
+     */
+    static CourseworkItem newCourseworkItem(String type) {
         switch (type) {
             case "ASSIGNMENT":
-                item = new Assignment();
-                break;
+                return new Assignment();
             case "MIDTERM_EXAM":
-                item = new MidtermExam();
-                break;
+                return new MidtermExam();
             case "FINAL_EXAM":
-                item = new FinalExam();
-                break;
+                return new FinalExam();
             default:
-                item = new CourseworkItem() {
+                return new CourseworkItem() {
                     @Override
                     public String getType() {
                         return type;
                     }
                 };
         }
-
-        item.setItemId(rs.getInt("itemId"));
-        item.setCourseCode(rs.getString("courseCode"));
-        item.setTitle(rs.getString("title"));
-        item.setTotalMarks(rs.getDouble("totalMarks"));
-        item.setWeight(rs.getDouble("weight"));
-        item.setDueDate(LocalDate.parse(rs.getString("dueDate")));
-
-        return item;
     }
 
     /**
@@ -1,32 +1,104 @@
 package com.university.data;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Database connection utility class.
  * Demonstrates Singleton pattern for managing database connections.
- * Provides centralized database configuration and connection management.
+ * Provides centralized database configuration and connection management backed by a connection pool.
  */
 public class DatabaseConnection {
+    private static final int POOL_SIZE = Integer.getInteger("university.db.poolSize", 4);
+    private static final int READ_POOL_SIZE = Integer.getInteger("university.db.readPoolSize",
+            Math.max(2, Runtime.getRuntime().availableProcessors()));
+    private static final int POOL_MIN_IDLE = 1;
+    private static final long LEASE_TIMEOUT_MILLIS = 10_000;
+    private static final long IDLE_TIMEOUT_MILLIS = 5 * 60_000;
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("university.db.statementCacheSize", 64);
+    private static final int BUSY_TIMEOUT_MILLIS = 5_000;
+    private static final int CACHE_SIZE_KIB = 16 * 1024;
+    private static final long MMAP_SIZE_BYTES = 256L * 1024 * 1024;
+    private static final boolean STRICT_THREAD_CHECK = Boolean.getBoolean("university.db.strictThreadCheck");
+    // Writer transactions read rows before changing them (e.g. a standing contribution before an
+    // enrollment update). Under WAL a deferred transaction that tries to upgrade its read to a write
+    // after another writer committed fails with SQLITE_BUSY_SNAPSHOT, which busy_timeout does not
+    // retry, so writers take the write lock as soon as they begin and wait for it instead.
+    private static final String WRITER_URL_OPTIONS = "?transaction_mode=IMMEDIATE";
+
     private static String DB_URL;
-    private static Connection connection;
     private static final DatabaseConnection instance = new DatabaseConnection();
 
+    private final ConnectionPool pool;
+    private final ConnectionPool readPool;
+    private volatile Thread forbiddenThread;
+
     /**
      * Private constructor to prevent instantiation.
      */
     private DatabaseConnection() {
         initializeDatabasePath();
+        this.pool = new ConnectionPool("university-db", DB_URL + WRITER_URL_OPTIONS, POOL_SIZE, POOL_MIN_IDLE,
+                LEASE_TIMEOUT_MILLIS, IDLE_TIMEOUT_MILLIS, STATEMENT_CACHE_SIZE, writerPragmas());
+        this.readPool = new ConnectionPool("university-db-read", DB_URL, READ_POOL_SIZE, POOL_MIN_IDLE,
+                LEASE_TIMEOUT_MILLIS, IDLE_TIMEOUT_MILLIS, STATEMENT_CACHE_SIZE, readerPragmas());
+    }
+
+    /**
+     * Pragmas applied to every read-write connection when it is opened.
+     * WAL mode lets readers keep running while a writer commits; with WAL, synchronous=NORMAL
+     * is still durable against application crashes and only syncs at checkpoints.
+     * @return the pragma statements
+     */
+    private static List<String> writerPragmas() {
+        List<String> pragmas = new ArrayList<>();
+        pragmas.add("PRAGMA journal_mode = WAL");
+        pragmas.addAll(tuningPragmas());
+        return pragmas;
+    }
+
+    /**
+     * Pragmas applied to every read-only connection when it is opened.
+     * query_only makes any accidental write on a reader fail instead of contending for the write lock.
+     * @return the pragma statements
+     */
+    private static List<String> readerPragmas() {
+        List<String> pragmas = new ArrayList<>(tuningPragmas());
+        pragmas.add("PRAGMA query_only = ON");
+        return pragmas;
+    }
+
+    /**
+     * Connection-scoped settings shared by readers and writers.
+     * These are lost when a connection is closed, so they belong here rather than in schema initialization;
+     * SQLite enforces foreign keys only on connections that turned them on.
+     * @return the pragma statements
+     */
+    private static List<String> tuningPragmas() {
+        return List.of(
+                "PRAGMA foreign_keys = ON",
+                "PRAGMA busy_timeout = " + BUSY_TIMEOUT_MILLIS,
+                "PRAGMA synchronous = NORMAL",
+                "PRAGMA cache_size = -" + CACHE_SIZE_KIB,
+                "PRAGMA mmap_size = " + MMAP_SIZE_BYTES,
+                "PRAGMA temp_store = MEMORY"
+        );
     }
 
     /**
      * Initializes the database path to be in the same directory as the JAR file.
      */
     private void initializeDatabasePath() {
+        String configuredPath = System.getProperty("university.db.path");
+        if (configuredPath != null && !configuredPath.isBlank()) {
+            DB_URL = "jdbc:sqlite:" + new File(configuredPath).getAbsolutePath();
+            System.out.println("Configured database path: " + DB_URL);
+            return;
+        }
+
         try {
             // Check if we're running from a JAR file
             boolean isRunningFromJar = DatabaseConnection.class.getResource("DatabaseConnection.class").toString().startsWith("jar:");
@@ -67,136 +139,97 @@ public class DatabaseConnection {
     }
 
     /**
-     * Gets a database connection.
+     * Leases a database connection from the pool.
+     * Closing the returned connection hands it back to the pool instead of closing the database file.
+     * Transactions begun on it with setAutoCommit(false) are BEGIN IMMEDIATE, so they hold the
+     * write lock from the start; keep them short and use getReadConnection for plain reads.
      * @return the database connection
      * @throws SQLException if a database access error occurs
      */
     public Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            connection = DriverManager.getConnection(DB_URL);
+        checkThread();
+        return pool.lease();
+    }
+
+    /**
+     * Leases a read-only database connection from the reader pool.
+     * Reads on these connections see the last committed state and are not blocked by a writer.
+     * @return the read-only database connection
+     * @throws SQLException if a database access error occurs
+     */
+    public Connection getReadConnection() throws SQLException {
+        checkThread();
+        return readPool.lease();
+    }
+
+    /**
+     * Flags database access from a thread that must not block, such as the JavaFX Application Thread.
+     * Each access from that thread is reported with its caller; with
+     * -Duniversity.db.strictThreadCheck=true, which mvn javafx:run sets, it fails with an
+     * IllegalStateException instead. The exception is unchecked so that DAOs, which turn
+     * SQLExceptions into empty results, cannot swallow it.
+     * @param thread the thread to guard, or null to stop guarding
+     */
+    public void forbidAccessFrom(Thread thread) {
+        this.forbiddenThread = thread;
+    }
+
+    private void checkThread() {
+        Thread current = Thread.currentThread();
+        if (current != forbiddenThread) {
+            return;
         }
-        return connection;
+
+        String caller = StackWalker.getInstance()
+                .walk(frames -> frames
+                        .filter(frame -> !frame.getClassName().startsWith(DatabaseConnection.class.getPackageName()))
+                        .findFirst()
+                        .map(StackWalker.StackFrame::toString)
+                        .orElse("unknown caller"));
+        String message = "Database access on " + current.getName() + " from " + caller;
+        if (STRICT_THREAD_CHECK) {
+            throw new IllegalStateException(message);
+        }
+        System.err.println("Warning: " + message);
+    }
+
+    /**
+     * Gets a snapshot of the read-write connection pool statistics.
+     * @return the pool metrics
+     */
+    public PoolMetrics getPoolMetrics() {
+        return pool.getMetrics();
     }
 
     /**
-     * Closes the database connection.
+     * Gets a snapshot of the read-only connection pool statistics.
+     * @return the pool metrics
+     */
+    public PoolMetrics getReadPoolMetrics() {
+        return readPool.getMetrics();
+    }
+
+    /**
+     * Closes both connection pools and all physical database connections.
      */
     public void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-            }
-        } catch (SQLException e) {
-            System.err.println("Error closing database connection: " + e.getMessage());
-        }
+        readPool.close();
+        pool.close();
     }
 
     /**
-     * Initializes the database by creating all necessary tables.
+     * Initializes the database by applying any pending schema migrations
+     * and building the student standing projection if it has not been built yet.
      * @return true if initialization was successful, false otherwise
      */
     public boolean initializeDatabase() {
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement()) {
-
-            // Enable foreign key support
-            stmt.execute("PRAGMA foreign_keys = ON");
-
-            // Create advisors table
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS advisors (
-                    advisorId INTEGER PRIMARY KEY AUTOINCREMENT,
-                    name TEXT NOT NULL,
-                    username TEXT UNIQUE NOT NULL,
-                    passwordHash TEXT NOT NULL,
-                    department TEXT NOT NULL,
-                    email TEXT
-                )
-            """);
-
-            // Create students table
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS students (
-                    studentId INTEGER PRIMARY KEY AUTOINCREMENT,
-                    name TEXT NOT NULL,
-                    username TEXT UNIQUE NOT NULL,
-                    passwordHash TEXT NOT NULL,
-                    program TEXT NOT NULL,
-                    requiredCredits INTEGER NOT NULL DEFAULT 120,
-                    completedCredits INTEGER NOT NULL DEFAULT 0
-                )
-            """);
-
-            // Create courses table
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS courses (
-                    courseCode TEXT PRIMARY KEY,
-                    title TEXT NOT NULL,
-                    creditHours INTEGER NOT NULL
-                )
-            """);
-
-            // Create enrollments table
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS enrollments (
-                    enrollmentId INTEGER PRIMARY KEY AUTOINCREMENT,
-                    studentId INTEGER NOT NULL,
-                    courseCode TEXT NOT NULL,
-                    semester TEXT NOT NULL,
-                    year INTEGER NOT NULL,
-                    finalGrade TEXT,
-                    FOREIGN KEY (studentId) REFERENCES students(studentId),
-                    FOREIGN KEY (courseCode) REFERENCES courses(courseCode),
-                    UNIQUE(studentId, courseCode, semester, year)
-                )
-            """);
-
-            // Create coursework_items table
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS coursework_items (
-                    itemId INTEGER PRIMARY KEY AUTOINCREMENT,
-                    courseCode TEXT NOT NULL,
-                    type TEXT NOT NULL,
-                    title TEXT NOT NULL,
-                    totalMarks REAL NOT NULL,
-                    weight REAL NOT NULL,
-                    dueDate TEXT NOT NULL,
-                    FOREIGN KEY (courseCode) REFERENCES courses(courseCode)
-                )
-            """);
-
-            // Create coursework_grades table
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS coursework_grades (
-                    gradeId INTEGER PRIMARY KEY AUTOINCREMENT,
-                    studentId INTEGER NOT NULL,
-                    courseCode TEXT NOT NULL,
-                    itemId INTEGER NOT NULL,
-                    marksObtained REAL NOT NULL,
-                    FOREIGN KEY (studentId) REFERENCES students(studentId),
-                    FOREIGN KEY (courseCode) REFERENCES courses(courseCode),
-                    FOREIGN KEY (itemId) REFERENCES coursework_items(itemId),
-                    UNIQUE(studentId, itemId)
-                )
-            """);
-
-            // Create advisor_feedback table
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS advisor_feedback (
-                    feedbackId INTEGER PRIMARY KEY AUTOINCREMENT,
-                    advisorId INTEGER NOT NULL,
-                    studentId INTEGER NOT NULL,
-                    note TEXT NOT NULL,
-                    createdAt TEXT NOT NULL,
-                    FOREIGN KEY (advisorId) REFERENCES advisors(advisorId),
-                    FOREIGN KEY (studentId) REFERENCES students(studentId)
-                )
-            """);
-
+        try {
+            new SchemaMigrator(this).migrate();
+            new StudentStandingProjection(this).rebuildIfEmpty();
             return true;
         } catch (SQLException e) {
             System.err.println("Error initializing database: " + e.getMessage());
             return false;
         }
     }
-}
\ No newline at end of file
+}
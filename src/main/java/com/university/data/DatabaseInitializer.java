@@ -5,10 +5,16 @@ import com.university.roles.Student;
 import com.university.courses.*;
 import com.university.services.PasswordUtil;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Database initialization class that creates sample data for the application.
@@ -16,6 +22,11 @@ import java.util.Map;
  */
 public class DatabaseInitializer {
 
+    private static final String SEEDED_KEY = "sample_data_seeded";
+
+    // Completed when the background initialization ends; already complete if there is none
+    private static volatile CompletableFuture<Boolean> initialization = CompletableFuture.completedFuture(true);
+
     private final StudentDetails studentDetails;
     private final AdvisorDetails advisorDetails;
     private final CourseDetails courseDetails;
@@ -25,13 +36,52 @@ public class DatabaseInitializer {
     public DatabaseInitializer() {
         this.studentDetails = new StudentSqlDetails();
         this.advisorDetails = new AdvisorSqlDetails();
-        this.courseDetails = new CourseSqlDetails();
+        this.courseDetails = CachingCourseDetails.getInstance();
         this.enrollmentDetails = new EnrollmentSqlDetails();
-        this.courseworkDetails = new CourseworkSqlDetails();
+        this.courseworkDetails = CachingCourseworkDetails.getInstance();
+    }
+
+    /**
+     * Runs initializeSampleData on a daemon thread, so the login screen can be shown meanwhile,
+     * and then fills the course cache so screens look courses up from memory from the start.
+     * Until it finishes, awaitInitialization blocks the threads that need the database.
+     * @return completed with the result of initializeSampleData
+     */
+    public static CompletableFuture<Boolean> initializeInBackground() {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        initialization = result;
+        Thread thread = new Thread(() -> {
+            try {
+                boolean initialized = new DatabaseInitializer().initializeSampleData();
+                if (initialized) {
+                    CachingCourseDetails.getInstance().preload();
+                }
+                result.complete(initialized);
+            } catch (RuntimeException e) {
+                System.err.println("Error initializing database: " + e.getMessage());
+                result.complete(false);
+            }
+        }, "database-init");
+        thread.setDaemon(true);
+        thread.start();
+        return result;
+    }
+
+    /**
+     * Waits for the background initialization, if one is running.
+     * Must not be called on the JavaFX Application Thread.
+     * @throws SQLException if the database could not be initialized
+     */
+    public static void awaitInitialization() throws SQLException {
+        if (!initialization.join()) {
+            throw new SQLException("The database could not be initialized");
+        }
     }
 
     /**
      * Initializes the database with sample data.
+     * Applies pending schema migrations, then seeds the sample data unless the marker row
+     * in app_metadata says an earlier run already did.
      * @return true if initialization was successful, false otherwise
      */
     public boolean initializeSampleData() {
@@ -41,6 +91,10 @@ public class DatabaseInitializer {
                 return false;
             }
 
+            if (isSeeded()) {
+                return true;
+            }
+
             // Create sample advisors
             createSampleAdvisors();
 
@@ -59,6 +113,7 @@ public class DatabaseInitializer {
             // Create sample coursework grades
             createSampleCourseworkGrades();
 
+            markSeeded();
             return true;
         } catch (Exception e) {
             System.err.println("Error initializing sample data: " + e.getMessage());
@@ -66,6 +121,26 @@ public class DatabaseInitializer {
         }
     }
 
+    private boolean isSeeded() throws SQLException {
+        try (Connection conn = DatabaseConnection.getInstance().getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT 1 FROM app_metadata WHERE key = ?")) {
+            pstmt.setString(1, SEEDED_KEY);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private void markSeeded() throws SQLException {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "INSERT OR REPLACE INTO app_metadata (key, value) VALUES (?, ?)")) {
+            pstmt.setString(1, SEEDED_KEY);
+            pstmt.setString(2, LocalDateTime.now().toString());
+            pstmt.executeUpdate();
+        }
+    }
+
     /**
      * Creates sample advisors.
      */
@@ -156,13 +231,6 @@ public class DatabaseInitializer {
             System.err.println("Error checking existing enrollments: " + e.getMessage());
         }
 
-        // Wait for students to be created and get their IDs
-        try {
-            Thread.sleep(100); // Small delay to ensure students are created
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
         List<Enrollment> enrollments = Arrays.asList(
                 // Alice Smith enrollments (student ID 1) - Excellent student
                 new Enrollment(0, 1, "CS101", "Introduction to Computer Science", 3, "Fall", 2023, "A+"),  // 90%+
@@ -201,9 +269,6 @@ public class DatabaseInitializer {
         try {
             System.out.println("Creating sample coursework grades...");
 
-            // Wait for coursework items to be created
-            Thread.sleep(200);
-
             List<CourseworkGrade> grades = new ArrayList<>();
 
             // Alice Smith grades (ID: 1) - Excellent student
@@ -0,0 +1,28 @@
+package com.university.data;
+
+/**
+ * Creates the DAOs the services and screens use, behind the timing proxies of QueryInstrumentation
+ * when it is enabled. Courses and coursework go through CachingCourseDetails and
+ * CachingCourseworkDetails instead, whose database reads are instrumented the same way.
+ */
+public final class DetailsProvider {
+
+    private DetailsProvider() {
+    }
+
+    public static StudentDetails students() {
+        return QueryInstrumentation.wrap(StudentDetails.class, new StudentSqlDetails());
+    }
+
+    public static EnrollmentDetails enrollments() {
+        return QueryInstrumentation.wrap(EnrollmentDetails.class, new EnrollmentSqlDetails());
+    }
+
+    public static AdvisorDetails advisors() {
+        return QueryInstrumentation.wrap(AdvisorDetails.class, new AdvisorSqlDetails());
+    }
+
+    public static AdvisorFeedbackDetails feedback() {
+        return QueryInstrumentation.wrap(AdvisorFeedbackDetails.class, new AdvisorFeedbackSqlDetails());
+    }
+}
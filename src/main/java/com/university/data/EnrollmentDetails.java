@@ -3,7 +3,9 @@ package com.university.data;
 import com.university.courses.Enrollment;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Interface for enrollment data access operations.
@@ -33,6 +35,22 @@ public interface EnrollmentDetails {
      */
     List<Enrollment> getEnrollmentsByStudentId(int studentId);
 
+    /**
+     * Streams every enrollment, with course title and credits, to the given action without
+     * holding them all in memory. Enrollments arrive grouped by student ID in ascending order,
+     * and within a student most recent term first, as in getEnrollmentsByStudentId.
+     * @param action the action to apply to each enrollment
+     */
+    void forEachEnrollment(Consumer<Enrollment> action);
+
+    /**
+     * Streams the enrollments of the given students, ordered as in forEachEnrollment, in one query.
+     * Meant for a page of students at a time; keep the list to a few hundred IDs.
+     * @param studentIds the student IDs
+     * @param action the action to apply to each enrollment
+     */
+    void forEachEnrollment(List<Integer> studentIds, Consumer<Enrollment> action);
+
     /**
      * Retrieves all enrollments for a specific course.
      * @param courseCode the course code
@@ -62,6 +80,19 @@ public interface EnrollmentDetails {
      */
     boolean updateFinalGrade(int enrollmentId, String finalGrade);
 
+    /**
+     * Gets the stored standing of a student, which is kept up to date by every enrollment write.
+     * @param studentId the student ID
+     * @return Optional containing the standing, empty if the student has no enrollments
+     */
+    Optional<StudentStanding> getStudentStanding(int studentId);
+
+    /**
+     * Gets the stored standing of every student with enrollments in one query.
+     * @return standings keyed by student ID
+     */
+    Map<Integer, StudentStanding> getAllStudentStandings();
+
     /**
      * Checks if a student is enrolled in a specific course.
      * @param studentId the student ID
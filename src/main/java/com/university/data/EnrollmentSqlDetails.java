@@ -4,8 +4,11 @@ import com.university.courses.Enrollment;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * SQLite implementation of EnrollmentDetails interface.
@@ -14,10 +17,48 @@ import java.util.Optional;
  */
 public class EnrollmentSqlDetails implements EnrollmentDetails {
 
+    static final String ENROLLMENT_BY_ID_SQL = "SELECT * FROM enrollments WHERE enrollmentId = ?";
+
+    static final String ENROLLMENTS_BY_STUDENT_SQL = """
+            SELECT e.enrollmentId, e.studentId, e.courseCode, e.semester, e.year, e.finalGrade,
+                   c.title as courseTitle, c.creditHours as credits
+            FROM enrollments e
+            JOIN courses c ON e.courseCode = c.courseCode
+            WHERE e.studentId = ?
+            ORDER BY e.year DESC, e.semester DESC
+            """;
+
+    static final String ALL_ENROLLMENTS_SQL = """
+            SELECT e.enrollmentId, e.studentId, e.courseCode, e.semester, e.year, e.finalGrade,
+                   c.title as courseTitle, c.creditHours as credits
+            FROM enrollments e
+            JOIN courses c ON e.courseCode = c.courseCode
+            ORDER BY e.studentId, e.year DESC, e.semester DESC
+            """;
+
+    static final String ENROLLMENTS_OF_STUDENTS_SQL = """
+            SELECT e.enrollmentId, e.studentId, e.courseCode, e.semester, e.year, e.finalGrade,
+                   c.title as courseTitle, c.creditHours as credits
+            FROM enrollments e
+            JOIN courses c ON e.courseCode = c.courseCode
+            WHERE e.studentId IN (%s)
+            ORDER BY e.studentId, e.year DESC, e.semester DESC
+            """;
+
+    static final String ENROLLMENTS_BY_COURSE_SQL = "SELECT * FROM enrollments WHERE courseCode = ? ORDER BY year DESC, semester DESC";
+
+    static final String IS_ENROLLED_SQL = "SELECT COUNT(*) FROM enrollments WHERE studentId = ? AND courseCode = ?";
+
     private final DatabaseConnection dbConnection;
+    private final StudentStandingProjection standingProjection;
 
+    /**
+     * Every write below also applies its change to the student_standing projection
+     * in the same transaction; a connection returned uncommitted is rolled back by the pool.
+     */
     public EnrollmentSqlDetails() {
         this.dbConnection = DatabaseConnection.getInstance();
+        this.standingProjection = new StudentStandingProjection(dbConnection);
     }
 
     @Override
@@ -27,6 +68,7 @@ public class EnrollmentSqlDetails implements EnrollmentDetails {
         try (Connection conn = dbConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
+            conn.setAutoCommit(false);
             pstmt.setInt(1, enrollment.getStudentId());
             pstmt.setString(2, enrollment.getCourseCode());
             pstmt.setString(3, enrollment.getSemester());
@@ -34,6 +76,11 @@ public class EnrollmentSqlDetails implements EnrollmentDetails {
             pstmt.setString(5, enrollment.getFinalGrade());
 
             int result = pstmt.executeUpdate();
+            if (result > 0) {
+                StudentStandingProjection.applyChange(conn, null, StudentStandingProjection.contributionOf(conn,
+                        enrollment.getStudentId(), enrollment.getCourseCode(), enrollment.getFinalGrade()));
+            }
+            conn.commit();
             return result > 0;
         } catch (SQLException e) {
             if (!e.getMessage().contains("UNIQUE constraint failed")) {
@@ -45,10 +92,8 @@ public class EnrollmentSqlDetails implements EnrollmentDetails {
 
     @Override
     public Optional<Enrollment> getEnrollmentById(int enrollmentId) {
-        String sql = "SELECT * FROM enrollments WHERE enrollmentId = ?";
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(ENROLLMENT_BY_ID_SQL)) {
 
             pstmt.setInt(1, enrollmentId);
             ResultSet rs = pstmt.executeQuery();
@@ -66,17 +111,9 @@ public class EnrollmentSqlDetails implements EnrollmentDetails {
     @Override
     public List<Enrollment> getEnrollmentsByStudentId(int studentId) {
         List<Enrollment> enrollments = new ArrayList<>();
-        String sql = """
-            SELECT e.enrollmentId, e.studentId, e.courseCode, e.semester, e.year, e.finalGrade,
-                   c.title as courseTitle, c.creditHours as credits
-            FROM enrollments e
-            JOIN courses c ON e.courseCode = c.courseCode
-            WHERE e.studentId = ?
-            ORDER BY e.year DESC, e.semester DESC
-            """;
 
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(ENROLLMENTS_BY_STUDENT_SQL)) {
 
             pstmt.setInt(1, studentId);
             ResultSet rs = pstmt.executeQuery();
@@ -91,13 +128,52 @@ public class EnrollmentSqlDetails implements EnrollmentDetails {
         return enrollments;
     }
 
+    @Override
+    public void forEachEnrollment(Consumer<Enrollment> action) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(ALL_ENROLLMENTS_SQL)) {
+
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                action.accept(mapResultSetToEnrollment(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error streaming enrollments: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void forEachEnrollment(List<Integer> studentIds, Consumer<Enrollment> action) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+
+        String sql = ENROLLMENTS_OF_STUDENTS_SQL
+                .formatted(String.join(", ", Collections.nCopies(studentIds.size(), "?")));
+
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < studentIds.size(); i++) {
+                pstmt.setInt(i + 1, studentIds.get(i));
+            }
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                action.accept(mapResultSetToEnrollment(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error streaming enrollments by student IDs: " + e.getMessage());
+        }
+    }
+
     @Override
     public List<Enrollment> getEnrollmentsByCourseCode(String courseCode) {
         List<Enrollment> enrollments = new ArrayList<>();
-        String sql = "SELECT * FROM enrollments WHERE courseCode = ? ORDER BY year DESC, semester DESC";
 
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(ENROLLMENTS_BY_COURSE_SQL)) {
 
             pstmt.setString(1, courseCode);
             ResultSet rs = pstmt.executeQuery();
@@ -119,6 +195,10 @@ public class EnrollmentSqlDetails implements EnrollmentDetails {
         try (Connection conn = dbConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
+            conn.setAutoCommit(false);
+            StudentStandingProjection.Contribution before =
+                    StudentStandingProjection.contributionOf(conn, enrollment.getEnrollmentId());
+
             pstmt.setInt(1, enrollment.getStudentId());
             pstmt.setString(2, enrollment.getCourseCode());
             pstmt.setString(3, enrollment.getSemester());
@@ -126,7 +206,13 @@ public class EnrollmentSqlDetails implements EnrollmentDetails {
             pstmt.setString(5, enrollment.getFinalGrade());
             pstmt.setInt(6, enrollment.getEnrollmentId());
 
-            return pstmt.executeUpdate() > 0;
+            boolean updated = pstmt.executeUpdate() > 0;
+            if (updated) {
+                StudentStandingProjection.applyChange(conn, before,
+                        StudentStandingProjection.contributionOf(conn, enrollment.getEnrollmentId()));
+            }
+            conn.commit();
+            return updated;
         } catch (SQLException e) {
             System.err.println("Error updating enrollment: " + e.getMessage());
             return false;
@@ -140,8 +226,16 @@ public class EnrollmentSqlDetails implements EnrollmentDetails {
         try (Connection conn = dbConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
+            conn.setAutoCommit(false);
+            StudentStandingProjection.Contribution before = StudentStandingProjection.contributionOf(conn, enrollmentId);
+
             pstmt.setInt(1, enrollmentId);
-            return pstmt.executeUpdate() > 0;
+            boolean deleted = pstmt.executeUpdate() > 0;
+            if (deleted) {
+                StudentStandingProjection.applyChange(conn, before, null);
+            }
+            conn.commit();
+            return deleted;
         } catch (SQLException e) {
             System.err.println("Error deleting enrollment: " + e.getMessage());
             return false;
@@ -150,27 +244,90 @@ public class EnrollmentSqlDetails implements EnrollmentDetails {
 
     @Override
     public boolean updateFinalGrade(int enrollmentId, String finalGrade) {
-        String sql = "UPDATE enrollments SET finalGrade = ? WHERE enrollmentId = ?";
+        try (Connection conn = dbConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            boolean updated = updateFinalGrade(conn, enrollmentId, finalGrade);
+            conn.commit();
+            // Setting the grade it already has still counts as success
+            return updated || getEnrollmentById(enrollmentId).isPresent();
+        } catch (SQLException e) {
+            System.err.println("Error updating final grade: " + e.getMessage());
+            return false;
+        }
+    }
 
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    /**
+     * Sets a final grade and applies the change to the student_standing projection, as part of the
+     * caller's transaction. Writes nothing when the grade is already set to the given value.
+     * @param conn a connection with auto-commit disabled
+     * @param enrollmentId the enrollment ID
+     * @param finalGrade the new final grade
+     * @return true if the grade changed
+     * @throws SQLException if a database access error occurs
+     */
+    static boolean updateFinalGrade(Connection conn, int enrollmentId, String finalGrade) throws SQLException {
+        String sql = "UPDATE enrollments SET finalGrade = ? WHERE enrollmentId = ? AND finalGrade IS NOT ?";
 
+        StudentStandingProjection.Contribution before = StudentStandingProjection.contributionOf(conn, enrollmentId);
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, finalGrade);
             pstmt.setInt(2, enrollmentId);
+            pstmt.setString(3, finalGrade);
 
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            System.err.println("Error updating final grade: " + e.getMessage());
-            return false;
+            if (pstmt.executeUpdate() == 0) {
+                return false;
+            }
         }
+        StudentStandingProjection.applyChange(conn, before, StudentStandingProjection.contributionOf(conn, enrollmentId));
+        return true;
+    }
+
+    /**
+     * Sets the final grade of one of a student's enrollments, like updateFinalGrade, and fails instead
+     * of touching an enrollment that belongs to another student.
+     * @param conn a connection with auto-commit disabled
+     * @param studentId the student the enrollment must belong to
+     * @param enrollmentId the enrollment ID
+     * @param finalGrade the new final grade
+     * @return true if the grade changed
+     * @throws SQLException if the enrollment is not the student's, or a database access error occurs
+     */
+    static boolean updateFinalGrade(Connection conn, int studentId, int enrollmentId, String finalGrade)
+            throws SQLException {
+        String sql = "UPDATE enrollments SET finalGrade = ? WHERE enrollmentId = ? AND studentId = ? AND finalGrade IS NOT ?";
+
+        StudentStandingProjection.Contribution before = StudentStandingProjection.contributionOf(conn, enrollmentId);
+        if (before == null || before.getStudentId() != studentId) {
+            throw new SQLException("Enrollment " + enrollmentId + " does not belong to student " + studentId);
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, finalGrade);
+            pstmt.setInt(2, enrollmentId);
+            pstmt.setInt(3, studentId);
+            pstmt.setString(4, finalGrade);
+
+            if (pstmt.executeUpdate() == 0) {
+                return false;
+            }
+        }
+        StudentStandingProjection.applyChange(conn, before, StudentStandingProjection.contributionOf(conn, enrollmentId));
+        return true;
     }
 
     @Override
-    public boolean isStudentEnrolled(int studentId, String courseCode) {
-        String sql = "SELECT COUNT(*) FROM enrollments WHERE studentId = ? AND courseCode = ?";
+    public Optional<StudentStanding> getStudentStanding(int studentId) {
+        return standingProjection.find(studentId);
+    }
 
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    @Override
+    public Map<Integer, StudentStanding> getAllStudentStandings() {
+        return standingProjection.findAll();
+    }
+
+    @Override
+    public boolean isStudentEnrolled(int studentId, String courseCode) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(IS_ENROLLED_SQL)) {
 
             pstmt.setInt(1, studentId);
             pstmt.setString(2, courseCode);
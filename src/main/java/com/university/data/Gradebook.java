@@ -0,0 +1,241 @@
+package com.university.data;
+
+import com.university.courses.CourseworkItem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A student's coursework items together with their marks, read in one query.
+ * Entries are in course order, then due date order. Lookups by item ID go through an open-addressing
+ * table of primitive ints, so rendering a gradebook does no boxing and no nested searches.
+ * Course totals follow CourseworkService.calculateOverallCourseworkGrade: only graded items count.
+ */
+public class Gradebook {
+
+    private final int studentId;
+    private final List<Entry> entries;
+    private final Map<String, CourseTotals> totals;
+    private final int[] slotItemIds;
+    private final int[] slotEntries;
+
+    public Gradebook(int studentId, List<Entry> entries) {
+        this.studentId = studentId;
+        this.entries = List.copyOf(entries);
+        this.totals = computeTotals(this.entries);
+
+        // Power-of-two table at most half full; slots hold entry index + 1 so 0 means empty
+        int capacity = Integer.highestOneBit(Math.max(4, this.entries.size() * 2 - 1)) << 1;
+        this.slotItemIds = new int[capacity];
+        this.slotEntries = new int[capacity];
+        for (int i = 0; i < this.entries.size(); i++) {
+            int slot = slotOf(this.entries.get(i).getItemId());
+            while (slotEntries[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            slotItemIds[slot] = this.entries.get(i).getItemId();
+            slotEntries[slot] = i + 1;
+        }
+    }
+
+    public int getStudentId() {
+        return studentId;
+    }
+
+    /**
+     * Gets every entry, in course order and then due date order.
+     * @return the entries
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Gets the entries of one course, in due date order.
+     * @param courseCode the course code
+     * @return the course's entries, empty if the gradebook has none
+     */
+    public List<Entry> getEntries(String courseCode) {
+        List<Entry> courseEntries = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.getCourseCode().equals(courseCode)) {
+                courseEntries.add(entry);
+            }
+        }
+        return courseEntries;
+    }
+
+    /**
+     * Finds the entry for a coursework item.
+     * @param itemId the item ID
+     * @return the entry, or null if the item is not in this gradebook
+     */
+    public Entry getEntry(int itemId) {
+        int slot = slotOf(itemId);
+        while (slotEntries[slot] != 0) {
+            if (slotItemIds[slot] == itemId) {
+                return entries.get(slotEntries[slot] - 1);
+            }
+            slot = (slot + 1) & (slotEntries.length - 1);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the course codes in the gradebook, in entry order.
+     * @return the course codes
+     */
+    public Set<String> getCourseCodes() {
+        return totals.keySet();
+    }
+
+    /**
+     * Gets the totals of one course.
+     * @param courseCode the course code
+     * @return the totals, all zero if the gradebook has no items for the course
+     */
+    public CourseTotals getTotals(String courseCode) {
+        return totals.getOrDefault(courseCode, CourseTotals.EMPTY);
+    }
+
+    /**
+     * Works out the final grade of a course from the marks of its stored coursework grades.
+     * Used by the grade editor and the bulk grade import, so both store the same final grade.
+     * @param marksObtained the marks obtained over the stored grades
+     * @param totalMarks the total marks of the graded items
+     * @return the letter grade, or "IP" (in progress) if nothing is graded yet
+     */
+    public static String finalGrade(double marksObtained, double totalMarks) {
+        if (totalMarks == 0) {
+            return "IP"; // In Progress
+        }
+
+        double percentage = (marksObtained / totalMarks) * 100;
+
+        // Convert percentage to letter grade (updated to be less generous)
+        if (percentage >= 90) return "A+";
+        if (percentage >= 85) return "A";
+        if (percentage >= 80) return "A-";
+        if (percentage >= 75) return "B+";
+        if (percentage >= 70) return "B";
+        if (percentage >= 65) return "B-";
+        if (percentage >= 60) return "C+";
+        if (percentage >= 55) return "C";
+        if (percentage >= 50) return "C-";
+        if (percentage >= 45) return "D";
+        return "F";
+    }
+
+    private int slotOf(int itemId) {
+        // Fibonacci hashing spreads the sequential item IDs over the table
+        return (itemId * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(slotEntries.length));
+    }
+
+    private static Map<String, CourseTotals> computeTotals(List<Entry> entries) {
+        Map<String, CourseTotals> totals = new LinkedHashMap<>();
+        String courseCode = null;
+        double weightedScore = 0.0;
+        double weight = 0.0;
+        double marksObtained = 0.0;
+        double totalMarks = 0.0;
+        int graded = 0;
+        int items = 0;
+
+        for (Entry entry : entries) {
+            if (!entry.getCourseCode().equals(courseCode)) {
+                if (courseCode != null) {
+                    totals.put(courseCode, new CourseTotals(weightedScore, weight, marksObtained, totalMarks, graded, items));
+                }
+                courseCode = entry.getCourseCode();
+                weightedScore = weight = marksObtained = totalMarks = 0.0;
+                graded = items = 0;
+            }
+
+            items++;
+            if (entry.isGraded()) {
+                graded++;
+                weightedScore += entry.getPercentage() * entry.getItem().getWeight();
+                weight += entry.getItem().getWeight();
+                marksObtained += entry.getMarksObtained();
+                totalMarks += entry.getItem().getTotalMarks();
+            }
+        }
+        if (courseCode != null) {
+            totals.put(courseCode, new CourseTotals(weightedScore, weight, marksObtained, totalMarks, graded, items));
+        }
+        return Collections.unmodifiableMap(totals);
+    }
+
+    /**
+     * One coursework item and the student's grade for it, if any.
+     */
+    public static final class Entry {
+        private final CourseworkItem item;
+        private final int gradeId;
+        private final double marksObtained;
+
+        /**
+         * @param item the coursework item
+         * @param gradeId the grade ID, or 0 if the item has not been graded
+         * @param marksObtained the marks, ignored if the item has not been graded
+         */
+        public Entry(CourseworkItem item, int gradeId, double marksObtained) {
+            this.item = item;
+            this.gradeId = gradeId;
+            this.marksObtained = gradeId == 0 ? 0.0 : marksObtained;
+        }
+
+        public CourseworkItem getItem() { return item; }
+        public int getItemId() { return item.getItemId(); }
+        public String getCourseCode() { return item.getCourseCode(); }
+        public int getGradeId() { return gradeId; }
+        public boolean isGraded() { return gradeId != 0; }
+        public double getMarksObtained() { return marksObtained; }
+
+        public double getPercentage() {
+            if (item.getTotalMarks() <= 0) return 0.0;
+            return (marksObtained / item.getTotalMarks()) * 100;
+        }
+    }
+
+    /**
+     * Totals over the graded items of one course.
+     */
+    public static final class CourseTotals {
+        private static final CourseTotals EMPTY = new CourseTotals(0.0, 0.0, 0.0, 0.0, 0, 0);
+
+        private final double weightedScore;
+        private final double weight;
+        private final double marksObtained;
+        private final double totalMarks;
+        private final int gradedItems;
+        private final int items;
+
+        private CourseTotals(double weightedScore, double weight, double marksObtained, double totalMarks,
+                             int gradedItems, int items) {
+            this.weightedScore = weightedScore;
+            this.weight = weight;
+            this.marksObtained = marksObtained;
+            this.totalMarks = totalMarks;
+            this.gradedItems = gradedItems;
+            this.items = items;
+        }
+
+        /**
+         * Gets the weighted average percentage of the graded items (0.0 to 100.0).
+         * @return the weighted percentage, 0.0 if nothing is graded
+         */
+        public double getWeightedPercentage() {
+            return weight > 0 ? weightedScore / weight : 0.0;
+        }
+
+        public double getMarksObtained() { return marksObtained; }
+        public double getTotalMarks() { return totalMarks; }
+        public int getGradedItems() { return gradedItems; }
+        public int getItems() { return items; }
+    }
+}
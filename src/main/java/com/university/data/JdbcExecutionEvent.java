@@ -0,0 +1,44 @@
+package com.university.data;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one statement execution on a pooled connection.
+ * A query's duration runs from execution until its result set is closed, so it includes
+ * fetching the rows; updates and batches end when the driver returns.
+ */
+@Name("university.JdbcExecution")
+@Label("JDBC Execution")
+@Category({"University", "Database"})
+@Description("A SQL statement executed on a pooled connection")
+final class JdbcExecutionEvent extends Event {
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Operation")
+    @Description("query, update, batch or execute")
+    String operation;
+
+    @Label("Rows")
+    @Description("Rows read for a query, rows changed for an update or batch, -1 if unknown")
+    int rows;
+
+    @Label("Pool")
+    String pool;
+
+    @Label("Failed")
+    boolean failed;
+
+    /**
+     * Tells whether a recording is collecting these events, so statements only get traced while one is.
+     * @return true if the event is enabled
+     */
+    static boolean isRecording() {
+        return new JdbcExecutionEvent().isEnabled();
+    }
+}
@@ -0,0 +1,174 @@
+package com.university.data;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Emits a JdbcExecutionEvent for every execution on a statement.
+ * ConnectionPool only puts this proxy in front of statements prepared while a Flight Recording
+ * is collecting the event, so without a recording statements are used directly.
+ */
+final class JdbcTracing {
+
+    private JdbcTracing() {
+    }
+
+    /**
+     * Puts the tracing proxy in front of a statement.
+     * @param type the statement interface, Statement, PreparedStatement or CallableStatement
+     * @param statement the statement
+     * @param sql the prepared SQL, or null for a plain Statement, whose SQL comes with each execute call
+     * @param pool the name of the pool the connection came from
+     * @param <T> the statement type
+     * @return the traced statement
+     */
+    static <T extends Statement> T trace(Class<T> type, T statement, String sql, String pool) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new StatementHandler(statement, sql, pool)));
+    }
+
+    /**
+     * Times executions. A query's event stays open until its result set is closed, the statement
+     * is closed or the statement is executed again, whichever comes first.
+     */
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String preparedSql;
+        private final String pool;
+        private ResultSetHandler openQuery;
+
+        StatementHandler(Statement statement, String preparedSql, String pool) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+            this.pool = pool;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close")) {
+                commitOpenQuery();
+            } else if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            return invokeOnStatement(method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            commitOpenQuery();
+            JdbcExecutionEvent event = new JdbcExecutionEvent();
+            event.begin();
+            event.sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            event.pool = pool;
+            event.operation = operationOf(method.getName());
+
+            Object result;
+            try {
+                result = invokeOnStatement(method, args);
+            } catch (Throwable e) {
+                event.failed = true;
+                event.rows = -1;
+                event.commit();
+                throw e;
+            }
+
+            if (result instanceof ResultSet resultSet) {
+                openQuery = new ResultSetHandler(resultSet, event);
+                return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                        openQuery);
+            }
+            event.rows = rowsOf(result);
+            event.commit();
+            return result;
+        }
+
+        private void commitOpenQuery() {
+            if (openQuery != null) {
+                openQuery.commit();
+                openQuery = null;
+            }
+        }
+
+        private Object invokeOnStatement(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private static String operationOf(String methodName) {
+            return switch (methodName) {
+                case "executeQuery" -> "query";
+                case "executeUpdate", "executeLargeUpdate" -> "update";
+                case "executeBatch", "executeLargeBatch" -> "batch";
+                default -> "execute";
+            };
+        }
+
+        private static int rowsOf(Object result) {
+            if (result instanceof Integer count) {
+                return count;
+            }
+            if (result instanceof Long count) {
+                return (int) Math.min(Integer.MAX_VALUE, count);
+            }
+            if (result instanceof int[] counts) {
+                int total = 0;
+                for (int count : counts) {
+                    total += Math.max(0, count);
+                }
+                return total;
+            }
+            return -1;
+        }
+
+        /**
+         * Counts the rows read and ends the query's event when the result set is closed.
+         */
+        private static final class ResultSetHandler implements InvocationHandler {
+            private final ResultSet resultSet;
+            private final JdbcExecutionEvent event;
+            private int rows;
+            private boolean committed;
+
+            ResultSetHandler(ResultSet resultSet, JdbcExecutionEvent event) {
+                this.resultSet = resultSet;
+                this.event = event;
+            }
+
+            void commit() {
+                if (!committed) {
+                    committed = true;
+                    event.rows = rows;
+                    event.commit();
+                }
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                Object result;
+                try {
+                    result = method.invoke(resultSet, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                switch (method.getName()) {
+                    case "next" -> {
+                        if (Boolean.TRUE.equals(result)) {
+                            rows++;
+                        }
+                    }
+                    case "close" -> commit();
+                    default -> {
+                    }
+                }
+                return result;
+            }
+        }
+    }
+}
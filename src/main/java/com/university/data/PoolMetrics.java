@@ -0,0 +1,138 @@
+package com.university.data;
+
+/**
+ * Immutable snapshot of connection pool statistics.
+ */
+public class PoolMetrics {
+
+    private final String poolName;
+    private final int maxSize;
+    private final int openConnections;
+    private final int activeConnections;
+    private final int idleConnections;
+    private final int waitingThreads;
+    private final long totalLeases;
+    private final long leaseTimeouts;
+    private final double leasesPerSecond;
+    private final long averageWaitNanos;
+    private final long maxWaitNanos;
+    private final long evictedConnections;
+    private final long failedValidations;
+    private final long statementCacheHits;
+    private final long statementCacheMisses;
+    private final long statementCacheEvictions;
+
+    public PoolMetrics(String poolName, int maxSize, int openConnections, int activeConnections,
+                       int idleConnections, int waitingThreads, long totalLeases, long leaseTimeouts,
+                       double leasesPerSecond, long averageWaitNanos, long maxWaitNanos,
+                       long evictedConnections, long failedValidations,
+                       long statementCacheHits, long statementCacheMisses, long statementCacheEvictions) {
+        this.poolName = poolName;
+        this.maxSize = maxSize;
+        this.openConnections = openConnections;
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.waitingThreads = waitingThreads;
+        this.totalLeases = totalLeases;
+        this.leaseTimeouts = leaseTimeouts;
+        this.leasesPerSecond = leasesPerSecond;
+        this.averageWaitNanos = averageWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.evictedConnections = evictedConnections;
+        this.failedValidations = failedValidations;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+        this.statementCacheEvictions = statementCacheEvictions;
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getOpenConnections() {
+        return openConnections;
+    }
+
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public int getWaitingThreads() {
+        return waitingThreads;
+    }
+
+    public long getTotalLeases() {
+        return totalLeases;
+    }
+
+    public long getLeaseTimeouts() {
+        return leaseTimeouts;
+    }
+
+    public double getLeasesPerSecond() {
+        return leasesPerSecond;
+    }
+
+    public long getAverageWaitNanos() {
+        return averageWaitNanos;
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    public long getEvictedConnections() {
+        return evictedConnections;
+    }
+
+    public long getFailedValidations() {
+        return failedValidations;
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits;
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses;
+    }
+
+    public long getStatementCacheEvictions() {
+        return statementCacheEvictions;
+    }
+
+    /**
+     * Gets the fraction of prepareStatement calls served from the statement cache.
+     * @return the hit rate (0.0 to 1.0)
+     */
+    public double getStatementCacheHitRate() {
+        long lookups = statementCacheHits + statementCacheMisses;
+        return lookups > 0 ? (double) statementCacheHits / lookups : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolMetrics{" +
+                "pool='" + poolName + '\'' +
+                ", open=" + openConnections + "/" + maxSize +
+                ", active=" + activeConnections +
+                ", idle=" + idleConnections +
+                ", waiting=" + waitingThreads +
+                ", leases=" + totalLeases +
+                ", leasesPerSecond=" + String.format("%.1f", leasesPerSecond) +
+                ", avgWaitMicros=" + averageWaitNanos / 1000 +
+                ", maxWaitMicros=" + maxWaitNanos / 1000 +
+                ", timeouts=" + leaseTimeouts +
+                ", evicted=" + evictedConnections +
+                ", statementCacheHitRate=" + String.format("%.2f", getStatementCacheHitRate()) +
+                '}';
+    }
+}
@@ -0,0 +1,401 @@
+package com.university.data;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Times every call made through the *Details interfaces.
+ * With -Duniversity.metrics.enabled=true, wrap() puts a dynamic proxy in front of a DAO that records
+ * per method the call count, errors, rows returned and a latency histogram. Calls slower than
+ * -Duniversity.metrics.slowQueryMillis (default 100) are printed to System.err and kept in a
+ * slow-query log with their arguments. Within a UI action, a method called
+ * -Duniversity.metrics.nPlusOneThreshold times (default 10) or more is counted as an N+1 pattern.
+ * When disabled, wrap() returns the DAO itself and action scopes do nothing, so there is no overhead.
+ */
+public final class QueryInstrumentation {
+
+    private static final boolean ENABLED = Boolean.getBoolean("university.metrics.enabled");
+    private static final long SLOW_QUERY_NANOS = Long.getLong("university.metrics.slowQueryMillis", 100) * 1_000_000;
+    private static final int N_PLUS_ONE_THRESHOLD = Integer.getInteger("university.metrics.nPlusOneThreshold", 10);
+    private static final int SLOW_QUERY_LOG_SIZE = 200;
+    private static final int MAX_ARGUMENT_LENGTH = 60;
+    private static final QueryInstrumentation instance = new QueryInstrumentation();
+
+    private final Map<String, MethodStats> stats = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> nPlusOneCounts = new ConcurrentHashMap<>();
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+    private final LongAdder slowQueryCount = new LongAdder();
+    private final ThreadLocal<Action> currentAction = new ThreadLocal<>();
+
+    private QueryInstrumentation() {
+    }
+
+    public static QueryInstrumentation getInstance() {
+        return instance;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Puts the timing proxy in front of a DAO if instrumentation is enabled.
+     * @param type the interface to instrument
+     * @param delegate the DAO
+     * @param <T> the interface type
+     * @return the proxy, or the DAO itself if instrumentation is disabled
+     */
+    public static <T> T wrap(Class<T> type, T delegate) {
+        if (!ENABLED) {
+            return delegate;
+        }
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                instance.new TimingHandler(type, delegate)));
+    }
+
+    /**
+     * Starts counting the DAO calls of a UI action on the current thread. Nested actions are
+     * counted as part of the outermost one.
+     * @param name the action, such as the controller that started it
+     */
+    public static void beginAction(String name) {
+        if (!ENABLED) {
+            return;
+        }
+        Action action = instance.currentAction.get();
+        if (action != null) {
+            action.depth++;
+        } else {
+            instance.currentAction.set(new Action(name));
+        }
+    }
+
+    /**
+     * Ends the action begun last on the current thread.
+     */
+    public static void endAction() {
+        if (!ENABLED) {
+            return;
+        }
+        Action action = instance.currentAction.get();
+        if (action != null && action.depth-- == 0) {
+            instance.currentAction.remove();
+        }
+    }
+
+    /**
+     * Gets the statistics of every method called at least once, slowest total time first.
+     * @return the metrics
+     */
+    public List<QueryMetrics> getMetrics() {
+        List<QueryMetrics> metrics = new ArrayList<>();
+        for (MethodStats methodStats : stats.values()) {
+            QueryMetrics snapshot = methodStats.snapshot();
+            if (snapshot.getCalls() > 0) {
+                metrics.add(snapshot);
+            }
+        }
+        metrics.sort(Comparator.comparingLong(QueryMetrics::getTotalNanos).reversed());
+        return metrics;
+    }
+
+    /**
+     * Gets the most recent slow calls, newest first.
+     * @return the slow-query log
+     */
+    public List<SlowQuery> getSlowQueries() {
+        synchronized (slowQueries) {
+            return List.copyOf(slowQueries);
+        }
+    }
+
+    /**
+     * Gets the number of slow calls since startup or the last reset, including those no longer in the log.
+     * @return the slow call count
+     */
+    public long getSlowQueryCount() {
+        return slowQueryCount.sum();
+    }
+
+    /**
+     * Gets how often each UI action repeated a DAO method at least the N+1 threshold times.
+     * @return the counts keyed by "action: Details.method", in key order
+     */
+    public Map<String, Long> getNPlusOneCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        nPlusOneCounts.forEach((key, count) -> counts.put(key, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Forgets everything recorded so far.
+     */
+    public void reset() {
+        // The proxies hold on to their MethodStats, so they are zeroed rather than removed
+        stats.values().forEach(MethodStats::reset);
+        nPlusOneCounts.clear();
+        slowQueryCount.reset();
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+    }
+
+    /**
+     * Formats the statistics, slow queries and N+1 patterns for the log.
+     * @return the report
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder("DAO call statistics (slowest total first):\n");
+        for (QueryMetrics metrics : getMetrics()) {
+            report.append("  ").append(metrics).append('\n');
+        }
+        Map<String, Long> nPlusOne = getNPlusOneCounts();
+        if (!nPlusOne.isEmpty()) {
+            report.append("N+1 patterns (").append(N_PLUS_ONE_THRESHOLD).append("+ calls of one method in one action):\n");
+            nPlusOne.forEach((key, count) -> report.append("  ").append(key).append(" x").append(count).append('\n'));
+        }
+        List<SlowQuery> slow = getSlowQueries();
+        if (!slow.isEmpty()) {
+            report.append("Slow queries (newest first):\n");
+            for (SlowQuery query : slow) {
+                report.append("  ").append(query).append('\n');
+            }
+        }
+        return report.toString();
+    }
+
+    private void recordSlowQuery(SlowQuery query) {
+        System.err.println("Slow query: " + query);
+        slowQueryCount.increment();
+        synchronized (slowQueries) {
+            if (slowQueries.size() == SLOW_QUERY_LOG_SIZE) {
+                slowQueries.removeLast();
+            }
+            slowQueries.addFirst(query);
+        }
+    }
+
+    private void recordActionCall(String method) {
+        Action action = currentAction.get();
+        if (action != null && action.calls.merge(method, 1, Integer::sum) == N_PLUS_ONE_THRESHOLD) {
+            nPlusOneCounts.computeIfAbsent(action.name + ": " + method, key -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Gets how many rows a DAO call returned, or -1 if its result is not a set of rows.
+     */
+    private static int rowsOf(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Gradebook gradebook) {
+            return gradebook.getEntries().size();
+        }
+        return -1;
+    }
+
+    /**
+     * Tells whether a method takes a password, whose arguments must never be logged.
+     */
+    private static boolean isCredentialMethod(Method method) {
+        String name = method.getName().toLowerCase();
+        return name.contains("password") || name.contains("credentials");
+    }
+
+    /**
+     * Formats call arguments for the slow-query log. Collections show only their size and other
+     * objects only their type, so large lists and whole entities never reach the log.
+     */
+    private static String formatArguments(Object[] args) {
+        if (args == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        for (Object arg : args) {
+            if (!text.isEmpty()) {
+                text.append(", ");
+            }
+            if (arg == null || arg instanceof Number || arg instanceof Boolean) {
+                text.append(arg);
+            } else if (arg instanceof CharSequence chars) {
+                String value = chars.length() > MAX_ARGUMENT_LENGTH
+                        ? chars.subSequence(0, MAX_ARGUMENT_LENGTH) + "..." : chars.toString();
+                text.append('"').append(value).append('"');
+            } else if (arg instanceof Collection<?> collection) {
+                text.append('[').append(collection.size()).append(" items]");
+            } else if (arg instanceof Map<?, ?> map) {
+                text.append('{').append(map.size()).append(" entries}");
+            } else {
+                text.append(arg.getClass().getSimpleName());
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Counters for one method.
+     */
+    private static final class MethodStats {
+        private final String detailsName;
+        private final String methodName;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        MethodStats(String detailsName, String methodName) {
+            this.detailsName = detailsName;
+            this.methodName = methodName;
+        }
+
+        void record(long nanos, int rowCount, boolean failed) {
+            calls.increment();
+            if (failed) {
+                errors.increment();
+            }
+            if (rowCount > 0) {
+                rows.add(rowCount);
+            }
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            histogram.record(nanos);
+        }
+
+        void reset() {
+            calls.reset();
+            errors.reset();
+            rows.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+            histogram.reset();
+        }
+
+        QueryMetrics snapshot() {
+            // Percentiles are bucket upper bounds, so cap them at the largest value actually seen
+            long max = maxNanos.get();
+            return new QueryMetrics(detailsName, methodName, calls.sum(), errors.sum(), rows.sum(),
+                    totalNanos.sum(), Math.min(histogram.percentile(50), max),
+                    Math.min(histogram.percentile(90), max), Math.min(histogram.percentile(99), max), max);
+        }
+    }
+
+    /**
+     * The DAO calls of one UI action, counted per method. Only touched by the thread running the action.
+     */
+    private static final class Action {
+        private final String name;
+        private final Map<String, Integer> calls = new HashMap<>();
+        private int depth;
+
+        Action(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Counts the rows a streaming DAO method hands to its callback.
+     */
+    private static final class CountingConsumer<T> implements Consumer<T> {
+        private final Consumer<T> action;
+        private int count;
+
+        CountingConsumer(Consumer<T> action) {
+            this.action = action;
+        }
+
+        @Override
+        public void accept(T value) {
+            count++;
+            action.accept(value);
+        }
+    }
+
+    private final class TimingHandler implements InvocationHandler {
+        private final String detailsName;
+        private final Object delegate;
+        private final Map<Method, MethodStats> statsByMethod = new HashMap<>();
+
+        TimingHandler(Class<?> type, Object delegate) {
+            this.detailsName = type.getSimpleName();
+            this.delegate = delegate;
+            // Overloads share a name, so stats are keyed by name and parameter types
+            for (Method method : type.getMethods()) {
+                StringBuilder key = new StringBuilder(method.getName()).append('(');
+                Class<?>[] parameterTypes = method.getParameterTypes();
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    key.append(i > 0 ? ", " : "").append(parameterTypes[i].getSimpleName());
+                }
+                String methodName = key.append(')').toString();
+                statsByMethod.put(method, stats.computeIfAbsent(detailsName + "." + methodName,
+                        name -> new MethodStats(detailsName, methodName)));
+            }
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            MethodStats methodStats = statsByMethod.get(method);
+            if (methodStats == null) {
+                // equals, hashCode and toString
+                return method.invoke(delegate, args);
+            }
+
+            CountingConsumer<?> counter = null;
+            if (args != null) {
+                for (int i = 0; i < args.length; i++) {
+                    if (args[i] instanceof Consumer consumer) {
+                        counter = new CountingConsumer<>(consumer);
+                        args[i] = counter;
+                    }
+                }
+            }
+
+            long start = System.nanoTime();
+            Object result = null;
+            boolean failed = true;
+            try {
+                result = method.invoke(delegate, args);
+                failed = false;
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                int rows = counter != null ? counter.count : rowsOf(result);
+                methodStats.record(elapsed, rows, failed);
+                recordActionCall(detailsName + "." + method.getName());
+                if (elapsed >= SLOW_QUERY_NANOS) {
+                    String arguments = isCredentialMethod(method) ? "hidden" : formatArguments(args);
+                    recordSlowQuery(new SlowQuery(detailsName + "." + method.getName(), arguments,
+                            elapsed, rows, Thread.currentThread().getName(), LocalDateTime.now()));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.university.data;
+
+/**
+ * Immutable snapshot of the statistics of one DAO method.
+ */
+public class QueryMetrics {
+
+    private final String detailsName;
+    private final String methodName;
+    private final long calls;
+    private final long errors;
+    private final long rows;
+    private final long totalNanos;
+    private final long p50Nanos;
+    private final long p90Nanos;
+    private final long p99Nanos;
+    private final long maxNanos;
+
+    public QueryMetrics(String detailsName, String methodName, long calls, long errors, long rows, long totalNanos,
+                        long p50Nanos, long p90Nanos, long p99Nanos, long maxNanos) {
+        this.detailsName = detailsName;
+        this.methodName = methodName;
+        this.calls = calls;
+        this.errors = errors;
+        this.rows = rows;
+        this.totalNanos = totalNanos;
+        this.p50Nanos = p50Nanos;
+        this.p90Nanos = p90Nanos;
+        this.p99Nanos = p99Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    /**
+     * Gets the interface the method belongs to, such as StudentDetails.
+     * @return the interface's simple name
+     */
+    public String getDetailsName() {
+        return detailsName;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    /**
+     * Gets the number of calls that threw instead of returning.
+     * @return the error count
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Gets the number of rows returned over all calls: list, map and gradebook sizes,
+     * rows streamed to a callback, and 1 for a present Optional.
+     * @return the row count
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP90Nanos() {
+        return p90Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public double getAverageRows() {
+        return calls > 0 ? (double) rows / calls : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryMetrics{" +
+                "method=" + detailsName + "." + methodName +
+                ", calls=" + calls +
+                ", errors=" + errors +
+                ", rows=" + rows +
+                ", totalMillis=" + totalNanos / 1_000_000 +
+                ", p50Micros=" + p50Nanos / 1_000 +
+                ", p90Micros=" + p90Nanos / 1_000 +
+                ", p99Micros=" + p99Nanos / 1_000 +
+                ", maxMicros=" + maxNanos / 1_000 +
+                '}';
+    }
+}
@@ -0,0 +1,168 @@
+package com.university.data;
+
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dumps SQLite's EXPLAIN QUERY PLAN output for every query issued by the *SqlDetails DAOs
+ * and flags full table scans and temporary sort B-trees.
+ * Run it against a migrated database to check that every access path is served by an index:
+ * <pre>java -cp ... com.university.data.QueryPlanReport</pre>
+ */
+public class QueryPlanReport {
+
+    private final DatabaseConnection dbConnection;
+
+    public QueryPlanReport(DatabaseConnection dbConnection) {
+        this.dbConnection = dbConnection;
+    }
+
+    /**
+     * The read queries of the DAO layer, keyed by DAO method.
+     * The SQL is read from the constants the DAOs prepare, so the report always explains the
+     * statements that run. IN lists are expanded to three parameters, and the search tiers get
+     * sample search terms because SQLite only plans a prefix LIKE against a known pattern.
+     * @return the queries in DAO order
+     */
+    public static Map<String, String> daoQueries() {
+        String inList = String.join(", ", Collections.nCopies(3, "?"));
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put("StudentSqlDetails.getStudentById", StudentSqlDetails.STUDENT_BY_ID_SQL);
+        queries.put("StudentSqlDetails.getStudentByUsername", StudentSqlDetails.STUDENT_BY_USERNAME_SQL);
+        queries.put("StudentSqlDetails.getAllStudents", StudentSqlDetails.STUDENTS_BY_NAME_SQL);
+        queries.put("StudentSqlDetails.getStudentSummaries", StudentSqlDetails.STUDENT_SUMMARIES_SQL);
+        queries.put("StudentSqlDetails.getStudentRoster", StudentSqlDetails.STUDENT_ROSTER_SQL);
+        queries.put("StudentSqlDetails.getStudentsAfterId", StudentSqlDetails.STUDENTS_AFTER_ID_SQL);
+        queries.put("StudentSqlDetails.getStudentsAfterName", StudentSqlDetails.STUDENTS_AFTER_NAME_SQL);
+        queries.put("StudentSqlDetails.forEachStudent", StudentSqlDetails.STUDENTS_BY_NAME_SQL);
+        queries.put("StudentSqlDetails.validateStudentCredentials", StudentSqlDetails.STUDENT_BY_CREDENTIALS_SQL);
+        queries.put("StudentSearchIndex.prefix", withValues(StudentSearchIndex.PREFIX_SQL.formatted("name"), "smi%"));
+        queries.put("StudentSearchIndex.substring", withValues(StudentSearchIndex.SUBSTRING_SQL.formatted("name"),
+                "name : \"mit\"", "mit%"));
+
+        queries.put("AdvisorSqlDetails.getAdvisorById", AdvisorSqlDetails.ADVISOR_BY_ID_SQL);
+        queries.put("AdvisorSqlDetails.getAdvisorByUsername", AdvisorSqlDetails.ADVISOR_BY_USERNAME_SQL);
+        queries.put("AdvisorSqlDetails.getAllAdvisors", AdvisorSqlDetails.ADVISORS_BY_NAME_SQL);
+        queries.put("AdvisorSqlDetails.validateAdvisorCredentials", AdvisorSqlDetails.ADVISOR_BY_CREDENTIALS_SQL);
+
+        queries.put("CourseSqlDetails.getCourseByCode", CourseSqlDetails.COURSE_BY_CODE_SQL);
+        queries.put("CourseSqlDetails.getAllCourses", CourseSqlDetails.COURSES_BY_CODE_SQL);
+        queries.put("CourseSqlDetails.courseExists", CourseSqlDetails.COURSE_EXISTS_SQL);
+
+        queries.put("EnrollmentSqlDetails.getEnrollmentById", EnrollmentSqlDetails.ENROLLMENT_BY_ID_SQL);
+        queries.put("EnrollmentSqlDetails.getEnrollmentsByStudentId", EnrollmentSqlDetails.ENROLLMENTS_BY_STUDENT_SQL);
+        queries.put("EnrollmentSqlDetails.forEachEnrollment", EnrollmentSqlDetails.ALL_ENROLLMENTS_SQL);
+        queries.put("EnrollmentSqlDetails.forEachEnrollmentOfStudents",
+                EnrollmentSqlDetails.ENROLLMENTS_OF_STUDENTS_SQL.formatted(inList));
+        queries.put("EnrollmentSqlDetails.getEnrollmentsByCourseCode", EnrollmentSqlDetails.ENROLLMENTS_BY_COURSE_SQL);
+        queries.put("EnrollmentSqlDetails.isStudentEnrolled", EnrollmentSqlDetails.IS_ENROLLED_SQL);
+
+        queries.put("StudentStandingProjection.find", StudentStandingProjection.STANDING_BY_STUDENT_SQL);
+        queries.put("StudentStandingProjection.contributionOf", StudentStandingProjection.ENROLLMENT_CONTRIBUTION_SQL);
+        queries.put("StudentStandingProjection.refresh", StudentStandingProjection.STUDENT_CONTRIBUTIONS_SQL);
+        queries.put("StudentStandingProjection.studentIdsEnrolledIn", StudentStandingProjection.STUDENTS_IN_COURSE_SQL);
+
+        queries.put("CourseworkSqlDetails.getCourseworkItemById", CourseworkSqlDetails.ITEM_BY_ID_SQL);
+        queries.put("CourseworkSqlDetails.getCourseworkItemsByCourse", CourseworkSqlDetails.ITEMS_BY_COURSE_SQL);
+        queries.put("CourseworkSqlDetails.getCourseworkItemsByType", CourseworkSqlDetails.ITEMS_BY_TYPE_SQL);
+        queries.put("CourseworkSqlDetails.getCourseworkGradesByStudent", CourseworkSqlDetails.GRADES_BY_STUDENT_SQL);
+        queries.put("CourseworkSqlDetails.getCourseworkGradesByStudentAndCourse",
+                CourseworkSqlDetails.GRADES_BY_STUDENT_AND_COURSE_SQL);
+        queries.put("CourseworkSqlDetails.getGradebook", CourseworkSqlDetails.GRADEBOOK_SQL);
+        queries.put("CourseworkSqlDetails.getGradebookByCourse", CourseworkSqlDetails.GRADEBOOK_BY_COURSE_SQL);
+        queries.put("CourseworkSqlDetails.getGradebooks", CourseworkSqlDetails.GRADEBOOKS_SQL.formatted(inList));
+
+        queries.put("AdvisorFeedbackSqlDetails.getFeedbackByStudentId", AdvisorFeedbackSqlDetails.FEEDBACK_BY_STUDENT_SQL);
+        queries.put("AdvisorFeedbackSqlDetails.getFeedbackByAdvisorId", AdvisorFeedbackSqlDetails.FEEDBACK_BY_ADVISOR_SQL);
+        queries.put("AdvisorFeedbackSqlDetails.getFeedbackById", AdvisorFeedbackSqlDetails.FEEDBACK_BY_ID_SQL);
+
+        queries.put("BulkImportWriter.getCommittedLine", BulkImportWriter.COMMITTED_LINE_SQL);
+        queries.put("BulkImportWriter.findStudentIds", BulkImportWriter.FIND_STUDENT_IDS_SQL);
+        queries.put("BulkImportWriter.findEnrollmentIds", BulkImportWriter.ENROLLMENTS_IN_COURSE_SQL);
+        queries.put("BulkImportWriter.updateFinalGrades", BulkImportWriter.COURSEWORK_TOTALS_SQL);
+        return queries;
+    }
+
+    /**
+     * Replaces the first parameters of a query with string literals.
+     */
+    private static String withValues(String sql, String... values) {
+        String result = sql;
+        for (String value : values) {
+            int parameter = result.indexOf('?');
+            result = result.substring(0, parameter) + "'" + value.replace("'", "''") + "'" + result.substring(parameter + 1);
+        }
+        return result;
+    }
+
+    /**
+     * Prints the plan of every DAO query.
+     * @param out the stream to print to
+     * @return descriptions of the plan steps that scan a whole table or sort in a temporary B-tree
+     * @throws SQLException if a database access error occurs
+     */
+    public List<String> print(PrintStream out) throws SQLException {
+        List<String> problems = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getReadConnection();
+             Statement stmt = conn.createStatement()) {
+
+            for (Map.Entry<String, String> query : daoQueries().entrySet()) {
+                out.println(query.getKey());
+                try (ResultSet rs = stmt.executeQuery("EXPLAIN QUERY PLAN " + query.getValue())) {
+                    while (rs.next()) {
+                        String detail = rs.getString("detail");
+                        out.println("    " + detail);
+                        if (isFullScan(detail) || detail.startsWith("USE TEMP B-TREE")) {
+                            problems.add(query.getKey() + ": " + detail);
+                        }
+                    }
+                }
+            }
+        }
+
+        out.println();
+        if (problems.isEmpty()) {
+            out.println("All " + daoQueries().size() + " DAO queries use an index.");
+        } else {
+            out.println(problems.size() + " plan step(s) without index support:");
+            problems.forEach(problem -> out.println("    " + problem));
+        }
+        return problems;
+    }
+
+    /**
+     * A plain "SCAN table" reads every row; "SCAN table USING INDEX" walks an index in order,
+     * which is what a full listing sorted by an indexed column should do. A virtual table scan
+     * with a MATCH constraint (":M" in its index string) reads only the matching FTS5 rows.
+     */
+    private boolean isFullScan(String detail) {
+        if (detail.contains("VIRTUAL TABLE INDEX")) {
+            return !detail.contains(":M");
+        }
+        return detail.startsWith("SCAN") && !detail.contains("USING");
+    }
+
+    public static void main(String[] args) {
+        DatabaseConnection dbConnection = DatabaseConnection.getInstance();
+        try {
+            if (!dbConnection.initializeDatabase()) {
+                System.exit(1);
+            }
+            List<String> problems = new QueryPlanReport(dbConnection).print(System.out);
+            dbConnection.closeConnection();
+            System.exit(problems.isEmpty() ? 0 : 2);
+        } catch (SQLException e) {
+            System.err.println("Error explaining DAO queries: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.university.data;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * A single, ordered step in the database schema history.
+ * The checksum is derived from the SQL so that editing an already-applied migration is detected.
+ */
+public class SchemaMigration {
+
+    private final int version;
+    private final String description;
+    private final List<String> statements;
+    private final boolean analyzeAfter;
+
+    /**
+     * Creates a migration step.
+     * @param version the schema version this step produces
+     * @param description a short human-readable description
+     * @param analyzeAfter whether to refresh planner statistics once the step is applied
+     * @param statements the SQL statements to execute, in order
+     */
+    public SchemaMigration(int version, String description, boolean analyzeAfter, List<String> statements) {
+        this.version = version;
+        this.description = description;
+        this.analyzeAfter = analyzeAfter;
+        this.statements = List.copyOf(statements);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public List<String> getStatements() {
+        return statements;
+    }
+
+    public boolean isAnalyzeAfter() {
+        return analyzeAfter;
+    }
+
+    /**
+     * Calculates the SHA-256 checksum of the migration's statements.
+     * Whitespace at the ends of each statement is ignored so reindenting a text block does not count as a change.
+     * @return the hex-encoded checksum
+     */
+    public String getChecksum() {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            for (String statement : statements) {
+                md.update(statement.strip().getBytes(StandardCharsets.UTF_8));
+                md.update((byte) ';');
+            }
+            return HexFormat.of().formatHex(md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Error computing migration checksum", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SchemaMigration{" +
+                "version=" + version +
+                ", description='" + description + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,242 @@
+package com.university.data;
+
+import java.util.List;
+
+/**
+ * The ordered list of schema migrations for the application database.
+ * Append new steps with the next version number; never edit a step that has already shipped,
+ * because its checksum is recorded in the schema_version table.
+ */
+public final class SchemaMigrations {
+
+    private SchemaMigrations() {
+    }
+
+    /**
+     * Gets all migrations in version order.
+     * @return the migrations
+     */
+    public static List<SchemaMigration> all() {
+        return List.of(baselineTables(), queryIndexes(), studentStanding(), studentSearch(), importProgress(),
+                applicationMetadata());
+    }
+
+    /**
+     * Version 1: the original tables. Uses IF NOT EXISTS so databases created before
+     * migrations existed are adopted without changes.
+     */
+    private static SchemaMigration baselineTables() {
+        return new SchemaMigration(1, "Create baseline tables", false, List.of(
+                """
+                CREATE TABLE IF NOT EXISTS advisors (
+                    advisorId INTEGER PRIMARY KEY AUTOINCREMENT,
+                    name TEXT NOT NULL,
+                    username TEXT UNIQUE NOT NULL,
+                    passwordHash TEXT NOT NULL,
+                    department TEXT NOT NULL,
+                    email TEXT
+                )
+                """,
+                """
+                CREATE TABLE IF NOT EXISTS students (
+                    studentId INTEGER PRIMARY KEY AUTOINCREMENT,
+                    name TEXT NOT NULL,
+                    username TEXT UNIQUE NOT NULL,
+                    passwordHash TEXT NOT NULL,
+                    program TEXT NOT NULL,
+                    requiredCredits INTEGER NOT NULL DEFAULT 120,
+                    completedCredits INTEGER NOT NULL DEFAULT 0
+                )
+                """,
+                """
+                CREATE TABLE IF NOT EXISTS courses (
+                    courseCode TEXT PRIMARY KEY,
+                    title TEXT NOT NULL,
+                    creditHours INTEGER NOT NULL
+                )
+                """,
+                """
+                CREATE TABLE IF NOT EXISTS enrollments (
+                    enrollmentId INTEGER PRIMARY KEY AUTOINCREMENT,
+                    studentId INTEGER NOT NULL,
+                    courseCode TEXT NOT NULL,
+                    semester TEXT NOT NULL,
+                    year INTEGER NOT NULL,
+                    finalGrade TEXT,
+                    FOREIGN KEY (studentId) REFERENCES students(studentId),
+                    FOREIGN KEY (courseCode) REFERENCES courses(courseCode),
+                    UNIQUE(studentId, courseCode, semester, year)
+                )
+                """,
+                """
+                CREATE TABLE IF NOT EXISTS coursework_items (
+                    itemId INTEGER PRIMARY KEY AUTOINCREMENT,
+                    courseCode TEXT NOT NULL,
+                    type TEXT NOT NULL,
+                    title TEXT NOT NULL,
+                    totalMarks REAL NOT NULL,
+                    weight REAL NOT NULL,
+                    dueDate TEXT NOT NULL,
+                    FOREIGN KEY (courseCode) REFERENCES courses(courseCode)
+                )
+                """,
+                """
+                CREATE TABLE IF NOT EXISTS coursework_grades (
+                    gradeId INTEGER PRIMARY KEY AUTOINCREMENT,
+                    studentId INTEGER NOT NULL,
+                    courseCode TEXT NOT NULL,
+                    itemId INTEGER NOT NULL,
+                    marksObtained REAL NOT NULL,
+                    FOREIGN KEY (studentId) REFERENCES students(studentId),
+                    FOREIGN KEY (courseCode) REFERENCES courses(courseCode),
+                    FOREIGN KEY (itemId) REFERENCES coursework_items(itemId),
+                    UNIQUE(studentId, itemId)
+                )
+                """,
+                """
+                CREATE TABLE IF NOT EXISTS advisor_feedback (
+                    feedbackId INTEGER PRIMARY KEY AUTOINCREMENT,
+                    advisorId INTEGER NOT NULL,
+                    studentId INTEGER NOT NULL,
+                    note TEXT NOT NULL,
+                    createdAt TEXT NOT NULL,
+                    FOREIGN KEY (advisorId) REFERENCES advisors(advisorId),
+                    FOREIGN KEY (studentId) REFERENCES students(studentId)
+                )
+                """
+        ));
+    }
+
+    /**
+     * Version 2: secondary indexes matching the WHERE and ORDER BY clauses of the DAO queries.
+     * Lookups by primary key, username and (studentId, courseCode) are already served by the
+     * implicit PRIMARY KEY and UNIQUE indexes, so only the remaining access paths are covered here.
+     */
+    private static SchemaMigration queryIndexes() {
+        return new SchemaMigration(2, "Add indexes for DAO access paths", true, List.of(
+                // getAllStudents / getAllAdvisors: ORDER BY name
+                "CREATE INDEX IF NOT EXISTS idx_students_name ON students(name)",
+                "CREATE INDEX IF NOT EXISTS idx_advisors_name ON advisors(name)",
+
+                // getEnrollmentsByStudentId: WHERE studentId = ? ORDER BY year DESC, semester DESC
+                """
+                CREATE INDEX IF NOT EXISTS idx_enrollments_student_term
+                    ON enrollments(studentId, year DESC, semester DESC, courseCode, finalGrade)
+                """,
+                // getEnrollmentsByCourseCode: WHERE courseCode = ? ORDER BY year DESC, semester DESC
+                """
+                CREATE INDEX IF NOT EXISTS idx_enrollments_course_term
+                    ON enrollments(courseCode, year DESC, semester DESC, studentId, finalGrade)
+                """,
+
+                // getCourseworkItemsByCourse / getCourseworkItemsByType: ORDER BY dueDate
+                "CREATE INDEX IF NOT EXISTS idx_coursework_items_course_due ON coursework_items(courseCode, dueDate)",
+                "CREATE INDEX IF NOT EXISTS idx_coursework_items_type_due ON coursework_items(type, dueDate)",
+
+                // getCourseworkGradesByStudent: WHERE studentId = ? ORDER BY courseCode, itemId
+                // getCourseworkGradesByStudentAndCourse: WHERE studentId = ? AND courseCode = ? ORDER BY itemId
+                """
+                CREATE INDEX IF NOT EXISTS idx_coursework_grades_student_course
+                    ON coursework_grades(studentId, courseCode, itemId, marksObtained)
+                """,
+
+                // getFeedbackByStudentId / getFeedbackByAdvisorId: ORDER BY createdAt DESC
+                "CREATE INDEX IF NOT EXISTS idx_advisor_feedback_student_created ON advisor_feedback(studentId, createdAt DESC)",
+                "CREATE INDEX IF NOT EXISTS idx_advisor_feedback_advisor_created ON advisor_feedback(advisorId, createdAt DESC)"
+        ));
+    }
+
+    /**
+     * Version 3: per-student standing maintained incrementally by EnrollmentSqlDetails.
+     * Existing enrollments are folded in by StudentStandingProjection.rebuildIfEmpty at startup.
+     */
+    private static SchemaMigration studentStanding() {
+        return new SchemaMigration(3, "Add student_standing projection", false, List.of(
+                """
+                CREATE TABLE IF NOT EXISTS student_standing (
+                    studentId INTEGER PRIMARY KEY,
+                    qualityPointHundredths INTEGER NOT NULL DEFAULT 0,
+                    gradedCredits INTEGER NOT NULL DEFAULT 0,
+                    attemptedCredits INTEGER NOT NULL DEFAULT 0,
+                    completedCredits INTEGER NOT NULL DEFAULT 0,
+                    cgpa REAL NOT NULL DEFAULT 0.0,
+                    onProbation INTEGER NOT NULL DEFAULT 0,
+                    updatedAt TEXT NOT NULL,
+                    FOREIGN KEY (studentId) REFERENCES students(studentId)
+                )
+                """
+        ));
+    }
+
+    /**
+     * Version 4: trigram full-text index over student names, programs and usernames for
+     * StudentSearchIndex, kept in step with students by triggers, plus case-insensitive
+     * indexes for prefix matches too short for trigrams.
+     */
+    private static SchemaMigration studentSearch() {
+        return new SchemaMigration(4, "Add student search index", true, List.of(
+                """
+                CREATE VIRTUAL TABLE IF NOT EXISTS student_search USING fts5(
+                    name, program, username,
+                    content='students', content_rowid='studentId',
+                    tokenize='trigram'
+                )
+                """,
+                """
+                CREATE TRIGGER IF NOT EXISTS students_search_insert AFTER INSERT ON students BEGIN
+                    INSERT INTO student_search (rowid, name, program, username)
+                    VALUES (new.studentId, new.name, new.program, new.username);
+                END
+                """,
+                """
+                CREATE TRIGGER IF NOT EXISTS students_search_delete AFTER DELETE ON students BEGIN
+                    INSERT INTO student_search (student_search, rowid, name, program, username)
+                    VALUES ('delete', old.studentId, old.name, old.program, old.username);
+                END
+                """,
+                """
+                CREATE TRIGGER IF NOT EXISTS students_search_update AFTER UPDATE OF name, program, username ON students BEGIN
+                    INSERT INTO student_search (student_search, rowid, name, program, username)
+                    VALUES ('delete', old.studentId, old.name, old.program, old.username);
+                    INSERT INTO student_search (rowid, name, program, username)
+                    VALUES (new.studentId, new.name, new.program, new.username);
+                END
+                """,
+                "INSERT INTO student_search (student_search) VALUES ('rebuild')",
+                "CREATE INDEX IF NOT EXISTS idx_students_name_nocase ON students(name COLLATE NOCASE)",
+                "CREATE INDEX IF NOT EXISTS idx_students_program_nocase ON students(program COLLATE NOCASE)",
+                "CREATE INDEX IF NOT EXISTS idx_students_username_nocase ON students(username COLLATE NOCASE)"
+        ));
+    }
+
+    /**
+     * Version 5: the last CSV line each bulk import has committed, written in the same transaction
+     * as the rows themselves so an interrupted import resumes exactly where it stopped.
+     */
+    private static SchemaMigration importProgress() {
+        return new SchemaMigration(5, "Add bulk import progress", false, List.of(
+                """
+                CREATE TABLE IF NOT EXISTS import_progress (
+                    importKey TEXT PRIMARY KEY,
+                    committedLine INTEGER NOT NULL,
+                    updatedAt TEXT NOT NULL
+                )
+                """
+        ));
+    }
+
+    /**
+     * Version 6: key/value facts about the database itself, such as whether the sample data has
+     * been seeded, so startup can answer them with one lookup instead of probing the tables.
+     */
+    private static SchemaMigration applicationMetadata() {
+        return new SchemaMigration(6, "Add application metadata", false, List.of(
+                """
+                CREATE TABLE IF NOT EXISTS app_metadata (
+                    key TEXT PRIMARY KEY,
+                    value TEXT NOT NULL
+                )
+                """
+        ));
+    }
+}
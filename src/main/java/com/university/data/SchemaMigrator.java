@@ -0,0 +1,139 @@
+package com.university.data;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies pending schema migrations and records them in the schema_version table.
+ * Each migration runs in its own transaction, and the checksums of already-applied
+ * migrations are verified so that an edited migration is reported instead of silently skipped.
+ */
+public class SchemaMigrator {
+
+    private final DatabaseConnection dbConnection;
+    private final List<SchemaMigration> migrations;
+
+    public SchemaMigrator(DatabaseConnection dbConnection) {
+        this(dbConnection, SchemaMigrations.all());
+    }
+
+    public SchemaMigrator(DatabaseConnection dbConnection, List<SchemaMigration> migrations) {
+        this.dbConnection = dbConnection;
+        this.migrations = migrations;
+    }
+
+    /**
+     * Brings the database up to the latest schema version.
+     * @return the number of migrations applied
+     * @throws SQLException if a migration fails or an applied migration's checksum no longer matches
+     */
+    public int migrate() throws SQLException {
+        try (Connection conn = dbConnection.getConnection()) {
+            createVersionTable(conn);
+            Map<Integer, String> applied = loadAppliedChecksums(conn);
+
+            int appliedCount = 0;
+            boolean analyze = false;
+            int lastVersion = 0;
+
+            for (SchemaMigration migration : migrations) {
+                if (migration.getVersion() <= lastVersion) {
+                    throw new SQLException("Schema migrations are out of order at version " + migration.getVersion());
+                }
+                lastVersion = migration.getVersion();
+
+                String recordedChecksum = applied.get(migration.getVersion());
+                if (recordedChecksum != null) {
+                    if (!recordedChecksum.equals(migration.getChecksum())) {
+                        throw new SQLException("Checksum mismatch for applied schema migration " + migration.getVersion()
+                                + " (" + migration.getDescription() + ")");
+                    }
+                    continue;
+                }
+
+                apply(conn, migration);
+                System.out.println("Applied schema migration " + migration.getVersion() + ": " + migration.getDescription());
+                appliedCount++;
+                analyze |= migration.isAnalyzeAfter();
+            }
+
+            if (analyze) {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("ANALYZE");
+                }
+            }
+            return appliedCount;
+        }
+    }
+
+    /**
+     * Gets the highest applied schema version.
+     * @return the current schema version, or 0 if no migration has been applied
+     * @throws SQLException if a database access error occurs
+     */
+    public int getCurrentVersion() throws SQLException {
+        try (Connection conn = dbConnection.getConnection()) {
+            createVersionTable(conn);
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    private void createVersionTable(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS schema_version (
+                    version INTEGER PRIMARY KEY,
+                    description TEXT NOT NULL,
+                    checksum TEXT NOT NULL,
+                    appliedAt TEXT NOT NULL
+                )
+            """);
+        }
+    }
+
+    private Map<Integer, String> loadAppliedChecksums(Connection conn) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+        }
+        return applied;
+    }
+
+    private void apply(Connection conn, SchemaMigration migration) throws SQLException {
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement();
+             PreparedStatement record = conn.prepareStatement(
+                     "INSERT INTO schema_version (version, description, checksum, appliedAt) VALUES (?, ?, ?, ?)")) {
+
+            for (String sql : migration.getStatements()) {
+                stmt.execute(sql);
+            }
+
+            record.setInt(1, migration.getVersion());
+            record.setString(2, migration.getDescription());
+            record.setString(3, migration.getChecksum());
+            record.setString(4, LocalDateTime.now().toString());
+            record.executeUpdate();
+
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("Schema migration " + migration.getVersion() + " failed: " + e.getMessage(), e);
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.university.data;
+
+import java.time.LocalDateTime;
+
+/**
+ * A DAO call that took longer than the slow-query threshold.
+ * @param method the interface and method, such as StudentDetails.search
+ * @param arguments the call's arguments; collections show only their size, other objects only their type,
+ *                  and the arguments of methods taking a password are hidden
+ * @param durationNanos how long the call took
+ * @param rows the rows it returned, or -1 if its result is not a set of rows
+ * @param thread the thread that made the call
+ * @param at when the call finished
+ */
+public record SlowQuery(String method, String arguments, long durationNanos, int rows, String thread,
+                        LocalDateTime at) {
+
+    @Override
+    public String toString() {
+        return method + "(" + arguments + ") took " + durationNanos / 1_000_000 + " ms"
+                + (rows >= 0 ? ", " + rows + " rows" : "") + " on " + thread + " at " + at;
+    }
+}
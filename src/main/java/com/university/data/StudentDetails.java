@@ -4,6 +4,7 @@ import com.university.roles.Student;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Interface for student data access operations.
@@ -39,6 +40,66 @@ public interface StudentDetails {
      */
     List<Student> getAllStudents();
 
+    /**
+     * Retrieves every student as a summary for pickers and search tables, in name order.
+     * Reads only the summary columns.
+     * @return summaries of all students
+     */
+    List<StudentSummary> getStudentSummaries();
+
+    /**
+     * Retrieves every student as a roster entry for the student management table, in name order.
+     * Reads only the roster columns.
+     * @return roster entries for all students
+     */
+    List<StudentRosterEntry> getStudentRoster();
+
+    /**
+     * Retrieves the next page of students in student ID order.
+     * @param lastId the ID of the last student on the previous page, or 0 for the first page
+     * @param limit the maximum number of students to return
+     * @return the students after lastId
+     */
+    List<Student> getStudentsAfterId(int lastId, int limit);
+
+    /**
+     * Retrieves the next page of students in name order, as listed by getAllStudents.
+     * Students with the same name are ordered by ID.
+     * @param lastName the name of the last student on the previous page, or null for the first page
+     * @param lastId the ID of the last student on the previous page, or 0 for the first page
+     * @param limit the maximum number of students to return
+     * @return the students after (lastName, lastId)
+     */
+    List<Student> getStudentsAfterName(String lastName, int lastId, int limit);
+
+    /**
+     * Streams every student, in name order, to the given action through one forward-only cursor,
+     * without holding them all in memory.
+     * @param action the action to apply to each student
+     */
+    void forEachStudent(Consumer<Student> action);
+
+    /**
+     * Searches students by name, program or username, best matches first: prefix matches,
+     * then other substring matches, then near misses within a typo or two.
+     * Queries shorter than three characters match prefixes only.
+     * @param query the text to search for
+     * @param field "name", "program" or "username", or null to search all three
+     * @param offset the number of ranked results to skip
+     * @param limit the maximum number of results to return
+     * @return the page of matching students in rank order
+     */
+    List<StudentSummary> search(String query, String field, int offset, int limit);
+
+    /**
+     * Gets the first page of a search.
+     * @param query the text to search for
+     * @param field "name", "program" or "username", or null to search all three
+     * @param limit the maximum number of results to return
+     * @return the best matching students in rank order
+     */
+    List<StudentSummary> search(String query, String field, int limit);
+
     /**
      * Updates an existing student record.
      * @param student the student to update
@@ -0,0 +1,13 @@
+package com.university.data;
+
+/**
+ * Read-only projection of a student for the student management table: the summary columns
+ * plus completed credits, without the password hash.
+ * @param id the student ID
+ * @param name the student's name
+ * @param username the login name
+ * @param program the degree program
+ * @param completedCredits the credits completed so far
+ */
+public record StudentRosterEntry(int id, String name, String username, String program, int completedCredits) {
+}
@@ -0,0 +1,280 @@
+package com.university.data;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Ranked student search over the student_search FTS5 table (trigram tokenizer) and the
+ * case-insensitive name, program and username indexes. Matches are read as StudentSummary projections.
+ * The FTS table is an external-content index over students kept current by triggers,
+ * so every write to students is reflected immediately without any work here.
+ * Results come in three tiers, each read in index order so a page stops as soon as it is full:
+ * <ol>
+ *     <li>prefix matches of the field, alphabetically;</li>
+ *     <li>other substring matches, in insertion order;</li>
+ *     <li>near misses within one typo (two for queries of eight characters or more), closest first,
+ *     for queries of four characters or more.</li>
+ * </ol>
+ * Trigrams need three characters, so shorter queries return prefix matches only.
+ */
+public class StudentSearchIndex {
+
+    /**
+     * The searchable columns. Doubles as the whitelist for the column names spliced into SQL.
+     */
+    public static final List<String> FIELDS = List.of("name", "program", "username");
+
+    /**
+     * Caps the candidates checked for near misses. They are taken in bm25 order, so rows sharing
+     * the most and rarest trigrams with the query are checked first.
+     */
+    private static final int FUZZY_CANDIDATES = 1000;
+
+    private static final String SUMMARY_COLUMNS = "studentId, name, program, username";
+
+    // Formatted with the column being searched
+    static final String PREFIX_SQL = "SELECT " + SUMMARY_COLUMNS + " FROM students WHERE %1$s LIKE ? ESCAPE '\\' "
+            + "ORDER BY %1$s COLLATE NOCASE LIMIT ? OFFSET ?";
+
+    static final String SUBSTRING_SQL = """
+            SELECT s.studentId, s.name, s.program, s.username FROM student_search
+            JOIN students s ON s.studentId = student_search.rowid
+            WHERE student_search MATCH ? AND s.%s NOT LIKE ? ESCAPE '\\'
+            ORDER BY student_search.rowid LIMIT ? OFFSET ?
+            """;
+
+    private final DatabaseConnection dbConnection;
+
+    public StudentSearchIndex(DatabaseConnection dbConnection) {
+        this.dbConnection = dbConnection;
+    }
+
+    /**
+     * Finds one page of ranked matches.
+     * @param query the text to search for
+     * @param field one of FIELDS, or null to search all of them
+     * @param offset the number of ranked results to skip
+     * @param limit the maximum number of results to return
+     * @return the matching students in rank order
+     * @throws SQLException if a database access error occurs
+     * @throws IllegalArgumentException if field is not searchable
+     */
+    public List<StudentSummary> search(String query, String field, int offset, int limit) throws SQLException {
+        if (field != null && !FIELDS.contains(field)) {
+            throw new IllegalArgumentException("Unknown search field: " + field);
+        }
+
+        List<StudentSummary> results = new ArrayList<>();
+        String text = query == null ? "" : query.strip().toLowerCase(Locale.ROOT);
+        if (text.isEmpty() || limit <= 0) {
+            return results;
+        }
+
+        // With all fields selected, the prefix tier orders by name
+        String prefixColumn = field == null ? "name" : field;
+        String prefixPattern = escapeLike(text) + "%";
+
+        try (Connection conn = dbConnection.getReadConnection()) {
+            int skip = Math.max(0, offset);
+
+            String prefixSql = PREFIX_SQL.formatted(prefixColumn);
+            String prefixCountSql = "SELECT COUNT(*) FROM students WHERE " + prefixColumn + " LIKE ? ESCAPE '\\'";
+            skip = readTier(conn, prefixSql, prefixCountSql, skip, limit, results, prefixPattern);
+            if (results.size() == limit || text.length() < 3) {
+                return results;
+            }
+
+            String match = columnFilter(field) + phrase(text);
+            String substringSql = SUBSTRING_SQL.formatted(prefixColumn);
+            String substringCountSql = """
+                SELECT COUNT(*) FROM student_search
+                JOIN students s ON s.studentId = student_search.rowid
+                WHERE student_search MATCH ? AND s.%s NOT LIKE ? ESCAPE '\\'
+                """.formatted(prefixColumn);
+            skip = readTier(conn, substringSql, substringCountSql, skip, limit - results.size(), results,
+                    match, prefixPattern);
+            if (results.size() == limit || text.length() < 4) {
+                return results;
+            }
+
+            results.addAll(nearMisses(conn, text, field, skip, limit - results.size()));
+        }
+
+        return results;
+    }
+
+    /**
+     * Reads the part of one ranked tier that falls on the requested page.
+     * @return how many of the skipped results are left for the following tiers
+     */
+    private int readTier(Connection conn, String pageSql, String countSql, int skip, int limit,
+                         List<StudentSummary> results, String... params) throws SQLException {
+        int read = 0;
+        try (PreparedStatement pstmt = conn.prepareStatement(pageSql)) {
+            int index = bind(pstmt, params);
+            pstmt.setInt(index, limit);
+            pstmt.setInt(index + 1, skip);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                results.add(StudentSqlDetails.mapResultSetToSummary(rs));
+                read++;
+            }
+        }
+
+        if (read > 0 || skip == 0) {
+            // The tier ran out on this page, so everything before it has been skipped
+            return 0;
+        }
+
+        // The whole tier lies before the page; only its size is needed
+        try (PreparedStatement pstmt = conn.prepareStatement(countSql)) {
+            bind(pstmt, params);
+            ResultSet rs = pstmt.executeQuery();
+            return rs.next() ? Math.max(0, skip - rs.getInt(1)) : skip;
+        }
+    }
+
+    /**
+     * Finds rows that match the query with a few typos but do not contain it. Candidates are the rows
+     * sharing at least one trigram with the query; each is then checked with an edit distance.
+     */
+    private List<StudentSummary> nearMisses(Connection conn, String text, String field, int skip, int limit)
+            throws SQLException {
+        int maxEdits = text.length() >= 8 ? 2 : 1;
+        String sql = """
+            SELECT s.studentId, s.name, s.program, s.username FROM student_search
+            JOIN students s ON s.studentId = student_search.rowid
+            WHERE student_search MATCH ?
+            ORDER BY rank LIMIT ?
+            """;
+
+        List<ScoredStudent> matches = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, columnFilter(field) + "(" + String.join(" OR ", trigrams(text)) + ")");
+            pstmt.setInt(2, FUZZY_CANDIDATES);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                StudentSummary student = StudentSqlDetails.mapResultSetToSummary(rs);
+                int distance = distance(text, student, field);
+                // Distance 0 means an exact substring match, already returned by the earlier tiers
+                if (distance > 0 && distance <= maxEdits) {
+                    matches.add(new ScoredStudent(student, distance));
+                }
+            }
+        }
+
+        matches.sort(Comparator.comparingInt((ScoredStudent match) -> match.distance)
+                .thenComparing(match -> match.student.name(), String.CASE_INSENSITIVE_ORDER));
+
+        List<StudentSummary> page = new ArrayList<>();
+        for (int i = skip; i < matches.size() && page.size() < limit; i++) {
+            page.add(matches.get(i).student);
+        }
+        return page;
+    }
+
+    private static List<String> trigrams(String text) {
+        List<String> trigrams = new ArrayList<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(phrase(text.substring(i, i + 3)));
+        }
+        return trigrams;
+    }
+
+    private static int distance(String text, StudentSummary student, String field) {
+        if (field != null) {
+            return substringDistance(text, valueOf(student, field));
+        }
+        int best = Integer.MAX_VALUE;
+        for (String each : FIELDS) {
+            best = Math.min(best, substringDistance(text, valueOf(student, each)));
+        }
+        return best;
+    }
+
+    private static String valueOf(StudentSummary student, String field) {
+        switch (field) {
+            case "name":
+                return student.name();
+            case "program":
+                return student.program();
+            default:
+                return student.username();
+        }
+    }
+
+    /**
+     * Computes the fewest edits that turn the query into some substring of the value: Levenshtein
+     * distance with adjacent transpositions, where leading and trailing characters of the value are free.
+     */
+    static int substringDistance(String query, String value) {
+        String target = value == null ? "" : value.toLowerCase(Locale.ROOT);
+        int n = query.length();
+        int[] beforePrevious = new int[n + 1];
+        int[] previous = new int[n + 1];
+        int[] current = new int[n + 1];
+        for (int i = 0; i <= n; i++) {
+            previous[i] = i;
+        }
+
+        int best = previous[n];
+        for (int j = 1; j <= target.length(); j++) {
+            current[0] = 0;
+            for (int i = 1; i <= n; i++) {
+                int substitution = previous[i - 1] + (query.charAt(i - 1) == target.charAt(j - 1) ? 0 : 1);
+                current[i] = Math.min(substitution, Math.min(previous[i], current[i - 1]) + 1);
+                if (i > 1 && j > 1 && query.charAt(i - 1) == target.charAt(j - 2)
+                        && query.charAt(i - 2) == target.charAt(j - 1)) {
+                    current[i] = Math.min(current[i], beforePrevious[i - 2] + 1);
+                }
+            }
+            best = Math.min(best, current[n]);
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return best;
+    }
+
+    private static String columnFilter(String field) {
+        return field == null ? "" : field + " : ";
+    }
+
+    /**
+     * Quotes text as an FTS5 phrase; with the trigram tokenizer a phrase matches any substring.
+     */
+    private static String phrase(String text) {
+        return "\"" + text.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static int bind(PreparedStatement pstmt, String... params) throws SQLException {
+        int index = 1;
+        for (String param : params) {
+            pstmt.setString(index++, param);
+        }
+        return index;
+    }
+
+    private static final class ScoredStudent {
+        private final StudentSummary student;
+        private final int distance;
+
+        private ScoredStudent(StudentSummary student, int distance) {
+            this.student = student;
+            this.distance = distance;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * SQLite implementation of StudentDetails interface.
@@ -14,10 +15,28 @@ import java.util.Optional;
  */
 public class StudentSqlDetails implements StudentDetails {
 
+    static final String STUDENT_BY_ID_SQL = "SELECT * FROM students WHERE studentId = ?";
+
+    static final String STUDENT_BY_USERNAME_SQL = "SELECT * FROM students WHERE username = ?";
+
+    static final String STUDENTS_BY_NAME_SQL = "SELECT * FROM students ORDER BY name";
+
+    static final String STUDENT_SUMMARIES_SQL = "SELECT studentId, name, program, username FROM students ORDER BY name";
+
+    static final String STUDENT_ROSTER_SQL = "SELECT studentId, name, username, program, completedCredits FROM students ORDER BY name";
+
+    static final String STUDENTS_AFTER_ID_SQL = "SELECT * FROM students WHERE studentId > ? ORDER BY studentId LIMIT ?";
+
+    static final String STUDENTS_AFTER_NAME_SQL = "SELECT * FROM students WHERE (name, studentId) > (?, ?) ORDER BY name, studentId LIMIT ?";
+
+    static final String STUDENT_BY_CREDENTIALS_SQL = "SELECT * FROM students WHERE username = ? AND passwordHash = ?";
+
     private final DatabaseConnection dbConnection;
+    private final StudentSearchIndex searchIndex;
 
     public StudentSqlDetails() {
         this.dbConnection = DatabaseConnection.getInstance();
+        this.searchIndex = new StudentSearchIndex(dbConnection);
     }
 
     @Override
@@ -46,10 +65,8 @@ public class StudentSqlDetails implements StudentDetails {
 
     @Override
     public Optional<Student> getStudentById(int studentId) {
-        String sql = "SELECT * FROM students WHERE studentId = ?";
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(STUDENT_BY_ID_SQL)) {
 
             pstmt.setInt(1, studentId);
             ResultSet rs = pstmt.executeQuery();
@@ -66,10 +83,8 @@ public class StudentSqlDetails implements StudentDetails {
 
     @Override
     public Optional<Student> getStudentByUsername(String username) {
-        String sql = "SELECT * FROM students WHERE username = ?";
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(STUDENT_BY_USERNAME_SQL)) {
 
             pstmt.setString(1, username);
             ResultSet rs = pstmt.executeQuery();
@@ -87,11 +102,10 @@ public class StudentSqlDetails implements StudentDetails {
     @Override
     public List<Student> getAllStudents() {
         List<Student> students = new ArrayList<>();
-        String sql = "SELECT * FROM students ORDER BY name";
 
-        try (Connection conn = dbConnection.getConnection();
+        try (Connection conn = dbConnection.getReadConnection();
              Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             ResultSet rs = stmt.executeQuery(STUDENTS_BY_NAME_SQL)) {
 
             while (rs.next()) {
                 students.add(mapResultSetToStudent(rs));
@@ -103,6 +117,120 @@ public class StudentSqlDetails implements StudentDetails {
         return students;
     }
 
+    @Override
+    public List<StudentSummary> getStudentSummaries() {
+        List<StudentSummary> students = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(STUDENT_SUMMARIES_SQL)) {
+
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                students.add(mapResultSetToSummary(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting student summaries: " + e.getMessage());
+        }
+
+        return students;
+    }
+
+    @Override
+    public List<StudentRosterEntry> getStudentRoster() {
+        List<StudentRosterEntry> roster = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(STUDENT_ROSTER_SQL)) {
+
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                roster.add(new StudentRosterEntry(rs.getInt("studentId"), rs.getString("name"),
+                        rs.getString("username"), rs.getString("program"), rs.getInt("completedCredits")));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting student roster: " + e.getMessage());
+        }
+
+        return roster;
+    }
+
+    @Override
+    public List<Student> getStudentsAfterId(int lastId, int limit) {
+        List<Student> students = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(STUDENTS_AFTER_ID_SQL)) {
+
+            pstmt.setInt(1, lastId);
+            pstmt.setInt(2, limit);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                students.add(mapResultSetToStudent(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting students after ID: " + e.getMessage());
+        }
+
+        return students;
+    }
+
+    @Override
+    public List<Student> getStudentsAfterName(String lastName, int lastId, int limit) {
+        List<Student> students = new ArrayList<>();
+        // The row value comparison seeks into idx_students_name, whose entries end with the rowid
+
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(STUDENTS_AFTER_NAME_SQL)) {
+
+            pstmt.setString(1, lastName == null ? "" : lastName);
+            pstmt.setInt(2, lastId);
+            pstmt.setInt(3, limit);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                students.add(mapResultSetToStudent(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting students after name: " + e.getMessage());
+        }
+
+        return students;
+    }
+
+    @Override
+    public void forEachStudent(Consumer<Student> action) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(STUDENTS_BY_NAME_SQL)) {
+
+            // SQLite result sets are forward-only and step the statement one row at a time
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                action.accept(mapResultSetToStudent(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error streaming students: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<StudentSummary> search(String query, String field, int offset, int limit) {
+        try {
+            return searchIndex.search(query, field, offset, limit);
+        } catch (SQLException e) {
+            System.err.println("Error searching students: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public List<StudentSummary> search(String query, String field, int limit) {
+        return search(query, field, 0, limit);
+    }
+
     @Override
     public boolean updateStudent(Student student) {
         String sql = "UPDATE students SET name = ?, username = ?, passwordHash = ?, program = ?, requiredCredits = ?, completedCredits = ? WHERE studentId = ?";
@@ -176,10 +304,8 @@ public class StudentSqlDetails implements StudentDetails {
 
     @Override
     public Optional<Student> validateStudentCredentials(String username, String passwordHash) {
-        String sql = "SELECT * FROM students WHERE username = ? AND passwordHash = ?";
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(STUDENT_BY_CREDENTIALS_SQL)) {
 
             pstmt.setString(1, username);
             pstmt.setString(2, passwordHash);
@@ -195,13 +321,47 @@ public class StudentSqlDetails implements StudentDetails {
         return Optional.empty();
     }
 
+    /**
+     * Copies a student's completed credits from the student_standing projection, as part of the
+     * caller's transaction. Writes nothing when the stored value is already current.
+     * @param conn a connection with auto-commit disabled
+     * @param studentId the student ID
+     * @throws SQLException if a database access error occurs
+     */
+    static void refreshCompletedCredits(Connection conn, int studentId) throws SQLException {
+        String sql = """
+            UPDATE students
+            SET completedCredits = COALESCE((SELECT completedCredits FROM student_standing WHERE studentId = ?), 0)
+            WHERE studentId = ?
+              AND completedCredits IS NOT COALESCE((SELECT completedCredits FROM student_standing WHERE studentId = ?), 0)
+            """;
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, studentId);
+            pstmt.setInt(2, studentId);
+            pstmt.setInt(3, studentId);
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Maps the summary columns of a ResultSet to a StudentSummary.
+     * @param rs the ResultSet to map
+     * @return the mapped summary
+     * @throws SQLException if a database access error occurs
+     */
+    static StudentSummary mapResultSetToSummary(ResultSet rs) throws SQLException {
+        return new StudentSummary(rs.getInt("studentId"), rs.getString("name"),
+                rs.getString("program"), rs.getString("username"));
+    }
+
     /**
      * Maps a ResultSet to a Student object.
      * @param rs the ResultSet to map
      * @return the mapped Student object
      * @throws SQLException if a database access error occurs
      */
-    private Student mapResultSetToStudent(ResultSet rs) throws SQLException {
+    private static Student mapResultSetToStudent(ResultSet rs) throws SQLException {
         Student student = new Student();
         student.setId(rs.getInt("studentId"));
         student.setName(rs.getString("name"));
@@ -0,0 +1,88 @@
+package com.university.data;
+
+/**
+ * Stored academic standing of a student, as kept in the student_standing table.
+ * Quality points are grade points multiplied by credits, held in hundredths so that
+ * incremental updates add and subtract whole numbers without floating-point drift.
+ */
+public class StudentStanding {
+
+    /**
+     * CGPA below which a student is on academic probation and cannot graduate.
+     */
+    public static final double PROBATION_THRESHOLD = 2.0;
+
+    private final int studentId;
+    private final long qualityPointHundredths;
+    private final int gradedCredits;
+    private final int attemptedCredits;
+    private final int completedCredits;
+    private final double cgpa;
+    private final boolean onProbation;
+    private final String updatedAt;
+
+    public StudentStanding(int studentId, long qualityPointHundredths, int gradedCredits, int attemptedCredits,
+                           int completedCredits, double cgpa, boolean onProbation, String updatedAt) {
+        this.studentId = studentId;
+        this.qualityPointHundredths = qualityPointHundredths;
+        this.gradedCredits = gradedCredits;
+        this.attemptedCredits = attemptedCredits;
+        this.completedCredits = completedCredits;
+        this.cgpa = cgpa;
+        this.onProbation = onProbation;
+        this.updatedAt = updatedAt;
+    }
+
+    public int getStudentId() {
+        return studentId;
+    }
+
+    public long getQualityPointHundredths() {
+        return qualityPointHundredths;
+    }
+
+    /**
+     * Gets the credits of all graded enrollments, i.e. the credits the CGPA is weighted over.
+     * @return the graded credits
+     */
+    public int getGradedCredits() {
+        return gradedCredits;
+    }
+
+    /**
+     * Gets the credits of every enrollment, graded or not.
+     * @return the attempted credits
+     */
+    public int getAttemptedCredits() {
+        return attemptedCredits;
+    }
+
+    public int getCompletedCredits() {
+        return completedCredits;
+    }
+
+    public double getCgpa() {
+        return cgpa;
+    }
+
+    public boolean isOnProbation() {
+        return onProbation;
+    }
+
+    public String getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "StudentStanding{" +
+                "studentId=" + studentId +
+                ", qualityPointHundredths=" + qualityPointHundredths +
+                ", gradedCredits=" + gradedCredits +
+                ", attemptedCredits=" + attemptedCredits +
+                ", completedCredits=" + completedCredits +
+                ", cgpa=" + String.format("%.4f", cgpa) +
+                ", onProbation=" + onProbation +
+                '}';
+    }
+}
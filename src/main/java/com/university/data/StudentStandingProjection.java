@@ -0,0 +1,510 @@
+package com.university.data;
+
+import com.university.courses.Enrollment;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Maintains the student_standing table, a per-student projection of the enrollments table.
+ * EnrollmentSqlDetails applies the change of every enrollment write as a delta in the same
+ * transaction, so reading a student's CGPA, credits and probation flag is a primary key lookup.
+ * The projection can be recomputed from scratch and compared against the stored rows:
+ * <pre>java -cp ... com.university.data.StudentStandingProjection [--repair]</pre>
+ */
+public class StudentStandingProjection {
+
+    private static final String CGPA_EXPRESSION =
+            "CASE WHEN gradedCredits > 0 THEN qualityPointHundredths / 100.0 / gradedCredits ELSE 0.0 END";
+
+    private static final String SOURCE_QUERY = """
+            SELECT e.studentId, e.finalGrade, c.creditHours
+            FROM enrollments e
+            JOIN courses c ON e.courseCode = c.courseCode
+            ORDER BY e.studentId
+            """;
+
+    private static final double CGPA_TOLERANCE = 1e-9;
+
+    static final String STANDING_BY_STUDENT_SQL = "SELECT * FROM student_standing WHERE studentId = ?";
+
+    static final String STUDENT_CONTRIBUTIONS_SQL = """
+            SELECT e.finalGrade, c.creditHours
+            FROM enrollments e
+            JOIN courses c ON e.courseCode = c.courseCode
+            WHERE e.studentId = ?
+            """;
+
+    static final String STUDENTS_IN_COURSE_SQL = "SELECT DISTINCT studentId FROM enrollments WHERE courseCode = ?";
+
+    static final String ENROLLMENT_CONTRIBUTION_SQL = """
+            SELECT e.studentId, e.finalGrade, c.creditHours
+            FROM enrollments e
+            JOIN courses c ON e.courseCode = c.courseCode
+            WHERE e.enrollmentId = ?
+            """;
+
+    private final DatabaseConnection dbConnection;
+
+    public StudentStandingProjection(DatabaseConnection dbConnection) {
+        this.dbConnection = dbConnection;
+    }
+
+    /**
+     * Gets the stored standing of a student.
+     * @param studentId the student ID
+     * @return the standing, or empty if the student has no enrollments
+     */
+    public Optional<StudentStanding> find(int studentId) {
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(STANDING_BY_STUDENT_SQL)) {
+
+            pstmt.setInt(1, studentId);
+            ResultSet rs = pstmt.executeQuery();
+
+            if (rs.next()) {
+                return Optional.of(mapResultSetToStanding(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting student standing: " + e.getMessage());
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Gets every stored standing.
+     * @return standings keyed by student ID in ascending order
+     */
+    public Map<Integer, StudentStanding> findAll() {
+        Map<Integer, StudentStanding> standings = new TreeMap<>();
+        String sql = "SELECT * FROM student_standing ORDER BY studentId";
+
+        try (Connection conn = dbConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                StudentStanding standing = mapResultSetToStanding(rs);
+                standings.put(standing.getStudentId(), standing);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting student standings: " + e.getMessage());
+        }
+
+        return standings;
+    }
+
+    /**
+     * Recomputes every standing from the enrollments table without touching the stored rows.
+     * @return standings keyed by student ID in ascending order
+     * @throws SQLException if a database access error occurs
+     */
+    public Map<Integer, StudentStanding> recompute() throws SQLException {
+        try (Connection conn = dbConnection.getReadConnection()) {
+            return recompute(conn);
+        }
+    }
+
+    /**
+     * Compares the stored projection with one recomputed from the enrollments table.
+     * @return one line per student whose stored standing is missing, stale or orphaned
+     * @throws SQLException if a database access error occurs
+     */
+    public List<String> verify() throws SQLException {
+        Map<Integer, StudentStanding> expected = recompute();
+        Map<Integer, StudentStanding> stored = findAll();
+        List<String> differences = new ArrayList<>();
+
+        for (StudentStanding standing : expected.values()) {
+            StudentStanding actual = stored.get(standing.getStudentId());
+            if (actual == null) {
+                differences.add("missing: expected " + standing);
+            } else if (!matches(standing, actual)) {
+                differences.add("stale: expected " + standing + " but stored " + actual);
+            }
+        }
+        for (StudentStanding standing : stored.values()) {
+            // A student whose last enrollment was deleted keeps an all-zero row
+            boolean empty = standing.getAttemptedCredits() == 0 && standing.getQualityPointHundredths() == 0;
+            if (!expected.containsKey(standing.getStudentId()) && !empty) {
+                differences.add("orphaned: stored " + standing);
+            }
+        }
+        return differences;
+    }
+
+    /**
+     * Replaces the stored projection with one recomputed from the enrollments table, in one transaction.
+     * @return the number of standings written
+     * @throws SQLException if a database access error occurs
+     */
+    public int rebuild() throws SQLException {
+        try (Connection conn = dbConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int written = rebuild(conn);
+                conn.commit();
+                return written;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Builds the projection for databases that have enrollments but no stored standings yet,
+     * such as databases created before the student_standing table existed.
+     * @return true if the projection was built
+     * @throws SQLException if a database access error occurs
+     */
+    public boolean rebuildIfEmpty() throws SQLException {
+        String sql = "SELECT NOT EXISTS (SELECT 1 FROM student_standing) AND EXISTS (SELECT 1 FROM enrollments)";
+        try (Connection conn = dbConnection.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            if (!rs.next() || !rs.getBoolean(1)) {
+                return false;
+            }
+        }
+        System.out.println("Built student standings for " + rebuild() + " student(s)");
+        return true;
+    }
+
+    /**
+     * Replaces the stored projection within the caller's transaction.
+     * @param conn a read-write connection with auto-commit disabled
+     * @return the number of standings written
+     * @throws SQLException if a database access error occurs
+     */
+    static int rebuild(Connection conn) throws SQLException {
+        Map<Integer, StudentStanding> standings = recompute(conn);
+        String now = LocalDateTime.now().toString();
+
+        try (Statement stmt = conn.createStatement();
+             PreparedStatement insert = conn.prepareStatement("""
+                 INSERT INTO student_standing (studentId, qualityPointHundredths, gradedCredits, attemptedCredits,
+                                               completedCredits, cgpa, onProbation, updatedAt)
+                 VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                 """)) {
+
+            stmt.executeUpdate("DELETE FROM student_standing");
+            for (StudentStanding standing : standings.values()) {
+                insert.setInt(1, standing.getStudentId());
+                insert.setLong(2, standing.getQualityPointHundredths());
+                insert.setInt(3, standing.getGradedCredits());
+                insert.setInt(4, standing.getAttemptedCredits());
+                insert.setInt(5, standing.getCompletedCredits());
+                insert.setDouble(6, standing.getCgpa());
+                insert.setBoolean(7, standing.isOnProbation());
+                insert.setString(8, now);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        return standings.size();
+    }
+
+    /**
+     * Recomputes the stored standings of some students within the caller's transaction.
+     * Cheaper than a delta per enrollment when a bulk write touches many enrollments of the same students.
+     * @param conn a read-write connection with auto-commit disabled
+     * @param studentIds the students whose enrollments changed
+     * @throws SQLException if a database access error occurs
+     */
+    static void refresh(Connection conn, Collection<Integer> studentIds) throws SQLException {
+        String now = LocalDateTime.now().toString();
+
+        try (PreparedStatement select = conn.prepareStatement(STUDENT_CONTRIBUTIONS_SQL);
+             PreparedStatement upsert = conn.prepareStatement("""
+                 INSERT INTO student_standing (studentId, qualityPointHundredths, gradedCredits, attemptedCredits,
+                                               completedCredits, cgpa, onProbation, updatedAt)
+                 VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                 ON CONFLICT(studentId) DO UPDATE SET
+                     qualityPointHundredths = excluded.qualityPointHundredths,
+                     gradedCredits = excluded.gradedCredits,
+                     attemptedCredits = excluded.attemptedCredits,
+                     completedCredits = excluded.completedCredits,
+                     cgpa = excluded.cgpa,
+                     onProbation = excluded.onProbation,
+                     updatedAt = excluded.updatedAt
+                 """)) {
+
+            for (int studentId : studentIds) {
+                Contribution total = new Contribution(studentId, 0, 0, 0, 0);
+                select.setInt(1, studentId);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        total = total.plus(Contribution.of(studentId, rs.getInt("creditHours"), rs.getString("finalGrade")));
+                    }
+                }
+
+                StudentStanding standing = total.toStanding(now);
+                upsert.setInt(1, studentId);
+                upsert.setLong(2, standing.getQualityPointHundredths());
+                upsert.setInt(3, standing.getGradedCredits());
+                upsert.setInt(4, standing.getAttemptedCredits());
+                upsert.setInt(5, standing.getCompletedCredits());
+                upsert.setDouble(6, standing.getCgpa());
+                upsert.setBoolean(7, standing.isOnProbation());
+                upsert.setString(8, now);
+                upsert.addBatch();
+            }
+            upsert.executeBatch();
+        }
+    }
+
+    /**
+     * Gets the students with an enrollment in a course, whose standings depend on its credit hours.
+     * @param conn the connection of the surrounding transaction
+     * @param courseCode the course code
+     * @return the student IDs
+     * @throws SQLException if a database access error occurs
+     */
+    static List<Integer> studentIdsEnrolledIn(Connection conn, String courseCode) throws SQLException {
+        List<Integer> studentIds = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(STUDENTS_IN_COURSE_SQL)) {
+            pstmt.setString(1, courseCode);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                studentIds.add(rs.getInt("studentId"));
+            }
+        }
+        return studentIds;
+    }
+
+    /**
+     * Gets what an existing enrollment currently contributes to its student's standing.
+     * @param conn the connection of the surrounding write transaction
+     * @param enrollmentId the enrollment ID
+     * @return the contribution, or null if the enrollment or its course does not exist
+     * @throws SQLException if a database access error occurs
+     */
+    static Contribution contributionOf(Connection conn, int enrollmentId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(ENROLLMENT_CONTRIBUTION_SQL)) {
+            pstmt.setInt(1, enrollmentId);
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                return Contribution.of(rs.getInt("studentId"), rs.getInt("creditHours"), rs.getString("finalGrade"));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets what an enrollment with the given values would contribute to its student's standing.
+     * @param conn the connection of the surrounding write transaction
+     * @param studentId the student ID
+     * @param courseCode the course code, whose credits are looked up
+     * @param finalGrade the final grade, or null
+     * @return the contribution, or null if the course does not exist
+     * @throws SQLException if a database access error occurs
+     */
+    static Contribution contributionOf(Connection conn, int studentId, String courseCode, String finalGrade)
+            throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT creditHours FROM courses WHERE courseCode = ?")) {
+            pstmt.setString(1, courseCode);
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                return Contribution.of(studentId, rs.getInt("creditHours"), finalGrade);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Applies an enrollment change to the stored standings as a delta.
+     * @param conn the connection of the surrounding write transaction
+     * @param removed what the enrollment contributed before the change, or null if it is new
+     * @param added what the enrollment contributes after the change, or null if it was deleted
+     * @throws SQLException if a database access error occurs
+     */
+    static void applyChange(Connection conn, Contribution removed, Contribution added) throws SQLException {
+        if (removed != null && added != null && removed.studentId == added.studentId) {
+            applyDelta(conn, added.minus(removed));
+            return;
+        }
+        if (removed != null) {
+            applyDelta(conn, removed.negated());
+        }
+        if (added != null) {
+            applyDelta(conn, added);
+        }
+    }
+
+    private static void applyDelta(Connection conn, Contribution delta) throws SQLException {
+        String upsert = """
+            INSERT INTO student_standing (studentId, qualityPointHundredths, gradedCredits, attemptedCredits,
+                                          completedCredits, cgpa, onProbation, updatedAt)
+            VALUES (?, ?, ?, ?, ?, 0.0, 0, ?)
+            ON CONFLICT(studentId) DO UPDATE SET
+                qualityPointHundredths = qualityPointHundredths + excluded.qualityPointHundredths,
+                gradedCredits = gradedCredits + excluded.gradedCredits,
+                attemptedCredits = attemptedCredits + excluded.attemptedCredits,
+                completedCredits = completedCredits + excluded.completedCredits,
+                updatedAt = excluded.updatedAt
+            """;
+        // SET expressions see the row before the update, so the derived columns are refreshed separately
+        String derive = "UPDATE student_standing SET cgpa = " + CGPA_EXPRESSION
+                + ", onProbation = (" + CGPA_EXPRESSION + ") < ? WHERE studentId = ?";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(upsert)) {
+            pstmt.setInt(1, delta.studentId);
+            pstmt.setLong(2, delta.qualityPointHundredths);
+            pstmt.setInt(3, delta.gradedCredits);
+            pstmt.setInt(4, delta.attemptedCredits);
+            pstmt.setInt(5, delta.completedCredits);
+            pstmt.setString(6, LocalDateTime.now().toString());
+            pstmt.executeUpdate();
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(derive)) {
+            pstmt.setDouble(1, StudentStanding.PROBATION_THRESHOLD);
+            pstmt.setInt(2, delta.studentId);
+            pstmt.executeUpdate();
+        }
+    }
+
+    private static Map<Integer, StudentStanding> recompute(Connection conn) throws SQLException {
+        Map<Integer, Contribution> totals = new TreeMap<>();
+
+        try (PreparedStatement pstmt = conn.prepareStatement(SOURCE_QUERY)) {
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                Contribution contribution = Contribution.of(rs.getInt("studentId"),
+                        rs.getInt("creditHours"), rs.getString("finalGrade"));
+                totals.merge(contribution.studentId, contribution, Contribution::plus);
+            }
+        }
+
+        String now = LocalDateTime.now().toString();
+        Map<Integer, StudentStanding> standings = new TreeMap<>();
+        for (Contribution total : totals.values()) {
+            standings.put(total.studentId, total.toStanding(now));
+        }
+        return standings;
+    }
+
+    private static boolean matches(StudentStanding expected, StudentStanding actual) {
+        return expected.getQualityPointHundredths() == actual.getQualityPointHundredths()
+                && expected.getGradedCredits() == actual.getGradedCredits()
+                && expected.getAttemptedCredits() == actual.getAttemptedCredits()
+                && expected.getCompletedCredits() == actual.getCompletedCredits()
+                && Math.abs(expected.getCgpa() - actual.getCgpa()) < CGPA_TOLERANCE
+                && expected.isOnProbation() == actual.isOnProbation();
+    }
+
+    private static StudentStanding mapResultSetToStanding(ResultSet rs) throws SQLException {
+        return new StudentStanding(
+                rs.getInt("studentId"),
+                rs.getLong("qualityPointHundredths"),
+                rs.getInt("gradedCredits"),
+                rs.getInt("attemptedCredits"),
+                rs.getInt("completedCredits"),
+                rs.getDouble("cgpa"),
+                rs.getBoolean("onProbation"),
+                rs.getString("updatedAt")
+        );
+    }
+
+    /**
+     * What one or more enrollments add to a student's standing.
+     * Follows the same rules as GPAService: any final grade counts towards the CGPA,
+     * and any final grade other than F counts towards completed credits.
+     */
+    static final class Contribution {
+        private final int studentId;
+        private final long qualityPointHundredths;
+        private final int gradedCredits;
+        private final int attemptedCredits;
+        private final int completedCredits;
+
+        private Contribution(int studentId, long qualityPointHundredths, int gradedCredits,
+                             int attemptedCredits, int completedCredits) {
+            this.studentId = studentId;
+            this.qualityPointHundredths = qualityPointHundredths;
+            this.gradedCredits = gradedCredits;
+            this.attemptedCredits = attemptedCredits;
+            this.completedCredits = completedCredits;
+        }
+
+        static Contribution of(int studentId, int credits, String finalGrade) {
+            Enrollment enrollment = new Enrollment();
+            enrollment.setFinalGrade(finalGrade);
+            if (!enrollment.hasFinalGrade()) {
+                return new Contribution(studentId, 0, 0, credits, 0);
+            }
+            // Grade points are multiples of 0.05, so hundredths are exact
+            long qualityPoints = Math.round(enrollment.getGradePoints() * 100) * credits;
+            int completed = finalGrade.equals("F") ? 0 : credits;
+            return new Contribution(studentId, qualityPoints, credits, credits, completed);
+        }
+
+        int getStudentId() {
+            return studentId;
+        }
+
+        private Contribution negated() {
+            return new Contribution(studentId, -qualityPointHundredths, -gradedCredits,
+                    -attemptedCredits, -completedCredits);
+        }
+
+        private Contribution plus(Contribution other) {
+            return new Contribution(studentId, qualityPointHundredths + other.qualityPointHundredths,
+                    gradedCredits + other.gradedCredits, attemptedCredits + other.attemptedCredits,
+                    completedCredits + other.completedCredits);
+        }
+
+        private Contribution minus(Contribution other) {
+            return new Contribution(studentId, qualityPointHundredths - other.qualityPointHundredths,
+                    gradedCredits - other.gradedCredits, attemptedCredits - other.attemptedCredits,
+                    completedCredits - other.completedCredits);
+        }
+
+        private StudentStanding toStanding(String updatedAt) {
+            double cgpa = gradedCredits > 0 ? qualityPointHundredths / 100.0 / gradedCredits : 0.0;
+            return new StudentStanding(studentId, qualityPointHundredths, gradedCredits, attemptedCredits,
+                    completedCredits, cgpa, cgpa < StudentStanding.PROBATION_THRESHOLD, updatedAt);
+        }
+    }
+
+    public static void main(String[] args) {
+        boolean repair = args.length > 0 && args[0].equals("--repair");
+        DatabaseConnection dbConnection = DatabaseConnection.getInstance();
+        try {
+            if (!dbConnection.initializeDatabase()) {
+                System.exit(1);
+            }
+            StudentStandingProjection projection = new StudentStandingProjection(dbConnection);
+            List<String> differences = projection.verify();
+
+            if (differences.isEmpty()) {
+                System.out.println("Stored standings match the enrollments table.");
+            } else {
+                System.out.println(differences.size() + " stored standing(s) differ from the enrollments table:");
+                differences.forEach(difference -> System.out.println("    " + difference));
+                if (repair) {
+                    System.out.println("Rebuilt standings for " + projection.rebuild() + " student(s).");
+                }
+            }
+            dbConnection.closeConnection();
+            System.exit(differences.isEmpty() ? 0 : 2);
+        } catch (SQLException e) {
+            System.err.println("Error verifying student standings: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.university.data;
+
+/**
+ * Read-only projection of a student for pickers and search results.
+ * Carries only what a list shows, so no password hash or credit totals are loaded.
+ * @param id the student ID
+ * @param name the student's name
+ * @param program the degree program
+ * @param username the login name
+ */
+public record StudentSummary(int id, String name, String program, String username) {
+
+    /**
+     * Labels the student in combo boxes.
+     */
+    @Override
+    public String toString() {
+        return name + " (" + username + ")";
+    }
+}
@@ -0,0 +1,646 @@
+package com.university.data;
+
+import com.university.services.PasswordUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Fills an empty database with a synthetic university sized by a scale factor:
+ * SF1 is 1,000 students, SF100 is 100,000.
+ * The same scale factor and seed always produce the same rows with the same IDs, so benchmark and
+ * load test runs are comparable. Volumes per scale factor:
+ * <ul>
+ *     <li>1,000 students in eight programs, entering each Fall over the last six years</li>
+ *     <li>20 advisors, and a course catalog of 60 courses per square root of the scale factor</li>
+ *     <li>three to five coursework items per course</li>
+ *     <li>four to six courses per Fall and Spring term, sometimes one or two in Summer, until a student
+ *     graduates or drops out; about 26,000 enrollments, final grades following each student's ability</li>
+ *     <li>coursework marks for each student's two most recent terms, about 31,000 grades</li>
+ *     <li>about 1,300 advisor feedback notes</li>
+ * </ul>
+ * Rows are written with batched inserts, one transaction per {@value #STUDENTS_PER_TRANSACTION} students,
+ * with the secondary indexes of enrollments and coursework grades built after the load, and student
+ * standings are rebuilt once at the end. Every generated account has the password
+ * "password123", hashed once and shared, since hashing 100,000 passwords would dominate the load time.
+ * To generate a database without the UI:
+ * <pre>java -cp ... com.university.data.SyntheticDataGenerator &lt;scaleFactor&gt; [seed]</pre>
+ */
+public class SyntheticDataGenerator {
+
+    public static final int STUDENTS_PER_SCALE_FACTOR = 1000;
+    public static final long DEFAULT_SEED = 42L;
+
+    private static final int ADVISORS_PER_SCALE_FACTOR = 20;
+    private static final int COURSES_PER_SQRT_SCALE_FACTOR = 60;
+    private static final int STUDENTS_PER_TRANSACTION = 1000;
+    private static final String PASSWORD = "password123";
+
+    // The generated university's current term is Fall of this year, in its tenth week
+    private static final int CURRENT_YEAR = 2025;
+    private static final LocalDate CURRENT_TERM_START = LocalDate.of(CURRENT_YEAR, 9, 1);
+    private static final int CURRENT_WEEK = 10;
+    private static final int ENTRY_YEARS = 6;
+
+    private static final String[] DEPARTMENTS = {"CS", "SE", "IT", "MATH", "PHYS", "ENG", "ECON", "BIO"};
+    private static final String[] DEPARTMENT_NAMES = {"Computer Science", "Software Engineering",
+            "Information Technology", "Mathematics", "Physics", "Engineering", "Economics", "Biology"};
+    // Programs share the department order; weights are relative program sizes
+    private static final int[] PROGRAM_WEIGHTS = {25, 15, 12, 10, 8, 15, 10, 5};
+    private static final String[] LEVEL_NAMES = {"Foundations of", "Intermediate", "Advanced", "Topics in"};
+    private static final String[] TOPICS = {"Systems", "Theory", "Design", "Analysis", "Methods", "Practice",
+            "Modelling", "Applications", "Computation", "Structures", "Networks", "Optimization"};
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Alice", "Bob", "Carol", "David", "Emma",
+            "Frank", "Grace", "Henry", "Isabel", "Jack", "Karen", "Liam", "Mia", "Noah", "Olivia", "Peter",
+            "Priya", "Rachel", "Sam", "Tina", "Victor", "Wendy", "Yara", "Zoe", "Mohammed", "Chen", "Aisha",
+            "Biruk", "Hana", "Dawit", "Selam", "Kenji", "Sofia", "Mateo", "Amara", "Lucas", "Fatima", "Omar"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+            "Miller", "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Wilson", "Anderson", "Thomas",
+            "Taylor", "Moore", "Jackson", "Martin", "Lee", "Thompson", "White", "Harris", "Clark", "Nguyen",
+            "Tadesse", "Kebede", "Okafor", "Sato", "Kim", "Patel", "Singh", "Cohen", "Rossi", "Muller"};
+    private static final String[] FEEDBACK_NOTES = {
+            "Discussed course load for next term.",
+            "Doing well; encouraged to consider the honours track.",
+            "Missed several assignments; agreed on a catch-up plan.",
+            "Reviewed graduation requirements and remaining credits.",
+            "Referred to tutoring for mathematics courses.",
+            "Approved request to take an extra elective.",
+            "Followed up on probation status; grades improving.",
+            "Talked through internship options for the summer."};
+    private static final DateTimeFormatter FEEDBACK_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final DatabaseConnection dbConnection;
+    private final int scaleFactor;
+    private final long seed;
+
+    public SyntheticDataGenerator(DatabaseConnection dbConnection, int scaleFactor, long seed) {
+        if (scaleFactor < 1) {
+            throw new IllegalArgumentException("Scale factor must be at least 1");
+        }
+        this.dbConnection = dbConnection;
+        this.scaleFactor = scaleFactor;
+        this.seed = seed;
+    }
+
+    /**
+     * Generates the dataset. The schema must exist and hold no advisors, students, courses or enrollments.
+     * @return how many rows of each kind were written
+     * @throws SQLException if a database access error occurs; transactions already committed are kept
+     */
+    public Counts generate() throws SQLException {
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(seed);
+        String passwordHash = PasswordUtil.hashPassword(PASSWORD);
+        int advisors = ADVISORS_PER_SCALE_FACTOR * scaleFactor;
+        int students = STUDENTS_PER_SCALE_FACTOR * scaleFactor;
+        Counts counts;
+
+        try (Connection conn = dbConnection.getConnection()) {
+            requireEmpty(conn);
+            conn.setAutoCommit(false);
+            try {
+                List<Course> courses = createCatalog(random);
+                Catalog catalog = new Catalog(courses);
+                writeAdvisors(conn, random, advisors, passwordHash);
+                int items = writeCatalog(conn, courses);
+                conn.commit();
+
+                int[] written = new int[3];
+                List<String> deferredIndexes = dropLoadIndexes(conn);
+                conn.commit();
+                try {
+                    for (int from = 1; from <= students; from += STUDENTS_PER_TRANSACTION) {
+                        int to = Math.min(students, from + STUDENTS_PER_TRANSACTION - 1);
+                        writeStudents(conn, random, from, to, advisors, catalog, passwordHash, written);
+                        conn.commit();
+                    }
+                } finally {
+                    createIndexes(conn, deferredIndexes);
+                    conn.commit();
+                }
+
+                StudentStandingProjection.rebuild(conn);
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("""
+                        UPDATE students
+                        SET completedCredits = (SELECT completedCredits FROM student_standing s
+                                                WHERE s.studentId = students.studentId)
+                        WHERE studentId IN (SELECT studentId FROM student_standing)
+                        """);
+                }
+                conn.commit();
+
+                counts = new Counts(scaleFactor, seed, advisors, students, courses.size(), items, written[0],
+                        written[1], written[2], System.nanoTime() - start);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+
+        // The catalog and item caches may have been filled before the rows existed
+        CachingCourseDetails.getInstance().preload();
+        CachingCourseworkDetails.getInstance().invalidateAll();
+        return counts;
+    }
+
+    private static void requireEmpty(Connection conn) throws SQLException {
+        String sql = """
+            SELECT EXISTS (SELECT 1 FROM advisors) OR EXISTS (SELECT 1 FROM students)
+                OR EXISTS (SELECT 1 FROM courses) OR EXISTS (SELECT 1 FROM enrollments)
+            """;
+
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            if (rs.next() && rs.getBoolean(1)) {
+                throw new SQLException("Synthetic data needs an empty database");
+            }
+        }
+    }
+
+    /**
+     * Drops the secondary indexes of the two largest tables, so rows are appended instead of being
+     * inserted at random points of the index B-trees; building an index afterwards sorts once.
+     * The definitions are read back from the schema, so the migrations stay the only place they are written.
+     * @return the CREATE INDEX statements to run after the load
+     */
+    private static List<String> dropLoadIndexes(Connection conn) throws SQLException {
+        String sql = """
+            SELECT name, sql FROM sqlite_master
+            WHERE type = 'index' AND sql IS NOT NULL AND tbl_name IN ('enrollments', 'coursework_grades')
+            """;
+
+        List<String> names = new ArrayList<>();
+        List<String> definitions = new ArrayList<>();
+        try (Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    names.add(rs.getString("name"));
+                    definitions.add(rs.getString("sql"));
+                }
+            }
+            for (String name : names) {
+                stmt.executeUpdate("DROP INDEX " + name);
+            }
+        }
+        return definitions;
+    }
+
+    private static void createIndexes(Connection conn, List<String> definitions) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String definition : definitions) {
+                stmt.executeUpdate(definition);
+            }
+        }
+    }
+
+    /**
+     * Lays out the course catalog: departments take turns, each filling levels 100 to 400 in turn.
+     */
+    private List<Course> createCatalog(SplittableRandom random) {
+        int size = Math.min(DEPARTMENTS.length * 4 * 99,
+                COURSES_PER_SQRT_SCALE_FACTOR * (int) Math.ceil(Math.sqrt(scaleFactor)));
+        List<Course> courses = new ArrayList<>(size);
+        int itemId = 1;
+
+        for (int i = 0; i < size; i++) {
+            int department = i % DEPARTMENTS.length;
+            int level = (i / DEPARTMENTS.length) % 4;
+            int number = (level + 1) * 100 + i / (DEPARTMENTS.length * 4) + 1;
+            String title = DEPARTMENT_NAMES[department] + ": " + LEVEL_NAMES[level] + " "
+                    + TOPICS[(i / DEPARTMENTS.length) % TOPICS.length];
+            int credits = random.nextInt(4) == 0 ? 4 : 3;
+            // Standard items from CourseworkService, with the assignment mark split over up to three assignments
+            int assignments = 1 + random.nextInt(3);
+
+            courses.add(new Course(DEPARTMENTS[department] + number, title, credits, department, level,
+                    itemId, assignments));
+            itemId += assignments + 2;
+        }
+        return courses;
+    }
+
+    private static void writeAdvisors(Connection conn, SplittableRandom random, int advisors, String passwordHash)
+            throws SQLException {
+        String sql = "INSERT INTO advisors (advisorId, name, username, passwordHash, department, email) VALUES (?, ?, ?, ?, ?, ?)";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int advisorId = 1; advisorId <= advisors; advisorId++) {
+                String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                pstmt.setInt(1, advisorId);
+                pstmt.setString(2, (advisorId % 3 == 0 ? "Prof. " : "Dr. ") + first + " " + last);
+                pstmt.setString(3, "advisor" + advisorId);
+                pstmt.setString(4, passwordHash);
+                pstmt.setString(5, DEPARTMENT_NAMES[advisorId % DEPARTMENT_NAMES.length]);
+                pstmt.setString(6, first.toLowerCase() + "." + last.toLowerCase() + advisorId + "@university.edu");
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private static int writeCatalog(Connection conn, List<Course> courses) throws SQLException {
+        int items = 0;
+
+        try (PreparedStatement courseStmt = conn.prepareStatement(
+                     "INSERT INTO courses (courseCode, title, creditHours) VALUES (?, ?, ?)");
+             PreparedStatement itemStmt = conn.prepareStatement(
+                     "INSERT INTO coursework_items (itemId, courseCode, type, title, totalMarks, weight, dueDate) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+
+            for (Course course : courses) {
+                courseStmt.setString(1, course.code());
+                courseStmt.setString(2, course.title());
+                courseStmt.setInt(3, course.credits());
+                courseStmt.addBatch();
+
+                for (int i = 0; i < course.itemCount(); i++) {
+                    itemStmt.setInt(1, course.firstItemId() + i);
+                    itemStmt.setString(2, course.code());
+                    itemStmt.setString(3, course.itemType(i));
+                    itemStmt.setString(4, course.itemTitle(i));
+                    itemStmt.setDouble(5, course.itemTotalMarks(i));
+                    itemStmt.setDouble(6, course.itemWeight(i));
+                    itemStmt.setString(7, CURRENT_TERM_START.plusWeeks(course.itemWeek(i)).toString());
+                    itemStmt.addBatch();
+                    items++;
+                }
+            }
+            courseStmt.executeBatch();
+            itemStmt.executeBatch();
+        }
+        return items;
+    }
+
+    /**
+     * Writes students from..to with their enrollments, recent coursework marks and feedback.
+     * @param written running totals of enrollments, grades and feedback notes
+     */
+    private void writeStudents(Connection conn, SplittableRandom random, int from, int to, int advisors,
+                               Catalog catalog, String passwordHash, int[] written) throws SQLException {
+        try (PreparedStatement studentStmt = conn.prepareStatement(
+                     "INSERT INTO students (studentId, name, username, passwordHash, program, requiredCredits, completedCredits) VALUES (?, ?, ?, ?, ?, ?, 0)");
+             PreparedStatement enrollmentStmt = conn.prepareStatement(
+                     "INSERT INTO enrollments (studentId, courseCode, semester, year, finalGrade) VALUES (?, ?, ?, ?, ?)");
+             PreparedStatement gradeStmt = conn.prepareStatement(
+                     "INSERT INTO coursework_grades (studentId, courseCode, itemId, marksObtained) VALUES (?, ?, ?, ?)");
+             PreparedStatement feedbackStmt = conn.prepareStatement(
+                     "INSERT INTO advisor_feedback (advisorId, studentId, note, createdAt) VALUES (?, ?, ?, ?)")) {
+
+            for (int studentId = from; studentId <= to; studentId++) {
+                String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                int program = pickProgram(random);
+                int requiredCredits = DEPARTMENTS[program].equals("ENG") ? 130 : 120;
+
+                studentStmt.setInt(1, studentId);
+                studentStmt.setString(2, first + " " + last);
+                studentStmt.setString(3, (first.charAt(0) + last).toLowerCase() + studentId);
+                studentStmt.setString(4, passwordHash);
+                studentStmt.setString(5, DEPARTMENT_NAMES[program]);
+                studentStmt.setInt(6, requiredCredits);
+                studentStmt.addBatch();
+
+                List<Term> terms = writeHistory(enrollmentStmt, random, studentId, program, requiredCredits, catalog);
+                written[0] += terms.stream().mapToInt(term -> term.courses().size()).sum();
+                written[1] += writeRecentMarks(gradeStmt, random, studentId, terms);
+                written[2] += writeFeedback(feedbackStmt, random, studentId, advisors, terms);
+            }
+            studentStmt.executeBatch();
+            enrollmentStmt.executeBatch();
+            gradeStmt.executeBatch();
+            feedbackStmt.executeBatch();
+        }
+    }
+
+    /**
+     * Enrolls a student term by term from their entry year until they have the credits to graduate,
+     * drop out, or reach the current term, whose enrollments have no final grade yet.
+     * @return the terms the student took courses in, oldest first
+     */
+    private static List<Term> writeHistory(PreparedStatement pstmt, SplittableRandom random, int studentId,
+                                           int program, int requiredCredits, Catalog catalog)
+            throws SQLException {
+        double ability = Math.max(20, Math.min(99, 70 + random.nextGaussian() * 12));
+        int entryYear = CURRENT_YEAR - random.nextInt(ENTRY_YEARS);
+        Set<String> taken = new HashSet<>();
+        List<Term> terms = new ArrayList<>();
+        int earned = 0;
+
+        // Terms run Fall of year, then Spring and Summer of year + 1, up to Fall of the current year
+        for (int year = entryYear; year <= CURRENT_YEAR && earned < requiredCredits; year++) {
+            for (int season = 0; season < 3 && earned < requiredCredits; season++) {
+                String semester = season == 0 ? "Fall" : season == 1 ? "Spring" : "Summer";
+                int termYear = season == 0 ? year : year + 1;
+                boolean current = termYear == CURRENT_YEAR && season == 0;
+                if (season == 2 && random.nextInt(5) != 0) {
+                    continue;
+                }
+                if (!terms.isEmpty() && random.nextInt(100) < (ability < 50 ? 6 : 1)) {
+                    return terms;
+                }
+
+                int load = season == 2 ? 1 + random.nextInt(2) : 4 + random.nextInt(3);
+                int level = Math.min(3, countRegularTerms(terms) / 2);
+                List<Enrolled> enrolled = new ArrayList<>(load);
+                for (int i = 0; i < load; i++) {
+                    Course course = catalog.pick(random, taken, program, level);
+                    if (course == null) {
+                        break;
+                    }
+                    double score = Math.max(0, Math.min(100, ability + random.nextGaussian() * 10));
+                    String finalGrade = current ? null : letterGrade(score);
+                    if (finalGrade != null && !finalGrade.equals("F")) {
+                        earned += course.credits();
+                    }
+
+                    pstmt.setInt(1, studentId);
+                    pstmt.setString(2, course.code());
+                    pstmt.setString(3, semester);
+                    pstmt.setInt(4, termYear);
+                    pstmt.setString(5, finalGrade);
+                    pstmt.addBatch();
+                    enrolled.add(new Enrolled(course, score));
+                }
+                terms.add(new Term(semester, termYear, current, enrolled));
+                if (current) {
+                    return terms;
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Marks the coursework of the two most recent terms. Items of the current term are only
+     * marked once they are past due.
+     * @return the number of grades written
+     */
+    private static int writeRecentMarks(PreparedStatement pstmt, SplittableRandom random, int studentId,
+                                        List<Term> terms) throws SQLException {
+        int grades = 0;
+        for (Term term : terms.subList(Math.max(0, terms.size() - 2), terms.size())) {
+            for (Enrolled enrolled : term.courses()) {
+                Course course = enrolled.course();
+                for (int i = 0; i < course.itemCount(); i++) {
+                    if (term.current() && course.itemWeek(i) > CURRENT_WEEK) {
+                        continue;
+                    }
+                    double percentage = Math.max(0, Math.min(100, enrolled.score() + random.nextGaussian() * 6));
+                    // Marks are given in halves
+                    double marks = Math.round(percentage / 100 * course.itemTotalMarks(i) * 2) / 2.0;
+
+                    pstmt.setInt(1, studentId);
+                    pstmt.setString(2, course.code());
+                    pstmt.setInt(3, course.firstItemId() + i);
+                    pstmt.setDouble(4, marks);
+                    pstmt.addBatch();
+                    grades++;
+                }
+            }
+        }
+        return grades;
+    }
+
+    /**
+     * Writes zero to three advisor notes, dated within the terms the student studied, and more of them
+     * for struggling students.
+     * @return the number of notes written
+     */
+    private static int writeFeedback(PreparedStatement pstmt, SplittableRandom random, int studentId,
+                                     int advisors, List<Term> terms) throws SQLException {
+        if (terms.isEmpty()) {
+            return 0;
+        }
+        int notes = random.nextInt(3);
+        if (terms.get(terms.size() - 1).courses().stream().anyMatch(enrolled -> enrolled.score() < 50)) {
+            notes++;
+        }
+        int advisorId = 1 + random.nextInt(advisors);
+
+        for (int i = 0; i < notes; i++) {
+            Term term = terms.get(random.nextInt(terms.size()));
+            LocalDateTime createdAt = term.start().plusDays(random.nextInt(term.current() ? CURRENT_WEEK * 7 : 100))
+                    .atTime(9 + random.nextInt(8), random.nextInt(60), random.nextInt(60));
+
+            pstmt.setInt(1, advisorId);
+            pstmt.setInt(2, studentId);
+            pstmt.setString(3, FEEDBACK_NOTES[random.nextInt(FEEDBACK_NOTES.length)]);
+            pstmt.setString(4, createdAt.format(FEEDBACK_TIMESTAMP));
+            pstmt.addBatch();
+        }
+        return notes;
+    }
+
+    private static int pickProgram(SplittableRandom random) {
+        int total = 0;
+        for (int weight : PROGRAM_WEIGHTS) {
+            total += weight;
+        }
+        int pick = random.nextInt(total);
+        for (int program = 0; program < PROGRAM_WEIGHTS.length; program++) {
+            pick -= PROGRAM_WEIGHTS[program];
+            if (pick < 0) {
+                return program;
+            }
+        }
+        return 0;
+    }
+
+    private static int countRegularTerms(List<Term> terms) {
+        int regular = 0;
+        for (Term term : terms) {
+            if (!term.semester().equals("Summer")) {
+                regular++;
+            }
+        }
+        return regular;
+    }
+
+    /**
+     * Converts a percentage to a final grade on the scale the grade entry screens use.
+     */
+    static String letterGrade(double percentage) {
+        if (percentage >= 90) return "A+";
+        if (percentage >= 85) return "A";
+        if (percentage >= 80) return "A-";
+        if (percentage >= 75) return "B+";
+        if (percentage >= 70) return "B";
+        if (percentage >= 65) return "B-";
+        if (percentage >= 60) return "C+";
+        if (percentage >= 55) return "C";
+        if (percentage >= 50) return "C-";
+        if (percentage >= 45) return "D";
+        return "F";
+    }
+
+    /**
+     * A generated course and the shape of its coursework: the assignments, then the mid-term,
+     * then the final exam, with consecutive item IDs.
+     */
+    private record Course(String code, String title, int credits, int department, int level,
+                          int firstItemId, int assignments) {
+
+        int itemCount() {
+            return assignments + 2;
+        }
+
+        String itemType(int i) {
+            return i < assignments ? "ASSIGNMENT" : i == assignments ? "MIDTERM_EXAM" : "FINAL_EXAM";
+        }
+
+        String itemTitle(int i) {
+            if (i < assignments) {
+                return assignments == 1 ? "Course Assignment" : "Assignment " + (i + 1);
+            }
+            return i == assignments ? "Mid-Term Examination" : "Final Examination";
+        }
+
+        double itemTotalMarks(int i) {
+            return i < assignments ? 20.0 : i == assignments ? 30.0 : 50.0;
+        }
+
+        double itemWeight(int i) {
+            return i < assignments ? 0.30 / assignments : i == assignments ? 0.30 : 0.40;
+        }
+
+        /**
+         * Gets the week of term an item is due in: assignments spread over the first twelve weeks,
+         * the mid-term in week 7 and the final in week 14.
+         */
+        int itemWeek(int i) {
+            if (i < assignments) {
+                return 12 * (i + 1) / (assignments + 1);
+            }
+            return i == assignments ? 7 : 14;
+        }
+    }
+
+    /**
+     * The course catalog indexed by level, and by department and level, for picking courses.
+     */
+    private static final class Catalog {
+        private final List<Course> courses;
+        private final List<List<Course>> byLevel = new ArrayList<>();
+        private final List<List<Course>> byDepartmentLevel = new ArrayList<>();
+
+        Catalog(List<Course> courses) {
+            this.courses = courses;
+            for (int i = 0; i < 4; i++) {
+                byLevel.add(new ArrayList<>());
+            }
+            for (int i = 0; i < DEPARTMENTS.length * 4; i++) {
+                byDepartmentLevel.add(new ArrayList<>());
+            }
+            for (Course course : courses) {
+                byLevel.get(course.level()).add(course);
+                byDepartmentLevel.get(course.department() * 4 + course.level()).add(course);
+            }
+        }
+
+        /**
+         * Picks a course the student has not taken: mostly from their program's department and mostly
+         * at their current level, falling back to any course once those run out.
+         * @return the course, or null if no untaken course turned up
+         */
+        Course pick(SplittableRandom random, Set<String> taken, int program, int level) {
+            for (int attempt = 0; attempt < 8; attempt++) {
+                int wantedLevel = random.nextInt(4) == 0 ? random.nextInt(level + 1) : level;
+                List<Course> candidates = random.nextInt(10) < 6
+                        ? byDepartmentLevel.get(program * 4 + wantedLevel)
+                        : byLevel.get(wantedLevel);
+                if (!candidates.isEmpty()) {
+                    Course course = candidates.get(random.nextInt(candidates.size()));
+                    if (taken.add(course.code())) {
+                        return course;
+                    }
+                }
+            }
+            for (int attempt = 0; attempt < 8; attempt++) {
+                Course course = courses.get(random.nextInt(courses.size()));
+                if (taken.add(course.code())) {
+                    return course;
+                }
+            }
+            return null;
+        }
+    }
+
+    private record Enrolled(Course course, double score) {
+    }
+
+    private record Term(String semester, int year, boolean current, List<Enrolled> courses) {
+
+        LocalDate start() {
+            return switch (semester) {
+                case "Fall" -> LocalDate.of(year, 9, 1);
+                case "Spring" -> LocalDate.of(year, 1, 15);
+                default -> LocalDate.of(year, 6, 1);
+            };
+        }
+    }
+
+    /**
+     * How many rows a run generated.
+     */
+    public record Counts(int scaleFactor, long seed, int advisors, int students, int courses, int courseworkItems,
+                         int enrollments, int courseworkGrades, int feedback, long elapsedNanos) {
+
+        public long elapsedMillis() {
+            return elapsedNanos / 1_000_000;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("SF%d (seed %d): %,d advisors, %,d students, %,d courses, %,d coursework items, "
+                            + "%,d enrollments, %,d coursework grades, %,d feedback notes in %,d ms",
+                    scaleFactor, seed, advisors, students, courses, courseworkItems, enrollments, courseworkGrades,
+                    feedback, elapsedMillis());
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: SyntheticDataGenerator <scaleFactor> [seed]");
+            System.exit(1);
+        }
+
+        int scaleFactor;
+        long seed;
+        try {
+            scaleFactor = Integer.parseInt(args[0]);
+            seed = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_SEED;
+        } catch (NumberFormatException e) {
+            System.err.println("Scale factor and seed must be numbers");
+            System.exit(1);
+            return;
+        }
+
+        DatabaseConnection dbConnection = DatabaseConnection.getInstance();
+        if (!dbConnection.initializeDatabase()) {
+            System.exit(1);
+        }
+        try {
+            System.out.println(new SyntheticDataGenerator(dbConnection, scaleFactor, seed).generate());
+        } catch (SQLException | IllegalArgumentException e) {
+            System.err.println("Error generating synthetic data: " + e.getMessage());
+            dbConnection.closeConnection();
+            System.exit(1);
+        }
+        dbConnection.closeConnection();
+        System.exit(0);
+    }
+}
@@ -0,0 +1,21 @@
+package com.university.monitoring;
+
+/**
+ * Management interface of an in-memory catalog cache, registered as com.university:type=Cache,name=&lt;cache&gt;.
+ */
+public interface CacheMXBean {
+
+    String getCacheName();
+
+    int getSize();
+
+    long getVersion();
+
+    long getHits();
+
+    long getMisses();
+
+    long getReloads();
+
+    double getHitRate();
+}
@@ -0,0 +1,35 @@
+package com.university.monitoring;
+
+/**
+ * Management interface of a connection pool, registered as com.university:type=ConnectionPool,name=&lt;pool&gt;.
+ */
+public interface ConnectionPoolMXBean {
+
+    String getPoolName();
+
+    int getMaxSize();
+
+    int getOpenConnections();
+
+    int getActiveConnections();
+
+    int getIdleConnections();
+
+    int getWaitingThreads();
+
+    long getTotalLeases();
+
+    long getLeaseTimeouts();
+
+    double getLeasesPerSecond();
+
+    long getAverageWaitMicros();
+
+    long getMaxWaitMicros();
+
+    long getStatementCacheHits();
+
+    long getStatementCacheMisses();
+
+    double getStatementCacheHitRate();
+}
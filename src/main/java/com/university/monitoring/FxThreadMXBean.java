@@ -0,0 +1,19 @@
+package com.university.monitoring;
+
+/**
+ * Management interface of the JavaFX Application Thread stall counters, registered as com.university:type=FxThread.
+ */
+public interface FxThreadMXBean {
+
+    long getStallThresholdMillis();
+
+    long getHeartbeats();
+
+    long getStallCount();
+
+    double getStallsPerMinute();
+
+    long getTotalStallMillis();
+
+    long getLongestStallMillis();
+}
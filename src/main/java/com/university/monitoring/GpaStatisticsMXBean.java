@@ -0,0 +1,19 @@
+package com.university.monitoring;
+
+/**
+ * Management interface of the GPA recomputation counters, registered as com.university:type=GpaStatistics.
+ */
+public interface GpaStatisticsMXBean {
+
+    /**
+     * Gets how many academic standings have been computed from enrollments since startup.
+     * @return the recomputation count
+     */
+    long getRecomputations();
+
+    /**
+     * Gets the recomputations over the last minute, or since startup during the first minute.
+     * @return the recomputations per minute
+     */
+    double getRecomputationsPerMinute();
+}
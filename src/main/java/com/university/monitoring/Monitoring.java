@@ -0,0 +1,369 @@
+package com.university.monitoring;
+
+import com.university.data.CacheMetrics;
+import com.university.data.CachingCourseDetails;
+import com.university.data.DatabaseConnection;
+import com.university.data.PoolMetrics;
+import com.university.data.QueryInstrumentation;
+import com.university.data.QueryMetrics;
+import com.university.services.GPAService;
+import com.university.ui.FxThreadMonitor;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Publishes the application's runtime statistics as platform MXBeans under the com.university domain,
+ * for jconsole or any other JMX client: both connection pools, the course cache, the DAO call
+ * statistics, GPA recomputations and JavaFX Application Thread stalls.
+ * With -Duniversity.metrics.httpPort=&lt;port&gt; the same beans are also served in Prometheus text
+ * format on http://127.0.0.1:&lt;port&gt;/metrics.
+ */
+public final class Monitoring {
+
+    private static final String DOMAIN = "com.university";
+    private static final int HTTP_PORT = Integer.getInteger("university.metrics.httpPort", 0);
+    private static final long SAMPLE_INTERVAL_MILLIS = 5_000;
+    private static final long RATE_WINDOW_MILLIS = 60_000;
+    private static final Monitoring instance = new Monitoring();
+
+    private final List<ConnectionPoolMXBean> pools = new ArrayList<>();
+    private final List<CacheMXBean> caches = new ArrayList<>();
+    private final QueryStatisticsMXBean queryStatistics = new QueryStatistics();
+    private final RateMeter recomputationRate = new RateMeter(GPAService::getStandingsComputed,
+            SAMPLE_INTERVAL_MILLIS, RATE_WINDOW_MILLIS);
+    private final RateMeter stallRate = new RateMeter(FxThreadMonitor.getInstance()::getStallCount,
+            SAMPLE_INTERVAL_MILLIS, RATE_WINDOW_MILLIS);
+    private final GpaStatisticsMXBean gpaStatistics = new GpaStatistics(recomputationRate);
+    private final FxThreadMXBean fxThread = new FxThread(stallRate);
+    private final List<ObjectName> registered = new ArrayList<>();
+    private ScheduledExecutorService sampler;
+    private PrometheusEndpoint endpoint;
+
+    private Monitoring() {
+        DatabaseConnection db = DatabaseConnection.getInstance();
+        pools.add(new PoolStatistics(db::getPoolMetrics));
+        pools.add(new PoolStatistics(db::getReadPoolMetrics));
+        caches.add(new CacheStatistics(CachingCourseDetails.getInstance()::getMetrics));
+    }
+
+    public static Monitoring getInstance() {
+        return instance;
+    }
+
+    /**
+     * Registers the MXBeans, starts the stall detector and rate sampling, and opens the
+     * Prometheus endpoint if a port is configured. Problems are reported and skipped, so
+     * monitoring never stops the application from starting.
+     * Must be called after the JavaFX toolkit has started.
+     */
+    public synchronized void start() {
+        if (sampler != null) {
+            return;
+        }
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (ConnectionPoolMXBean pool : pools) {
+                register(server, "type=ConnectionPool,name=" + pool.getPoolName(), pool);
+            }
+            for (CacheMXBean cache : caches) {
+                register(server, "type=Cache,name=" + cache.getCacheName(), cache);
+            }
+            register(server, "type=QueryStatistics", queryStatistics);
+            register(server, "type=GpaStatistics", gpaStatistics);
+            register(server, "type=FxThread", fxThread);
+        } catch (JMException e) {
+            System.err.println("Error registering MBeans: " + e.getMessage());
+        }
+
+        FxThreadMonitor.getInstance().start();
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(() -> {
+            recomputationRate.sample();
+            stallRate.sample();
+        }, 0, SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+        if (HTTP_PORT > 0) {
+            try {
+                endpoint = new PrometheusEndpoint(this, HTTP_PORT);
+                System.out.println("Metrics endpoint listening on " + endpoint.getUrl());
+            } catch (IOException e) {
+                System.err.println("Error starting metrics endpoint on port " + HTTP_PORT + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Closes the endpoint, stops sampling and unregisters the MXBeans.
+     */
+    public synchronized void stop() {
+        if (endpoint != null) {
+            endpoint.stop();
+            endpoint = null;
+        }
+        if (sampler != null) {
+            sampler.shutdownNow();
+            sampler = null;
+        }
+        FxThreadMonitor.getInstance().stop();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName name : registered) {
+            try {
+                server.unregisterMBean(name);
+            } catch (JMException e) {
+                System.err.println("Error unregistering MBean " + name + ": " + e.getMessage());
+            }
+        }
+        registered.clear();
+    }
+
+    List<ConnectionPoolMXBean> getPools() {
+        return pools;
+    }
+
+    List<CacheMXBean> getCaches() {
+        return caches;
+    }
+
+    QueryStatisticsMXBean getQueryStatistics() {
+        return queryStatistics;
+    }
+
+    GpaStatisticsMXBean getGpaStatistics() {
+        return gpaStatistics;
+    }
+
+    FxThreadMXBean getFxThread() {
+        return fxThread;
+    }
+
+    private void register(MBeanServer server, String properties, Object bean) throws JMException {
+        ObjectName name = new ObjectName(DOMAIN + ":" + properties);
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+        server.registerMBean(bean, name);
+        registered.add(name);
+    }
+
+    private static final class PoolStatistics implements ConnectionPoolMXBean {
+        private final Supplier<PoolMetrics> metrics;
+
+        PoolStatistics(Supplier<PoolMetrics> metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public String getPoolName() {
+            return metrics.get().getPoolName();
+        }
+
+        @Override
+        public int getMaxSize() {
+            return metrics.get().getMaxSize();
+        }
+
+        @Override
+        public int getOpenConnections() {
+            return metrics.get().getOpenConnections();
+        }
+
+        @Override
+        public int getActiveConnections() {
+            return metrics.get().getActiveConnections();
+        }
+
+        @Override
+        public int getIdleConnections() {
+            return metrics.get().getIdleConnections();
+        }
+
+        @Override
+        public int getWaitingThreads() {
+            return metrics.get().getWaitingThreads();
+        }
+
+        @Override
+        public long getTotalLeases() {
+            return metrics.get().getTotalLeases();
+        }
+
+        @Override
+        public long getLeaseTimeouts() {
+            return metrics.get().getLeaseTimeouts();
+        }
+
+        @Override
+        public double getLeasesPerSecond() {
+            return metrics.get().getLeasesPerSecond();
+        }
+
+        @Override
+        public long getAverageWaitMicros() {
+            return metrics.get().getAverageWaitNanos() / 1_000;
+        }
+
+        @Override
+        public long getMaxWaitMicros() {
+            return metrics.get().getMaxWaitNanos() / 1_000;
+        }
+
+        @Override
+        public long getStatementCacheHits() {
+            return metrics.get().getStatementCacheHits();
+        }
+
+        @Override
+        public long getStatementCacheMisses() {
+            return metrics.get().getStatementCacheMisses();
+        }
+
+        @Override
+        public double getStatementCacheHitRate() {
+            return metrics.get().getStatementCacheHitRate();
+        }
+    }
+
+    private static final class CacheStatistics implements CacheMXBean {
+        private final Supplier<CacheMetrics> metrics;
+
+        CacheStatistics(Supplier<CacheMetrics> metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public String getCacheName() {
+            return metrics.get().getCacheName();
+        }
+
+        @Override
+        public int getSize() {
+            return metrics.get().getSize();
+        }
+
+        @Override
+        public long getVersion() {
+            return metrics.get().getVersion();
+        }
+
+        @Override
+        public long getHits() {
+            return metrics.get().getHits();
+        }
+
+        @Override
+        public long getMisses() {
+            return metrics.get().getMisses();
+        }
+
+        @Override
+        public long getReloads() {
+            return metrics.get().getReloads();
+        }
+
+        @Override
+        public double getHitRate() {
+            return metrics.get().getHitRate();
+        }
+    }
+
+    private static final class QueryStatistics implements QueryStatisticsMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return QueryInstrumentation.isEnabled();
+        }
+
+        @Override
+        public List<QueryMetrics> getQueries() {
+            return QueryInstrumentation.getInstance().getMetrics();
+        }
+
+        @Override
+        public long getSlowQueryCount() {
+            return QueryInstrumentation.getInstance().getSlowQueryCount();
+        }
+
+        @Override
+        public Map<String, Long> getNPlusOneCounts() {
+            return QueryInstrumentation.getInstance().getNPlusOneCounts();
+        }
+
+        @Override
+        public void reset() {
+            QueryInstrumentation.getInstance().reset();
+        }
+    }
+
+    private static final class GpaStatistics implements GpaStatisticsMXBean {
+        private final RateMeter rate;
+
+        GpaStatistics(RateMeter rate) {
+            this.rate = rate;
+        }
+
+        @Override
+        public long getRecomputations() {
+            return GPAService.getStandingsComputed();
+        }
+
+        @Override
+        public double getRecomputationsPerMinute() {
+            return rate.perMinute();
+        }
+    }
+
+    private static final class FxThread implements FxThreadMXBean {
+        private final RateMeter rate;
+
+        FxThread(RateMeter rate) {
+            this.rate = rate;
+        }
+
+        @Override
+        public long getStallThresholdMillis() {
+            return FxThreadMonitor.getInstance().getStallThresholdMillis();
+        }
+
+        @Override
+        public long getHeartbeats() {
+            return FxThreadMonitor.getInstance().getHeartbeats();
+        }
+
+        @Override
+        public long getStallCount() {
+            return FxThreadMonitor.getInstance().getStallCount();
+        }
+
+        @Override
+        public double getStallsPerMinute() {
+            return rate.perMinute();
+        }
+
+        @Override
+        public long getTotalStallMillis() {
+            return FxThreadMonitor.getInstance().getTotalStallMillis();
+        }
+
+        @Override
+        public long getLongestStallMillis() {
+            return FxThreadMonitor.getInstance().getLongestStallMillis();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.university.monitoring;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.university.data.QueryMetrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves the monitoring MXBeans in the Prometheus text exposition format on /metrics.
+ * The server binds to the loopback address only, so the statistics are never reachable from
+ * another machine, and answers on a single daemon thread.
+ */
+final class PrometheusEndpoint {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final Monitoring monitoring;
+    private final HttpServer server;
+
+    PrometheusEndpoint(Monitoring monitoring, int port) throws IOException {
+        this.monitoring = monitoring;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", this::handle);
+        server.setExecutor(Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-endpoint");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+    }
+
+    String getUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort() + "/metrics";
+    }
+
+    void stop() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Formats every statistic for one scrape.
+     * @return the metrics in Prometheus text format
+     */
+    String scrape() {
+        Metrics metrics = new Metrics();
+
+        metrics.family("university_pool_max_connections", "gauge", "Largest number of connections the pool opens");
+        for (ConnectionPoolMXBean pool : monitoring.getPools()) {
+            metrics.sample("university_pool_max_connections", pool.getMaxSize(), "pool", pool.getPoolName());
+        }
+        metrics.family("university_pool_open_connections", "gauge", "Physical connections currently open");
+        for (ConnectionPoolMXBean pool : monitoring.getPools()) {
+            metrics.sample("university_pool_open_connections", pool.getOpenConnections(), "pool", pool.getPoolName());
+        }
+        metrics.family("university_pool_active_connections", "gauge", "Connections currently leased");
+        for (ConnectionPoolMXBean pool : monitoring.getPools()) {
+            metrics.sample("university_pool_active_connections", pool.getActiveConnections(), "pool", pool.getPoolName());
+        }
+        metrics.family("university_pool_waiting_threads", "gauge", "Threads waiting for a connection");
+        for (ConnectionPoolMXBean pool : monitoring.getPools()) {
+            metrics.sample("university_pool_waiting_threads", pool.getWaitingThreads(), "pool", pool.getPoolName());
+        }
+        metrics.family("university_pool_leases_total", "counter", "Connections leased");
+        for (ConnectionPoolMXBean pool : monitoring.getPools()) {
+            metrics.sample("university_pool_leases_total", pool.getTotalLeases(), "pool", pool.getPoolName());
+        }
+        metrics.family("university_pool_lease_timeouts_total", "counter", "Leases that timed out waiting for a connection");
+        for (ConnectionPoolMXBean pool : monitoring.getPools()) {
+            metrics.sample("university_pool_lease_timeouts_total", pool.getLeaseTimeouts(), "pool", pool.getPoolName());
+        }
+        metrics.family("university_pool_max_wait_seconds", "gauge", "Longest wait for a connection");
+        for (ConnectionPoolMXBean pool : monitoring.getPools()) {
+            metrics.sample("university_pool_max_wait_seconds", pool.getMaxWaitMicros() / 1e6, "pool", pool.getPoolName());
+        }
+        metrics.family("university_statement_cache_hits_total", "counter", "Prepared statements reused from the cache");
+        for (ConnectionPoolMXBean pool : monitoring.getPools()) {
+            metrics.sample("university_statement_cache_hits_total", pool.getStatementCacheHits(), "pool", pool.getPoolName());
+        }
+        metrics.family("university_statement_cache_misses_total", "counter", "Prepared statements compiled");
+        for (ConnectionPoolMXBean pool : monitoring.getPools()) {
+            metrics.sample("university_statement_cache_misses_total", pool.getStatementCacheMisses(), "pool", pool.getPoolName());
+        }
+
+        metrics.family("university_cache_entries", "gauge", "Entries held by the cache");
+        for (CacheMXBean cache : monitoring.getCaches()) {
+            metrics.sample("university_cache_entries", cache.getSize(), "cache", cache.getCacheName());
+        }
+        metrics.family("university_cache_hits_total", "counter", "Lookups answered from memory");
+        for (CacheMXBean cache : monitoring.getCaches()) {
+            metrics.sample("university_cache_hits_total", cache.getHits(), "cache", cache.getCacheName());
+        }
+        metrics.family("university_cache_misses_total", "counter", "Lookups that went to the database");
+        for (CacheMXBean cache : monitoring.getCaches()) {
+            metrics.sample("university_cache_misses_total", cache.getMisses(), "cache", cache.getCacheName());
+        }
+        metrics.family("university_cache_reloads_total", "counter", "Full reloads of the cache");
+        for (CacheMXBean cache : monitoring.getCaches()) {
+            metrics.sample("university_cache_reloads_total", cache.getReloads(), "cache", cache.getCacheName());
+        }
+
+        QueryStatisticsMXBean queries = monitoring.getQueryStatistics();
+        if (queries.isEnabled()) {
+            List<QueryMetrics> methods = queries.getQueries();
+            metrics.family("university_dao_latency_seconds", "summary", "DAO call latency");
+            for (QueryMetrics query : methods) {
+                String details = query.getDetailsName();
+                String method = query.getMethodName();
+                metrics.sample("university_dao_latency_seconds", query.getP50Nanos() / 1e9,
+                        "details", details, "method", method, "quantile", "0.5");
+                metrics.sample("university_dao_latency_seconds", query.getP90Nanos() / 1e9,
+                        "details", details, "method", method, "quantile", "0.9");
+                metrics.sample("university_dao_latency_seconds", query.getP99Nanos() / 1e9,
+                        "details", details, "method", method, "quantile", "0.99");
+                metrics.sample("university_dao_latency_seconds_sum", query.getTotalNanos() / 1e9,
+                        "details", details, "method", method);
+                metrics.sample("university_dao_latency_seconds_count", query.getCalls(),
+                        "details", details, "method", method);
+            }
+            metrics.family("university_dao_errors_total", "counter", "DAO calls that threw");
+            for (QueryMetrics query : methods) {
+                metrics.sample("university_dao_errors_total", query.getErrors(),
+                        "details", query.getDetailsName(), "method", query.getMethodName());
+            }
+            metrics.family("university_dao_rows_total", "counter", "Rows returned by DAO calls");
+            for (QueryMetrics query : methods) {
+                metrics.sample("university_dao_rows_total", query.getRows(),
+                        "details", query.getDetailsName(), "method", query.getMethodName());
+            }
+            metrics.family("university_dao_slow_calls_total", "counter", "DAO calls over the slow-query threshold");
+            metrics.sample("university_dao_slow_calls_total", queries.getSlowQueryCount());
+            metrics.family("university_dao_n_plus_one_total", "counter", "Screen loads that repeated a DAO method");
+            for (Map.Entry<String, Long> entry : queries.getNPlusOneCounts().entrySet()) {
+                metrics.sample("university_dao_n_plus_one_total", entry.getValue(), "call", entry.getKey());
+            }
+        }
+
+        GpaStatisticsMXBean gpa = monitoring.getGpaStatistics();
+        metrics.family("university_gpa_recomputations_total", "counter", "Academic standings computed from enrollments");
+        metrics.sample("university_gpa_recomputations_total", gpa.getRecomputations());
+        metrics.family("university_gpa_recomputations_per_minute", "gauge", "Academic standings computed over the last minute");
+        metrics.sample("university_gpa_recomputations_per_minute", gpa.getRecomputationsPerMinute());
+
+        FxThreadMXBean fxThread = monitoring.getFxThread();
+        metrics.family("university_fx_stalls_total", "counter", "JavaFX Application Thread stalls over the threshold");
+        metrics.sample("university_fx_stalls_total", fxThread.getStallCount());
+        metrics.family("university_fx_stall_seconds_total", "counter", "Time the JavaFX Application Thread spent stalled");
+        metrics.sample("university_fx_stall_seconds_total", fxThread.getTotalStallMillis() / 1e3);
+        metrics.family("university_fx_longest_stall_seconds", "gauge", "Longest JavaFX Application Thread stall");
+        metrics.sample("university_fx_longest_stall_seconds", fxThread.getLongestStallMillis() / 1e3);
+
+        return metrics.toString();
+    }
+
+    /**
+     * Builds the exposition text.
+     */
+    private static final class Metrics {
+        private final StringBuilder text = new StringBuilder(8192);
+
+        void family(String name, String type, String help) {
+            text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+            text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        }
+
+        void sample(String name, double value, String... labels) {
+            text.append(name);
+            if (labels.length > 0) {
+                text.append('{');
+                for (int i = 0; i < labels.length; i += 2) {
+                    if (i > 0) {
+                        text.append(',');
+                    }
+                    text.append(labels[i]).append("=\"");
+                    appendEscaped(labels[i + 1]);
+                    text.append('"');
+                }
+                text.append('}');
+            }
+            text.append(' ');
+            if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+                text.append((long) value);
+            } else {
+                text.append(value);
+            }
+            text.append('\n');
+        }
+
+        private void appendEscaped(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '\\' -> text.append("\\\\");
+                    case '"' -> text.append("\\\"");
+                    case '\n' -> text.append("\\n");
+                    default -> text.append(c);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.university.monitoring;
+
+import com.university.data.QueryMetrics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Management interface of the DAO call statistics, registered as com.university:type=QueryStatistics.
+ * The statistics are only collected with -Duniversity.metrics.enabled=true.
+ */
+public interface QueryStatisticsMXBean {
+
+    boolean isEnabled();
+
+    /**
+     * Gets calls, errors, rows and p50/p90/p99/max latency per DAO method, slowest total first.
+     * @return the statistics
+     */
+    List<QueryMetrics> getQueries();
+
+    long getSlowQueryCount();
+
+    Map<String, Long> getNPlusOneCounts();
+
+    void reset();
+}
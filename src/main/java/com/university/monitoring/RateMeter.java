@@ -0,0 +1,47 @@
+package com.university.monitoring;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Turns a running total into a per-minute rate over a sliding window.
+ * The total is sampled at a fixed interval and the rate is the growth between the newest
+ * sample and the oldest one still in the window.
+ */
+final class RateMeter {
+
+    private final LongSupplier total;
+    private final long intervalMillis;
+    private final long[] samples;
+    private int next;
+    private int filled;
+
+    /**
+     * @param total the running total
+     * @param intervalMillis how often sample() is called
+     * @param windowMillis the span the rate is averaged over
+     */
+    RateMeter(LongSupplier total, long intervalMillis, long windowMillis) {
+        this.total = total;
+        this.intervalMillis = intervalMillis;
+        this.samples = new long[(int) (windowMillis / intervalMillis) + 1];
+    }
+
+    synchronized void sample() {
+        samples[next] = total.getAsLong();
+        next = (next + 1) % samples.length;
+        filled = Math.min(filled + 1, samples.length);
+    }
+
+    /**
+     * Gets the rate over the window, or over the samples taken so far while the window fills.
+     * @return the growth of the total per minute, or 0 before the second sample
+     */
+    synchronized double perMinute() {
+        if (filled < 2) {
+            return 0.0;
+        }
+        long newest = samples[(next - 1 + samples.length) % samples.length];
+        long oldest = samples[(next - filled + samples.length) % samples.length];
+        return (newest - oldest) * 60_000.0 / ((filled - 1) * intervalMillis);
+    }
+}
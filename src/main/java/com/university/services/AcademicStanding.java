@@ -0,0 +1,154 @@
+package com.university.services;
+
+import com.university.data.StudentStanding;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Immutable summary of a student's academic record at one point in time.
+ * Produced by GPAService in a single pass over the student's enrollments, so callers that need
+ * CGPA, credits, probation and graduation status together do not recompute them separately.
+ */
+public final class AcademicStanding {
+
+    private final int studentId;
+    private final double cgpa;
+    private final int gradedCredits;
+    private final int completedCredits;
+    private final int requiredCredits;
+    private final boolean onProbation;
+    private final boolean eligibleForGraduation;
+    private final List<SemesterStanding> semesters;
+
+    public AcademicStanding(int studentId, double cgpa, int gradedCredits, int completedCredits,
+                            int requiredCredits, List<SemesterStanding> semesters) {
+        this.studentId = studentId;
+        this.cgpa = cgpa;
+        this.gradedCredits = gradedCredits;
+        this.completedCredits = completedCredits;
+        this.requiredCredits = requiredCredits;
+        this.onProbation = cgpa < StudentStanding.PROBATION_THRESHOLD;
+        this.eligibleForGraduation = completedCredits >= requiredCredits && cgpa >= StudentStanding.PROBATION_THRESHOLD;
+        this.semesters = List.copyOf(semesters);
+    }
+
+    public int getStudentId() {
+        return studentId;
+    }
+
+    public double getCgpa() {
+        return cgpa;
+    }
+
+    /**
+     * Gets the credits of all graded enrollments, i.e. the credits the CGPA is weighted over.
+     * @return the graded credits
+     */
+    public int getGradedCredits() {
+        return gradedCredits;
+    }
+
+    public int getCompletedCredits() {
+        return completedCredits;
+    }
+
+    public int getRequiredCredits() {
+        return requiredCredits;
+    }
+
+    public int getRemainingCredits() {
+        return Math.max(0, requiredCredits - completedCredits);
+    }
+
+    /**
+     * Gets the fraction of required credits completed.
+     * @return the progress (0.0 and up; can exceed 1.0)
+     */
+    public double getProgress() {
+        return requiredCredits > 0 ? (double) completedCredits / requiredCredits : 0.0;
+    }
+
+    public boolean isOnProbation() {
+        return onProbation;
+    }
+
+    public boolean isEligibleForGraduation() {
+        return eligibleForGraduation;
+    }
+
+    /**
+     * Gets the per-semester breakdown, most recent semester first.
+     * @return the semesters the student has enrollments in
+     */
+    public List<SemesterStanding> getSemesters() {
+        return semesters;
+    }
+
+    /**
+     * Finds the standing for one semester.
+     * @param semester the semester name
+     * @param year the year
+     * @return the semester standing if the student has enrollments in it
+     */
+    public Optional<SemesterStanding> getSemester(String semester, int year) {
+        return semesters.stream()
+                .filter(s -> s.getSemester().equals(semester) && s.getYear() == year)
+                .findFirst();
+    }
+
+    @Override
+    public String toString() {
+        return "AcademicStanding{" +
+                "studentId=" + studentId +
+                ", cgpa=" + String.format("%.2f", cgpa) +
+                ", completedCredits=" + completedCredits +
+                ", requiredCredits=" + requiredCredits +
+                ", onProbation=" + onProbation +
+                ", eligibleForGraduation=" + eligibleForGraduation +
+                '}';
+    }
+
+    /**
+     * GPA and credits for a single semester.
+     */
+    public static final class SemesterStanding {
+        private final String semester;
+        private final int year;
+        private final double gpa;
+        private final int gradedCredits;
+        private final int enrolledCredits;
+
+        public SemesterStanding(String semester, int year, double gpa, int gradedCredits, int enrolledCredits) {
+            this.semester = semester;
+            this.year = year;
+            this.gpa = gpa;
+            this.gradedCredits = gradedCredits;
+            this.enrolledCredits = enrolledCredits;
+        }
+
+        public String getSemester() {
+            return semester;
+        }
+
+        public int getYear() {
+            return year;
+        }
+
+        public double getGpa() {
+            return gpa;
+        }
+
+        public int getGradedCredits() {
+            return gradedCredits;
+        }
+
+        /**
+         * Gets the credits of every enrollment in the semester, graded or not.
+         * @return the enrolled credits
+         */
+        public int getEnrolledCredits() {
+            return enrolledCredits;
+        }
+    }
+}
@@ -0,0 +1,552 @@
+package com.university.services;
+
+import com.university.courses.CourseworkItem;
+import com.university.data.BulkImportWriter;
+import com.university.data.CachingCourseDetails;
+import com.university.data.CachingCourseworkDetails;
+import com.university.data.CourseDetails;
+import com.university.data.CourseworkDetails;
+import com.university.data.DatabaseConnection;
+import com.university.roles.Student;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Imports students, enrollments and coursework grades from CSV files.
+ * The file is read in batches. While one batch is written in a single transaction, the next one is
+ * parsed, validated and has its temporary passwords hashed on a pool of worker threads.
+ * Rows that fail validation or that the database refuses are reported with their line numbers and
+ * skipped; everything else is imported. Progress is committed with every batch, so an import that
+ * fails part way through resumes after the last committed batch when it is run again.
+ * <p>
+ * The first line of the file names the columns, in any order:
+ * <ul>
+ *     <li>students: name, username, program, and optionally requiredCredits and password</li>
+ *     <li>enrollments: username, courseCode, semester, year, and optionally finalGrade</li>
+ *     <li>grades: username, itemId, marksObtained</li>
+ * </ul>
+ * Students imported without a password get a generated temporary one, written next to the input
+ * file as &lt;file&gt;.credentials.csv. To run an import without the UI:
+ * <pre>java -cp ... com.university.services.BulkImportService students|enrollments|grades &lt;file.csv&gt; [--restart]</pre>
+ */
+public class BulkImportService {
+
+    private static final int BATCH_SIZE = Integer.getInteger("university.import.batchSize", 5000);
+    private static final int WORKERS = Integer.getInteger("university.import.workers",
+            Runtime.getRuntime().availableProcessors());
+    private static final int MIN_SLICE = 256;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int TEMP_PASSWORD_LENGTH = 12;
+    private static final int DEFAULT_REQUIRED_CREDITS = 120;
+    private static final Set<String> SEMESTERS = Set.of("Fall", "Spring", "Summer");
+    private static final Set<String> FINAL_GRADES = Set.of("A+", "A", "A-", "B+", "B", "B-", "C+", "C", "C-",
+            "D+", "D", "D-", "F");
+
+    /**
+     * What a CSV file holds, with the columns it must and may have.
+     */
+    public enum Kind {
+        STUDENTS("Students", List.of("name", "username", "program"), List.of("requiredCredits", "password")),
+        ENROLLMENTS("Enrollments", List.of("username", "courseCode", "semester", "year"), List.of("finalGrade")),
+        GRADES("Coursework grades", List.of("username", "itemId", "marksObtained"), List.of());
+
+        private final String label;
+        private final List<String> requiredColumns;
+        private final List<String> optionalColumns;
+
+        Kind(String label, List<String> requiredColumns, List<String> optionalColumns) {
+            this.label = label;
+            this.requiredColumns = requiredColumns;
+            this.optionalColumns = optionalColumns;
+        }
+
+        public List<String> getRequiredColumns() {
+            return requiredColumns;
+        }
+
+        public List<String> getOptionalColumns() {
+            return optionalColumns;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private final BulkImportWriter writer;
+    private final CourseDetails courseDetails;
+    private final CourseworkDetails courseworkDetails;
+
+    public BulkImportService(BulkImportWriter writer, CourseDetails courseDetails, CourseworkDetails courseworkDetails) {
+        this.writer = writer;
+        this.courseDetails = courseDetails;
+        this.courseworkDetails = courseworkDetails;
+    }
+
+    /**
+     * Imports a CSV file, resuming after the last committed batch of an earlier run that failed.
+     * Runs on the calling thread, which must not be the JavaFX Application Thread.
+     * @param file the CSV file
+     * @param kind what the file holds
+     * @param restart true to ignore an earlier run's progress and start from the first line
+     * @param progress receives a report after every committed batch, on the calling thread
+     * @return the final report; check getFailure() for an import that stopped early
+     */
+    public ImportReport importFile(Path file, Kind kind, boolean restart, Consumer<ImportReport> progress) {
+        Run run = new Run(file, kind);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(WORKERS, runnable -> {
+            Thread thread = new Thread(runnable, "import-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (restart) {
+                writer.clearProgress(run.importKey);
+            }
+            run.resumedAfterLine = writer.getCommittedLine(run.importKey);
+
+            String header = reader.readLine();
+            if (header == null) {
+                return run.report(true, "The file is empty");
+            }
+            Map<String, Integer> columns = parseHeader(header, kind);
+
+            LineReader lines = new LineReader(reader, run.resumedAfterLine);
+            List<Line> chunk = lines.next(BATCH_SIZE);
+            CompletableFuture<List<ParsedRow>> pending = chunk.isEmpty() ? null : prepare(chunk, kind, columns, workers);
+            while (pending != null) {
+                List<ParsedRow> batch = pending.join();
+                int lastLine = chunk.get(chunk.size() - 1).number;
+
+                // Validate the next batch while this one is written
+                chunk = lines.next(BATCH_SIZE);
+                pending = chunk.isEmpty() ? null : prepare(chunk, kind, columns, workers);
+
+                write(run, batch, lastLine);
+                progress.accept(run.report(false, null));
+            }
+
+            writer.clearProgress(run.importKey);
+            return run.report(true, null);
+        } catch (IllegalArgumentException e) {
+            return run.report(true, e.getMessage());
+        } catch (CompletionException e) {
+            System.err.println("Error validating " + file + ": " + e.getCause());
+            return run.report(true, String.valueOf(e.getCause()));
+        } catch (IOException | SQLException e) {
+            System.err.println("Error importing " + file + ": " + e.getMessage());
+            return run.report(true, e.getMessage());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Parses and validates a batch on the worker pool, in slices of at least MIN_SLICE rows.
+     */
+    private CompletableFuture<List<ParsedRow>> prepare(List<Line> chunk, Kind kind, Map<String, Integer> columns,
+                                                       ExecutorService workers) {
+        int sliceSize = Math.max(MIN_SLICE, (chunk.size() + WORKERS - 1) / WORKERS);
+        List<CompletableFuture<List<ParsedRow>>> slices = new ArrayList<>();
+        for (int from = 0; from < chunk.size(); from += sliceSize) {
+            List<Line> slice = chunk.subList(from, Math.min(from + sliceSize, chunk.size()));
+            slices.add(CompletableFuture.supplyAsync(() -> {
+                List<ParsedRow> parsed = new ArrayList<>(slice.size());
+                for (Line line : slice) {
+                    parsed.add(parse(line, kind, columns));
+                }
+                return parsed;
+            }, workers));
+        }
+
+        return CompletableFuture.allOf(slices.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            List<ParsedRow> rows = new ArrayList<>(chunk.size());
+            for (CompletableFuture<List<ParsedRow>> slice : slices) {
+                rows.addAll(slice.join());
+            }
+            return rows;
+        });
+    }
+
+    private ParsedRow parse(Line line, Kind kind, Map<String, Integer> columns) {
+        try {
+            Fields fields = new Fields(parseCsvLine(line.text), columns);
+            return switch (kind) {
+                case STUDENTS -> parseStudent(line.number, fields);
+                case ENROLLMENTS -> parseEnrollment(line.number, fields);
+                case GRADES -> parseGrade(line.number, fields);
+            };
+        } catch (IllegalArgumentException e) {
+            return ParsedRow.rejected(line.number, e.getMessage());
+        }
+    }
+
+    private ParsedRow parseStudent(int line, Fields fields) {
+        String name = fields.required("name");
+        String username = fields.required("username");
+        String program = fields.required("program");
+        if (username.chars().anyMatch(Character::isWhitespace)) {
+            throw new IllegalArgumentException("username must not contain spaces");
+        }
+
+        int requiredCredits = DEFAULT_REQUIRED_CREDITS;
+        String credits = fields.optional("requiredCredits");
+        if (!credits.isEmpty()) {
+            requiredCredits = parseInt(credits, "requiredCredits");
+            if (requiredCredits <= 0) {
+                throw new IllegalArgumentException("requiredCredits must be positive");
+            }
+        }
+
+        String password = fields.optional("password");
+        String temporaryPassword = null;
+        if (password.isEmpty()) {
+            temporaryPassword = PasswordUtil.generateRandomPassword(TEMP_PASSWORD_LENGTH);
+            password = temporaryPassword;
+        }
+
+        Student student = new Student(0, name, username, PasswordUtil.hashPassword(password), program, requiredCredits, 0);
+        return new ParsedRow(line, student, null, temporaryPassword);
+    }
+
+    private ParsedRow parseEnrollment(int line, Fields fields) {
+        String username = fields.required("username");
+        String courseCode = fields.required("courseCode");
+        String semester = fields.required("semester");
+        int year = parseInt(fields.required("year"), "year");
+        String finalGrade = fields.optional("finalGrade");
+
+        if (!courseDetails.courseExists(courseCode)) {
+            throw new IllegalArgumentException("unknown course " + courseCode);
+        }
+        if (!SEMESTERS.contains(semester)) {
+            throw new IllegalArgumentException("semester must be Fall, Spring or Summer");
+        }
+        if (year < 1900 || year > 2100) {
+            throw new IllegalArgumentException("year " + year + " is out of range");
+        }
+        if (!finalGrade.isEmpty() && !FINAL_GRADES.contains(finalGrade)) {
+            throw new IllegalArgumentException("unknown final grade " + finalGrade);
+        }
+
+        return new ParsedRow(line, new BulkImportWriter.EnrollmentRow(username, courseCode, semester, year,
+                finalGrade.isEmpty() ? null : finalGrade), null, null);
+    }
+
+    private ParsedRow parseGrade(int line, Fields fields) {
+        String username = fields.required("username");
+        int itemId = parseInt(fields.required("itemId"), "itemId");
+        double marks = parseDouble(fields.required("marksObtained"), "marksObtained");
+
+        Optional<CourseworkItem> item = courseworkDetails.getCourseworkItemById(itemId);
+        if (item.isEmpty()) {
+            throw new IllegalArgumentException("unknown coursework item " + itemId);
+        }
+        if (marks < 0 || marks > item.get().getTotalMarks()) {
+            throw new IllegalArgumentException("marksObtained must be between 0 and " + item.get().getTotalMarks());
+        }
+
+        return new ParsedRow(line, new BulkImportWriter.GradeRow(username, item.get().getCourseCode(), itemId, marks),
+                null, null);
+    }
+
+    /**
+     * Writes the valid rows of a batch and records every rejected row, in line order.
+     */
+    private void write(Run run, List<ParsedRow> batch, int lastLine) throws SQLException, IOException {
+        List<Object> values = new ArrayList<>(batch.size());
+        for (ParsedRow row : batch) {
+            if (row.error == null) {
+                values.add(row.value);
+            }
+        }
+
+        String[] rejected = switch (run.kind) {
+            case STUDENTS -> writer.writeStudents(run.importKey, lastLine, cast(values, Student.class));
+            case ENROLLMENTS -> writer.writeEnrollments(run.importKey, lastLine, cast(values, BulkImportWriter.EnrollmentRow.class));
+            case GRADES -> writer.writeGrades(run.importKey, lastLine, cast(values, BulkImportWriter.GradeRow.class));
+        };
+
+        List<ParsedRow> credentials = new ArrayList<>();
+        int written = 0;
+        for (ParsedRow row : batch) {
+            run.rowsRead++;
+            String error = row.error != null ? row.error : rejected[written++];
+            if (error != null) {
+                run.reject(row.line, error);
+            } else {
+                run.imported++;
+                if (row.temporaryPassword != null) {
+                    credentials.add(row);
+                }
+            }
+        }
+        writeCredentials(run, credentials);
+    }
+
+    /**
+     * Appends the temporary passwords of a committed batch to the credentials file.
+     * Written only after the commit, so the file never lists a student who was not created;
+     * should the process die in between, reset the passwords of that batch's students.
+     */
+    private void writeCredentials(Run run, List<ParsedRow> rows) throws IOException {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Path credentialsFile = run.file.resolveSibling(run.file.getFileName() + ".credentials.csv");
+        boolean created = Files.notExists(credentialsFile);
+        try (BufferedWriter out = Files.newBufferedWriter(credentialsFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (created) {
+                out.write("username,temporaryPassword");
+                out.newLine();
+            }
+            for (ParsedRow row : rows) {
+                out.write(((Student) row.value).getUsername() + "," + quote(row.temporaryPassword));
+                out.newLine();
+            }
+        }
+        run.credentialsFile = credentialsFile;
+    }
+
+    private static <T> List<T> cast(List<Object> values, Class<T> type) {
+        List<T> typed = new ArrayList<>(values.size());
+        for (Object value : values) {
+            typed.add(type.cast(value));
+        }
+        return typed;
+    }
+
+    private static Map<String, Integer> parseHeader(String header, Kind kind) {
+        // A byte order mark left by spreadsheet exports would otherwise become part of the first column name
+        List<String> names = parseCsvLine(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i), i);
+        }
+        for (String required : kind.getRequiredColumns()) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("The header has no " + required + " column; expected "
+                        + String.join(", ", kind.getRequiredColumns()));
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Splits one CSV line into trimmed fields. Fields may be quoted, with "" for a quote inside them;
+     * quoted fields cannot span lines.
+     * @param line the line to split
+     * @return the fields
+     * @throws IllegalArgumentException if a quoted field is not closed
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    private static String quote(String value) {
+        return value.contains(",") || value.contains("\"") ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+
+    private static int parseInt(String value, String column) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " must be a whole number, not " + value);
+        }
+    }
+
+    private static double parseDouble(String value, String column) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " must be a number, not " + value);
+        }
+    }
+
+    /**
+     * The counters of one import. Only touched by the thread running the import.
+     */
+    private static final class Run {
+        private final Path file;
+        private final Kind kind;
+        private final String importKey;
+        private final long startNanos = System.nanoTime();
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+        private int resumedAfterLine;
+        private int rowsRead;
+        private int imported;
+        private int rejected;
+        private Path credentialsFile;
+
+        private Run(Path file, Kind kind) {
+            this.file = file;
+            this.kind = kind;
+            this.importKey = kind.name() + ":" + file.toAbsolutePath().normalize();
+        }
+
+        private void reject(int line, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportReport.RowError(line, message));
+            }
+        }
+
+        private ImportReport report(boolean finished, String failure) {
+            return new ImportReport(kind, file, resumedAfterLine, rowsRead, imported, rejected, errors,
+                    System.nanoTime() - startNanos, finished, failure, credentialsFile);
+        }
+    }
+
+    /**
+     * Reads numbered, non-blank lines, skipping those an earlier run already committed.
+     */
+    private static final class LineReader {
+        private final BufferedReader reader;
+        private final int skipThrough;
+        private int number = 1;
+
+        private LineReader(BufferedReader reader, int skipThrough) {
+            this.reader = reader;
+            this.skipThrough = skipThrough;
+        }
+
+        private List<Line> next(int count) throws IOException {
+            List<Line> lines = new ArrayList<>(Math.min(count, 1024));
+            String text;
+            while (lines.size() < count && (text = reader.readLine()) != null) {
+                number++;
+                if (number > skipThrough && !text.isBlank()) {
+                    lines.add(new Line(number, text));
+                }
+            }
+            return lines;
+        }
+    }
+
+    private record Line(int number, String text) {
+    }
+
+    /**
+     * The fields of one line, looked up by column name.
+     */
+    private record Fields(List<String> values, Map<String, Integer> columns) {
+
+        private String required(String column) {
+            String value = optional(column);
+            if (value.isEmpty()) {
+                throw new IllegalArgumentException(column + " is required");
+            }
+            return value;
+        }
+
+        private String optional(String column) {
+            Integer index = columns.get(column);
+            return index != null && index < values.size() ? values.get(index) : "";
+        }
+    }
+
+    /**
+     * A parsed line: the value to write, or why the line was rejected.
+     */
+    private record ParsedRow(int line, Object value, String error, String temporaryPassword) {
+
+        private static ParsedRow rejected(int line, String error) {
+            return new ParsedRow(line, null, error, null);
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: BulkImportService students|enrollments|grades <file.csv> [--restart]");
+            System.exit(1);
+        }
+
+        Kind kind;
+        try {
+            kind = Kind.valueOf(args[0].toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown import kind: " + args[0]);
+            System.exit(1);
+            return;
+        }
+        boolean restart = args.length > 2 && args[2].equals("--restart");
+
+        DatabaseConnection dbConnection = DatabaseConnection.getInstance();
+        if (!dbConnection.initializeDatabase()) {
+            System.exit(1);
+        }
+        BulkImportService service = new BulkImportService(new BulkImportWriter(dbConnection),
+                CachingCourseDetails.getInstance(), CachingCourseworkDetails.getInstance());
+
+        ImportReport report = service.importFile(Path.of(args[1]), kind, restart, progress ->
+                System.out.printf("  %,d rows, %,d imported, %,d rejected, %,.0f rows/s%n", progress.getRowsRead(),
+                        progress.getImported(), progress.getRejected(), progress.getRowsPerSecond()));
+        dbConnection.closeConnection();
+
+        if (report.getResumedAfterLine() > 0) {
+            System.out.println("Resumed after line " + report.getResumedAfterLine());
+        }
+        report.getErrors().forEach(error -> System.out.println("    " + error));
+        System.out.println(report);
+        if (report.getCredentialsFile() != null) {
+            System.out.println("Temporary passwords written to " + report.getCredentialsFile());
+        }
+        if (report.getFailure() != null) {
+            System.err.println("Import stopped: " + report.getFailure() + ". Run it again to resume.");
+            System.exit(1);
+        }
+        System.exit(report.getRejected() == 0 ? 0 : 2);
+    }
+}
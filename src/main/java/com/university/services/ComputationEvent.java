@@ -0,0 +1,60 @@
+package com.university.services;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one GPA or report computation, including the queries it runs.
+ * Costs next to nothing unless a recording has the event enabled.
+ */
+@Name("university.Computation")
+@Label("Service Computation")
+@Category({"University", "Services"})
+@Description("A GPA or report computation")
+final class ComputationEvent extends Event {
+
+    @Label("Service")
+    String service;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Student ID")
+    @Description("The student computed for, or 0 for a computation over many students")
+    int studentId;
+
+    @Label("Students")
+    @Description("The number of students the computation covered")
+    int students;
+
+    /**
+     * Starts timing a computation.
+     * @param service the service, such as GPAService
+     * @param operation the method
+     * @param studentId the student, or 0 for a computation over many students
+     * @return the started event
+     */
+    static ComputationEvent start(String service, String operation, int studentId) {
+        ComputationEvent event = new ComputationEvent();
+        event.service = service;
+        event.operation = operation;
+        event.studentId = studentId;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the computation and records it if the recording's threshold lets it through.
+     * @param studentCount the number of students the computation covered
+     */
+    void finish(int studentCount) {
+        end();
+        if (shouldCommit()) {
+            students = studentCount;
+            commit();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.university.services;
 
 import com.university.data.CourseworkDetails;
 import com.university.data.CourseDetails;
+import com.university.data.Gradebook;
 import com.university.courses.CourseworkItem;
 import com.university.courses.CourseworkGrade;
 import com.university.courses.Assignment;
@@ -164,6 +165,20 @@ public class CourseworkService {
         return courseworkDetails.getCourseworkGradesByStudentAndCourse(studentId, courseCode);
     }
 
+    /**
+     * Retrieves a student's coursework items and marks for a course.
+     * @param studentId the student ID
+     * @param courseCode the course code
+     * @return the gradebook for the course
+     */
+    public Gradebook getGradebook(int studentId, String courseCode) {
+        if (studentId <= 0 || courseCode == null || courseCode.trim().isEmpty()) {
+            return new Gradebook(studentId, List.of());
+        }
+
+        return courseworkDetails.getGradebook(studentId, courseCode);
+    }
+
     /**
      * Updates an existing coursework grade.
      * @param courseworkGrade the coursework grade to update
@@ -206,30 +221,7 @@ public class CourseworkService {
      * @return the weighted average grade (0.0 to 100.0)
      */
     public double calculateOverallCourseworkGrade(int studentId, String courseCode) {
-        List<CourseworkGrade> grades = getCourseworkGradesByStudentAndCourse(studentId, courseCode);
-        List<CourseworkItem> items = getCourseworkItemsByCourse(courseCode);
-
-        if (grades.isEmpty() || items.isEmpty()) {
-            return 0.0;
-        }
-
-        double totalWeightedScore = 0.0;
-        double totalWeight = 0.0;
-
-        for (CourseworkGrade grade : grades) {
-            Optional<CourseworkItem> item = items.stream()
-                    .filter(i -> i.getItemId() == grade.getItemId())
-                    .findFirst();
-
-            if (item.isPresent()) {
-                CourseworkItem courseworkItem = item.get();
-                double percentage = grade.calculatePercentage(courseworkItem.getTotalMarks());
-                totalWeightedScore += percentage * courseworkItem.getWeight();
-                totalWeight += courseworkItem.getWeight();
-            }
-        }
-
-        return totalWeight > 0 ? totalWeightedScore / totalWeight : 0.0;
+        return getGradebook(studentId, courseCode).getTotals(courseCode).getWeightedPercentage();
     }
 
     /**
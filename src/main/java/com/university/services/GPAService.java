@@ -2,12 +2,18 @@ package com.university.services;
 
 import com.university.data.EnrollmentDetails;
 import com.university.data.StudentDetails;
-import com.university.data.CourseDetails;
+import com.university.data.StudentStanding;
 import com.university.courses.Enrollment;
-import com.university.courses.Course;
+import com.university.roles.Student;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
 
 /**
  * Service for calculating and managing GPA and academic progress.
@@ -16,14 +22,31 @@ import java.util.Optional;
  */
 public class GPAService {
 
+    /**
+     * Students read per page by forEachStanding.
+     */
+    private static final int STANDING_PAGE_SIZE = 500;
+
+    /**
+     * Standings computed from enrollments by every instance, for monitoring.
+     */
+    private static final LongAdder standingsComputed = new LongAdder();
+
     private final EnrollmentDetails enrollmentDetails;
     private final StudentDetails studentDetails;
-    private final CourseDetails courseDetails;
 
-    public GPAService(EnrollmentDetails enrollmentDetails, StudentDetails studentDetails, CourseDetails courseDetails) {
+    public GPAService(EnrollmentDetails enrollmentDetails, StudentDetails studentDetails) {
         this.enrollmentDetails = enrollmentDetails;
         this.studentDetails = studentDetails;
-        this.courseDetails = courseDetails;
+    }
+
+    /**
+     * Gets how many academic standings have been computed from enrollments since startup,
+     * counting every GPA recomputation of every GPAService.
+     * @return the number of standings computed
+     */
+    public static long getStandingsComputed() {
+        return standingsComputed.sum();
     }
 
     /**
@@ -34,70 +57,251 @@ public class GPAService {
      * @return the GPA (0.0 to 4.0)
      */
     public double calculateSemesterGPA(int studentId, String semester, int year) {
-        List<Enrollment> enrollments = enrollmentDetails.getEnrollmentsByStudentId(studentId);
+        ComputationEvent event = ComputationEvent.start("GPAService", "calculateSemesterGPA", studentId);
+        try {
+            List<Enrollment> enrollments = enrollmentDetails.getEnrollmentsByStudentId(studentId);
 
-        double totalGradePoints = 0.0;
-        int totalCredits = 0;
+            double totalGradePoints = 0.0;
+            int totalCredits = 0;
 
-        for (Enrollment enrollment : enrollments) {
-            if (enrollment.getSemester().equals(semester) && enrollment.getYear() == year
-                    && enrollment.hasFinalGrade()) {
-
-                Optional<Course> course = courseDetails.getCourseByCode(enrollment.getCourseCode());
-                if (course.isPresent()) {
-                    totalGradePoints += enrollment.getGradePoints() * course.get().getCreditHours();
-                    totalCredits += course.get().getCreditHours();
+            for (Enrollment enrollment : enrollments) {
+                if (enrollment.getSemester().equals(semester) && enrollment.getYear() == year
+                        && enrollment.hasFinalGrade()) {
+                    totalGradePoints += enrollment.getGradePoints() * enrollment.getCredits();
+                    totalCredits += enrollment.getCredits();
                 }
             }
-        }
 
-        return totalCredits > 0 ? totalGradePoints / totalCredits : 0.0;
+            return totalCredits > 0 ? totalGradePoints / totalCredits : 0.0;
+        } finally {
+            event.finish(1);
+        }
     }
 
     /**
-     * Calculates the cumulative GPA (CGPA) for a student.
+     * Gets the cumulative GPA (CGPA) for a student from the stored standing.
      * @param studentId the student ID
      * @return the CGPA (0.0 to 4.0)
      */
     public double calculateCGPA(int studentId) {
-        List<Enrollment> enrollments = enrollmentDetails.getEnrollmentsByStudentId(studentId);
+        return enrollmentDetails.getStudentStanding(studentId)
+                .map(StudentStanding::getCgpa)
+                .orElse(0.0);
+    }
 
-        double totalGradePoints = 0.0;
-        int totalCredits = 0;
+    /**
+     * Gets the stored CGPA of every student with enrollments from one query, for listings that
+     * show a CGPA per row. Students missing from the map have a CGPA of 0.0.
+     * @return CGPA keyed by student ID
+     */
+    public Map<Integer, Double> calculateAllCGPAs() {
+        Map<Integer, Double> cgpas = new HashMap<>();
+        enrollmentDetails.getAllStudentStandings()
+                .forEach((studentId, standing) -> cgpas.put(studentId, standing.getCgpa()));
+        return cgpas;
+    }
 
-        for (Enrollment enrollment : enrollments) {
-            if (enrollment.hasFinalGrade()) {
-                Optional<Course> course = courseDetails.getCourseByCode(enrollment.getCourseCode());
-                if (course.isPresent()) {
-                    totalGradePoints += enrollment.getGradePoints() * course.get().getCreditHours();
-                    totalCredits += course.get().getCreditHours();
+    /**
+     * Gets the total completed credits for a student from the stored standing.
+     * @param studentId the student ID
+     * @return the total completed credits
+     */
+    public int calculateCompletedCredits(int studentId) {
+        return enrollmentDetails.getStudentStanding(studentId)
+                .map(StudentStanding::getCompletedCredits)
+                .orElse(0);
+    }
+
+    /**
+     * Computes CGPA, completed credits, the per-semester breakdown, probation and graduation
+     * eligibility for a student from a single enrollment query.
+     * Only needed for the semester breakdown; everything else reads the stored standing
+     * through getStoredStanding.
+     * @param studentId the student ID
+     * @return the academic standing, or empty if the student does not exist
+     */
+    public Optional<AcademicStanding> getAcademicStanding(int studentId) {
+        ComputationEvent event = ComputationEvent.start("GPAService", "getAcademicStanding", studentId);
+        try {
+            Optional<Student> student = studentDetails.getStudentById(studentId);
+            if (student.isEmpty()) {
+                return Optional.empty();
+            }
+
+            return Optional.of(calculateStanding(student.get(),
+                    enrollmentDetails.getEnrollmentsByStudentId(studentId)));
+        } finally {
+            event.finish(1);
+        }
+    }
+
+    /**
+     * Reads CGPA, completed credits, probation and graduation eligibility for a student from the
+     * stored standing without loading enrollments. The semester breakdown is left empty;
+     * use getAcademicStanding when it is needed.
+     * @param studentId the student ID
+     * @return the academic standing, or empty if the student does not exist
+     */
+    public Optional<AcademicStanding> getStoredStanding(int studentId) {
+        Optional<Student> student = studentDetails.getStudentById(studentId);
+        if (student.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Optional<StudentStanding> stored = enrollmentDetails.getStudentStanding(studentId);
+        return Optional.of(new AcademicStanding(studentId,
+                stored.map(StudentStanding::getCgpa).orElse(0.0),
+                stored.map(StudentStanding::getGradedCredits).orElse(0),
+                stored.map(StudentStanding::getCompletedCredits).orElse(0),
+                student.get().getRequiredCredits(), List.of()));
+    }
+
+    /**
+     * Computes the academic standing of every student.
+     * @return standings keyed by student ID
+     */
+    public Map<Integer, AcademicStanding> computeStandingsForAll() {
+        Map<Integer, AcademicStanding> standings = new HashMap<>();
+        forEachStanding((student, standing) -> standings.put(student.getId(), standing));
+        return standings;
+    }
+
+    /**
+     * Computes the academic standing of every student, in name order, a page of students at a time.
+     * Each page costs one keyset query for the students and one for their enrollments, and only
+     * that page is held in memory, so the whole cohort can be processed in constant memory.
+     * @param action receives each student with their standing
+     */
+    public void forEachStanding(BiConsumer<Student, AcademicStanding> action) {
+        ComputationEvent event = ComputationEvent.start("GPAService", "forEachStanding", 0);
+        String lastName = null;
+        int lastId = 0;
+        int computed = 0;
+
+        try {
+            while (true) {
+                List<Student> page = studentDetails.getStudentsAfterName(lastName, lastId, STANDING_PAGE_SIZE);
+                if (page.isEmpty()) {
+                    return;
+                }
+
+                Map<Integer, List<Enrollment>> enrollments = new HashMap<>();
+                enrollmentDetails.forEachEnrollment(page.stream().map(Student::getId).toList(), enrollment ->
+                        enrollments.computeIfAbsent(enrollment.getStudentId(), id -> new ArrayList<>()).add(enrollment));
+
+                for (Student student : page) {
+                    action.accept(student, calculateStanding(student, enrollments.getOrDefault(student.getId(), List.of())));
+                }
+                computed += page.size();
+
+                Student last = page.get(page.size() - 1);
+                lastName = last.getName();
+                lastId = last.getId();
+                if (page.size() < STANDING_PAGE_SIZE) {
+                    return;
                 }
             }
+        } finally {
+            event.finish(computed);
         }
+    }
 
-        return totalCredits > 0 ? totalGradePoints / totalCredits : 0.0;
+    /**
+     * Computes the academic standing of the given students in one streaming pass over all
+     * enrollments, holding only one student's enrollments in memory at a time.
+     * Students without enrollments get a zero standing.
+     * @param students the students to compute standings for
+     * @return standings keyed by student ID
+     */
+    public Map<Integer, AcademicStanding> computeStandings(List<Student> students) {
+        ComputationEvent event = ComputationEvent.start("GPAService", "computeStandings", 0);
+        try {
+            return computeStandingsInOnePass(students);
+        } finally {
+            event.finish(students.size());
+        }
+    }
+
+    private Map<Integer, AcademicStanding> computeStandingsInOnePass(List<Student> students) {
+        Map<Integer, Student> studentsById = new HashMap<>();
+        for (Student student : students) {
+            studentsById.put(student.getId(), student);
+        }
+
+        Map<Integer, AcademicStanding> standings = new HashMap<>();
+        List<Enrollment> current = new ArrayList<>();
+
+        // Enrollments arrive grouped by student, so each group is complete when the ID changes
+        enrollmentDetails.forEachEnrollment(enrollment -> {
+            if (!current.isEmpty() && current.get(0).getStudentId() != enrollment.getStudentId()) {
+                addStanding(standings, studentsById, current);
+                current.clear();
+            }
+            current.add(enrollment);
+        });
+        addStanding(standings, studentsById, current);
+
+        for (Student student : students) {
+            standings.computeIfAbsent(student.getId(), id -> calculateStanding(student, List.of()));
+        }
+        return standings;
+    }
+
+    private void addStanding(Map<Integer, AcademicStanding> standings, Map<Integer, Student> studentsById,
+                             List<Enrollment> enrollments) {
+        if (enrollments.isEmpty()) {
+            return;
+        }
+        Student student = studentsById.get(enrollments.get(0).getStudentId());
+        if (student != null) {
+            standings.put(student.getId(), calculateStanding(student, enrollments));
+        }
     }
 
     /**
-     * Calculates the total completed credits for a student.
-     * @param studentId the student ID
-     * @return the total completed credits
+     * Computes the academic standing of a student from enrollments that have already been loaded.
+     * Enrollments must carry their course credits, as returned by getEnrollmentsByStudentId.
+     * @param student the student
+     * @param enrollments the student's enrollments, in the order semesters should be listed
+     * @return the academic standing
      */
-    public int calculateCompletedCredits(int studentId) {
-        List<Enrollment> enrollments = enrollmentDetails.getEnrollmentsByStudentId(studentId);
+    public AcademicStanding calculateStanding(Student student, List<Enrollment> enrollments) {
+        standingsComputed.increment();
+        double totalGradePoints = 0.0;
+        int gradedCredits = 0;
+        int completedCredits = 0;
 
-        int totalCredits = 0;
+        Map<String, SemesterTotals> semesters = new LinkedHashMap<>();
 
         for (Enrollment enrollment : enrollments) {
-            if (enrollment.hasFinalGrade() && !enrollment.getFinalGrade().equals("F")) {
-                Optional<Course> course = courseDetails.getCourseByCode(enrollment.getCourseCode());
-                if (course.isPresent()) {
-                    totalCredits += course.get().getCreditHours();
-                }
+            int credits = enrollment.getCredits();
+            SemesterTotals semester = semesters.computeIfAbsent(
+                    enrollment.getSemester() + " " + enrollment.getYear(),
+                    key -> new SemesterTotals(enrollment.getSemester(), enrollment.getYear()));
+            semester.enrolledCredits += credits;
+
+            if (enrollment.hasFinalGrade()) {
+                double gradePoints = enrollment.getGradePoints() * credits;
+                totalGradePoints += gradePoints;
+                gradedCredits += credits;
+                semester.gradePoints += gradePoints;
+                semester.gradedCredits += credits;
             }
+            if (isCompleted(enrollment)) {
+                completedCredits += credits;
+            }
+        }
+
+        List<AcademicStanding.SemesterStanding> semesterStandings = new ArrayList<>(semesters.size());
+        for (SemesterTotals semester : semesters.values()) {
+            semesterStandings.add(new AcademicStanding.SemesterStanding(semester.semester, semester.year,
+                    semester.gradedCredits > 0 ? semester.gradePoints / semester.gradedCredits : 0.0,
+                    semester.gradedCredits, semester.enrolledCredits));
         }
 
-        return totalCredits;
+        double cgpa = gradedCredits > 0 ? totalGradePoints / gradedCredits : 0.0;
+        return new AcademicStanding(student.getId(), cgpa, gradedCredits, completedCredits,
+                student.getRequiredCredits(), semesterStandings);
     }
 
     /**
@@ -110,25 +314,30 @@ public class GPAService {
         return studentDetails.updateCompletedCredits(studentId, completedCredits);
     }
 
+    /**
+     * Stores the completed credits from an already computed standing.
+     * @param standing the student's academic standing
+     * @return true if successful, false otherwise
+     */
+    public boolean updateStudentCompletedCredits(AcademicStanding standing) {
+        return studentDetails.updateCompletedCredits(standing.getStudentId(), standing.getCompletedCredits());
+    }
+
     /**
      * Gets the academic progress for a student.
      * @param studentId the student ID
      * @return formatted progress string
      */
     public String getAcademicProgress(int studentId) {
-        Optional<com.university.roles.Student> student = studentDetails.getStudentById(studentId);
-        if (student.isEmpty()) {
+        Optional<AcademicStanding> standing = getStoredStanding(studentId);
+        if (standing.isEmpty()) {
             return "Student not found";
         }
 
-        com.university.roles.Student s = student.get();
-        int completedCredits = calculateCompletedCredits(studentId);
-        int requiredCredits = s.getRequiredCredits();
-        double cgpa = calculateCGPA(studentId);
-
+        AcademicStanding s = standing.get();
         return String.format("Progress: %d/%d credits completed (%.1f%%), CGPA: %.2f",
-                completedCredits, requiredCredits,
-                (double) completedCredits / requiredCredits * 100, cgpa);
+                s.getCompletedCredits(), s.getRequiredCredits(),
+                (double) s.getCompletedCredits() / s.getRequiredCredits() * 100, s.getCgpa());
     }
 
     /**
@@ -138,7 +347,7 @@ public class GPAService {
      */
     public boolean isOnAcademicProbation(int studentId) {
         double cgpa = calculateCGPA(studentId);
-        return cgpa < 2.0;
+        return cgpa < StudentStanding.PROBATION_THRESHOLD;
     }
 
     /**
@@ -147,16 +356,18 @@ public class GPAService {
      * @return true if eligible, false otherwise
      */
     public boolean isEligibleForGraduation(int studentId) {
-        Optional<com.university.roles.Student> student = studentDetails.getStudentById(studentId);
-        if (student.isEmpty()) {
-            return false;
-        }
-
-        com.university.roles.Student s = student.get();
-        int completedCredits = calculateCompletedCredits(studentId);
-        double cgpa = calculateCGPA(studentId);
+        return getStoredStanding(studentId)
+                .map(AcademicStanding::isEligibleForGraduation)
+                .orElse(false);
+    }
 
-        return completedCredits >= s.getRequiredCredits() && cgpa >= 2.0;
+    /**
+     * Checks whether an enrollment counts towards completed credits.
+     * @param enrollment the enrollment
+     * @return true if it has a passing final grade
+     */
+    private boolean isCompleted(Enrollment enrollment) {
+        return enrollment.hasFinalGrade() && !enrollment.getFinalGrade().equals("F");
     }
 
     /**
@@ -174,4 +385,20 @@ public class GPAService {
         if (gpa >= 1.0) return "D";
         return "F";
     }
-}
\ No newline at end of file
+
+    /**
+     * Running totals for one semester while computing a standing.
+     */
+    private static final class SemesterTotals {
+        private final String semester;
+        private final int year;
+        private double gradePoints;
+        private int gradedCredits;
+        private int enrolledCredits;
+
+        private SemesterTotals(String semester, int year) {
+            this.semester = semester;
+            this.year = year;
+        }
+    }
+}
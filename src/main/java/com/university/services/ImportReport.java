@@ -0,0 +1,145 @@
+package com.university.services;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Immutable snapshot of a bulk import's progress or outcome.
+ * BulkImportService hands one out after every committed batch and one when the import ends.
+ */
+public class ImportReport {
+
+    private final BulkImportService.Kind kind;
+    private final Path file;
+    private final int resumedAfterLine;
+    private final int rowsRead;
+    private final int imported;
+    private final int rejected;
+    private final List<RowError> errors;
+    private final long elapsedNanos;
+    private final boolean finished;
+    private final String failure;
+    private final Path credentialsFile;
+
+    public ImportReport(BulkImportService.Kind kind, Path file, int resumedAfterLine, int rowsRead, int imported,
+                        int rejected, List<RowError> errors, long elapsedNanos, boolean finished, String failure,
+                        Path credentialsFile) {
+        this.kind = kind;
+        this.file = file;
+        this.resumedAfterLine = resumedAfterLine;
+        this.rowsRead = rowsRead;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.errors = List.copyOf(errors);
+        this.elapsedNanos = elapsedNanos;
+        this.finished = finished;
+        this.failure = failure;
+        this.credentialsFile = credentialsFile;
+    }
+
+    public BulkImportService.Kind getKind() {
+        return kind;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Gets the line an earlier, interrupted run of this import had committed up to.
+     * @return the line number, or 0 if the import started from the beginning
+     */
+    public int getResumedAfterLine() {
+        return resumedAfterLine;
+    }
+
+    /**
+     * Gets the number of data rows processed by this run, not counting rows skipped on resume.
+     * @return the rows processed
+     */
+    public int getRowsRead() {
+        return rowsRead;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Gets the rejected rows and why, in line order. Only the first errors are kept;
+     * getRejected() counts all of them.
+     * @return the row errors
+     */
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /**
+     * Gets the number of rows processed per second of wall-clock time.
+     * @return the throughput
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos > 0 ? rowsRead * 1_000_000_000.0 / elapsedNanos : 0.0;
+    }
+
+    /**
+     * Tells whether the import has ended, either by reaching the end of the file or by failing.
+     * @return true if no more progress will be reported
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Gets why the import stopped early. Everything up to the last committed batch is kept,
+     * and running the import again resumes after it.
+     * @return the failure message, or null if the import did not fail
+     */
+    public String getFailure() {
+        return failure;
+    }
+
+    /**
+     * Gets the file the generated temporary passwords were written to.
+     * @return the credentials file, or null if no passwords were generated
+     */
+    public Path getCredentialsFile() {
+        return credentialsFile;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportReport{" +
+                "kind=" + kind +
+                ", file=" + file.getFileName() +
+                ", resumedAfterLine=" + resumedAfterLine +
+                ", rowsRead=" + rowsRead +
+                ", imported=" + imported +
+                ", rejected=" + rejected +
+                ", elapsedMillis=" + getElapsedMillis() +
+                ", rowsPerSecond=" + String.format("%.0f", getRowsPerSecond()) +
+                (failure != null ? ", failure='" + failure + '\'' : "") +
+                '}';
+    }
+
+    /**
+     * A row that was not imported.
+     * @param line the line number in the CSV file, counting the header as line 1
+     * @param message why the row was rejected
+     */
+    public record RowError(int line, String message) {
+
+        @Override
+        public String toString() {
+            return "line " + line + ": " + message;
+        }
+    }
+}
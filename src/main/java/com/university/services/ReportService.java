@@ -1,17 +1,20 @@
 package com.university.services;
 
 import com.university.data.StudentDetails;
-import com.university.data.CourseDetails;
 import com.university.data.EnrollmentDetails;
 import com.university.data.CourseworkDetails;
+import com.university.data.Gradebook;
 import com.university.roles.Student;
-import com.university.courses.Course;
 import com.university.courses.Enrollment;
 import com.university.courses.CourseworkItem;
-import com.university.courses.CourseworkGrade;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,17 +25,16 @@ import java.util.Optional;
  */
 public class ReportService {
 
+    static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
     private final StudentDetails studentDetails;
-    private final CourseDetails courseDetails;
     private final EnrollmentDetails enrollmentDetails;
     private final CourseworkDetails courseworkDetails;
     private final GPAService gpaService;
 
-    public ReportService(StudentDetails studentDetails, CourseDetails courseDetails,
-                         EnrollmentDetails enrollmentDetails, CourseworkDetails courseworkDetails,
-                         GPAService gpaService) {
+    public ReportService(StudentDetails studentDetails, EnrollmentDetails enrollmentDetails,
+                         CourseworkDetails courseworkDetails, GPAService gpaService) {
         this.studentDetails = studentDetails;
-        this.courseDetails = courseDetails;
         this.enrollmentDetails = enrollmentDetails;
         this.courseworkDetails = courseworkDetails;
         this.gpaService = gpaService;
@@ -44,109 +46,140 @@ public class ReportService {
      * @return formatted report string
      */
     public String generateStudentReport(int studentId) {
+        StringWriter report = new StringWriter();
+        try {
+            if (!writeStudentReport(studentId, report)) {
+                return "Student not found";
+            }
+        } catch (IOException e) {
+            // A StringWriter does not throw
+            throw new UncheckedIOException(e);
+        }
+        return report.toString();
+    }
+
+    /**
+     * Writes a student's academic report. Reads the student, their enrollments and their gradebook,
+     * one query each.
+     * @param studentId the student ID
+     * @param out the writer to write the report to
+     * @return true if the report was written, false if the student was not found
+     * @throws IOException if the writer fails
+     */
+    public boolean writeStudentReport(int studentId, Writer out) throws IOException {
         Optional<Student> studentOpt = studentDetails.getStudentById(studentId);
         if (studentOpt.isEmpty()) {
-            return "Student not found";
+            return false;
         }
 
-        Student student = studentOpt.get();
-        StringBuilder report = new StringBuilder();
+        writeStudentReport(out, studentOpt.get(), enrollmentDetails.getEnrollmentsByStudentId(studentId),
+                courseworkDetails.getGradebook(studentId), LocalDateTime.now().format(TIMESTAMP_FORMAT));
+        return true;
+    }
+
+    /**
+     * Writes a student's academic report from data already loaded, so batch exports can load a
+     * page of students at a time.
+     * @param out the writer to write the report to
+     * @param student the student
+     * @param enrollments the student's enrollments, with course titles and credits
+     * @param gradebook the student's gradebook
+     * @param generatedOn the timestamp to print in the footer
+     * @throws IOException if the writer fails
+     */
+    void writeStudentReport(Writer out, Student student, List<Enrollment> enrollments, Gradebook gradebook,
+                            String generatedOn) throws IOException {
+        ComputationEvent event = ComputationEvent.start("ReportService", "writeStudentReport", student.getId());
+        try {
+            renderStudentReport(new ReportWriter(out), student, enrollments, gradebook, generatedOn);
+        } finally {
+            event.finish(1);
+        }
+    }
+
+    private void renderStudentReport(ReportWriter report, Student student, List<Enrollment> enrollments,
+                                     Gradebook gradebook, String generatedOn) throws IOException {
 
         // Header
-        report.append("=".repeat(80)).append("\n");
-        report.append("ACADEMIC REPORT\n");
-        report.append("=".repeat(80)).append("\n\n");
+        report.rule('=', 80).newLine();
+        report.text("ACADEMIC REPORT").newLine();
+        report.rule('=', 80).newLine().newLine();
 
         // Student Profile
-        report.append("STUDENT PROFILE\n");
-        report.append("-".repeat(40)).append("\n");
-        report.append(String.format("Name: %s\n", student.getName()));
-        report.append(String.format("Student ID: %d\n", student.getId()));
-        report.append(String.format("Program: %s\n", student.getProgram()));
-        report.append(String.format("Username: %s\n", student.getUsername()));
-        report.append("\n");
+        report.text("STUDENT PROFILE").newLine();
+        report.rule('-', 40).newLine();
+        report.text("Name: ").text(student.getName()).newLine();
+        report.text("Student ID: ").text(student.getId()).newLine();
+        report.text("Program: ").text(student.getProgram()).newLine();
+        report.text("Username: ").text(student.getUsername()).newLine();
+        report.newLine();
 
         // Academic Progress
-        report.append("ACADEMIC PROGRESS\n");
-        report.append("-".repeat(40)).append("\n");
-        int completedCredits = gpaService.calculateCompletedCredits(studentId);
-        report.append(String.format("Completed Credits: %d\n", completedCredits));
-        report.append(String.format("Required Credits: %d\n", student.getRequiredCredits()));
-        report.append(String.format("Remaining Credits: %d\n", student.getRemainingCredits()));
-        report.append(String.format("CGPA: %.2f\n", gpaService.calculateCGPA(studentId)));
-        report.append(String.format("Academic Standing: %s\n",
-                gpaService.isOnAcademicProbation(studentId) ? "PROBATION" : "GOOD STANDING"));
-        report.append(String.format("Graduation Eligibility: %s\n",
-                gpaService.isEligibleForGraduation(studentId) ? "ELIGIBLE" : "NOT ELIGIBLE"));
-        report.append("\n");
+        report.text("ACADEMIC PROGRESS").newLine();
+        report.rule('-', 40).newLine();
+        AcademicStanding standing = gpaService.calculateStanding(student, enrollments);
+        report.text("Completed Credits: ").text(standing.getCompletedCredits()).newLine();
+        report.text("Required Credits: ").text(student.getRequiredCredits()).newLine();
+        report.text("Remaining Credits: ").text(student.getRemainingCredits()).newLine();
+        report.text("CGPA: ").fixed(standing.getCgpa()).newLine();
+        report.text("Academic Standing: ").text(standing.isOnProbation() ? "PROBATION" : "GOOD STANDING").newLine();
+        report.text("Graduation Eligibility: ")
+                .text(standing.isEligibleForGraduation() ? "ELIGIBLE" : "NOT ELIGIBLE").newLine();
+        report.newLine();
 
         // Course Enrollments
-        report.append("COURSE ENROLLMENTS\n");
-        report.append("-".repeat(40)).append("\n");
-        List<Enrollment> enrollments = enrollmentDetails.getEnrollmentsByStudentId(studentId);
+        report.text("COURSE ENROLLMENTS").newLine();
+        report.rule('-', 40).newLine();
 
         if (enrollments.isEmpty()) {
-            report.append("No course enrollments found.\n");
+            report.text("No course enrollments found.").newLine();
         } else {
-            report.append(String.format("%-10s %-30s %-10s %-6s %-10s\n",
-                    "Code", "Title", "Semester", "Year", "Grade"));
-            report.append("-".repeat(80)).append("\n");
+            report.column("Code", 10).text(" ").column("Title", 30).text(" ").column("Semester", 10).text(" ")
+                    .column("Year", 6).text(" ").column("Grade", 10).newLine();
+            report.rule('-', 80).newLine();
 
             for (Enrollment enrollment : enrollments) {
-                Optional<Course> courseOpt = courseDetails.getCourseByCode(enrollment.getCourseCode());
-                if (courseOpt.isPresent()) {
-                    Course course = courseOpt.get();
-                    report.append(String.format("%-10s %-30s %-10s %-6d %-10s\n",
-                            course.getCourseCode(),
-                            course.getTitle().length() > 28 ? course.getTitle().substring(0, 27) + "..." : course.getTitle(),
-                            enrollment.getSemester(),
-                            enrollment.getYear(),
-                            enrollment.getFinalGrade() != null ? enrollment.getFinalGrade() : "N/A"));
-                }
+                report.column(enrollment.getCourseCode(), 10).text(" ")
+                        .column(ReportWriter.truncate(enrollment.getCourseTitle(), 28), 30).text(" ")
+                        .column(enrollment.getSemester(), 10).text(" ")
+                        .column(enrollment.getYear(), 6).text(" ")
+                        .column(enrollment.getFinalGrade() != null ? enrollment.getFinalGrade() : "N/A", 10).newLine();
             }
         }
-        report.append("\n");
+        report.newLine();
 
         // Coursework Details
-        report.append("COURSEWORK DETAILS\n");
-        report.append("-".repeat(40)).append("\n");
+        report.text("COURSEWORK DETAILS").newLine();
+        report.rule('-', 40).newLine();
 
         for (Enrollment enrollment : enrollments) {
-            List<CourseworkGrade> grades = courseworkDetails.getCourseworkGradesByStudentAndCourse(
-                    studentId, enrollment.getCourseCode());
-            List<CourseworkItem> items = courseworkDetails.getCourseworkItemsByCourse(enrollment.getCourseCode());
-
-            if (!grades.isEmpty()) {
-                report.append(String.format("\n%s - %s\n", enrollment.getCourseCode(),
-                        courseDetails.getCourseByCode(enrollment.getCourseCode()).map(Course::getTitle).orElse("")));
-                report.append(String.format("%-30s %-10s %-10s %-10s\n",
-                        "Item", "Type", "Marks", "Percentage"));
-                report.append("-".repeat(70)).append("\n");
-
-                for (CourseworkGrade grade : grades) {
-                    Optional<CourseworkItem> itemOpt = items.stream()
-                            .filter(item -> item.getItemId() == grade.getItemId())
-                            .findFirst();
-
-                    if (itemOpt.isPresent()) {
-                        CourseworkItem item = itemOpt.get();
-                        double percentage = grade.calculatePercentage(item.getTotalMarks());
-                        report.append(String.format("%-30s %-10s %-10.1f %-10.1f%%\n",
-                                item.getTitle().length() > 28 ? item.getTitle().substring(0, 27) + "..." : item.getTitle(),
-                                item.getType(),
-                                grade.getMarksObtained(),
-                                percentage));
-                    }
+            List<Gradebook.Entry> graded = new ArrayList<>();
+            for (Gradebook.Entry entry : gradebook.getEntries(enrollment.getCourseCode())) {
+                if (entry.isGraded()) {
+                    graded.add(entry);
+                }
+            }
+
+            if (!graded.isEmpty()) {
+                report.newLine().text(enrollment.getCourseCode()).text(" - ").text(enrollment.getCourseTitle()).newLine();
+                report.column("Item", 30).text(" ").column("Type", 10).text(" ").column("Marks", 10).text(" ")
+                        .column("Percentage", 10).newLine();
+                report.rule('-', 70).newLine();
+
+                for (Gradebook.Entry entry : graded) {
+                    CourseworkItem item = entry.getItem();
+                    report.column(ReportWriter.truncate(item.getTitle(), 28), 30).text(" ")
+                            .column(item.getType(), 10).text(" ")
+                            .column(entry.getMarksObtained(), 1, 10).text(" ")
+                            .column(entry.getPercentage(), 1, 10).text("%").newLine();
                 }
             }
         }
 
         // Footer
-        report.append("\n").append("=".repeat(80)).append("\n");
-        report.append("Report generated on: ").append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))).append("\n");
-        report.append("=".repeat(80)).append("\n");
-
-        return report.toString();
+        report.newLine().rule('=', 80).newLine();
+        report.text("Report generated on: ").text(generatedOn).newLine();
+        report.rule('=', 80).newLine();
     }
 
     /**
@@ -154,6 +187,7 @@ public class ReportService {
      * @return formatted summary report string
      */
     public String generateAdvisorSummaryReport() {
+        ComputationEvent event = ComputationEvent.start("ReportService", "generateAdvisorSummaryReport", 0);
         StringBuilder report = new StringBuilder();
 
         // Header
@@ -164,33 +198,36 @@ public class ReportService {
         // Student Summary
         report.append("STUDENT SUMMARY\n");
         report.append("-".repeat(40)).append("\n");
-        List<Student> students = studentDetails.getAllStudents();
+        // Students are read a page at a time, so only the report text grows with the cohort
+        int[] studentCount = {0};
+        gpaService.forEachStanding((student, standing) -> {
+            if (studentCount[0]++ == 0) {
+                report.append(String.format("%-25s %-15s %-10s %-10s %-10s %-15s\n",
+                        "Name", "Program", "Credits", "CGPA", "Status", "Graduation"));
+                report.append("-".repeat(100)).append("\n");
+            }
 
-        if (students.isEmpty()) {
+            int completedCredits = standing.getCompletedCredits();
+            double cgpa = standing.getCgpa();
+            String status = standing.isOnProbation() ? "PROBATION" : "GOOD";
+            String graduation = standing.isEligibleForGraduation() ? "ELIGIBLE" : "NOT ELIGIBLE";
+
+            report.append(String.format("%-25s %-15s %-10d %-10.2f %-10s %-15s\n",
+                    student.getName().length() > 23 ? student.getName().substring(0, 22) + "..." : student.getName(),
+                    student.getProgram().length() > 13 ? student.getProgram().substring(0, 12) + "..." : student.getProgram(),
+                    completedCredits, cgpa, status, graduation));
+        });
+
+        if (studentCount[0] == 0) {
             report.append("No students found.\n");
-        } else {
-            report.append(String.format("%-25s %-15s %-10s %-10s %-10s %-15s\n",
-                    "Name", "Program", "Credits", "CGPA", "Status", "Graduation"));
-            report.append("-".repeat(100)).append("\n");
-
-            for (Student student : students) {
-                int completedCredits = gpaService.calculateCompletedCredits(student.getId());
-                double cgpa = gpaService.calculateCGPA(student.getId());
-                String status = gpaService.isOnAcademicProbation(student.getId()) ? "PROBATION" : "GOOD";
-                String graduation = gpaService.isEligibleForGraduation(student.getId()) ? "ELIGIBLE" : "NOT ELIGIBLE";
-
-                report.append(String.format("%-25s %-15s %-10d %-10.2f %-10s %-15s\n",
-                        student.getName().length() > 23 ? student.getName().substring(0, 22) + "..." : student.getName(),
-                        student.getProgram().length() > 13 ? student.getProgram().substring(0, 12) + "..." : student.getProgram(),
-                        completedCredits, cgpa, status, graduation));
-            }
         }
 
         // Footer
         report.append("\n").append("=".repeat(80)).append("\n");
-        report.append("Report generated on: ").append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))).append("\n");
+        report.append("Report generated on: ").append(LocalDateTime.now().format(TIMESTAMP_FORMAT)).append("\n");
         report.append("=".repeat(80)).append("\n");
 
+        event.finish(studentCount[0]);
         return report.toString();
     }
 
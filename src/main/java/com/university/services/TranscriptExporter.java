@@ -0,0 +1,250 @@
+package com.university.services;
+
+import com.university.courses.Enrollment;
+import com.university.data.CachingCourseworkDetails;
+import com.university.data.CourseworkDetails;
+import com.university.data.DatabaseConnection;
+import com.university.data.EnrollmentDetails;
+import com.university.data.DetailsProvider;
+import com.university.data.Gradebook;
+import com.university.data.StudentDetails;
+import com.university.roles.Student;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes the academic report of every student, either as one file per student in a directory or
+ * as entries of a zip file.
+ * Students are read a page at a time in ID order. Each page is rendered on its own virtual thread,
+ * which reads the page's enrollments and gradebooks with one query each and streams every report
+ * straight to its file. A semaphore bounds the pages in flight, so the read pool is not flooded and
+ * memory stays flat however large the cohort is. Course titles and credits come with the
+ * enrollments, so no page reads the course catalog. To export without the UI:
+ * <pre>java -cp ... com.university.services.TranscriptExporter &lt;directory or file.zip&gt;</pre>
+ */
+public class TranscriptExporter {
+
+    private static final int PAGE_SIZE = Integer.getInteger("university.transcripts.pageSize", 500);
+    private static final int PARALLELISM = Integer.getInteger("university.transcripts.parallelism",
+            Runtime.getRuntime().availableProcessors());
+
+    private final StudentDetails studentDetails;
+    private final EnrollmentDetails enrollmentDetails;
+    private final CourseworkDetails courseworkDetails;
+    private final ReportService reportService;
+
+    public TranscriptExporter(StudentDetails studentDetails, EnrollmentDetails enrollmentDetails,
+                              CourseworkDetails courseworkDetails, ReportService reportService) {
+        this.studentDetails = studentDetails;
+        this.enrollmentDetails = enrollmentDetails;
+        this.courseworkDetails = courseworkDetails;
+        this.reportService = reportService;
+    }
+
+    /**
+     * Exports the transcripts of all students.
+     * Runs on the calling thread, which must not be the JavaFX Application Thread.
+     * @param target a directory, created if needed, or a file whose name ends in .zip
+     * @param progress receives a snapshot after every page, one call at a time
+     * @return the final progress; check failure() for an export that stopped early
+     */
+    public Progress exportAll(Path target, Consumer<Progress> progress) {
+        long start = System.nanoTime();
+        boolean zip = target.getFileName().toString().toLowerCase().endsWith(".zip");
+        String generatedOn = LocalDateTime.now().format(ReportService.TIMESTAMP_FORMAT);
+        AtomicInteger written = new AtomicInteger();
+        AtomicReference<String> failure = new AtomicReference<>();
+        Semaphore pagesInFlight = new Semaphore(PARALLELISM);
+
+        try {
+            if (!zip) {
+                Files.createDirectories(target);
+            } else if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+
+            try (ZipOutputStream zipOut = zip
+                         ? new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(target), 1 << 16))
+                         : null;
+                 ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+                int lastId = 0;
+                while (failure.get() == null) {
+                    List<Student> page = studentDetails.getStudentsAfterId(lastId, PAGE_SIZE);
+                    if (page.isEmpty()) {
+                        break;
+                    }
+                    lastId = page.get(page.size() - 1).getId();
+
+                    pagesInFlight.acquire();
+                    executor.submit(() -> {
+                        try {
+                            if (failure.get() == null) {
+                                writePage(page, target, zipOut, generatedOn);
+                                Progress snapshot = new Progress(target, written.addAndGet(page.size()),
+                                        System.nanoTime() - start, false, null);
+                                synchronized (progress) {
+                                    progress.accept(snapshot);
+                                }
+                            }
+                        } catch (IOException | RuntimeException e) {
+                            failure.compareAndSet(null, e.getMessage() != null ? e.getMessage() : e.toString());
+                        } finally {
+                            pagesInFlight.release();
+                        }
+                    });
+                }
+                // Closing the executor waits for the pages still in flight
+            }
+        } catch (IOException e) {
+            failure.compareAndSet(null, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, "interrupted");
+        }
+
+        if (failure.get() != null) {
+            System.err.println("Error exporting transcripts: " + failure.get());
+        }
+        return new Progress(target, written.get(), System.nanoTime() - start, true, failure.get());
+    }
+
+    /**
+     * Renders one page of students. Reports go straight to their files for a directory export;
+     * for a zip they are rendered into memory and added as entries under the zip's lock.
+     */
+    private void writePage(List<Student> page, Path target, ZipOutputStream zipOut, String generatedOn)
+            throws IOException {
+        List<Integer> studentIds = new ArrayList<>(page.size());
+        for (Student student : page) {
+            studentIds.add(student.getId());
+        }
+
+        Map<Integer, List<Enrollment>> enrollments = new HashMap<>(page.size() * 2);
+        enrollmentDetails.forEachEnrollment(studentIds, enrollment ->
+                enrollments.computeIfAbsent(enrollment.getStudentId(), id -> new ArrayList<>()).add(enrollment));
+        Map<Integer, Gradebook> gradebooks = courseworkDetails.getGradebooks(studentIds);
+
+        if (zipOut == null) {
+            for (Student student : page) {
+                try (Writer out = Files.newBufferedWriter(target.resolve(fileName(student)), StandardCharsets.UTF_8)) {
+                    writeReport(out, student, enrollments, gradebooks, generatedOn);
+                }
+            }
+            return;
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(page.size() * 4096);
+        List<String> names = new ArrayList<>(page.size());
+        int[] ends = new int[page.size()];
+        Writer out = new OutputStreamWriter(buffer, StandardCharsets.UTF_8);
+        for (int i = 0; i < page.size(); i++) {
+            writeReport(out, page.get(i), enrollments, gradebooks, generatedOn);
+            out.flush();
+            names.add(fileName(page.get(i)));
+            ends[i] = buffer.size();
+        }
+
+        byte[] bytes = buffer.toByteArray();
+        synchronized (zipOut) {
+            int from = 0;
+            for (int i = 0; i < ends.length; i++) {
+                zipOut.putNextEntry(new ZipEntry(names.get(i)));
+                zipOut.write(bytes, from, ends[i] - from);
+                zipOut.closeEntry();
+                from = ends[i];
+            }
+        }
+    }
+
+    private void writeReport(Writer out, Student student, Map<Integer, List<Enrollment>> enrollments,
+                             Map<Integer, Gradebook> gradebooks, String generatedOn) throws IOException {
+        reportService.writeStudentReport(out, student, enrollments.getOrDefault(student.getId(), List.of()),
+                gradebooks.getOrDefault(student.getId(), new Gradebook(student.getId(), List.of())), generatedOn);
+    }
+
+    /**
+     * Names a transcript file after the student's ID and name, keeping only characters safe in file names.
+     */
+    static String fileName(Student student) {
+        StringBuilder name = new StringBuilder("transcript_").append(student.getId()).append('_');
+        for (int i = 0; i < student.getName().length(); i++) {
+            char c = student.getName().charAt(i);
+            name.append(Character.isLetterOrDigit(c) || c == '-' ? c : '_');
+        }
+        return name.append(".txt").toString();
+    }
+
+    /**
+     * How far an export has got.
+     * @param target the directory or zip file being written
+     * @param written the number of transcripts written so far
+     * @param elapsedNanos the wall-clock time since the export started
+     * @param finished true if no more progress will be reported
+     * @param failure why the export stopped early, or null if it did not fail
+     */
+    public record Progress(Path target, int written, long elapsedNanos, boolean finished, String failure) {
+
+        public long elapsedMillis() {
+            return elapsedNanos / 1_000_000;
+        }
+
+        /**
+         * Gets the number of transcripts written per second of wall-clock time.
+         * @return the throughput
+         */
+        public double transcriptsPerSecond() {
+            return elapsedNanos > 0 ? written * 1_000_000_000.0 / elapsedNanos : 0.0;
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: TranscriptExporter <directory or file.zip>");
+            System.exit(1);
+        }
+
+        DatabaseConnection dbConnection = DatabaseConnection.getInstance();
+        if (!dbConnection.initializeDatabase()) {
+            System.exit(1);
+        }
+        StudentDetails studentDetails = DetailsProvider.students();
+        EnrollmentDetails enrollmentDetails = DetailsProvider.enrollments();
+        CourseworkDetails courseworkDetails = CachingCourseworkDetails.getInstance();
+        GPAService gpaService = new GPAService(enrollmentDetails, studentDetails);
+        TranscriptExporter exporter = new TranscriptExporter(studentDetails, enrollmentDetails, courseworkDetails,
+                new ReportService(studentDetails, enrollmentDetails, courseworkDetails, gpaService));
+
+        Progress result = exporter.exportAll(Path.of(args[0]), progress ->
+                System.out.printf("  %,d transcripts, %,.0f/s%n", progress.written(), progress.transcriptsPerSecond()));
+        dbConnection.closeConnection();
+
+        System.out.printf("Wrote %,d transcripts to %s in %,d ms (%,.0f/s)%n", result.written(), result.target(),
+                result.elapsedMillis(), result.transcriptsPerSecond());
+        if (result.failure() != null) {
+            System.err.println("Export stopped: " + result.failure());
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+}
@@ -5,15 +5,14 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import com.university.roles.Advisor;
-import com.university.roles.Student;
+import com.university.data.StudentSummary;
 import com.university.courses.Course;
 import com.university.courses.Enrollment;
 import com.university.data.StudentDetails;
 import com.university.data.CourseDetails;
 import com.university.data.EnrollmentDetails;
-import com.university.data.StudentSqlDetails;
-import com.university.data.CourseSqlDetails;
-import com.university.data.EnrollmentSqlDetails;
+import com.university.data.DetailsProvider;
+import com.university.data.CachingCourseDetails;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,10 +21,10 @@ import java.util.Optional;
  * Controller for managing course enrollments.
  * Allows advisors to enroll students in courses and manage existing enrollments.
  */
-public class AdvisorCourseEnrollmentController {
+public class AdvisorCourseEnrollmentController implements RefreshableView {
 
     @FXML
-    private ComboBox<Student> studentComboBox;
+    private ComboBox<StudentSummary> studentComboBox;
 
     @FXML
     private Button loadEnrollmentsButton;
@@ -73,12 +72,15 @@ public class AdvisorCourseEnrollmentController {
     private StudentDetails studentDetails;
     private CourseDetails courseDetails;
     private EnrollmentDetails enrollmentDetails;
+    private final AsyncLoader.Slot studentsLoad = AsyncLoader.getInstance().newSlot();
+    private final AsyncLoader.Slot coursesLoad = AsyncLoader.getInstance().newSlot();
+    private final AsyncLoader.Slot enrollmentsLoad = AsyncLoader.getInstance().newSlot();
 
     public void setAdvisor(Advisor advisor) {
         this.currentAdvisor = advisor;
-        this.studentDetails = new StudentSqlDetails();
-        this.courseDetails = new CourseSqlDetails();
-        this.enrollmentDetails = new EnrollmentSqlDetails();
+        this.studentDetails = DetailsProvider.students();
+        this.courseDetails = CachingCourseDetails.getInstance();
+        this.enrollmentDetails = DetailsProvider.enrollments();
         initializeControls();
         loadStudents();
         loadCourses();
@@ -86,6 +88,12 @@ public class AdvisorCourseEnrollmentController {
         initializeTable();
     }
 
+    @Override
+    public void refresh() {
+        loadStudents();
+        loadCourses();
+    }
+
     private void initializeControls() {
         // Set current year as default
         yearField.setText(String.valueOf(java.time.Year.now().getValue()));
@@ -99,51 +107,32 @@ public class AdvisorCourseEnrollmentController {
     }
 
     private void loadStudents() {
-        try {
-            List<Student> students = studentDetails.getAllStudents();
-            studentComboBox.getItems().clear();
-            studentComboBox.getItems().addAll(students);
+        studentsLoad.load(studentDetails::getStudentSummaries, students -> {
+            StudentSummary previous = studentComboBox.getValue();
+            studentComboBox.getItems().setAll(students);
 
             if (!students.isEmpty()) {
-                studentComboBox.setValue(students.get(0));
+                studentComboBox.setValue(RefreshableView.reselect(students, previous, StudentSummary::id));
             }
-        } catch (Exception e) {
-            statusLabel.setText("Error loading students: " + e.getMessage());
-        }
+        }, e -> statusLabel.setText("Error loading students: " + e.getMessage()));
     }
 
     private void loadCourses() {
-        try {
-            List<Course> courses = courseDetails.getAllCourses();
-            courseComboBox.getItems().clear();
-            courseComboBox.getItems().addAll(courses);
+        coursesLoad.load(courseDetails::getAllCourses, courses -> {
+            Course previous = courseComboBox.getValue();
+            courseComboBox.getItems().setAll(courses);
 
             if (!courses.isEmpty()) {
-                courseComboBox.setValue(courses.get(0));
+                courseComboBox.setValue(RefreshableView.reselect(courses, previous, Course::getCourseCode));
             }
-        } catch (Exception e) {
-            statusLabel.setText("Error loading courses: " + e.getMessage());
-        }
+        }, e -> statusLabel.setText("Error loading courses: " + e.getMessage()));
     }
 
     private void initializeTable() {
         courseCodeColumn.setCellValueFactory(new PropertyValueFactory<>("courseCode"));
-        courseTitleColumn.setCellValueFactory(cellData -> {
-            String courseCode = cellData.getValue().getCourseCode();
-            return javafx.beans.binding.Bindings.createStringBinding(() -> {
-                return courseDetails.getCourseByCode(courseCode)
-                        .map(Course::getTitle)
-                        .orElse("Unknown Course");
-            });
-        });
-        creditsColumn.setCellValueFactory(cellData -> {
-            String courseCode = cellData.getValue().getCourseCode();
-            return javafx.beans.binding.Bindings.createObjectBinding(() -> {
-                return courseDetails.getCourseByCode(courseCode)
-                        .map(Course::getCreditHours)
-                        .orElse(0);
-            });
-        });
+        // Enrollments are loaded joined with their course, so cells never query the database
+        courseTitleColumn.setCellValueFactory(new PropertyValueFactory<>("courseTitle"));
+        creditsColumn.setCellValueFactory(new PropertyValueFactory<>("credits"));
         semesterColumn.setCellValueFactory(new PropertyValueFactory<>("semester"));
         yearColumn.setCellValueFactory(new PropertyValueFactory<>("year"));
         gradeColumn.setCellValueFactory(new PropertyValueFactory<>("finalGrade"));
@@ -174,25 +163,23 @@ public class AdvisorCourseEnrollmentController {
 
     @FXML
     private void loadStudentEnrollments(ActionEvent event) {
-        Student selectedStudent = studentComboBox.getValue();
+        StudentSummary selectedStudent = studentComboBox.getValue();
         if (selectedStudent == null) {
             statusLabel.setText("Please select a student");
             return;
         }
 
-        try {
-            List<Enrollment> enrollments = enrollmentDetails.getEnrollmentsByStudentId(selectedStudent.getId());
-            enrollmentsTable.getItems().clear();
-            enrollmentsTable.getItems().addAll(enrollments);
-            statusLabel.setText("Loaded " + enrollments.size() + " enrollments for " + selectedStudent.getName());
-        } catch (Exception e) {
-            statusLabel.setText("Error loading enrollments: " + e.getMessage());
-        }
+        AsyncLoader.showLoading(enrollmentsTable);
+        enrollmentsLoad.load(() -> enrollmentDetails.getEnrollmentsByStudentId(selectedStudent.id()), enrollments -> {
+            enrollmentsTable.getItems().setAll(enrollments);
+            AsyncLoader.showEmpty(enrollmentsTable, "No enrollments");
+            statusLabel.setText("Loaded " + enrollments.size() + " enrollments for " + selectedStudent.name());
+        }, e -> statusLabel.setText("Error loading enrollments: " + e.getMessage()));
     }
 
     @FXML
     private void enrollStudent(ActionEvent event) {
-        Student selectedStudent = studentComboBox.getValue();
+        StudentSummary selectedStudent = studentComboBox.getValue();
         Course selectedCourse = courseComboBox.getValue();
         String selectedSemester = semesterComboBox.getValue();
         String yearText = yearField.getText();
@@ -203,54 +190,62 @@ public class AdvisorCourseEnrollmentController {
             return;
         }
 
+        int year;
         try {
-            int year = Integer.parseInt(yearText.trim());
+            year = Integer.parseInt(yearText.trim());
+        } catch (NumberFormatException e) {
+            statusLabel.setText("Invalid year format");
+            return;
+        }
+
+        // Create new enrollment
+        Enrollment newEnrollment = new Enrollment();
+        newEnrollment.setStudentId(selectedStudent.id());
+        newEnrollment.setCourseCode(selectedCourse.getCourseCode());
+        newEnrollment.setSemester(selectedSemester);
+        newEnrollment.setYear(year);
+        newEnrollment.setFinalGrade(""); // No grade initially
 
+        enrollButton.setDisable(true);
+        AsyncLoader.getInstance().submit(() -> {
             // Check if student is already enrolled in this course
-            List<Enrollment> existingEnrollments = enrollmentDetails.getEnrollmentsByStudentId(selectedStudent.getId());
+            List<Enrollment> existingEnrollments = enrollmentDetails.getEnrollmentsByStudentId(selectedStudent.id());
             for (Enrollment enrollment : existingEnrollments) {
                 if (enrollment.getCourseCode().equals(selectedCourse.getCourseCode()) &&
                         enrollment.getSemester().equals(selectedSemester) &&
                         enrollment.getYear() == year) {
-                    statusLabel.setText("Student is already enrolled in this course for " + selectedSemester + " " + year);
-                    return;
+                    return "Student is already enrolled in this course for " + selectedSemester + " " + year;
                 }
             }
 
-            // Create new enrollment
-            Enrollment newEnrollment = new Enrollment();
-            newEnrollment.setStudentId(selectedStudent.getId());
-            newEnrollment.setCourseCode(selectedCourse.getCourseCode());
-            newEnrollment.setSemester(selectedSemester);
-            newEnrollment.setYear(year);
-            newEnrollment.setFinalGrade(""); // No grade initially
-
             // Save enrollment
             if (enrollmentDetails.createEnrollment(newEnrollment)) {
-                statusLabel.setText("Successfully enrolled " + selectedStudent.getName() + " in " +
-                        selectedCourse.getCourseCode() + " - " + selectedCourse.getTitle());
-                loadStudentEnrollments(null); // Refresh the table
-            } else {
-                statusLabel.setText("Failed to enroll student");
+                return null;
             }
-
-        } catch (NumberFormatException e) {
-            statusLabel.setText("Invalid year format");
-        } catch (Exception e) {
+            return "Failed to enroll student";
+        }, error -> {
+            enrollButton.setDisable(false);
+            if (error != null) {
+                statusLabel.setText(error);
+                return;
+            }
+            loadStudentEnrollments(null); // Refresh the table
+            statusLabel.setText("Successfully enrolled " + selectedStudent.name() + " in " +
+                    selectedCourse.getCourseCode() + " - " + selectedCourse.getTitle());
+        }, e -> {
+            enrollButton.setDisable(false);
             statusLabel.setText("Error enrolling student: " + e.getMessage());
-        }
+        });
     }
 
     private void removeEnrollment(Enrollment enrollment) {
-        try {
-            if (enrollmentDetails.deleteEnrollment(enrollment.getEnrollmentId())) {
-                statusLabel.setText("Removed enrollment for " + enrollment.getCourseCode());
+        AsyncLoader.getInstance().submit(() -> enrollmentDetails.deleteEnrollment(enrollment.getEnrollmentId()), deleted -> {
+            if (deleted) {
                 loadStudentEnrollments(null); // Refresh the table
+                statusLabel.setText("Removed enrollment for " + enrollment.getCourseCode());
             } else {
                 statusLabel.setText("Failed to remove enrollment");
             }
-        } catch (Exception e) {
-            statusLabel.setText("Error removing enrollment: " + e.getMessage());
-        }
+        }, e -> statusLabel.setText("Error removing enrollment: " + e.getMessage()));
     }
 }
\ No newline at end of file
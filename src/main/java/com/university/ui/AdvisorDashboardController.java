@@ -7,20 +7,20 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.StackPane;
-import javafx.scene.control.ScrollPane;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import javafx.application.Platform;
 import javafx.scene.Node;
 import com.university.roles.Advisor;
-import com.university.roles.Student;
 import com.university.services.ReportService;
 import com.university.services.GPAService;
+import com.university.services.TranscriptExporter;
 import com.university.data.StudentDetails;
-import com.university.data.StudentSqlDetails;
-import com.university.data.CourseSqlDetails;
-import com.university.data.EnrollmentSqlDetails;
-import com.university.data.CourseworkSqlDetails;
+import com.university.data.DetailsProvider;
+import com.university.data.StudentSummary;
+import com.university.data.CachingCourseworkDetails;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.List;
 
@@ -30,6 +30,10 @@ import java.util.List;
  */
 public class AdvisorDashboardController {
 
+    private static final List<String> PRELOADED_VIEWS = List.of(
+            "AdvisorSearchStudent.fxml", "AdvisorStudentDetails.fxml", "AdvisorUpdateGrades.fxml",
+            "AdvisorCourseEnrollment.fxml", "AdvisorFeedback.fxml", "AdvisorManageStudents.fxml");
+
     @FXML
     private Label welcomeLabel;
 
@@ -39,20 +43,32 @@ public class AdvisorDashboardController {
     @FXML
     private StackPane contentPane;
 
+    @FXML
+    private Button exportTranscriptsButton;
+
     private Advisor currentAdvisor;
     private ReportService reportService;
     private GPAService gpaService;
+    private TranscriptExporter transcriptExporter;
     private StudentDetails studentDetails;
+    private final AsyncLoader.Slot summaryLoad = AsyncLoader.getInstance().newSlot();
+    private ViewRegistry views;
 
     public void setAdvisor(Advisor advisor) {
         this.currentAdvisor = advisor;
-        this.studentDetails = new StudentSqlDetails();
-        this.gpaService = new GPAService(new EnrollmentSqlDetails(), new StudentSqlDetails(), new CourseSqlDetails());
-        this.reportService = new ReportService(new StudentSqlDetails(), new CourseSqlDetails(),
-                new EnrollmentSqlDetails(), new CourseworkSqlDetails(), gpaService);
+        this.views = new ViewRegistry("AdvisorDashboard", 0, advisor.getId());
+        this.studentDetails = DetailsProvider.students();
+        this.gpaService = new GPAService(DetailsProvider.enrollments(), DetailsProvider.students());
+        this.reportService = new ReportService(DetailsProvider.students(), DetailsProvider.enrollments(),
+                CachingCourseworkDetails.getInstance(), gpaService);
+        this.transcriptExporter = new TranscriptExporter(studentDetails, DetailsProvider.enrollments(),
+                CachingCourseworkDetails.getInstance(), reportService);
 
         welcomeLabel.setText("Welcome, " + advisor.getName() + " (" + advisor.getDepartment() + ")");
         loadSummary();
+
+        // Parse the views in the background while the summary loads
+        views.preload(PRELOADED_VIEWS);
     }
 
     @FXML
@@ -78,31 +94,8 @@ public class AdvisorDashboardController {
     @FXML
     private void showSearchStudent(ActionEvent event) {
         try {
-            System.out.println("Loading AdvisorSearchStudent.fxml...");
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/AdvisorSearchStudent.fxml"));
-            Parent root = loader.load();
-
-            System.out.println("Getting AdvisorSearchStudentController...");
-            AdvisorSearchStudentController controller = loader.getController();
-
-            System.out.println("Setting advisor data...");
-            controller.setAdvisor(currentAdvisor);
-
-            System.out.println("Adding to content pane...");
-            contentPane.getChildren().clear();
-
-            // Wrap content in ScrollPane
-            ScrollPane scrollPane = new ScrollPane();
-            scrollPane.setContent(root);
-            scrollPane.setFitToWidth(true);
-            scrollPane.setFitToHeight(true);
-            scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-            scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-
-            contentPane.getChildren().add(scrollPane);
-
-            System.out.println("Search student tab loaded successfully!");
-
+            contentPane.getChildren().setAll(views.<AdvisorSearchStudentController>show("AdvisorSearchStudent.fxml",
+                    controller -> controller.setAdvisor(currentAdvisor)));
         } catch (IOException e) {
             System.err.println("Error loading student search: " + e.getMessage());
             e.printStackTrace();
@@ -117,31 +110,8 @@ public class AdvisorDashboardController {
     @FXML
     private void showStudentDetails(ActionEvent event) {
         try {
-            System.out.println("Loading AdvisorStudentDetails.fxml...");
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/AdvisorStudentDetails.fxml"));
-            Parent root = loader.load();
-
-            System.out.println("Getting AdvisorStudentDetailsController...");
-            AdvisorStudentDetailsController controller = loader.getController();
-
-            System.out.println("Setting advisor data...");
-            controller.setAdvisor(currentAdvisor);
-
-            System.out.println("Adding to content pane...");
-            contentPane.getChildren().clear();
-
-            // Wrap content in ScrollPane
-            ScrollPane scrollPane = new ScrollPane();
-            scrollPane.setContent(root);
-            scrollPane.setFitToWidth(true);
-            scrollPane.setFitToHeight(true);
-            scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-            scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-
-            contentPane.getChildren().add(scrollPane);
-
-            System.out.println("Student details tab loaded successfully!");
-
+            contentPane.getChildren().setAll(views.<AdvisorStudentDetailsController>show("AdvisorStudentDetails.fxml",
+                    controller -> controller.setAdvisor(currentAdvisor)));
         } catch (IOException e) {
             System.err.println("Error loading student details: " + e.getMessage());
             e.printStackTrace();
@@ -156,24 +126,8 @@ public class AdvisorDashboardController {
     @FXML
     private void showUpdateGrades(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/AdvisorUpdateGrades.fxml"));
-            Parent root = loader.load();
-
-            AdvisorUpdateGradesController controller = loader.getController();
-            controller.setAdvisor(currentAdvisor);
-
-            contentPane.getChildren().clear();
-
-            // Wrap content in ScrollPane
-            ScrollPane scrollPane = new ScrollPane();
-            scrollPane.setContent(root);
-            scrollPane.setFitToWidth(true);
-            scrollPane.setFitToHeight(true);
-            scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-            scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-
-            contentPane.getChildren().add(scrollPane);
-
+            contentPane.getChildren().setAll(views.<AdvisorUpdateGradesController>show("AdvisorUpdateGrades.fxml",
+                    controller -> controller.setAdvisor(currentAdvisor)));
         } catch (IOException e) {
             showAlert("Error", "Failed to load grade update: " + e.getMessage());
         }
@@ -181,8 +135,13 @@ public class AdvisorDashboardController {
 
     @FXML
     private void generateStudentReport(ActionEvent event) {
+        AsyncLoader.getInstance().submit(studentDetails::getStudentSummaries, this::showStudentReportDialog,
+                e -> showAlert("Error", "Failed to load students: " + e.getMessage()));
+    }
+
+    private void showStudentReportDialog(List<StudentSummary> students) {
         // Create a dialog to select a student
-        Dialog<Student> dialog = new Dialog<>();
+        Dialog<StudentSummary> dialog = new Dialog<>();
         dialog.setTitle("Generate Student Report");
         dialog.setHeaderText("Select a student to generate report for:");
 
@@ -190,16 +149,10 @@ public class AdvisorDashboardController {
         dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
 
         // Create combo box for student selection
-        ComboBox<Student> studentComboBox = new ComboBox<>();
-        try {
-            List<Student> students = studentDetails.getAllStudents();
-            studentComboBox.getItems().addAll(students);
-            if (!students.isEmpty()) {
-                studentComboBox.setValue(students.get(0));
-            }
-        } catch (Exception e) {
-            showAlert("Error", "Failed to load students: " + e.getMessage());
-            return;
+        ComboBox<StudentSummary> studentComboBox = new ComboBox<>();
+        studentComboBox.getItems().addAll(students);
+        if (!students.isEmpty()) {
+            studentComboBox.setValue(students.get(0));
         }
 
         // Enable/disable OK button based on selection
@@ -223,39 +176,38 @@ public class AdvisorDashboardController {
         // Show the dialog and process the result
         dialog.showAndWait().ifPresent(student -> {
             if (student != null) {
-                try {
-                    String report = reportService.generateStudentReport(student.getId());
-
-                    // Show report in a dialog
-                    TextArea reportArea = new TextArea(report);
-                    reportArea.setWrapText(true);
-                    reportArea.setEditable(false);
-
-                    ScrollPane scrollPane = new ScrollPane(reportArea);
-                    scrollPane.setFitToWidth(true);
-                    scrollPane.setFitToHeight(true);
-                    scrollPane.setPrefViewportWidth(700);
-                    scrollPane.setPrefViewportHeight(500);
-
-                    Dialog<ButtonType> reportDialog = new Dialog<>();
-                    reportDialog.setTitle("Academic Report - " + student.getName());
-                    reportDialog.getDialogPane().setContent(scrollPane);
-                    reportDialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, new ButtonType("Export", ButtonBar.ButtonData.OTHER));
-
-                    reportDialog.showAndWait().ifPresent(result -> {
-                        if (result.getButtonData() == ButtonBar.ButtonData.OTHER) {
-                            // Export report
-                            String filename = "student_report_" + student.getId() + "_" + student.getName().replaceAll(" ", "_") + ".txt";
-                            if (reportService.exportReportToText(report, filename)) {
-                                showAlert("Success", "Report exported to " + filename);
-                            } else {
-                                showAlert("Error", "Failed to export report");
-                            }
-                        }
-                    });
-
-                } catch (Exception e) {
-                    showAlert("Error", "Failed to generate report: " + e.getMessage());
+                AsyncLoader.getInstance().submit(() -> reportService.generateStudentReport(student.id()),
+                        report -> showStudentReport(student, report),
+                        e -> showAlert("Error", "Failed to generate report: " + e.getMessage()));
+            }
+        });
+    }
+
+    private void showStudentReport(StudentSummary student, String report) {
+        // Show report in a dialog
+        TextArea reportArea = new TextArea(report);
+        reportArea.setWrapText(true);
+        reportArea.setEditable(false);
+
+        ScrollPane scrollPane = new ScrollPane(reportArea);
+        scrollPane.setFitToWidth(true);
+        scrollPane.setFitToHeight(true);
+        scrollPane.setPrefViewportWidth(700);
+        scrollPane.setPrefViewportHeight(500);
+
+        Dialog<ButtonType> reportDialog = new Dialog<>();
+        reportDialog.setTitle("Academic Report - " + student.name());
+        reportDialog.getDialogPane().setContent(scrollPane);
+        reportDialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, new ButtonType("Export", ButtonBar.ButtonData.OTHER));
+
+        reportDialog.showAndWait().ifPresent(result -> {
+            if (result.getButtonData() == ButtonBar.ButtonData.OTHER) {
+                // Export report
+                String filename = "student_report_" + student.id() + "_" + student.name().replaceAll(" ", "_") + ".txt";
+                if (reportService.exportReportToText(report, filename)) {
+                    showAlert("Success", "Report exported to " + filename);
+                } else {
+                    showAlert("Error", "Failed to export report");
                 }
             }
         });
@@ -264,24 +216,8 @@ public class AdvisorDashboardController {
     @FXML
     private void manageStudents(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/AdvisorManageStudents.fxml"));
-            Parent root = loader.load();
-
-            AdvisorManageStudentsController controller = loader.getController();
-            controller.setAdvisor(currentAdvisor);
-
-            contentPane.getChildren().clear();
-
-            // Wrap content in ScrollPane
-            ScrollPane scrollPane = new ScrollPane();
-            scrollPane.setContent(root);
-            scrollPane.setFitToWidth(true);
-            scrollPane.setFitToHeight(true);
-            scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-            scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-
-            contentPane.getChildren().add(scrollPane);
-
+            contentPane.getChildren().setAll(views.<AdvisorManageStudentsController>show("AdvisorManageStudents.fxml",
+                    controller -> controller.setAdvisor(currentAdvisor)));
         } catch (IOException e) {
             showAlert("Error", "Failed to load student management: " + e.getMessage());
         }
@@ -290,24 +226,8 @@ public class AdvisorDashboardController {
     @FXML
     private void manageCourseEnrollment(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/AdvisorCourseEnrollment.fxml"));
-            Parent root = loader.load();
-
-            AdvisorCourseEnrollmentController controller = loader.getController();
-            controller.setAdvisor(currentAdvisor);
-
-            contentPane.getChildren().clear();
-
-            // Wrap content in ScrollPane
-            ScrollPane scrollPane = new ScrollPane();
-            scrollPane.setContent(root);
-            scrollPane.setFitToWidth(true);
-            scrollPane.setFitToHeight(true);
-            scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-            scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-
-            contentPane.getChildren().add(scrollPane);
-
+            contentPane.getChildren().setAll(views.<AdvisorCourseEnrollmentController>show("AdvisorCourseEnrollment.fxml",
+                    controller -> controller.setAdvisor(currentAdvisor)));
         } catch (IOException e) {
             showAlert("Error", "Failed to load course enrollment: " + e.getMessage());
         }
@@ -316,53 +236,65 @@ public class AdvisorDashboardController {
     @FXML
     private void addFeedback(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/AdvisorFeedback.fxml"));
-            Parent root = loader.load();
-
-            AdvisorFeedbackController controller = loader.getController();
-            controller.setAdvisor(currentAdvisor);
-
-            contentPane.getChildren().clear();
-
-            // Wrap content in ScrollPane
-            ScrollPane scrollPane = new ScrollPane();
-            scrollPane.setContent(root);
-            scrollPane.setFitToWidth(true);
-            scrollPane.setFitToHeight(true);
-            scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-            scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-
-            contentPane.getChildren().add(scrollPane);
-
+            contentPane.getChildren().setAll(views.<AdvisorFeedbackController>show("AdvisorFeedback.fxml",
+                    controller -> controller.setAdvisor(currentAdvisor)));
         } catch (IOException e) {
             showAlert("Error", "Failed to load feedback form: " + e.getMessage());
         }
     }
+    @FXML
+    private void exportAllTranscripts(ActionEvent event) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export All Transcripts");
+        chooser.setInitialFileName("transcripts.zip");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Zip files", "*.zip"));
+        File file = chooser.showSaveDialog(exportTranscriptsButton.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
 
-    private void loadSummary() {
-        try {
-            // Load basic summary information
-            StudentDetails studentDetails = new StudentSqlDetails();
-            int totalStudents = studentDetails.getAllStudents().size();
-
-            int onProbation = 0;
-            int eligibleForGraduation = 0;
+        String buttonText = exportTranscriptsButton.getText();
+        exportTranscriptsButton.setDisable(true);
+        exportTranscriptsButton.setText("Exporting...");
+        AsyncLoader.getInstance().submit(
+                () -> transcriptExporter.exportAll(file.toPath(), progress -> Platform.runLater(() ->
+                        exportTranscriptsButton.setText(String.format("Exported %,d...", progress.written())))),
+                result -> {
+                    exportTranscriptsButton.setDisable(false);
+                    exportTranscriptsButton.setText(buttonText);
+                    if (result.failure() != null) {
+                        showAlert("Error", String.format("Export stopped after %,d transcript(s): %s",
+                                result.written(), result.failure()));
+                    } else {
+                        showAlert("Success", String.format("Exported %,d transcript(s) to %s in %.1f s",
+                                result.written(), file.getName(), result.elapsedMillis() / 1000.0));
+                    }
+                },
+                e -> {
+                    exportTranscriptsButton.setDisable(false);
+                    exportTranscriptsButton.setText(buttonText);
+                    showAlert("Error", "Failed to export transcripts: " + e.getMessage());
+                });
+    }
 
-            for (var student : studentDetails.getAllStudents()) {
-                if (gpaService.isOnAcademicProbation(student.getId())) {
-                    onProbation++;
+    private void loadSummary() {
+        summaryLabel.setText("Loading summary...");
+        summaryLoad.load(() -> {
+            // Count standings a page of students at a time instead of loading the whole cohort
+            int[] counts = new int[3];
+            gpaService.forEachStanding((student, standing) -> {
+                counts[0]++;
+                if (standing.isOnProbation()) {
+                    counts[1]++;
                 }
-                if (gpaService.isEligibleForGraduation(student.getId())) {
-                    eligibleForGraduation++;
+                if (standing.isEligibleForGraduation()) {
+                    counts[2]++;
                 }
-            }
-
-            summaryLabel.setText(String.format("Total Students: %d | On Probation: %d | Eligible for Graduation: %d",
-                    totalStudents, onProbation, eligibleForGraduation));
+            });
 
-        } catch (Exception e) {
-            summaryLabel.setText("Error loading summary information");
-        }
+            return String.format("Total Students: %d | On Probation: %d | Eligible for Graduation: %d",
+                    counts[0], counts[1], counts[2]);
+        }, summaryLabel::setText, e -> summaryLabel.setText("Error loading summary information"));
     }
 
     private void showAlert(String title, String message) {
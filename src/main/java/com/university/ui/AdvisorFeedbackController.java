@@ -5,12 +5,10 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import com.university.roles.Advisor;
 import com.university.data.AdvisorFeedbackDetails;
-import com.university.data.AdvisorFeedbackSqlDetails;
+import com.university.data.DetailsProvider;
 import com.university.data.StudentDetails;
-import com.university.data.StudentSqlDetails;
-import com.university.roles.Student;
+import com.university.data.StudentSummary;
 
-import java.util.List;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -18,10 +16,10 @@ import java.time.format.DateTimeFormatter;
  * Controller for adding advisor feedback.
  * Allows advisors to add notes and feedback for students.
  */
-public class AdvisorFeedbackController {
+public class AdvisorFeedbackController implements RefreshableView {
 
     @FXML
-    private ComboBox<Student> studentComboBox;
+    private ComboBox<StudentSummary> studentComboBox;
 
     @FXML
     private TextArea feedbackTextArea;
@@ -38,31 +36,35 @@ public class AdvisorFeedbackController {
     private Advisor currentAdvisor;
     private StudentDetails studentDetails;
     private AdvisorFeedbackDetails feedbackDetails;
+    private final AsyncLoader.Slot studentsLoad = AsyncLoader.getInstance().newSlot();
 
     public void setAdvisor(Advisor advisor) {
         this.currentAdvisor = advisor;
-        this.studentDetails = new StudentSqlDetails();
-        this.feedbackDetails = new AdvisorFeedbackSqlDetails();
+        this.studentDetails = DetailsProvider.students();
+        this.feedbackDetails = DetailsProvider.feedback();
+        loadStudents();
+    }
+
+    @Override
+    public void refresh() {
         loadStudents();
     }
 
     private void loadStudents() {
-        try {
-            List<Student> students = studentDetails.getAllStudents();
-            studentComboBox.getItems().clear();
-            studentComboBox.getItems().addAll(students);
+        studentComboBox.setPromptText("Loading students...");
+        studentsLoad.load(studentDetails::getStudentSummaries, students -> {
+            StudentSummary previous = studentComboBox.getValue();
+            studentComboBox.getItems().setAll(students);
 
             if (!students.isEmpty()) {
-                studentComboBox.setValue(students.get(0));
+                studentComboBox.setValue(RefreshableView.reselect(students, previous, StudentSummary::id));
             }
-        } catch (Exception e) {
-            statusLabel.setText("Error loading students: " + e.getMessage());
-        }
+        }, e -> statusLabel.setText("Error loading students: " + e.getMessage()));
     }
 
     @FXML
     private void handleAdd(ActionEvent event) {
-        Student selectedStudent = studentComboBox.getValue();
+        StudentSummary selectedStudent = studentComboBox.getValue();
         String feedback = feedbackTextArea.getText().trim();
 
         if (selectedStudent == null) {
@@ -75,27 +77,28 @@ public class AdvisorFeedbackController {
             return;
         }
 
-        try {
-            // Save feedback to database
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-            boolean success = feedbackDetails.addFeedback(
-                    currentAdvisor.getId(),
-                    selectedStudent.getId(),
-                    feedback,
-                    timestamp
-            );
-
+        // Save feedback to database
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        addButton.setDisable(true);
+        statusLabel.setText("Saving feedback...");
+        AsyncLoader.getInstance().submit(() -> feedbackDetails.addFeedback(
+                currentAdvisor.getId(),
+                selectedStudent.id(),
+                feedback,
+                timestamp
+        ), success -> {
+            addButton.setDisable(false);
             if (success) {
-                statusLabel.setText("Feedback saved successfully for " + selectedStudent.getName());
                 clearForm();
+                statusLabel.setText("Feedback saved successfully for " + selectedStudent.name());
             } else {
                 statusLabel.setText("Failed to save feedback");
             }
-
-        } catch (Exception e) {
+        }, e -> {
+            addButton.setDisable(false);
             System.err.println("Error adding feedback: " + e.getMessage());
             statusLabel.setText("Error adding feedback: " + e.getMessage());
-        }
+        });
     }
 
     @FXML
@@ -1,22 +1,33 @@
 package com.university.ui;
 
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.stage.FileChooser;
 import com.university.roles.Advisor;
 import com.university.roles.Student;
+import com.university.data.BulkImportWriter;
+import com.university.data.CachingCourseDetails;
+import com.university.data.CachingCourseworkDetails;
+import com.university.data.DatabaseConnection;
 import com.university.data.StudentDetails;
-import com.university.data.StudentSqlDetails;
+import com.university.data.StudentRosterEntry;
+import com.university.data.DetailsProvider;
+import com.university.services.BulkImportService;
+import com.university.services.ImportReport;
 import com.university.services.PasswordUtil;
 
-import java.util.List;
+import java.io.File;
+import java.util.stream.Collectors;
 
 /**
  * Controller for managing students.
- * Allows advisors to add new students with temporary passwords and view existing students.
+ * Allows advisors to add new students with temporary passwords, import students, enrollments and
+ * coursework grades from CSV files, and view existing students.
  */
-public class AdvisorManageStudentsController {
+public class AdvisorManageStudentsController implements RefreshableView {
 
     @FXML
     private TextField nameField;
@@ -43,45 +54,69 @@ public class AdvisorManageStudentsController {
     private Button addStudentButton;
 
     @FXML
-    private TableView<Student> studentsTable;
+    private TableView<StudentRosterEntry> studentsTable;
 
     @FXML
-    private TableColumn<Student, Integer> idColumn;
+    private TableColumn<StudentRosterEntry, Integer> idColumn;
 
     @FXML
-    private TableColumn<Student, String> nameColumn;
+    private TableColumn<StudentRosterEntry, String> nameColumn;
 
     @FXML
-    private TableColumn<Student, String> usernameColumn;
+    private TableColumn<StudentRosterEntry, String> usernameColumn;
 
     @FXML
-    private TableColumn<Student, String> programColumn;
+    private TableColumn<StudentRosterEntry, String> programColumn;
 
     @FXML
-    private TableColumn<Student, Integer> creditsColumn;
+    private TableColumn<StudentRosterEntry, Integer> creditsColumn;
 
     @FXML
-    private TableColumn<Student, Void> actionsColumn;
+    private TableColumn<StudentRosterEntry, Void> actionsColumn;
 
     @FXML
     private Label statusLabel;
 
+    @FXML
+    private ComboBox<BulkImportService.Kind> importKindComboBox;
+
+    @FXML
+    private Button importButton;
+
+    @FXML
+    private ProgressIndicator importProgressIndicator;
+
+    @FXML
+    private Label importStatusLabel;
+
     private StudentDetails studentDetails;
+    private BulkImportService importService;
     private String generatedPassword;
+    private final AsyncLoader.Slot studentsLoad = AsyncLoader.getInstance().newSlot();
 
     public void setAdvisor(Advisor advisor) {
         // Advisor reference not currently used, but kept for future functionality
-        this.studentDetails = new StudentSqlDetails();
+        this.studentDetails = DetailsProvider.students();
+        this.importService = new BulkImportService(new BulkImportWriter(DatabaseConnection.getInstance()),
+                CachingCourseDetails.getInstance(), CachingCourseworkDetails.getInstance());
+        importKindComboBox.getItems().setAll(BulkImportService.Kind.values());
+        importKindComboBox.setValue(BulkImportService.Kind.STUDENTS);
         initializeTable();
         loadStudents();
     }
 
+    @Override
+    public void refresh() {
+        loadStudents();
+    }
+
     private void initializeTable() {
-        idColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
-        nameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
-        usernameColumn.setCellValueFactory(new PropertyValueFactory<>("username"));
-        programColumn.setCellValueFactory(new PropertyValueFactory<>("program"));
-        creditsColumn.setCellValueFactory(new PropertyValueFactory<>("completedCredits"));
+        // Roster entries are records, so columns read their accessors directly
+        idColumn.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(cell.getValue().id()));
+        nameColumn.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(cell.getValue().name()));
+        usernameColumn.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(cell.getValue().username()));
+        programColumn.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(cell.getValue().program()));
+        creditsColumn.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(cell.getValue().completedCredits()));
 
         // Add actions column with reset password button
         actionsColumn.setCellFactory(param -> new TableCell<>() {
@@ -89,7 +124,7 @@ public class AdvisorManageStudentsController {
 
             {
                 resetPasswordButton.setOnAction(event -> {
-                    Student student = getTableView().getItems().get(getIndex());
+                    StudentRosterEntry student = getTableView().getItems().get(getIndex());
                     resetStudentPassword(student);
                 });
             }
@@ -107,14 +142,12 @@ public class AdvisorManageStudentsController {
     }
 
     private void loadStudents() {
-        try {
-            List<Student> students = studentDetails.getAllStudents();
-            studentsTable.getItems().clear();
-            studentsTable.getItems().addAll(students);
+        AsyncLoader.showLoading(studentsTable);
+        studentsLoad.load(studentDetails::getStudentRoster, students -> {
+            studentsTable.getItems().setAll(students);
+            AsyncLoader.showEmpty(studentsTable, "No students");
             statusLabel.setText("Loaded " + students.size() + " students");
-        } catch (Exception e) {
-            statusLabel.setText("Error loading students: " + e.getMessage());
-        }
+        }, e -> statusLabel.setText("Error loading students: " + e.getMessage()));
     }
 
     @FXML
@@ -157,13 +190,20 @@ public class AdvisorManageStudentsController {
             newStudent.setCompletedCredits(0);
 
             // Save student to database
-            if (studentDetails.createStudent(newStudent)) {
-                statusLabel.setText("Student added successfully! Username: " + username + ", Temp Password: " + tempPassword);
-                clearForm();
-                loadStudents(); // Refresh the table
-            } else {
-                statusLabel.setText("Failed to add student. Username may already exist.");
-            }
+            addStudentButton.setDisable(true);
+            AsyncLoader.getInstance().submit(() -> studentDetails.createStudent(newStudent), created -> {
+                addStudentButton.setDisable(false);
+                if (created) {
+                    clearForm();
+                    loadStudents(); // Refresh the table
+                    statusLabel.setText("Student added successfully! Username: " + username + ", Temp Password: " + tempPassword);
+                } else {
+                    statusLabel.setText("Failed to add student. Username may already exist.");
+                }
+            }, e -> {
+                addStudentButton.setDisable(false);
+                statusLabel.setText("Error adding student: " + e.getMessage());
+            });
 
         } catch (NumberFormatException e) {
             statusLabel.setText("Invalid number format for Required Credits");
@@ -172,19 +212,94 @@ public class AdvisorManageStudentsController {
         }
     }
 
-    private void resetStudentPassword(Student student) {
-        try {
-            String newPassword = PasswordUtil.generateRandomPassword(12);
-            String hashedPassword = PasswordUtil.hashPassword(newPassword);
+    @FXML
+    private void importCsv(ActionEvent event) {
+        BulkImportService.Kind kind = importKindComboBox.getValue();
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import " + kind);
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+        File file = chooser.showOpenDialog(importButton.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
 
-            if (studentDetails.updatePassword(student.getId(), hashedPassword)) {
-                statusLabel.setText("Password reset for " + student.getName() + ". New password: " + newPassword);
+        importButton.setDisable(true);
+        importProgressIndicator.setVisible(true);
+        importStatusLabel.setText("Importing " + file.getName() + " (columns: "
+                + String.join(", ", kind.getRequiredColumns()) + ")...");
+        AsyncLoader.getInstance().submit(
+                () -> importService.importFile(file.toPath(), kind, false,
+                        progress -> Platform.runLater(() -> showImportProgress(progress))),
+                this::showImportResult,
+                e -> {
+                    importButton.setDisable(false);
+                    importProgressIndicator.setVisible(false);
+                    importStatusLabel.setText("Error importing " + file.getName() + ": " + e.getMessage());
+                });
+    }
+
+    private void showImportProgress(ImportReport progress) {
+        importStatusLabel.setText(String.format("Importing %s: %,d rows read, %,d imported, %,d rejected (%,.0f rows/s)",
+                progress.getFile().getFileName(), progress.getRowsRead(), progress.getImported(),
+                progress.getRejected(), progress.getRowsPerSecond()));
+    }
+
+    private void showImportResult(ImportReport report) {
+        importButton.setDisable(false);
+        importProgressIndicator.setVisible(false);
+
+        StringBuilder summary = new StringBuilder(String.format("Imported %,d of %,d row(s) from %s in %.1f s (%,.0f rows/s)",
+                report.getImported(), report.getRowsRead(), report.getFile().getFileName(),
+                report.getElapsedMillis() / 1000.0, report.getRowsPerSecond()));
+        if (report.getResumedAfterLine() > 0) {
+            summary.append(", resuming after line ").append(report.getResumedAfterLine());
+        }
+        if (report.getRejected() > 0) {
+            summary.append(String.format("; %,d rejected", report.getRejected()));
+        }
+        if (report.getCredentialsFile() != null) {
+            summary.append(". Temporary passwords: ").append(report.getCredentialsFile());
+        }
+        if (report.getFailure() != null) {
+            summary.append(". Stopped: ").append(report.getFailure()).append(". Import the file again to resume.");
+        }
+        importStatusLabel.setText(summary.toString());
+        loadStudents();
+
+        if (!report.getErrors().isEmpty()) {
+            showImportErrors(report);
+        }
+    }
+
+    private void showImportErrors(ImportReport report) {
+        TextArea errorsArea = new TextArea(report.getErrors().stream()
+                .map(ImportReport.RowError::toString)
+                .collect(Collectors.joining("\n")));
+        errorsArea.setEditable(false);
+        errorsArea.setWrapText(true);
+
+        Alert alert = new Alert(Alert.AlertType.WARNING);
+        alert.setTitle("Import");
+        alert.setHeaderText(String.format("%,d row(s) of %s were not imported", report.getRejected(),
+                report.getFile().getFileName()));
+        alert.setContentText(report.getRejected() > report.getErrors().size()
+                ? "The first " + report.getErrors().size() + " are listed below." : "They are listed below.");
+        alert.getDialogPane().setExpandableContent(errorsArea);
+        alert.getDialogPane().setExpanded(true);
+        alert.showAndWait();
+    }
+
+    private void resetStudentPassword(StudentRosterEntry student) {
+        String newPassword = PasswordUtil.generateRandomPassword(12);
+        String hashedPassword = PasswordUtil.hashPassword(newPassword);
+
+        AsyncLoader.getInstance().submit(() -> studentDetails.updatePassword(student.id(), hashedPassword), updated -> {
+            if (updated) {
+                statusLabel.setText("Password reset for " + student.name() + ". New password: " + newPassword);
             } else {
-                statusLabel.setText("Failed to reset password for " + student.getName());
+                statusLabel.setText("Failed to reset password for " + student.name());
             }
-        } catch (Exception e) {
-            statusLabel.setText("Error resetting password: " + e.getMessage());
-        }
+        }, e -> statusLabel.setText("Error resetting password: " + e.getMessage()));
     }
 
     private void clearForm() {
@@ -1,24 +1,38 @@
 package com.university.ui;
 
+import javafx.animation.PauseTransition;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.util.Duration;
 import com.university.roles.Advisor;
 import com.university.data.StudentDetails;
-import com.university.data.StudentSqlDetails;
-import com.university.roles.Student;
+import com.university.data.DetailsProvider;
+import com.university.data.StudentSummary;
 import com.university.services.GPAService;
-import com.university.data.EnrollmentSqlDetails;
-import com.university.data.CourseSqlDetails;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * Controller for searching students.
  * Allows advisors to find and select students.
+ * Students and their CGPAs are loaded together once. Text searches run against the student search
+ * index as the advisor types and are shown a page at a time in rank order; CGPA filtering and
+ * column sorting work on the loaded rows in memory.
  */
-public class AdvisorSearchStudentController {
+public class AdvisorSearchStudentController implements RefreshableView {
+
+    private static final int PAGE_SIZE = 100;
+    private static final Duration TYPING_PAUSE = Duration.millis(150);
 
     @FXML
     private TextField searchField;
@@ -33,22 +47,25 @@ public class AdvisorSearchStudentController {
     private Button loadAllButton;
 
     @FXML
-    private TableView<Student> studentsTable;
+    private Button moreButton;
+
+    @FXML
+    private TableView<StudentSearchRow> studentsTable;
 
     @FXML
-    private TableColumn<Student, Integer> studentIdColumn;
+    private TableColumn<StudentSearchRow, Integer> studentIdColumn;
 
     @FXML
-    private TableColumn<Student, String> nameColumn;
+    private TableColumn<StudentSearchRow, String> nameColumn;
 
     @FXML
-    private TableColumn<Student, String> programColumn;
+    private TableColumn<StudentSearchRow, String> programColumn;
 
     @FXML
-    private TableColumn<Student, String> usernameColumn;
+    private TableColumn<StudentSearchRow, String> usernameColumn;
 
     @FXML
-    private TableColumn<Student, String> cgpaColumn;
+    private TableColumn<StudentSearchRow, Double> cgpaColumn;
 
     @FXML
     private Label statusLabel;
@@ -56,106 +73,249 @@ public class AdvisorSearchStudentController {
     private Advisor currentAdvisor;
     private StudentDetails studentDetails;
     private GPAService gpaService;
+    private final AsyncLoader.Slot studentsLoad = AsyncLoader.getInstance().newSlot();
+    // Searches get their own slot so clearing or replacing one never cancels the full load
+    private final AsyncLoader.Slot searchLoad = AsyncLoader.getInstance().newSlot();
+    private final PauseTransition typingPause = new PauseTransition(TYPING_PAUSE);
+
+    // Every student from the last full load, with the CGPAs shown for search results too
+    private List<StudentSearchRow> allRows = new ArrayList<>();
+    private boolean loadingAll;
+    private volatile Map<Integer, Double> cgpas = new HashMap<>();
+    private String pagedQuery;
+    private String pagedField;
+
+    private final ObservableList<StudentSearchRow> rows = FXCollections.observableArrayList();
+    private final FilteredList<StudentSearchRow> filteredRows = new FilteredList<>(rows);
+    private final SortedList<StudentSearchRow> sortedRows = new SortedList<>(filteredRows);
 
     public void setAdvisor(Advisor advisor) {
         this.currentAdvisor = advisor;
-        this.studentDetails = new StudentSqlDetails();
-        this.gpaService = new GPAService(new EnrollmentSqlDetails(), new StudentSqlDetails(), new CourseSqlDetails());
-        initializeTable();
+        this.studentDetails = DetailsProvider.students();
+        this.gpaService = new GPAService(DetailsProvider.enrollments(), DetailsProvider.students());
         loadAllStudents();
     }
 
-    private void initializeTable() {
-        System.out.println("DEBUG: Initializing table columns...");
+    @Override
+    public void refresh() {
+        typingPause.stop();
+        loadAllStudents();
+    }
 
+    @FXML
+    public void initialize() {
         studentIdColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
         nameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
         programColumn.setCellValueFactory(new PropertyValueFactory<>("program"));
         usernameColumn.setCellValueFactory(new PropertyValueFactory<>("username"));
 
-        // Custom cell factory for CGPA column
-        cgpaColumn.setCellValueFactory(param -> {
-            Student student = param.getValue();
-            double cgpa = gpaService.calculateCGPA(student.getId());
-            return javafx.beans.binding.Bindings.createStringBinding(() ->
-                    String.format("%.2f", cgpa));
+        // CGPA is carried by the row, so rendering and sorting the column never query the database
+        cgpaColumn.setCellValueFactory(new PropertyValueFactory<>("cgpa"));
+        cgpaColumn.setCellFactory(column -> new TableCell<>() {
+            @Override
+            protected void updateItem(Double cgpa, boolean empty) {
+                super.updateItem(cgpa, empty);
+                setText(empty || cgpa == null ? null : String.format("%.2f", cgpa));
+            }
         });
 
-        System.out.println("DEBUG: Table columns initialized");
+        sortedRows.comparatorProperty().bind(studentsTable.comparatorProperty());
+        studentsTable.setItems(sortedRows);
 
-        searchTypeComboBox.getItems().addAll("Name", "Program", "Username");
+        searchTypeComboBox.getItems().addAll("All Fields", "Name", "Program", "Username", "CGPA");
         searchTypeComboBox.setValue("Name");
 
-        System.out.println("DEBUG: Search combo box initialized");
+        // Search as the advisor types, once typing pauses
+        typingPause.setOnFinished(event -> runSearch());
+        searchField.textProperty().addListener((observable, oldText, newText) -> typingPause.playFromStart());
+        searchTypeComboBox.valueProperty().addListener((observable, oldType, newType) -> runSearch());
+        moreButton.setVisible(false);
     }
 
     @FXML
     private void handleSearch(ActionEvent event) {
+        typingPause.stop();
+        runSearch();
+    }
+
+    private void runSearch() {
         String searchText = searchField.getText().trim();
         String searchType = searchTypeComboBox.getValue();
 
         if (searchText.isEmpty()) {
-            loadAllStudents();
+            showAllRows();
             return;
         }
 
-        try {
-            List<Student> allStudents = studentDetails.getAllStudents();
-            List<Student> filteredStudents = allStudents.stream()
-                    .filter(student -> {
-                        switch (searchType) {
-                            case "Name":
-                                return student.getName().toLowerCase().contains(searchText.toLowerCase());
-                            case "Program":
-                                return student.getProgram().toLowerCase().contains(searchText.toLowerCase());
-                            case "Username":
-                                return student.getUsername().toLowerCase().contains(searchText.toLowerCase());
-                            default:
-                                return false;
-                        }
-                    })
-                    .toList();
-
-            studentsTable.getItems().clear();
-            studentsTable.getItems().addAll(filteredStudents);
-
-            statusLabel.setText("Found " + filteredStudents.size() + " student(s)");
-
-        } catch (Exception e) {
+        if ("CGPA".equals(searchType)) {
+            filterByCgpa(searchText);
+            return;
+        }
+
+        String field = "All Fields".equals(searchType) ? null : searchType.toLowerCase();
+        pagedQuery = searchText;
+        pagedField = field;
+        statusLabel.setText("Searching...");
+        moreButton.setVisible(false);
+        searchLoad.load(() -> toRows(studentDetails.search(searchText, field, 0, PAGE_SIZE)), results -> {
+            // Show the index's rank order until the advisor sorts by a column
+            studentsTable.getSortOrder().clear();
+            filteredRows.setPredicate(null);
+            rows.setAll(results);
+            AsyncLoader.showEmpty(studentsTable, "No matching students");
+            showSearchStatus(results.size());
+        }, e -> statusLabel.setText("Error searching students: " + e.getMessage()));
+    }
+
+    @FXML
+    private void handleMore(ActionEvent event) {
+        String query = pagedQuery;
+        String field = pagedField;
+        int offset = rows.size();
+        moreButton.setDisable(true);
+        searchLoad.load(() -> toRows(studentDetails.search(query, field, offset, PAGE_SIZE)), results -> {
+            moreButton.setDisable(false);
+            rows.addAll(results);
+            showSearchStatus(results.size());
+        }, e -> {
+            moreButton.setDisable(false);
             statusLabel.setText("Error searching students: " + e.getMessage());
+        });
+    }
+
+    private void showSearchStatus(int pageSize) {
+        boolean more = pageSize == PAGE_SIZE;
+        moreButton.setVisible(more);
+        statusLabel.setText("Showing " + rows.size() + (more ? "+" : "") + " match(es) for \"" + pagedQuery + "\"");
+    }
+
+    private void filterByCgpa(String searchText) {
+        Predicate<StudentSearchRow> predicate;
+        try {
+            predicate = cgpaPredicate(searchText);
+        } catch (NumberFormatException e) {
+            statusLabel.setText("Enter a CGPA such as 3.0 (at least) or <2.0 (below)");
+            return;
         }
+
+        searchLoad.cancel();
+        moreButton.setVisible(false);
+        if (loadingAll) {
+            // The filter is applied once the students are in
+            statusLabel.setText("Loading students...");
+            return;
+        }
+        rows.setAll(allRows);
+        filteredRows.setPredicate(predicate);
+        AsyncLoader.showEmpty(studentsTable, "No matching students");
+        statusLabel.setText("Found " + filteredRows.size() + " student(s)");
+    }
+
+    private void showAllRows() {
+        searchLoad.cancel();
+        moreButton.setVisible(false);
+        if (loadingAll) {
+            statusLabel.setText("Loading students...");
+            return;
+        }
+        filteredRows.setPredicate(null);
+        rows.setAll(allRows);
+        statusLabel.setText("Showing all " + rows.size() + " student(s)");
+    }
+
+    /**
+     * Builds the filter for a CGPA search, which matches students at or above the given value,
+     * or below it when the value is prefixed with "<".
+     * @throws NumberFormatException if the search is not a number
+     */
+    private Predicate<StudentSearchRow> cgpaPredicate(String searchText) {
+        String text = searchText.trim();
+        if (text.startsWith("<")) {
+            double below = Double.parseDouble(text.substring(1).trim());
+            return row -> row.getCgpa() < below;
+        }
+        double atLeast = Double.parseDouble(text.startsWith(">=") ? text.substring(2).trim() : text);
+        return row -> row.getCgpa() >= atLeast;
     }
 
     @FXML
     private void handleLoadAll(ActionEvent event) {
+        searchField.clear();
         loadAllStudents();
     }
 
     private void loadAllStudents() {
-        try {
-            System.out.println("DEBUG: Loading all students...");
-            List<Student> students = studentDetails.getAllStudents();
-            System.out.println("DEBUG: Found " + students.size() + " students");
-
-            // Debug print each student
-            for (int i = 0; i < students.size(); i++) {
-                Student s = students.get(i);
-                System.out.println("DEBUG: Student " + i + ": ID=" + s.getId() +
-                        ", Name=" + s.getName() + ", Program=" + s.getProgram() +
-                        ", Username=" + s.getUsername());
+        statusLabel.setText("Loading students...");
+        rows.clear();
+        studentsTable.setPlaceholder(new ProgressIndicator());
+        moreButton.setVisible(false);
+        searchLoad.cancel();
+        loadingAll = true;
+        studentsLoad.load(() -> {
+            cgpas = gpaService.calculateAllCGPAs();
+            return toRows(studentDetails.getStudentSummaries());
+        }, loaded -> {
+            loadingAll = false;
+            showRows(loaded);
+            // A refresh keeps the advisor's search
+            if (!searchField.getText().isBlank()) {
+                runSearch();
             }
+        }, e -> {
+            loadingAll = false;
+            System.err.println("Error loading students: " + e.getMessage());
+            statusLabel.setText("Error loading students: " + e.getMessage());
+        });
+    }
 
-            studentsTable.getItems().clear();
-            studentsTable.getItems().addAll(students);
-            System.out.println("DEBUG: Added " + students.size() + " students to table");
-            System.out.println("DEBUG: Table item count: " + studentsTable.getItems().size());
+    /**
+     * Replaces the loaded rows and clears any search filter.
+     * @param loaded the rows to show
+     */
+    void showRows(List<StudentSearchRow> loaded) {
+        allRows = loaded;
+        filteredRows.setPredicate(null);
+        rows.setAll(loaded);
+        AsyncLoader.showEmpty(studentsTable, "No students found");
+        statusLabel.setText("Loaded " + loaded.size() + " student(s)");
+    }
 
-            statusLabel.setText("Loaded " + students.size() + " student(s)");
+    /**
+     * Pairs students with the CGPAs from the last full load. Runs on the loader thread.
+     */
+    private List<StudentSearchRow> toRows(List<StudentSummary> students) {
+        Map<Integer, Double> known = cgpas;
+        List<StudentSearchRow> result = new ArrayList<>(students.size());
+        for (StudentSummary student : students) {
+            result.add(new StudentSearchRow(student, known.getOrDefault(student.id(), 0.0)));
+        }
+        return result;
+    }
 
-        } catch (Exception e) {
-            System.err.println("Error loading students: " + e.getMessage());
-            e.printStackTrace();
-            statusLabel.setText("Error loading students: " + e.getMessage());
+    TableView<StudentSearchRow> getStudentsTable() {
+        return studentsTable;
+    }
+
+    /**
+     * Display class for a student in the search results, with the CGPA computed when the
+     * results were loaded.
+     */
+    public static class StudentSearchRow {
+        private final StudentSummary summary;
+        private final double cgpa;
+
+        public StudentSearchRow(StudentSummary summary, double cgpa) {
+            this.summary = summary;
+            this.cgpa = cgpa;
         }
+
+        // Getters for JavaFX properties
+        public int getId() { return summary.id(); }
+        public String getName() { return summary.name(); }
+        public String getProgram() { return summary.program(); }
+        public String getUsername() { return summary.username(); }
+        public double getCgpa() { return cgpa; }
+
+        public StudentSummary getSummary() { return summary; }
     }
-}
\ No newline at end of file
+}
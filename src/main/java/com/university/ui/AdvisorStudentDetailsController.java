@@ -6,25 +6,19 @@ import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import com.university.roles.Advisor;
 import com.university.data.StudentDetails;
-import com.university.data.CourseDetails;
 import com.university.data.EnrollmentDetails;
-import com.university.data.StudentSqlDetails;
-import com.university.data.CourseSqlDetails;
-import com.university.data.EnrollmentSqlDetails;
-import com.university.roles.Student;
+import com.university.data.DetailsProvider;
+import com.university.data.StudentSummary;
 import com.university.courses.Enrollment;
-import com.university.courses.Course;
-
-import java.util.List;
 
 /**
  * Controller for viewing student details.
  * Shows comprehensive student academic information.
  */
-public class AdvisorStudentDetailsController {
+public class AdvisorStudentDetailsController implements RefreshableView {
 
     @FXML
-    private ComboBox<Student> studentComboBox;
+    private ComboBox<StudentSummary> studentComboBox;
 
     @FXML
     private Button loadButton;
@@ -61,28 +55,27 @@ public class AdvisorStudentDetailsController {
 
     private Advisor currentAdvisor;
     private StudentDetails studentDetails;
-    private CourseDetails courseDetails;
     private EnrollmentDetails enrollmentDetails;
+    private final AsyncLoader.Slot studentsLoad = AsyncLoader.getInstance().newSlot();
+    private final AsyncLoader.Slot detailsLoad = AsyncLoader.getInstance().newSlot();
 
     public void setAdvisor(Advisor advisor) {
         this.currentAdvisor = advisor;
-        this.studentDetails = new StudentSqlDetails();
-        this.courseDetails = new CourseSqlDetails();
-        this.enrollmentDetails = new EnrollmentSqlDetails();
+        this.studentDetails = DetailsProvider.students();
+        this.enrollmentDetails = DetailsProvider.enrollments();
         initializeTable();
         loadStudents();
     }
 
+    @Override
+    public void refresh() {
+        loadStudents();
+    }
+
     private void initializeTable() {
         courseCodeColumn.setCellValueFactory(new PropertyValueFactory<>("courseCode"));
-        courseTitleColumn.setCellValueFactory(cellData -> {
-            String courseCode = cellData.getValue().getCourseCode();
-            return javafx.beans.binding.Bindings.createStringBinding(() -> {
-                return courseDetails.getCourseByCode(courseCode)
-                        .map(Course::getTitle)
-                        .orElse("Unknown Course");
-            });
-        });
+        // Enrollments are loaded joined with their course, so cells never query the database
+        courseTitleColumn.setCellValueFactory(new PropertyValueFactory<>("courseTitle"));
         semesterColumn.setCellValueFactory(new PropertyValueFactory<>("semester"));
         yearColumn.setCellValueFactory(new PropertyValueFactory<>("year"));
         gradeColumn.setCellValueFactory(cellData -> {
@@ -94,27 +87,24 @@ public class AdvisorStudentDetailsController {
     }
 
     private void loadStudents() {
-        try {
-            System.out.println("Loading students for advisor details...");
-            List<Student> students = studentDetails.getAllStudents();
-            System.out.println("Found " + students.size() + " students");
-
-            studentComboBox.getItems().clear();
-            studentComboBox.getItems().addAll(students);
+        statusLabel.setText("Loading students...");
+        studentsLoad.load(studentDetails::getStudentSummaries, students -> {
+            StudentSummary previous = studentComboBox.getValue();
+            studentComboBox.getItems().setAll(students);
 
             if (!students.isEmpty()) {
-                studentComboBox.setValue(students.get(0));
+                studentComboBox.setValue(RefreshableView.reselect(students, previous, StudentSummary::id));
             }
-        } catch (Exception e) {
+            statusLabel.setText("");
+        }, e -> {
             System.err.println("Error loading students: " + e.getMessage());
-            e.printStackTrace();
             statusLabel.setText("Error loading students: " + e.getMessage());
-        }
+        });
     }
 
     @FXML
     private void handleLoad(ActionEvent event) {
-        Student selectedStudent = studentComboBox.getValue();
+        StudentSummary selectedStudent = studentComboBox.getValue();
         if (selectedStudent == null) {
             statusLabel.setText("Please select a student");
             return;
@@ -123,28 +113,25 @@ public class AdvisorStudentDetailsController {
         loadStudentDetails(selectedStudent);
     }
 
-    private void loadStudentDetails(Student student) {
-        try {
-            // Update student info labels
-            studentNameLabel.setText(student.getName());
-            studentProgramLabel.setText(student.getProgram());
-            studentIdLabel.setText(String.valueOf(student.getId()));
-
-            // Load enrollments
-            List<Enrollment> enrollments = enrollmentDetails.getEnrollmentsByStudentId(student.getId());
-            enrollmentsTable.getItems().clear();
-            enrollmentsTable.getItems().addAll(enrollments);
-
-            statusLabel.setText("Loaded details for " + student.getName());
-
-        } catch (Exception e) {
-            statusLabel.setText("Error loading student details: " + e.getMessage());
-        }
+    private void loadStudentDetails(StudentSummary student) {
+        // Update student info labels
+        studentNameLabel.setText(student.name());
+        studentProgramLabel.setText(student.program());
+        studentIdLabel.setText(String.valueOf(student.id()));
+
+        // Load enrollments
+        statusLabel.setText("Loading details for " + student.name() + "...");
+        AsyncLoader.showLoading(enrollmentsTable);
+        detailsLoad.load(() -> enrollmentDetails.getEnrollmentsByStudentId(student.id()), enrollments -> {
+            enrollmentsTable.getItems().setAll(enrollments);
+            AsyncLoader.showEmpty(enrollmentsTable, "No enrollments");
+            statusLabel.setText("Loaded details for " + student.name());
+        }, e -> statusLabel.setText("Error loading student details: " + e.getMessage()));
     }
 
     @FXML
     private void handleRefresh(ActionEvent event) {
-        Student selectedStudent = studentComboBox.getValue();
+        StudentSummary selectedStudent = studentComboBox.getValue();
         if (selectedStudent == null) {
             statusLabel.setText("Please select a student");
             return;
@@ -11,17 +11,14 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.control.cell.TextFieldTableCell;
 import javafx.util.converter.DoubleStringConverter;
 import com.university.data.StudentDetails;
-import com.university.data.CourseDetails;
 import com.university.data.EnrollmentDetails;
 import com.university.data.CourseworkDetails;
-import com.university.data.StudentSqlDetails;
-import com.university.data.CourseSqlDetails;
-import com.university.data.EnrollmentSqlDetails;
-import com.university.data.CourseworkSqlDetails;
-import com.university.roles.Student;
+import com.university.data.DetailsProvider;
+import com.university.data.CachingCourseworkDetails;
+import com.university.data.Gradebook;
+import com.university.data.StudentSummary;
 import com.university.roles.Advisor;
 import com.university.courses.Enrollment;
-import com.university.courses.Course;
 import com.university.courses.CourseworkGrade;
 import com.university.courses.CourseworkItem;
 import com.university.services.GPAService;
@@ -29,18 +26,18 @@ import com.university.services.GPAService;
 import java.io.IOException;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * Controller for updating student grades.
  * Allows advisors to modify course and coursework grades.
  */
-public class AdvisorUpdateGradesController {
+public class AdvisorUpdateGradesController implements RefreshableView {
 
     @FXML
-    private ComboBox<Student> studentComboBox;
+    private ComboBox<StudentSummary> studentComboBox;
 
     @FXML
     private TabPane gradeTabPane;
@@ -92,34 +89,34 @@ public class AdvisorUpdateGradesController {
 
     private Advisor currentAdvisor;
     private StudentDetails studentDetails;
-    private CourseDetails courseDetails;
     private EnrollmentDetails enrollmentDetails;
     private CourseworkDetails courseworkDetails;
     private GPAService gpaService;
+    private final AsyncLoader.Slot studentsLoad = AsyncLoader.getInstance().newSlot();
+    private final AsyncLoader.Slot gradesLoad = AsyncLoader.getInstance().newSlot();
+    // The student whose grades are in the tables; edits and saves belong to them, whatever the combo box shows
+    private StudentSummary loadedStudent;
 
     public void setAdvisor(Advisor advisor) {
         this.currentAdvisor = advisor;
-        this.studentDetails = new StudentSqlDetails();
-        this.courseDetails = new CourseSqlDetails();
-        this.enrollmentDetails = new EnrollmentSqlDetails();
-        this.courseworkDetails = new CourseworkSqlDetails();
-        this.gpaService = new GPAService(enrollmentDetails, studentDetails, courseDetails);
+        this.studentDetails = DetailsProvider.students();
+        this.enrollmentDetails = DetailsProvider.enrollments();
+        this.courseworkDetails = CachingCourseworkDetails.getInstance();
+        this.gpaService = new GPAService(enrollmentDetails, studentDetails);
         initializeTables();
         loadStudents();
     }
 
+    @Override
+    public void refresh() {
+        loadStudents();
+    }
+
     private void initializeTables() {
         // Course grades table (read-only - calculated from coursework)
         courseGradesTable.setEditable(false);
         courseCodeColumn.setCellValueFactory(new PropertyValueFactory<>("courseCode"));
-        courseTitleColumn.setCellValueFactory(cellData -> {
-            String courseCode = cellData.getValue().getCourseCode();
-            return javafx.beans.binding.Bindings.createStringBinding(() -> {
-                return courseDetails.getCourseByCode(courseCode)
-                        .map(Course::getTitle)
-                        .orElse("Unknown Course");
-            });
-        });
+        courseTitleColumn.setCellValueFactory(new PropertyValueFactory<>("courseTitle"));
         semesterColumn.setCellValueFactory(new PropertyValueFactory<>("semester"));
         yearColumn.setCellValueFactory(new PropertyValueFactory<>("year"));
         gradeColumn.setCellValueFactory(new PropertyValueFactory<>("finalGrade"));
@@ -151,6 +148,7 @@ public class AdvisorUpdateGradesController {
 
             // Update both the CourseworkGradeItem and the underlying CourseworkGrade
             item.setMarksObtained(newMarks);
+            item.markEdited();
 
             // Update the original grade object in memory
             if (item.getOriginalGrade() != null) {
@@ -158,7 +156,7 @@ public class AdvisorUpdateGradesController {
             } else {
                 // If there's no original grade, create one
                 CourseworkGrade newGrade = new CourseworkGrade();
-                newGrade.setStudentId(studentComboBox.getValue().getId());
+                newGrade.setStudentId(loadedStudent.id());
                 newGrade.setItemId(item.getItemId());
                 newGrade.setCourseCode(item.getCourseCode());
                 newGrade.setMarksObtained(newMarks);
@@ -172,22 +170,19 @@ public class AdvisorUpdateGradesController {
     }
 
     private void loadStudents() {
-        try {
-            List<Student> students = studentDetails.getAllStudents();
-            studentComboBox.getItems().clear();
-            studentComboBox.getItems().addAll(students);
+        studentsLoad.load(studentDetails::getStudentSummaries, students -> {
+            StudentSummary previous = studentComboBox.getValue();
+            studentComboBox.getItems().setAll(students);
 
             if (!students.isEmpty()) {
-                studentComboBox.setValue(students.get(0));
+                studentComboBox.setValue(RefreshableView.reselect(students, previous, StudentSummary::id));
             }
-        } catch (Exception e) {
-            statusLabel.setText("Error loading students: " + e.getMessage());
-        }
+        }, e -> statusLabel.setText("Error loading students: " + e.getMessage()));
     }
 
     @FXML
     private void handleLoad(ActionEvent event) {
-        Student selectedStudent = studentComboBox.getValue();
+        StudentSummary selectedStudent = studentComboBox.getValue();
         if (selectedStudent == null) {
             statusLabel.setText("Please select a student");
             return;
@@ -196,234 +191,138 @@ public class AdvisorUpdateGradesController {
         loadGrades(selectedStudent);
     }
 
-    private void recalculateCourseGrade(String courseCode) {
-        try {
-            // Find the enrollment for the current student and course
-            Student selectedStudent = studentComboBox.getValue();
-            if (selectedStudent == null) return;
-
-            List<Enrollment> enrollments = enrollmentDetails.getEnrollmentsByStudentId(selectedStudent.getId());
-            for (Enrollment enrollment : enrollments) {
-                if (enrollment.getCourseCode().equals(courseCode)) {
-                    // Get coursework grades for this course
-                    List<CourseworkGrade> courseworkGrades = courseworkDetails.getCourseworkGradesByStudentAndCourse(
-                            selectedStudent.getId(), courseCode);
-
-                    // Calculate new grade
-                    String calculatedGrade = calculateFinalGrade(courseworkGrades);
+    @FXML
+    private void handleSave(ActionEvent event) {
+        StudentSummary selectedStudent = loadedStudent;
+        if (selectedStudent == null) {
+            statusLabel.setText("Please load a student's grades first");
+            return;
+        }
 
-                    // Update enrollment
-                    enrollment.setFinalGrade(calculatedGrade);
-                    enrollmentDetails.updateFinalGrade(enrollment.getEnrollmentId(), calculatedGrade);
+        // Snapshot only the edited rows before handing them to the loader thread
+        List<CourseworkGradeItem> changedItems = new ArrayList<>();
+        List<CourseworkGrade> changedGrades = new ArrayList<>();
+        for (CourseworkGradeItem item : courseworkGradesTable.getItems()) {
+            if (item.isChanged()) {
+                changedItems.add(item);
+                changedGrades.add(new CourseworkGrade(0, selectedStudent.id(), item.getCourseCode(),
+                        item.getItemId(), item.getMarksObtained()));
+            }
+        }
 
-                    // Refresh the course grades table
-                    courseGradesTable.refresh();
+        if (changedGrades.isEmpty()) {
+            statusLabel.setText("No changes to save");
+            return;
+        }
 
-                    break;
-                }
+        // Final grades follow from the rows that will be stored once this save commits
+        Map<Integer, String> finalGrades = new HashMap<>();
+        for (Enrollment enrollment : courseGradesTable.getItems()) {
+            List<CourseworkGradeItem> stored = courseworkGradesTable.getItems().stream()
+                    .filter(item -> item.getCourseCode().equals(enrollment.getCourseCode()))
+                    .filter(item -> item.isSaved() || item.isChanged())
+                    .collect(Collectors.toList());
+            String calculatedGrade = calculateFinalGrade(stored);
+            if (!calculatedGrade.equals(enrollment.getFinalGrade())) {
+                finalGrades.put(enrollment.getEnrollmentId(), calculatedGrade);
             }
-        } catch (Exception e) {
-            System.err.println("Error recalculating grade for " + courseCode + ": " + e.getMessage());
         }
-    }
 
-    @FXML
-    private void handleSave(ActionEvent event) {
-        Student selectedStudent = studentComboBox.getValue();
-        if (selectedStudent == null) return;
-
-        try {
-            // Save all coursework grades to database (both existing and new)
-            for (CourseworkGradeItem item : courseworkGradesTable.getItems()) {
-                CourseworkGrade grade = item.getOriginalGrade();
-                if (grade != null) {
-                    if (grade.getGradeId() == 0) {
-                        // This is a new grade, create it in database
-                        courseworkDetails.createCourseworkGrade(grade);
-                    } else {
-                        // This is an existing grade, update it
-                        courseworkDetails.updateCourseworkGrade(grade);
-                    }
+        saveButton.setDisable(true);
+        statusLabel.setText("Saving grades...");
+        gradesLoad.cancel();
+        AsyncLoader.getInstance().submit(() -> {
+            // Marks, final grades and completed credits commit together or not at all
+            if (!courseworkDetails.saveGrades(selectedStudent.id(), changedGrades, finalGrades)) {
+                throw new IllegalStateException("the changes were not saved");
+            }
+            return gpaService.calculateCGPA(selectedStudent.id());
+        }, cgpa -> {
+            saveButton.setDisable(false);
+            for (int i = 0; i < changedItems.size(); i++) {
+                changedItems.get(i).markSaved(changedGrades.get(i).getMarksObtained());
+            }
+            for (Enrollment enrollment : courseGradesTable.getItems()) {
+                String finalGrade = finalGrades.get(enrollment.getEnrollmentId());
+                if (finalGrade != null) {
+                    enrollment.setFinalGrade(finalGrade);
                 }
             }
+            courseGradesTable.refresh();
 
-            // Recalculate all course grades to ensure they're up to date
-            List<Enrollment> enrollments = enrollmentDetails.getEnrollmentsByStudentId(selectedStudent.getId());
-            updateCourseGradesFromCoursework(enrollments);
-
-            // Recalculate GPA and update student's completed credits
-            double newCGPA = gpaService.calculateCGPA(selectedStudent.getId());
-            gpaService.updateStudentCompletedCredits(selectedStudent.getId());
-
-            // Refresh the course grades table to show updated grades
-            courseGradesTable.getItems().clear();
-            courseGradesTable.getItems().addAll(enrollments);
-
-            statusLabel.setText(String.format("All grades saved and calculated! New CGPA for %s: %.2f",
-                    selectedStudent.getName(), newCGPA));
-
-        } catch (Exception e) {
+            statusLabel.setText(String.format("Saved %d grade(s)! New CGPA for %s: %.2f",
+                    changedGrades.size(), selectedStudent.name(), cgpa));
+        }, e -> {
+            saveButton.setDisable(false);
             statusLabel.setText("Error saving grades: " + e.getMessage());
             e.printStackTrace();
-        }
+        });
     }
 
-    private void loadGrades(Student student) {
-        try {
+    private void loadGrades(StudentSummary student) {
+        loadedStudent = null;
+        AsyncLoader.showLoading(courseGradesTable);
+        AsyncLoader.showLoading(courseworkGradesTable);
+        statusLabel.setText("Loading grades for " + student.name() + "...");
+
+        gradesLoad.load(() -> {
             // Load course grades
-            List<Enrollment> enrollments = enrollmentDetails.getEnrollmentsByStudentId(student.getId());
-            courseGradesTable.getItems().clear();
-            courseGradesTable.getItems().addAll(enrollments);
+            List<Enrollment> enrollments = enrollmentDetails.getEnrollmentsByStudentId(student.id());
 
-            // Load all coursework items for each enrolled course and create grade records if needed
+            // One query brings every enrolled course's items with the student's marks, if any
+            Gradebook gradebook = courseworkDetails.getGradebook(student.id());
             List<CourseworkGradeItem> allCourseworkItems = new ArrayList<>();
 
-            for (Enrollment enrollment : enrollments) {
-                String courseCode = enrollment.getCourseCode();
-
-                // Get all coursework items for this course
-                List<CourseworkItem> courseItems = courseworkDetails.getCourseworkItemsByCourse(courseCode);
-
-                // Get existing grades for this student in this course
-                List<CourseworkGrade> existingGrades = courseworkDetails.getCourseworkGradesByStudentAndCourse(student.getId(), courseCode);
-                System.out.println("Found " + existingGrades.size() + " existing grades for student " + student.getId() + " in course " + courseCode);
-
-                // Create a map of existing grades by item ID for quick lookup
-                Map<Integer, CourseworkGrade> existingGradeMap = existingGrades.stream()
-                        .collect(Collectors.toMap(CourseworkGrade::getItemId, grade -> grade));
-
-                System.out.println("Coursework items for " + courseCode + ":");
-                for (CourseworkItem item : courseItems) {
-                    System.out.println("  Item ID: " + item.getItemId() + ", Title: " + item.getTitle());
-                }
-
-                System.out.println("Existing grades map:");
-                existingGradeMap.forEach((itemId, grade) -> {
-                    System.out.println("  Item ID: " + itemId + ", Marks: " + grade.getMarksObtained());
-                });
-
-                // For each coursework item, either use existing grade or create a new one
-                for (CourseworkItem item : courseItems) {
-                    CourseworkGrade grade = existingGradeMap.get(item.getItemId());
-
-                    if (grade == null) {
-                        System.out.println("No existing grade found for item ID " + item.getItemId() + ", creating new grade with 0.0");
-                        // Create a new grade record in memory only (don't save to database yet)
-                        grade = new CourseworkGrade();
-                        grade.setStudentId(student.getId());
-                        grade.setItemId(item.getItemId());
-                        grade.setCourseCode(courseCode);
-                        grade.setMarksObtained(0.0); // Default to 0
-                        // Don't save to database here - only save when user clicks Save button
-                    } else {
-                        System.out.println("Found existing grade for item ID " + item.getItemId() + ": " + grade.getMarksObtained());
-                    }
-
-                    // Create the display item
-                    CourseworkGradeItem displayItem = createCourseworkGradeItem(grade);
-                    allCourseworkItems.add(displayItem);
-                }
+            for (Gradebook.Entry entry : gradebook.getEntries()) {
+                // Ungraded items get a grade record in memory only, saved when the user clicks Save
+                CourseworkGrade grade = new CourseworkGrade(entry.getGradeId(), student.id(),
+                        entry.getCourseCode(), entry.getItemId(), entry.getMarksObtained());
+                allCourseworkItems.add(createCourseworkGradeItem(grade, entry.getItem()));
             }
-
-            courseworkGradesTable.getItems().clear();
-            courseworkGradesTable.getItems().addAll(allCourseworkItems);
-
-            statusLabel.setText("Loaded " + allCourseworkItems.size() + " coursework items for " + student.getName());
-
-        } catch (Exception e) {
+            return new LoadedGrades(enrollments, allCourseworkItems);
+        }, loaded -> {
+            courseGradesTable.getItems().setAll(loaded.enrollments);
+            courseworkGradesTable.getItems().setAll(loaded.courseworkItems);
+            loadedStudent = student;
+
+            statusLabel.setText("Loaded " + loaded.courseworkItems.size() + " coursework items for " + student.name());
+        }, e -> {
             statusLabel.setText("Error loading grades: " + e.getMessage());
             e.printStackTrace();
-        }
-    }
-
-    private void updateCourseGradesFromCoursework(List<Enrollment> enrollments) {
-        for (Enrollment enrollment : enrollments) {
-            try {
-                // Get all coursework grades for this student in this course
-                List<CourseworkGrade> courseworkGrades = courseworkDetails.getCourseworkGradesByStudentAndCourse(
-                        enrollment.getStudentId(), enrollment.getCourseCode());
-
-                // Calculate final grade based on coursework marks
-                String calculatedGrade = calculateFinalGrade(courseworkGrades);
-
-                // Update the enrollment with the calculated grade
-                enrollment.setFinalGrade(calculatedGrade);
-                enrollmentDetails.updateFinalGrade(enrollment.getEnrollmentId(), calculatedGrade);
-
-            } catch (Exception e) {
-                System.err.println("Error calculating grade for " + enrollment.getCourseCode() + ": " + e.getMessage());
-            }
-        }
-
-        // Refresh the course grades table to show updated calculated grades
-        courseGradesTable.refresh();
+        });
     }
 
-    private String calculateFinalGrade(List<CourseworkGrade> courseworkGrades) {
-        if (courseworkGrades.isEmpty()) {
-            return "IP"; // In Progress
-        }
-
+    /**
+     * Works out a final grade from a course's coursework rows. Rows never saved and never edited
+     * do not count, matching what is stored in the database.
+     */
+    private static String calculateFinalGrade(List<CourseworkGradeItem> items) {
         double totalMarks = 0.0;
         double totalPossible = 0.0;
 
-        for (CourseworkGrade grade : courseworkGrades) {
-            // Get the coursework item to find total marks
-            try {
-                var courseworkItem = courseworkDetails.getCourseworkItemById(grade.getItemId());
-                if (courseworkItem.isPresent()) {
-                    CourseworkItem item = courseworkItem.get();
-                    totalMarks += grade.getMarksObtained();
-                    totalPossible += item.getTotalMarks();
-                }
-            } catch (Exception e) {
-                System.err.println("Error getting coursework item " + grade.getItemId() + ": " + e.getMessage());
-            }
+        for (CourseworkGradeItem item : items) {
+            totalMarks += item.getMarksObtained();
+            totalPossible += item.getTotalMarks();
         }
 
-        if (totalPossible == 0) {
-            return "IP"; // In Progress
-        }
-
-        double percentage = (totalMarks / totalPossible) * 100;
-
-        // Convert percentage to letter grade (updated to be less generous)
-        if (percentage >= 90) return "A+";
-        if (percentage >= 85) return "A";
-        if (percentage >= 80) return "A-";
-        if (percentage >= 75) return "B+";
-        if (percentage >= 70) return "B";
-        if (percentage >= 65) return "B-";
-        if (percentage >= 60) return "C+";
-        if (percentage >= 55) return "C";
-        if (percentage >= 50) return "C-";
-        if (percentage >= 45) return "D";
-        return "F";
+        return Gradebook.finalGrade(totalMarks, totalPossible);
     }
 
-    private CourseworkGradeItem createCourseworkGradeItem(CourseworkGrade grade) {
+    private CourseworkGradeItem createCourseworkGradeItem(CourseworkGrade grade, CourseworkItem courseworkItem) {
         CourseworkGradeItem item = new CourseworkGradeItem();
         item.setOriginalGrade(grade);
         item.setMarksObtained(grade.getMarksObtained());
         item.setCourseCode(grade.getCourseCode());
         item.setItemId(grade.getItemId());
-
-        // Get coursework item details
-        try {
-            Optional<CourseworkItem> courseworkItemOpt = courseworkDetails.getCourseworkItemById(grade.getItemId());
-            if (courseworkItemOpt.isPresent()) {
-                CourseworkItem courseworkItem = courseworkItemOpt.get();
-                item.setTitle(courseworkItem.getTitle());
-                item.setType(courseworkItem.getType());
-                item.setTotalMarks(courseworkItem.getTotalMarks());
-            }
-        } catch (Exception e) {
-            System.err.println("Error loading coursework item details: " + e.getMessage());
-            item.setTitle("Unknown");
-            item.setType("Unknown");
-            item.setTotalMarks(100);
+        if (grade.getGradeId() != 0) {
+            item.markSaved(grade.getMarksObtained());
         }
 
+        // The item details come from the course's item list, already in hand
+        item.setTitle(courseworkItem.getTitle());
+        item.setType(courseworkItem.getType());
+        item.setTotalMarks(courseworkItem.getTotalMarks());
+
         return item;
     }
 
@@ -438,11 +337,27 @@ public class AdvisorUpdateGradesController {
         alert.showAndWait();
     }
 
+    /**
+     * A student's enrollments and coursework grade rows, loaded together.
+     */
+    private static final class LoadedGrades {
+        private final List<Enrollment> enrollments;
+        private final List<CourseworkGradeItem> courseworkItems;
+
+        private LoadedGrades(List<Enrollment> enrollments, List<CourseworkGradeItem> courseworkItems) {
+            this.enrollments = enrollments;
+            this.courseworkItems = courseworkItems;
+        }
+    }
+
     /**
      * Display class for coursework grades.
+     * Tracks the marks last stored for the row so a save only writes the rows that changed.
      */
     public static class CourseworkGradeItem {
         private CourseworkGrade originalGrade;
+        private Double savedMarks; // null until the row is stored
+        private boolean edited;
         private String courseCode;
         private String title;
         private String type;
@@ -473,5 +388,14 @@ public class AdvisorUpdateGradesController {
         public void setTotalMarks(double totalMarks) { this.totalMarks = totalMarks; }
 
         public CourseworkGrade getOriginalGrade() { return originalGrade; }
+
+        // Change tracking
+        public boolean isSaved() { return savedMarks != null; }
+        public boolean isChanged() { return savedMarks == null ? edited : savedMarks != marksObtained; }
+        public void markEdited() { this.edited = true; }
+        public void markSaved(double marks) {
+            this.savedMarks = marks;
+            this.edited = false;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,164 @@
+package com.university.ui;
+
+import javafx.application.Platform;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TableView;
+import com.university.data.QueryInstrumentation;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs service and DAO calls off the JavaFX Application Thread and hands the results back to it.
+ * Controllers keep one Slot per independent piece of data on screen. Submitting to a slot
+ * supersedes whatever the slot was still loading, so a result for a selection the user has
+ * already moved away from is dropped instead of overwriting the newer one.
+ * All methods must be called on the JavaFX Application Thread.
+ */
+public final class AsyncLoader {
+
+    private static final int THREADS = Integer.getInteger("university.ui.loaderThreads", 4);
+    private static final AsyncLoader instance = new AsyncLoader();
+
+    private final ExecutorService executor;
+
+    private AsyncLoader() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "ui-loader-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the shared loader.
+     * @return the singleton instance
+     */
+    public static AsyncLoader getInstance() {
+        return instance;
+    }
+
+    /**
+     * Creates a slot for one piece of data whose loads supersede each other.
+     * @return a new slot
+     */
+    public Slot newSlot() {
+        return new Slot();
+    }
+
+    /**
+     * Runs work in the background that nothing else supersedes, such as a save.
+     * @param work the work to run off the JavaFX Application Thread
+     * @param onSuccess receives the result on the JavaFX Application Thread
+     * @param onFailure receives the exception on the JavaFX Application Thread
+     * @param <T> the result type
+     */
+    public <T> void submit(Work<T> work, Consumer<T> onSuccess, Consumer<Exception> onFailure) {
+        newSlot().load(work, onSuccess, onFailure);
+    }
+
+    /**
+     * Stops the background threads. Pending work is abandoned.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Clears a table and shows a progress indicator in place of its rows until new items arrive.
+     * @param table the table to mark as loading
+     */
+    public static void showLoading(TableView<?> table) {
+        table.getItems().clear();
+        table.setPlaceholder(new ProgressIndicator());
+    }
+
+    /**
+     * Shows a message in place of a table's rows when it has none.
+     * @param table the table
+     * @param message the message to show
+     */
+    public static void showEmpty(TableView<?> table, String message) {
+        table.setPlaceholder(new Label(message));
+    }
+
+    /**
+     * Background work that produces a result.
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T call() throws Exception;
+    }
+
+    /**
+     * Names a load after the class that declared its lambda, such as StudentCoursesController,
+     * so the query instrumentation can attribute repeated DAO calls to a screen.
+     */
+    private static String actionName(Work<?> work) {
+        String name = work.getClass().getSimpleName();
+        int lambda = name.indexOf("$$Lambda");
+        return lambda >= 0 ? name.substring(0, lambda) : name;
+    }
+
+    /**
+     * A sequence of loads where only the latest one is delivered.
+     */
+    public final class Slot {
+        // Only touched on the JavaFX Application Thread
+        private long generation;
+        private Future<?> pending;
+
+        private Slot() {
+        }
+
+        /**
+         * Starts a load, superseding any load this slot still has in flight.
+         * @param work the work to run off the JavaFX Application Thread
+         * @param onSuccess receives the result on the JavaFX Application Thread
+         * @param onFailure receives the exception on the JavaFX Application Thread
+         * @param <T> the result type
+         */
+        public <T> void load(Work<T> work, Consumer<T> onSuccess, Consumer<Exception> onFailure) {
+            cancel();
+            long requested = generation;
+            String action = actionName(work);
+            pending = executor.submit(() -> {
+                QueryInstrumentation.beginAction(action);
+                try {
+                    T result = work.call();
+                    Platform.runLater(() -> {
+                        if (requested == generation) {
+                            onSuccess.accept(result);
+                        }
+                    });
+                } catch (Exception e) {
+                    Platform.runLater(() -> {
+                        if (requested == generation) {
+                            onFailure.accept(e);
+                        }
+                    });
+                } finally {
+                    QueryInstrumentation.endAction();
+                }
+            });
+        }
+
+        /**
+         * Drops the result of the load in flight, if any. Work that has not started yet is skipped;
+         * work already running is left to finish, since interrupting JDBC calls is not reliable.
+         */
+        public void cancel() {
+            generation++;
+            if (pending != null) {
+                pending.cancel(false);
+                pending = null;
+            }
+        }
+    }
+}
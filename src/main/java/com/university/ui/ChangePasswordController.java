@@ -5,7 +5,7 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import com.university.roles.Student;
 import com.university.data.StudentDetails;
-import com.university.data.StudentSqlDetails;
+import com.university.data.DetailsProvider;
 import com.university.services.PasswordUtil;
 
 /**
@@ -37,7 +37,7 @@ public class ChangePasswordController {
     private boolean passwordChanged = false;
 
     public ChangePasswordController() {
-        this.studentDetails = new StudentSqlDetails();
+        this.studentDetails = DetailsProvider.students();
     }
 
     public void setStudent(Student student) {
@@ -80,32 +80,30 @@ public class ChangePasswordController {
             return;
         }
 
-        try {
-            // Hash the new password
-            String hashedNewPassword = PasswordUtil.hashPassword(newPassword);
+        // Hash the new password
+        String hashedNewPassword = PasswordUtil.hashPassword(newPassword);
 
-            // Update the password in database
-            if (studentDetails.updatePassword(currentStudent.getId(), hashedNewPassword)) {
+        // Update the password in database
+        changeButton.setDisable(true);
+        AsyncLoader.getInstance().submit(() -> studentDetails.updatePassword(currentStudent.getId(), hashedNewPassword), updated -> {
+            if (updated) {
                 // Update the student object
                 currentStudent.setPasswordHash(hashedNewPassword);
                 passwordChanged = true;
                 showMessage("Password changed successfully!", "success");
 
                 // Close the dialog after a short delay
-                javafx.application.Platform.runLater(() -> {
-                    try {
-                        Thread.sleep(1500);
-                        closeDialog();
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                });
+                javafx.animation.PauseTransition delay = new javafx.animation.PauseTransition(javafx.util.Duration.millis(1500));
+                delay.setOnFinished(e -> closeDialog());
+                delay.play();
             } else {
+                changeButton.setDisable(false);
                 showMessage("Failed to change password. Please try again.", "error");
             }
-        } catch (Exception e) {
+        }, e -> {
+            changeButton.setDisable(false);
             showMessage("Error changing password: " + e.getMessage(), "error");
-        }
+        });
     }
 
     @FXML
@@ -0,0 +1,104 @@
+package com.university.ui;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Detects stalls of the JavaFX Application Thread.
+ * A daemon thread posts a heartbeat to the FX thread every 100 ms and measures how long it waits
+ * to run. A wait of -Duniversity.ui.stallMillis (default 250) or more is a stall: the UI could not
+ * repaint or react to input for that long. Only one heartbeat is in flight at a time, so a long
+ * stall counts once, with its full length.
+ */
+public final class FxThreadMonitor {
+
+    private static final long HEARTBEAT_MILLIS = 100;
+    private static final long STALL_MILLIS = Long.getLong("university.ui.stallMillis", 250);
+    private static final FxThreadMonitor instance = new FxThreadMonitor();
+
+    private final AtomicBoolean heartbeatPending = new AtomicBoolean();
+    private final LongAdder heartbeats = new LongAdder();
+    private final LongAdder stalls = new LongAdder();
+    private final LongAdder totalStallNanos = new LongAdder();
+    private final LongAccumulator longestStallNanos = new LongAccumulator(Math::max, 0);
+    private ScheduledExecutorService scheduler;
+
+    private FxThreadMonitor() {
+    }
+
+    public static FxThreadMonitor getInstance() {
+        return instance;
+    }
+
+    /**
+     * Starts the heartbeat. Does nothing if it is already running.
+     * Must be called after the JavaFX toolkit has started.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fx-thread-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::postHeartbeat, HEARTBEAT_MILLIS, HEARTBEAT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    public long getStallThresholdMillis() {
+        return STALL_MILLIS;
+    }
+
+    public long getHeartbeats() {
+        return heartbeats.sum();
+    }
+
+    public long getStallCount() {
+        return stalls.sum();
+    }
+
+    public long getTotalStallMillis() {
+        return totalStallNanos.sum() / 1_000_000;
+    }
+
+    public long getLongestStallMillis() {
+        return longestStallNanos.get() / 1_000_000;
+    }
+
+    private void postHeartbeat() {
+        if (!heartbeatPending.compareAndSet(false, true)) {
+            // The FX thread has not run the last one yet
+            return;
+        }
+        long posted = System.nanoTime();
+        Platform.runLater(() -> {
+            heartbeatPending.set(false);
+            recordHeartbeat(System.nanoTime() - posted);
+        });
+    }
+
+    private void recordHeartbeat(long waitNanos) {
+        heartbeats.increment();
+        if (waitNanos < STALL_MILLIS * 1_000_000) {
+            return;
+        }
+        stalls.increment();
+        totalStallNanos.add(waitNanos);
+        longestStallNanos.accumulate(waitNanos);
+        System.err.println("Warning: JavaFX Application Thread stalled for " + waitNanos / 1_000_000 + " ms");
+    }
+}
@@ -8,13 +8,14 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
 import com.university.services.AuthService;
-import com.university.data.StudentSqlDetails;
-import com.university.data.AdvisorSqlDetails;
+import com.university.data.DatabaseInitializer;
+import com.university.data.DetailsProvider;
 import com.university.roles.Student;
 import com.university.roles.Advisor;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Controller for the Login page.
@@ -43,7 +44,7 @@ public class LoginController {
     private AuthService authService;
 
     public LoginController() {
-        this.authService = new AuthService(new StudentSqlDetails(), new AdvisorSqlDetails());
+        this.authService = new AuthService(DetailsProvider.students(), DetailsProvider.advisors());
     }
 
     @FXML
@@ -68,31 +69,45 @@ public class LoginController {
             return;
         }
 
-        try {
-            if ("Student".equals(role)) {
-                Optional<Student> studentOpt = authService.authenticateStudent(username, password);
-                if (studentOpt.isPresent()) {
+        if ("Student".equals(role)) {
+            authenticate(() -> authService.authenticateStudent(username, password), student -> {
+                if (student.isPresent()) {
                     showMessage("Login successful!", "success");
-                    openStudentDashboard(studentOpt.get());
+                    openStudentDashboard(student.get());
                 } else {
                     showMessage("Invalid student credentials", "error");
                 }
-            } else if ("Advisor".equals(role)) {
-                Optional<Advisor> advisorOpt = authService.authenticateAdvisor(username, password);
-                if (advisorOpt.isPresent()) {
+            });
+        } else if ("Advisor".equals(role)) {
+            authenticate(() -> authService.authenticateAdvisor(username, password), advisor -> {
+                if (advisor.isPresent()) {
                     showMessage("Login successful!", "success");
-                    openAdvisorDashboard(advisorOpt.get());
+                    openAdvisorDashboard(advisor.get());
                 } else {
                     showMessage("Invalid advisor credentials", "error");
                 }
-            } else {
-                showMessage("Please select a role", "error");
-            }
-        } catch (Exception e) {
-            showMessage("Login error: " + e.getMessage(), "error");
+            });
+        } else {
+            showMessage("Please select a role", "error");
         }
     }
 
+    private <T> void authenticate(AsyncLoader.Work<Optional<T>> lookup, Consumer<Optional<T>> onResult) {
+        loginButton.setDisable(true);
+        showMessage("Signing in...", "info");
+        AsyncLoader.getInstance().submit(() -> {
+            // The schema may still be being verified in the background right after launch
+            DatabaseInitializer.awaitInitialization();
+            return lookup.call();
+        }, result -> {
+            loginButton.setDisable(false);
+            onResult.accept(result);
+        }, e -> {
+            loginButton.setDisable(false);
+            showMessage("Login error: " + e.getMessage(), "error");
+        });
+    }
+
     @FXML
     private void handleClear(ActionEvent event) {
         usernameField.clear();
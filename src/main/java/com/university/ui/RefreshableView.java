@@ -0,0 +1,40 @@
+package com.university.ui;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A dashboard view whose controller is kept for the whole session by a ViewRegistry.
+ * The controller is bound to its student or advisor once, when it is first shown, and
+ * refreshed every time it is shown again.
+ */
+interface RefreshableView {
+
+    /**
+     * Reloads the data on screen for the student or advisor the view is bound to.
+     * Called on the JavaFX Application Thread; the loading itself belongs on AsyncLoader.
+     */
+    void refresh();
+
+    /**
+     * Picks the selection for a combo box whose items were just reloaded, so a refresh keeps the
+     * user where they were: the item matching the previous selection if it is still there,
+     * otherwise the first item.
+     * @param items the reloaded items, not empty
+     * @param previous the selection before the reload, or null
+     * @param key identifies an item across reloads, such as a student ID
+     * @param <T> the item type
+     * @return the item to select
+     */
+    static <T> T reselect(List<T> items, T previous, Function<T, ?> key) {
+        if (previous == null) {
+            return items.get(0);
+        }
+        Object previousKey = key.apply(previous);
+        return items.stream()
+                .filter(item -> Objects.equals(key.apply(item), previousKey))
+                .findFirst()
+                .orElse(items.get(0));
+    }
+}
@@ -0,0 +1,120 @@
+package com.university.ui;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.stage.Stage;
+import com.university.data.StudentSummary;
+import com.university.ui.AdvisorSearchStudentController.StudentSearchRow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures frame times while scrolling the student search table through a large result set.
+ * The rows are generated in memory, so the numbers cover cell creation, layout and rendering only;
+ * the real table gets its rows the same way once they are loaded.
+ * <pre>mvn javafx:run -Djavafx.mainClass=com.university.ui.ScrollFrameProbe -Djavafx.args="50000 25"</pre>
+ * The arguments are the row count (default 50000) and the rows scrolled per frame (default 25).
+ * JavaFX caps pulses at 60 per second; add -Djavafx.animation.fullspeed=true to the JVM options
+ * to see the raw frame cost.
+ */
+public class ScrollFrameProbe extends Application {
+
+    private static final int WARM_UP_FRAMES = 60;
+    private static final String[] PROGRAMS = {"Computer Science", "Mathematics", "Physics", "Economics"};
+
+    @Override
+    public void start(Stage stage) throws Exception {
+        List<String> args = getParameters().getRaw();
+        int rowCount = args.size() > 0 ? Integer.parseInt(args.get(0)) : 50_000;
+        int step = args.size() > 1 ? Integer.parseInt(args.get(1)) : 25;
+
+        FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/AdvisorSearchStudent.fxml"));
+        Parent root = loader.load();
+        AdvisorSearchStudentController controller = loader.getController();
+        controller.showRows(generateRows(rowCount));
+        TableView<StudentSearchRow> table = controller.getStudentsTable();
+
+        Scene scene = new Scene(root);
+        scene.getStylesheets().add(getClass().getResource("/css/styles.css").toExternalForm());
+        stage.setTitle("Scroll frame probe");
+        stage.setScene(scene);
+        stage.show();
+
+        new AnimationTimer() {
+            private final List<Long> frameNanos = new ArrayList<>();
+            private int frame;
+            private int position;
+            private long last;
+
+            @Override
+            public void handle(long now) {
+                if (frame++ >= WARM_UP_FRAMES) {
+                    frameNanos.add(now - last);
+                    position += step;
+                }
+                last = now;
+
+                if (position < rowCount) {
+                    table.scrollTo(position);
+                    return;
+                }
+
+                stop();
+                printFrameTimes(rowCount, step, frameNanos);
+                printSortTime(table);
+                Platform.exit();
+            }
+        }.start();
+    }
+
+    private static List<StudentSearchRow> generateRows(int rowCount) {
+        Random random = new Random(42);
+        List<StudentSearchRow> rows = new ArrayList<>(rowCount);
+        for (int i = 1; i <= rowCount; i++) {
+            StudentSummary student = new StudentSummary(i, "Student " + i, PROGRAMS[i % PROGRAMS.length], "student" + i);
+            rows.add(new StudentSearchRow(student, Math.round(random.nextDouble() * 400) / 100.0));
+        }
+        return rows;
+    }
+
+    private static void printFrameTimes(int rowCount, int step, List<Long> frameNanos) {
+        long[] sorted = frameNanos.stream().mapToLong(Long::longValue).sorted().toArray();
+        long slow = Arrays.stream(sorted).filter(nanos -> nanos > 25_000_000L).count();
+
+        System.out.printf("Scrolled %d rows, %d per frame, over %d frames%n", rowCount, step, sorted.length);
+        System.out.printf("Frame time ms: p50 %.2f  p95 %.2f  p99 %.2f  max %.2f%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                sorted[sorted.length - 1] / 1e6);
+        System.out.printf("Frames over 25 ms: %d%n", slow);
+    }
+
+    private static void printSortTime(TableView<StudentSearchRow> table) {
+        TableColumn<StudentSearchRow, ?> cgpaColumn = table.getColumns().stream()
+                .filter(column -> "CGPA".equals(column.getText()))
+                .findFirst()
+                .orElseThrow();
+
+        long start = System.nanoTime();
+        table.getSortOrder().setAll(cgpaColumn);
+        table.layout();
+        System.out.printf("Sort by CGPA ms: %.2f%n", (System.nanoTime() - start) / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -7,8 +7,8 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import com.university.roles.Student;
 import com.university.services.CourseService;
 import com.university.courses.Enrollment;
-import com.university.data.CourseSqlDetails;
-import com.university.data.EnrollmentSqlDetails;
+import com.university.data.CachingCourseDetails;
+import com.university.data.DetailsProvider;
 
 import java.util.List;
 import java.util.ArrayList;
@@ -17,7 +17,7 @@ import java.util.ArrayList;
  * Controller for the Student Courses view.
  * Displays all courses the student is enrolled in with grades.
  */
-public class StudentCoursesController {
+public class StudentCoursesController implements RefreshableView {
 
     @FXML
     private TableView<Enrollment> coursesTable;
@@ -48,11 +48,12 @@ public class StudentCoursesController {
 
     private Student currentStudent;
     private CourseService courseService;
+    private final AsyncLoader.Slot coursesLoad = AsyncLoader.getInstance().newSlot();
 
     public void setStudent(Student student) {
         System.out.println("DEBUG: StudentCoursesController.setStudent() called with: " + student);
         this.currentStudent = student;
-        this.courseService = new CourseService(new CourseSqlDetails(), new EnrollmentSqlDetails());
+        this.courseService = new CourseService(CachingCourseDetails.getInstance(), DetailsProvider.enrollments());
 
         // Initialize table with simple test data first
         initializeTable();
@@ -61,6 +62,11 @@ public class StudentCoursesController {
         loadCourses();
     }
 
+    @Override
+    public void refresh() {
+        loadCourses();
+    }
+
     private void initializeTable() {
         System.out.println("DEBUG: Initializing table columns");
 
@@ -90,46 +96,33 @@ public class StudentCoursesController {
             return;
         }
 
-        try {
-            System.out.println("DEBUG: Loading courses for student ID: " + currentStudent.getId());
-
-            // First try to load from database
-            List<Enrollment> enrollments = courseService.getStudentEnrollments(currentStudent.getId());
+        System.out.println("DEBUG: Loading courses for student ID: " + currentStudent.getId());
+        AsyncLoader.showLoading(coursesTable);
+        statusLabel.setText("Loading courses...");
+        coursesLoad.load(() -> courseService.getStudentEnrollments(currentStudent.getId()), loaded -> {
+            List<Enrollment> enrollments = loaded;
             System.out.println("DEBUG: Found " + enrollments.size() + " enrollments from database");
 
             // If no enrollments found, create test data
             if (enrollments.isEmpty()) {
                 System.out.println("DEBUG: No enrollments found, creating test data");
                 enrollments = createTestData();
-                System.out.println("DEBUG: Created " + enrollments.size() + " test enrollments");
-            }
-
-            // Debug print each enrollment
-            for (int i = 0; i < enrollments.size(); i++) {
-                Enrollment e = enrollments.get(i);
-                System.out.println("DEBUG: Enrollment " + i + ": " + e.getCourseCode() +
-                        " - " + e.getCourseTitle() + " - " + e.getCredits() + " credits");
             }
 
             // Clear and populate table
-            coursesTable.getItems().clear();
-            coursesTable.getItems().addAll(enrollments);
-            System.out.println("DEBUG: Added " + enrollments.size() + " items to table");
-            System.out.println("DEBUG: Table item count: " + coursesTable.getItems().size());
+            coursesTable.getItems().setAll(enrollments);
 
             statusLabel.setText("Loaded " + enrollments.size() + " course(s)");
             statusLabel.getStyleClass().clear();
             statusLabel.getStyleClass().add("status-label");
             statusLabel.getStyleClass().add("success-text");
-
-        } catch (Exception e) {
+        }, e -> {
             System.out.println("DEBUG: ERROR loading courses: " + e.getMessage());
-            e.printStackTrace();
             statusLabel.setText("Error loading courses: " + e.getMessage());
             statusLabel.getStyleClass().clear();
             statusLabel.getStyleClass().add("status-label");
             statusLabel.getStyleClass().add("error-text");
-        }
+        });
     }
 
     private List<Enrollment> createTestData() {
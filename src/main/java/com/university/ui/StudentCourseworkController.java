@@ -9,22 +9,23 @@ import com.university.services.CourseService;
 import com.university.services.CourseworkService;
 import com.university.courses.Enrollment;
 import com.university.courses.CourseworkItem;
-import com.university.courses.CourseworkGrade;
 import com.university.courses.Assignment;
 import com.university.courses.MidtermExam;
 import com.university.courses.FinalExam;
-import com.university.data.CourseSqlDetails;
-import com.university.data.EnrollmentSqlDetails;
-import com.university.data.CourseworkSqlDetails;
+import com.university.data.CachingCourseDetails;
+import com.university.data.DetailsProvider;
+import com.university.data.CachingCourseworkDetails;
+import com.university.data.Gradebook;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Controller for the Student Coursework view.
  * Displays coursework items and grades for selected courses.
  */
-public class StudentCourseworkController {
+public class StudentCourseworkController implements RefreshableView {
 
     @FXML
     private ComboBox<String> courseComboBox;
@@ -137,15 +138,22 @@ public class StudentCourseworkController {
     private Student currentStudent;
     private CourseService courseService;
     private CourseworkService courseworkService;
+    private final AsyncLoader.Slot coursesLoad = AsyncLoader.getInstance().newSlot();
+    private final AsyncLoader.Slot courseworkLoad = AsyncLoader.getInstance().newSlot();
 
     public void setStudent(Student student) {
         this.currentStudent = student;
-        this.courseService = new CourseService(new CourseSqlDetails(), new EnrollmentSqlDetails());
-        this.courseworkService = new CourseworkService(new CourseworkSqlDetails(), new CourseSqlDetails());
+        this.courseService = new CourseService(CachingCourseDetails.getInstance(), DetailsProvider.enrollments());
+        this.courseworkService = new CourseworkService(CachingCourseworkDetails.getInstance(), CachingCourseDetails.getInstance());
         initializeTable();
         loadCourses();
     }
 
+    @Override
+    public void refresh() {
+        loadCourses();
+    }
+
     private void initializeTable() {
         // Initialize Assignments table
         assignmentTitleColumn.setCellValueFactory(new PropertyValueFactory<>("title"));
@@ -203,8 +211,8 @@ public class StudentCourseworkController {
     private void loadCourses() {
         if (currentStudent == null) return;
 
-        try {
-            List<Enrollment> enrollments = courseService.getStudentEnrollments(currentStudent.getId());
+        coursesLoad.load(() -> courseService.getStudentEnrollments(currentStudent.getId()), enrollments -> {
+            String previous = courseComboBox.getValue();
             courseComboBox.getItems().clear();
 
             for (Enrollment enrollment : enrollments) {
@@ -212,75 +220,82 @@ public class StudentCourseworkController {
             }
 
             if (!courseComboBox.getItems().isEmpty()) {
-                courseComboBox.setValue(courseComboBox.getItems().get(0));
+                // Stay on the course that was selected before a refresh
+                courseComboBox.setValue(RefreshableView.reselect(courseComboBox.getItems(), previous, Function.identity()));
                 loadCoursework(courseComboBox.getValue());
             }
-
-        } catch (Exception e) {
+        }, e -> {
             statusLabel.setText("Error loading courses: " + e.getMessage());
             statusLabel.getStyleClass().clear();
             statusLabel.getStyleClass().add("status-label");
             statusLabel.getStyleClass().add("error-text");
-        }
+        });
     }
 
     private void loadCoursework(String courseCode) {
-        try {
-            List<CourseworkItem> items = courseworkService.getCourseworkItemsByCourse(courseCode);
-            List<CourseworkGrade> grades = courseworkService.getCourseworkGradesByStudentAndCourse(currentStudent.getId(), courseCode);
-
-            // Clear all tables
-            assignmentsTable.getItems().clear();
-            midExamsTable.getItems().clear();
-            finalExamsTable.getItems().clear();
-            allCourseworkTable.getItems().clear();
-
-            List<CourseworkDisplayItem> allDisplayItems = new ArrayList<>();
-
-            for (CourseworkItem item : items) {
-                CourseworkDisplayItem displayItem = new CourseworkDisplayItem(item);
-
-                // Find corresponding grade
-                for (CourseworkGrade grade : grades) {
-                    if (grade.getItemId() == item.getItemId()) {
-                        displayItem.setMarksObtained(grade.getMarksObtained());
-                        displayItem.setPercentage(grade.calculatePercentage(item.getTotalMarks()));
-                        break;
-                    }
-                }
-
-                // Add to appropriate table based on type
-                if (item instanceof Assignment) {
-                    assignmentsTable.getItems().add(displayItem);
-                } else if (item instanceof MidtermExam) {
-                    midExamsTable.getItems().add(displayItem);
-                } else if (item instanceof FinalExam) {
-                    finalExamsTable.getItems().add(displayItem);
-                }
-
-                // Add to all coursework table
-                allDisplayItems.add(displayItem);
-            }
-
-            allCourseworkTable.getItems().addAll(allDisplayItems);
-
-            // Update summary - show overall course grade
-            double overallPercentage = courseworkService.calculateOverallCourseworkGrade(currentStudent.getId(), courseCode);
-            String overallLetterGrade = calculateLetterGrade(overallPercentage);
-            overallGradeLabel.setText(String.format("Course Grade: %.1f%% (%s)", overallPercentage, overallLetterGrade));
-            totalItemsLabel.setText("Total Items: " + items.size());
-
-            statusLabel.setText("Loaded coursework for " + courseCode);
-            statusLabel.getStyleClass().clear();
-            statusLabel.getStyleClass().add("status-label");
-            statusLabel.getStyleClass().add("success-text");
-
-        } catch (Exception e) {
+        // Clear all tables
+        AsyncLoader.showLoading(assignmentsTable);
+        AsyncLoader.showLoading(midExamsTable);
+        AsyncLoader.showLoading(finalExamsTable);
+        AsyncLoader.showLoading(allCourseworkTable);
+        statusLabel.setText("Loading coursework for " + courseCode + "...");
+
+        int studentId = currentStudent.getId();
+        courseworkLoad.load(() -> courseworkService.getGradebook(studentId, courseCode),
+                gradebook -> showCoursework(courseCode, gradebook), e -> {
             statusLabel.setText("Error loading coursework: " + e.getMessage());
             statusLabel.getStyleClass().clear();
             statusLabel.getStyleClass().add("status-label");
             statusLabel.getStyleClass().add("error-text");
+        });
+    }
+
+    private void showCoursework(String courseCode, Gradebook gradebook) {
+        List<CourseworkDisplayItem> assignments = new ArrayList<>();
+        List<CourseworkDisplayItem> midExams = new ArrayList<>();
+        List<CourseworkDisplayItem> finalExams = new ArrayList<>();
+        List<CourseworkDisplayItem> allDisplayItems = new ArrayList<>();
+
+        for (Gradebook.Entry entry : gradebook.getEntries()) {
+            CourseworkItem item = entry.getItem();
+            CourseworkDisplayItem displayItem = new CourseworkDisplayItem(item);
+            if (entry.isGraded()) {
+                displayItem.setMarksObtained(entry.getMarksObtained());
+                displayItem.setPercentage(entry.getPercentage());
+            }
+
+            // Add to appropriate table based on type
+            if (item instanceof Assignment) {
+                assignments.add(displayItem);
+            } else if (item instanceof MidtermExam) {
+                midExams.add(displayItem);
+            } else if (item instanceof FinalExam) {
+                finalExams.add(displayItem);
+            }
+
+            // Add to all coursework table
+            allDisplayItems.add(displayItem);
         }
+
+        assignmentsTable.getItems().setAll(assignments);
+        midExamsTable.getItems().setAll(midExams);
+        finalExamsTable.getItems().setAll(finalExams);
+        allCourseworkTable.getItems().setAll(allDisplayItems);
+        AsyncLoader.showEmpty(assignmentsTable, "No assignments");
+        AsyncLoader.showEmpty(midExamsTable, "No mid-exams");
+        AsyncLoader.showEmpty(finalExamsTable, "No final exams");
+        AsyncLoader.showEmpty(allCourseworkTable, "No coursework");
+
+        // Update summary - show overall course grade
+        double overallPercentage = gradebook.getTotals(courseCode).getWeightedPercentage();
+        String overallLetterGrade = calculateLetterGrade(overallPercentage);
+        overallGradeLabel.setText(String.format("Course Grade: %.1f%% (%s)", overallPercentage, overallLetterGrade));
+        totalItemsLabel.setText("Total Items: " + gradebook.getEntries().size());
+
+        statusLabel.setText("Loaded coursework for " + courseCode);
+        statusLabel.getStyleClass().clear();
+        statusLabel.getStyleClass().add("status-label");
+        statusLabel.getStyleClass().add("success-text");
     }
 
     private String calculateLetterGrade(double percentage) {
@@ -7,11 +7,11 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.StackPane;
-import javafx.scene.control.ScrollPane;
 import javafx.stage.Stage;
 import com.university.roles.Student;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Controller for the Student Dashboard.
@@ -19,6 +19,10 @@ import java.io.IOException;
  */
 public class StudentDashboardController {
 
+    private static final List<String> PRELOADED_VIEWS = List.of(
+            "StudentCourses.fxml", "StudentGPA.fxml", "StudentProfile.fxml",
+            "StudentCoursework.fxml", "StudentFeedback.fxml");
+
     @FXML
     private Label welcomeLabel;
 
@@ -26,11 +30,16 @@ public class StudentDashboardController {
     private StackPane contentPane;
 
     private Student currentStudent;
+    private ViewRegistry views;
 
     public void setStudent(Student student) {
         this.currentStudent = student;
+        this.views = new ViewRegistry("StudentDashboard", student.getId(), 0);
 
         welcomeLabel.setText("Welcome, " + student.getName() + " (" + student.getProgram() + ")");
+
+        // Parse the views in the background while the student reads the welcome screen
+        views.preload(PRELOADED_VIEWS);
     }
 
     @FXML
@@ -56,23 +65,8 @@ public class StudentDashboardController {
     @FXML
     private void showProfile(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/StudentProfile.fxml"));
-            Parent root = loader.load();
-
-            StudentProfileController controller = loader.getController();
-            controller.setStudent(currentStudent);
-
-            // Wrap content in ScrollPane
-            ScrollPane scrollPane = new ScrollPane();
-            scrollPane.setContent(root);
-            scrollPane.setFitToWidth(true);
-            scrollPane.setFitToHeight(true);
-            scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-            scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-
-            contentPane.getChildren().clear();
-            contentPane.getChildren().add(scrollPane);
-
+            contentPane.getChildren().setAll(views.<StudentProfileController>show("StudentProfile.fxml",
+                    controller -> controller.setStudent(currentStudent)));
         } catch (IOException e) {
             showAlert("Error", "Failed to load profile: " + e.getMessage());
         }
@@ -80,37 +74,10 @@ public class StudentDashboardController {
 
     @FXML
     private void showCourses(ActionEvent event) {
-        System.out.println("DEBUG: showCourses() method called in StudentDashboardController");
         try {
-            System.out.println("DEBUG: Loading StudentCourses.fxml...");
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/StudentCourses.fxml"));
-            Parent root = loader.load();
-            System.out.println("DEBUG: FXML loaded successfully");
-
-            StudentCoursesController controller = loader.getController();
-            System.out.println("DEBUG: Got controller: " + controller);
-            controller.setStudent(currentStudent);
-            System.out.println("DEBUG: Student set in controller");
-
-            // Wrap content in ScrollPane
-            ScrollPane scrollPane = new ScrollPane();
-            scrollPane.setContent(root);
-            scrollPane.setFitToWidth(true);
-            scrollPane.setFitToHeight(true);
-            scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-            scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-
-            contentPane.getChildren().clear();
-            contentPane.getChildren().add(scrollPane);
-            System.out.println("DEBUG: Courses view added to content pane");
-
+            contentPane.getChildren().setAll(views.<StudentCoursesController>show("StudentCourses.fxml",
+                    controller -> controller.setStudent(currentStudent)));
         } catch (IOException e) {
-            System.out.println("DEBUG: IOException loading courses: " + e.getMessage());
-            e.printStackTrace();
-            showAlert("Error", "Failed to load courses: " + e.getMessage());
-        } catch (Exception e) {
-            System.out.println("DEBUG: General error loading courses: " + e.getMessage());
-            e.printStackTrace();
             showAlert("Error", "Failed to load courses: " + e.getMessage());
         }
     }
@@ -118,23 +85,8 @@ public class StudentDashboardController {
     @FXML
     private void showCoursework(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/StudentCoursework.fxml"));
-            Parent root = loader.load();
-
-            StudentCourseworkController controller = loader.getController();
-            controller.setStudent(currentStudent);
-
-            // Wrap content in ScrollPane
-            ScrollPane scrollPane = new ScrollPane();
-            scrollPane.setContent(root);
-            scrollPane.setFitToWidth(true);
-            scrollPane.setFitToHeight(true);
-            scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-            scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-
-            contentPane.getChildren().clear();
-            contentPane.getChildren().add(scrollPane);
-
+            contentPane.getChildren().setAll(views.<StudentCourseworkController>show("StudentCoursework.fxml",
+                    controller -> controller.setStudent(currentStudent)));
         } catch (IOException e) {
             showAlert("Error", "Failed to load coursework: " + e.getMessage());
         }
@@ -143,23 +95,8 @@ public class StudentDashboardController {
     @FXML
     private void showGPA(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/StudentGPA.fxml"));
-            Parent root = loader.load();
-
-            StudentGPAController controller = loader.getController();
-            controller.setStudent(currentStudent);
-
-            // Wrap content in ScrollPane
-            ScrollPane scrollPane = new ScrollPane();
-            scrollPane.setContent(root);
-            scrollPane.setFitToWidth(true);
-            scrollPane.setFitToHeight(true);
-            scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-            scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-
-            contentPane.getChildren().clear();
-            contentPane.getChildren().add(scrollPane);
-
+            contentPane.getChildren().setAll(views.<StudentGPAController>show("StudentGPA.fxml",
+                    controller -> controller.setStudent(currentStudent)));
         } catch (IOException e) {
             showAlert("Error", "Failed to load GPA information: " + e.getMessage());
         }
@@ -168,23 +105,8 @@ public class StudentDashboardController {
     @FXML
     private void showFeedback(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/StudentFeedback.fxml"));
-            Parent root = loader.load();
-
-            StudentFeedbackController controller = loader.getController();
-            controller.setStudent(currentStudent);
-
-            // Wrap content in ScrollPane
-            ScrollPane scrollPane = new ScrollPane();
-            scrollPane.setContent(root);
-            scrollPane.setFitToWidth(true);
-            scrollPane.setFitToHeight(true);
-            scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-            scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-
-            contentPane.getChildren().clear();
-            contentPane.getChildren().add(scrollPane);
-
+            contentPane.getChildren().setAll(views.<StudentFeedbackController>show("StudentFeedback.fxml",
+                    controller -> controller.setStudent(currentStudent)));
         } catch (IOException e) {
             showAlert("Error", "Failed to load feedback: " + e.getMessage());
         }
@@ -9,20 +9,21 @@ import javafx.scene.text.Text;
 import javafx.scene.text.TextFlow;
 import com.university.roles.Student;
 import com.university.data.AdvisorFeedbackDetails;
-import com.university.data.AdvisorFeedbackSqlDetails;
+import com.university.data.DetailsProvider;
 import com.university.data.AdvisorDetails;
-import com.university.data.AdvisorSqlDetails;
 import com.university.data.AdvisorFeedback;
 import com.university.roles.Advisor;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Controller for displaying advisor feedback to students.
  * Shows all feedback that advisors have provided for the current student.
  */
-public class StudentFeedbackController {
+public class StudentFeedbackController implements RefreshableView {
 
     @FXML
     private VBox feedbackContainer;
@@ -30,41 +31,55 @@ public class StudentFeedbackController {
     private Student currentStudent;
     private AdvisorFeedbackDetails feedbackDetails;
     private AdvisorDetails advisorDetails;
+    private final AsyncLoader.Slot feedbackLoad = AsyncLoader.getInstance().newSlot();
 
     public void setStudent(Student student) {
         this.currentStudent = student;
-        this.feedbackDetails = new AdvisorFeedbackSqlDetails();
-        this.advisorDetails = new AdvisorSqlDetails();
+        this.feedbackDetails = DetailsProvider.feedback();
+        this.advisorDetails = DetailsProvider.advisors();
+        loadFeedback();
+    }
+
+    @Override
+    public void refresh() {
         loadFeedback();
     }
 
     private void loadFeedback() {
-        try {
-            feedbackContainer.getChildren().clear();
+        feedbackContainer.getChildren().setAll(new ProgressIndicator());
 
+        feedbackLoad.load(() -> {
             List<AdvisorFeedback> feedbackList = feedbackDetails.getFeedbackByStudentId(currentStudent.getId());
 
-            if (feedbackList.isEmpty()) {
+            // Resolve each advisor once, off the JavaFX Application Thread
+            Map<Integer, Optional<Advisor>> advisors = new HashMap<>();
+            for (AdvisorFeedback feedback : feedbackList) {
+                advisors.computeIfAbsent(feedback.getAdvisorId(), advisorDetails::getAdvisorById);
+            }
+            return new FeedbackView(feedbackList, advisors);
+        }, view -> {
+            feedbackContainer.getChildren().clear();
+
+            if (view.feedbackList.isEmpty()) {
                 Label noFeedbackLabel = new Label("No feedback from your advisors yet.");
                 noFeedbackLabel.setStyle("-fx-font-size: 16px; -fx-text-fill: #666;");
                 feedbackContainer.getChildren().add(noFeedbackLabel);
                 return;
             }
 
-            for (AdvisorFeedback feedback : feedbackList) {
-                VBox feedbackCard = createFeedbackCard(feedback);
+            for (AdvisorFeedback feedback : view.feedbackList) {
+                VBox feedbackCard = createFeedbackCard(feedback, view.advisors.get(feedback.getAdvisorId()));
                 feedbackContainer.getChildren().add(feedbackCard);
             }
-
-        } catch (Exception e) {
+        }, e -> {
             System.err.println("Error loading feedback: " + e.getMessage());
             Label errorLabel = new Label("Error loading feedback: " + e.getMessage());
             errorLabel.setStyle("-fx-text-fill: #d32f2f;");
-            feedbackContainer.getChildren().add(errorLabel);
-        }
+            feedbackContainer.getChildren().setAll(errorLabel);
+        });
     }
 
-    private VBox createFeedbackCard(AdvisorFeedback feedback) {
+    private VBox createFeedbackCard(AdvisorFeedback feedback, Optional<Advisor> advisorOpt) {
         VBox card = new VBox(10);
         card.setStyle("-fx-background-color: #f8f9fa; -fx-border-color: #dee2e6; " +
                 "-fx-border-radius: 8px; -fx-background-radius: 8px; -fx-padding: 15px;");
@@ -75,9 +90,6 @@ public class StudentFeedbackController {
         header.setStyle("-fx-alignment: center-left;");
 
         try {
-            int advisorId = feedback.getAdvisorId();
-            Optional<Advisor> advisorOpt = advisorDetails.getAdvisorById(advisorId);
-
             if (advisorOpt.isPresent()) {
                 Advisor advisor = advisorOpt.get();
                 Label advisorLabel = new Label("From: " + advisor.getName());
@@ -119,4 +131,17 @@ public class StudentFeedbackController {
     private void refreshFeedback(ActionEvent event) {
         loadFeedback();
     }
+
+    /**
+     * Feedback for the student together with the advisors who wrote it.
+     */
+    private static final class FeedbackView {
+        private final List<AdvisorFeedback> feedbackList;
+        private final Map<Integer, Optional<Advisor>> advisors;
+
+        private FeedbackView(List<AdvisorFeedback> feedbackList, Map<Integer, Optional<Advisor>> advisors) {
+            this.feedbackList = feedbackList;
+            this.advisors = advisors;
+        }
+    }
 }
\ No newline at end of file
@@ -7,24 +7,19 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.GridPane;
 import com.university.roles.Student;
-import com.university.services.CourseService;
+import com.university.services.AcademicStanding;
 import com.university.services.GPAService;
-import com.university.courses.Enrollment;
-import com.university.data.EnrollmentSqlDetails;
-import com.university.data.StudentSqlDetails;
-import com.university.data.CourseSqlDetails;
+import com.university.data.DetailsProvider;
 import com.university.ui.components.CircularGPAIndicator;
 
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Set;
-import java.util.HashSet;
 
 /**
  * Controller for the Student GPA view.
  * Displays GPA information and academic progress.
  */
-public class StudentGPAController {
+public class StudentGPAController implements RefreshableView {
 
     @FXML
     private Label cgpaLabel;
@@ -76,13 +71,12 @@ public class StudentGPAController {
 
     private Student currentStudent;
     private GPAService gpaService;
-    private CourseService courseService;
     private CircularGPAIndicator circularGPAIndicator;
+    private final AsyncLoader.Slot standingLoad = AsyncLoader.getInstance().newSlot();
 
     public void setStudent(Student student) {
         this.currentStudent = student;
-        this.gpaService = new GPAService(new EnrollmentSqlDetails(), new StudentSqlDetails(), new CourseSqlDetails());
-        this.courseService = new CourseService(new CourseSqlDetails(), new EnrollmentSqlDetails());
+        this.gpaService = new GPAService(DetailsProvider.enrollments(), DetailsProvider.students());
 
         // Initialize circular GPA indicator
         circularGPAIndicator = new CircularGPAIndicator();
@@ -92,6 +86,11 @@ public class StudentGPAController {
         updateGPAInfo();
     }
 
+    @Override
+    public void refresh() {
+        updateGPAInfo();
+    }
+
     private void initializeTable() {
         // No test data - let loadSemesterGPA handle real data
         System.out.println("DEBUG: GridPane initialized, waiting for real data");
@@ -105,16 +104,23 @@ public class StudentGPAController {
     private void updateGPAInfo() {
         if (currentStudent == null) return;
 
+        statusLabel.setText("Loading GPA information...");
+        standingLoad.load(() -> gpaService.getAcademicStanding(currentStudent.getId())
+                        .orElseThrow(() -> new IllegalStateException("Student record not found")),
+                this::showStanding, this::showError);
+    }
+
+    private void showStanding(AcademicStanding standing) {
         try {
             // Calculate CGPA
-            double cgpa = gpaService.calculateCGPA(currentStudent.getId());
+            double cgpa = standing.getCgpa();
             cgpaLabel.setText(String.format("CGPA: %.2f", cgpa));
 
             // Update circular GPA indicator
             circularGPAIndicator.setGPA(cgpa);
 
             // Calculate completed credits
-            int completedCredits = gpaService.calculateCompletedCredits(currentStudent.getId());
+            int completedCredits = standing.getCompletedCredits();
             completedCreditsLabel.setText(String.valueOf(completedCredits));
 
             // Required credits
@@ -125,14 +131,14 @@ public class StudentGPAController {
             remainingCreditsLabel.setText(String.valueOf(remainingCredits));
 
             // Academic standing
-            boolean onProbation = gpaService.isOnAcademicProbation(currentStudent.getId());
+            boolean onProbation = standing.isOnProbation();
             standingLabel.setText(onProbation ? "⚠️ ACADEMIC PROBATION" : "✅ GOOD STANDING");
             standingLabel.getStyleClass().clear();
             standingLabel.getStyleClass().add("standing-label");
             standingLabel.getStyleClass().add(onProbation ? "warning-text" : "success-text");
 
             // Graduation eligibility
-            boolean eligible = gpaService.isEligibleForGraduation(currentStudent.getId());
+            boolean eligible = standing.isEligibleForGraduation();
             eligibilityLabel.setText(eligible ? "🎓 ELIGIBLE FOR GRADUATION" : "📚 NOT ELIGIBLE YET");
             eligibilityLabel.getStyleClass().clear();
             eligibilityLabel.getStyleClass().add("eligibility-label");
@@ -144,7 +150,7 @@ public class StudentGPAController {
             progressLabel.setText(String.format("%.1f%% Complete", progress * 100));
 
             // Load semester GPA data
-            loadSemesterGPA();
+            loadSemesterGPA(standing);
 
             statusLabel.setText("GPA information updated successfully");
             statusLabel.getStyleClass().clear();
@@ -152,55 +158,33 @@ public class StudentGPAController {
             statusLabel.getStyleClass().add("success-text");
 
         } catch (Exception e) {
-            statusLabel.setText("Error updating GPA information: " + e.getMessage());
-            statusLabel.getStyleClass().clear();
-            statusLabel.getStyleClass().add("status-label");
-            statusLabel.getStyleClass().add("error-text");
+            showError(e);
         }
     }
 
-    private void loadSemesterGPA() {
-        try {
-            System.out.println("DEBUG: Loading semester GPA for student ID: " + currentStudent.getId());
-            List<Enrollment> enrollments = courseService.getStudentEnrollments(currentStudent.getId());
-            System.out.println("DEBUG: Found " + enrollments.size() + " enrollments for student");
+    private void showError(Exception e) {
+        statusLabel.setText("Error updating GPA information: " + e.getMessage());
+        statusLabel.getStyleClass().clear();
+        statusLabel.getStyleClass().add("status-label");
+        statusLabel.getStyleClass().add("error-text");
+    }
 
-            // Group enrollments by semester and year
-            Set<String> uniqueSemesters = new HashSet<>();
+    private void loadSemesterGPA(AcademicStanding standing) {
+        try {
             List<SemesterGPAItem> semesterGPAItems = new ArrayList<>();
 
-            for (Enrollment enrollment : enrollments) {
-                System.out.println("DEBUG: Processing enrollment: " + enrollment.getCourseCode() +
-                        " in " + enrollment.getSemester() + " " + enrollment.getYear() +
-                        " with grade: " + enrollment.getFinalGrade());
-
-                String semesterKey = enrollment.getSemester() + "_" + enrollment.getYear();
-                if (!uniqueSemesters.contains(semesterKey)) {
-                    uniqueSemesters.add(semesterKey);
-
-                    // Calculate semester GPA for ALL enrollments in this semester (graded or not)
-                    double semesterGPA = gpaService.calculateSemesterGPA(
-                            currentStudent.getId(), enrollment.getSemester(), enrollment.getYear());
-                    int semesterCredits = calculateSemesterCredits(enrollments,
-                            enrollment.getSemester(), enrollment.getYear());
-
-                    System.out.println("DEBUG: Semester " + enrollment.getSemester() + " " + enrollment.getYear() +
-                            " - GPA: " + semesterGPA + ", Credits: " + semesterCredits);
-
-                    // Only add to list if there are enrollments for this semester (graded or not)
-                    if (semesterCredits > 0) {
-                        semesterGPAItems.add(new SemesterGPAItem(
-                                enrollment.getSemester(),
-                                enrollment.getYear(),
-                                semesterGPA,
-                                semesterCredits
-                        ));
-                    }
+            // Every semester with enrollments is shown, graded or not
+            for (AcademicStanding.SemesterStanding semester : standing.getSemesters()) {
+                if (semester.getEnrolledCredits() > 0) {
+                    semesterGPAItems.add(new SemesterGPAItem(
+                            semester.getSemester(),
+                            semester.getYear(),
+                            semester.getGpa(),
+                            semester.getEnrolledCredits()
+                    ));
                 }
             }
 
-            System.out.println("DEBUG: Total semester GPA items to display: " + semesterGPAItems.size());
-
             // Sort by year and semester
             semesterGPAItems.sort((a, b) -> {
                 if (!a.getYear().equals(b.getYear())) {
@@ -223,36 +207,12 @@ public class StudentGPAController {
                 semesterGpaGrid.add(new Label(item.getCredits().toString()), 3, row);
             }
 
-            System.out.println("DEBUG: Added " + semesterGPAItems.size() + " rows to GridPane");
-
         } catch (Exception e) {
             System.err.println("Error loading semester GPA: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
-    private int calculateSemesterCredits(List<Enrollment> enrollments, String semester, int year) {
-        int credits = 0;
-        for (Enrollment enrollment : enrollments) {
-            if (enrollment.getSemester().equals(semester) && enrollment.getYear() == year) {
-                // Get actual course credits from course service
-                try {
-                    var course = courseService.getCourseByCode(enrollment.getCourseCode());
-                    if (course.isPresent()) {
-                        credits += course.get().getCreditHours();
-                    } else {
-                        System.err.println("Course not found: " + enrollment.getCourseCode());
-                        credits += 3; // Fallback to 3 if course not found
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error getting credits for course " + enrollment.getCourseCode() + ": " + e.getMessage());
-                    credits += 3; // Fallback to 3 if error
-                }
-            }
-        }
-        return credits;
-    }
-
     /**
      * Display class for semester GPA items.
      */
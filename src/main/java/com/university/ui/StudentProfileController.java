@@ -11,16 +11,17 @@ import javafx.scene.control.Alert;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import com.university.roles.Student;
+import com.university.services.AcademicStanding;
 import com.university.services.GPAService;
-import com.university.data.StudentSqlDetails;
-import com.university.data.CourseSqlDetails;
-import com.university.data.EnrollmentSqlDetails;
+import com.university.data.DetailsProvider;
+
+import java.util.Optional;
 
 /**
  * Controller for the Student Profile view.
  * Displays student information and academic progress.
  */
-public class StudentProfileController {
+public class StudentProfileController implements RefreshableView {
 
     @FXML
     private Label studentIdLabel;
@@ -54,10 +55,16 @@ public class StudentProfileController {
 
     private Student currentStudent;
     private GPAService gpaService;
+    private final AsyncLoader.Slot standingLoad = AsyncLoader.getInstance().newSlot();
 
     public void setStudent(Student student) {
         this.currentStudent = student;
-        this.gpaService = new GPAService(new EnrollmentSqlDetails(), new StudentSqlDetails(), new CourseSqlDetails());
+        this.gpaService = new GPAService(DetailsProvider.enrollments(), DetailsProvider.students());
+        updateProfile();
+    }
+
+    @Override
+    public void refresh() {
         updateProfile();
     }
 
@@ -113,8 +120,19 @@ public class StudentProfileController {
         programLabel.setText(currentStudent.getProgram());
         requiredCreditsLabel.setText(String.valueOf(currentStudent.getRequiredCredits()));
 
+        int studentId = currentStudent.getId();
+        standingLoad.load(() -> {
+            Optional<AcademicStanding> standing = gpaService.getStoredStanding(studentId);
+            // Update student's completed credits in database
+            standing.ifPresent(gpaService::updateStudentCompletedCredits);
+            return standing;
+        }, standingOpt -> standingOpt.ifPresent(this::showStanding),
+                e -> System.err.println("Error loading academic standing: " + e.getMessage()));
+    }
+
+    private void showStanding(AcademicStanding standing) {
         // Calculate and update completed credits
-        int completedCredits = gpaService.calculateCompletedCredits(currentStudent.getId());
+        int completedCredits = standing.getCompletedCredits();
         completedCreditsLabel.setText(String.valueOf(completedCredits));
 
         // Update remaining credits
@@ -122,13 +140,10 @@ public class StudentProfileController {
         remainingCreditsLabel.setText(String.valueOf(remainingCredits));
 
         // Update graduation status
-        boolean isEligible = gpaService.isEligibleForGraduation(currentStudent.getId());
+        boolean isEligible = standing.isEligibleForGraduation();
         graduationStatusLabel.setText(isEligible ? "ELIGIBLE FOR GRADUATION" : "NOT ELIGIBLE");
         graduationStatusLabel.getStyleClass().clear();
         graduationStatusLabel.getStyleClass().add("field-value");
         graduationStatusLabel.getStyleClass().add(isEligible ? "success-text" : "warning-text");
-
-        // Update student's completed credits in database
-        gpaService.updateStudentCompletedCredits(currentStudent.getId());
     }
 }
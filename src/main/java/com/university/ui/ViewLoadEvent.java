@@ -0,0 +1,68 @@
+package com.university.ui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for showing one FXML view in a dashboard, from parsing the FXML (unless
+ * the session's ViewRegistry already holds it) to binding or refreshing its controller. The
+ * controller's data loads run afterwards on AsyncLoader threads and show up as their own JDBC
+ * and computation events.
+ */
+@Name("university.ViewLoad")
+@Label("FXML View Load")
+@Category({"University", "UI"})
+@Description("An FXML view loaded on the JavaFX Application Thread")
+final class ViewLoadEvent extends Event {
+
+    @Label("View")
+    String view;
+
+    @Label("Dashboard")
+    String dashboard;
+
+    @Label("Student ID")
+    @Description("The student the view shows, or 0 for advisor views")
+    int studentId;
+
+    @Label("Advisor ID")
+    @Description("The advisor the view belongs to, or 0 for student views")
+    int advisorId;
+
+    @Label("Reused")
+    @Description("Whether the view was already bound this session and was only refreshed")
+    boolean reused;
+
+    /**
+     * Starts timing a view load.
+     * @param dashboard the dashboard loading the view
+     * @param view the FXML file name
+     * @return the started event
+     */
+    static ViewLoadEvent start(String dashboard, String view) {
+        ViewLoadEvent event = new ViewLoadEvent();
+        event.dashboard = dashboard;
+        event.view = view;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the view load and records it if the recording's threshold lets it through.
+     * @param studentId the student the view shows, or 0
+     * @param advisorId the advisor the view belongs to, or 0
+     * @param reused whether the view was only refreshed
+     */
+    void finish(int studentId, int advisorId, boolean reused) {
+        end();
+        if (shouldCommit()) {
+            this.studentId = studentId;
+            this.advisorId = advisorId;
+            this.reused = reused;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.university.ui;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.control.ScrollPane;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The FXML views of one dashboard, each parsed once and kept with its controller for the session.
+ * The first time a view is shown its controller is bound to the session's student or advisor;
+ * after that, showing it again only refreshes its data, so switching between views costs a
+ * scene graph swap instead of parsing FXML, reflecting the controller and rebuilding its services.
+ * Views can be preloaded on an AsyncLoader thread right after login so even the first switch is fast.
+ * Only used on the JavaFX Application Thread, apart from the parsing done by preload.
+ */
+final class ViewRegistry {
+
+    private final String dashboard;
+    private final int studentId;
+    private final int advisorId;
+    private final Map<String, View> views = new HashMap<>();
+
+    /**
+     * @param dashboard the dashboard the views belong to, for the view load events
+     * @param studentId the session's student, or 0
+     * @param advisorId the session's advisor, or 0
+     */
+    ViewRegistry(String dashboard, int studentId, int advisorId) {
+        this.dashboard = dashboard;
+        this.studentId = studentId;
+        this.advisorId = advisorId;
+    }
+
+    /**
+     * Gets a view ready to show: parsed now if it was neither shown nor preloaded before, bound to
+     * the session the first time, refreshed every time after that.
+     * @param fxml the FXML file name under /fxml
+     * @param bind hands the new controller its student or advisor; called once per session
+     * @param <C> the controller type
+     * @return the view, wrapped in its scroll pane
+     * @throws IOException if the FXML cannot be loaded
+     */
+    <C extends RefreshableView> ScrollPane show(String fxml, Consumer<C> bind) throws IOException {
+        ViewLoadEvent loadEvent = ViewLoadEvent.start(dashboard, fxml);
+        View view = views.get(fxml);
+        boolean reused = view != null && view.bound;
+        if (view == null) {
+            view = parse(fxml);
+            views.put(fxml, view);
+        }
+
+        @SuppressWarnings("unchecked")
+        C controller = (C) view.controller;
+        if (view.bound) {
+            controller.refresh();
+        } else {
+            bind.accept(controller);
+            view.bound = true;
+        }
+        loadEvent.finish(studentId, advisorId, reused);
+        return view.pane;
+    }
+
+    /**
+     * Parses views in the background, one after another on a single loader thread, so they are
+     * ready when first shown. Views already parsed are skipped; a view that fails to parse is
+     * reported and parsed again when it is shown.
+     * @param fxmls the FXML file names, most likely first
+     */
+    void preload(List<String> fxmls) {
+        List<String> missing = new ArrayList<>();
+        for (String fxml : fxmls) {
+            if (!views.containsKey(fxml)) {
+                missing.add(fxml);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        AsyncLoader.getInstance().submit(() -> {
+            Map<String, View> parsed = new HashMap<>();
+            for (String fxml : missing) {
+                try {
+                    parsed.put(fxml, parse(fxml));
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Error preloading " + fxml + ": " + e.getMessage());
+                }
+            }
+            return parsed;
+        }, parsed -> parsed.forEach(views::putIfAbsent),
+                e -> System.err.println("Error preloading views: " + e.getMessage()));
+    }
+
+    /**
+     * Loads a view and wraps it in the scroll pane every dashboard view is shown in.
+     * Builds a scene graph that is not attached to a scene yet, so it may run on any thread.
+     */
+    private View parse(String fxml) throws IOException {
+        FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/" + fxml));
+        Parent root = loader.load();
+
+        ScrollPane scrollPane = new ScrollPane();
+        scrollPane.setContent(root);
+        scrollPane.setFitToWidth(true);
+        scrollPane.setFitToHeight(true);
+        scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
+        scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
+
+        return new View(scrollPane, loader.getController());
+    }
+
+    /**
+     * A parsed view and its controller.
+     */
+    private static final class View {
+        private final ScrollPane pane;
+        private final RefreshableView controller;
+        private boolean bound;
+
+        private View(ScrollPane pane, RefreshableView controller) {
+            this.pane = pane;
+            this.controller = controller;
+        }
+    }
+}